@@ -0,0 +1,139 @@
+package fr.coriolis.checker.bench;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.core.ArgoDataFile.FileType;
+import fr.coriolis.checker.specs.SpecIO;
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+import fr.coriolis.checker.validators.ArgoFileValidator;
+import fr.coriolis.checker.validators.ArgoMetadataFileValidator;
+import fr.coriolis.checker.validators.ArgoProfileFileValidator;
+import fr.coriolis.checker.validators.ArgoTechnicalFileValidator;
+import fr.coriolis.checker.validators.ArgoTrajectoryFileValidator;
+
+/**
+ * Set-up shared by the benchmarks: the checker is initialized as by
+ * ValidateSubmit (internal specifications, NVS tables read from the spec
+ * directory) and the input files are found from the root of the repository.
+ * <p>
+ * System properties:
+ * <ul>
+ * <li>checker.root: root of the repository (default ".." -- the benchmarks are
+ * run from file_checker_bench)
+ * <li>checker.dac: DAC name passed to the checks (default "coriolis")
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class CheckerState {
+
+	public static final String ROOT = System.getProperty("checker.root", "..");
+	public static final String DAC = System.getProperty("checker.dac", "coriolis");
+
+	// ..one file of each type from demo/inputs and src/test/netcdf-test-files
+	public static final String CORE_PROFILE = "demo/inputs/2903996/R2903996_001.nc";
+	public static final String BIO_PROFILE = "demo/inputs/3901945/BD3901945_004.nc";
+	public static final String TRAJECTORY = "demo/inputs/2903996/2903996_Rtraj.nc";
+	public static final String METADATA = "demo/inputs/2903996/2903996_meta.nc";
+	public static final String TECHNICAL = "demo/inputs/2903996/2903996_tech.nc";
+	public static final String TEST_PROFILE = "file_checker_exec/src/test/netcdf-test-files/TEST_PROFILE_0003/R6903724_001_bodc_NaN.nc";
+	public static final String TEST_METADATA = "file_checker_exec/src/test/netcdf-test-files/TEST_META_0006/5907141_meta_good_batteryType.nc";
+	public static final String TEST_TECHNICAL = "file_checker_exec/src/test/netcdf-test-files/TEST_TECH_0001/6903283_tech_No-Timeseries.nc";
+
+	private static boolean initialized = false;
+
+	@Setup
+	public void initChecker() {
+		init();
+	}
+
+	/**
+	 * Initialize the specifications and the NVS tables (once per JVM)
+	 */
+	public static synchronized void init() {
+		if (!initialized) {
+			SpecIO.init(true, null);
+			ArgoNVSReferenceTable.initialize();
+			initialized = true;
+		}
+	}
+
+	/**
+	 * Path of a file given relative to the root of the repository
+	 */
+	public static String path(String file) {
+		File f = new File(file);
+		if (!f.isAbsolute()) {
+			f = new File(ROOT, file);
+		}
+		if (!f.isFile()) {
+			throw new IllegalStateException("Benchmark input not found: " + f
+					+ " (set -Dchecker.root to the root of the repository)");
+		}
+		return f.getPath();
+	}
+
+	/**
+	 * Open a file with its full specification, as ValidateSubmit does
+	 */
+	public static ArgoDataFile open(String file) throws Exception {
+		return ArgoDataFile.open(path(file), null, true, DAC);
+	}
+
+	/**
+	 * Verify the format of an open file
+	 *
+	 * @return the validator holding the format results
+	 */
+	public static ArgoFileValidator validateFormat(ArgoDataFile argo) {
+		ArgoFileValidator validator = new ArgoFileValidator(argo);
+		if (!validator.validateFormat(DAC)) {
+			throw new IllegalStateException("validateFormat failed: " + argo.getDiagnostic().getMessage());
+		}
+		return validator;
+	}
+
+	/**
+	 * The specialized validator of a file whose format was verified
+	 */
+	public static ArgoFileValidator dataValidator(ArgoDataFile argo, ArgoFileValidator formatValidator)
+			throws IOException {
+		ArgoFileValidator validator;
+		FileType type = argo.fileType();
+
+		if (type == FileType.METADATA) {
+			validator = new ArgoMetadataFileValidator(argo);
+		} else if (type == FileType.PROFILE || type == FileType.BIO_PROFILE) {
+			validator = new ArgoProfileFileValidator(argo);
+		} else if (type == FileType.TECHNICAL) {
+			validator = new ArgoTechnicalFileValidator(argo);
+		} else {
+			validator = new ArgoTrajectoryFileValidator(argo);
+		}
+		validator.setValidationResult(formatValidator.getValidationResult());
+		return validator;
+	}
+
+	/**
+	 * Validate the data with the specialized validator
+	 *
+	 * @return true if the validation could be done
+	 */
+	public static boolean validateData(ArgoFileValidator validator) throws IOException {
+		if (validator instanceof ArgoMetadataFileValidator) {
+			return ((ArgoMetadataFileValidator) validator).validateData(false);
+		} else if (validator instanceof ArgoProfileFileValidator) {
+			return ((ArgoProfileFileValidator) validator).validateData(false, DAC, false);
+		} else if (validator instanceof ArgoTechnicalFileValidator) {
+			return ((ArgoTechnicalFileValidator) validator).validateData(DAC, false);
+		} else {
+			return ((ArgoTrajectoryFileValidator) validator).validateData(DAC, false);
+		}
+	}
+
+}
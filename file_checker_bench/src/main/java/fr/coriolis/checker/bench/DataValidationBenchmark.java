@@ -0,0 +1,65 @@
+package fr.coriolis.checker.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.validators.ArgoFileValidator;
+
+/**
+ * Data validation of an open file: the validateData of the specialized
+ * validator of each file type (profile, trajectory, meta-data, technical).
+ * <p>
+ * The file stays open for the whole trial. The format is verified before each
+ * invocation (not measured), as ValidateSubmit does before the data check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataValidationBenchmark {
+
+	@Param({ CheckerState.CORE_PROFILE, CheckerState.BIO_PROFILE, CheckerState.TRAJECTORY, CheckerState.METADATA,
+			CheckerState.TECHNICAL, CheckerState.TEST_PROFILE, CheckerState.TEST_METADATA,
+			CheckerState.TEST_TECHNICAL })
+	public String file;
+
+	private ArgoDataFile argo;
+	private ArgoFileValidator dataValidator;
+
+	@Setup(Level.Trial)
+	public void openFile(CheckerState checker) throws Exception {
+		argo = CheckerState.open(file);
+	}
+
+	@Setup(Level.Invocation)
+	public void verifyFormat() throws Exception {
+		dataValidator = CheckerState.dataValidator(argo, CheckerState.validateFormat(argo));
+	}
+
+	@TearDown(Level.Trial)
+	public void closeFile() throws Exception {
+		argo.close();
+	}
+
+	@Benchmark
+	public boolean validateData() throws Exception {
+		return CheckerState.validateData(dataValidator);
+	}
+
+}
@@ -0,0 +1,43 @@
+package fr.coriolis.checker.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+
+/**
+ * ArgoDataFile.open: netCDF open, file type / version identification and
+ * (cached) specification lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenBenchmark {
+
+	@Param({ CheckerState.CORE_PROFILE, CheckerState.BIO_PROFILE, CheckerState.TRAJECTORY, CheckerState.METADATA,
+			CheckerState.TECHNICAL, CheckerState.TEST_PROFILE, CheckerState.TEST_METADATA,
+			CheckerState.TEST_TECHNICAL })
+	public String file;
+
+	@Benchmark
+	public String open(CheckerState checker) throws Exception {
+		ArgoDataFile argo = CheckerState.open(file);
+		String version = argo.fileVersion();
+		argo.close();
+		return version;
+	}
+
+}
@@ -0,0 +1,65 @@
+package fr.coriolis.checker.bench;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full check (open, format verification, data validation, close) of synthetic
+ * profile files of increasing N_PROF and N_LEVELS, generated from a real
+ * profile file by {@link SyntheticArgoFile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ProfileScalingBenchmark {
+
+	@Param({ CheckerState.CORE_PROFILE })
+	public String template;
+
+	@Param({ "2", "20", "100" })
+	public int nProf;
+
+	@Param({ "82", "1000", "4000" })
+	public int nLevels;
+
+	private File synthetic;
+
+	@Setup(Level.Trial)
+	public void generate(CheckerState checker) throws Exception {
+		Map<String, Integer> lengths = new LinkedHashMap<String, Integer>();
+		lengths.put("N_PROF", nProf);
+		lengths.put("N_LEVELS", nLevels);
+
+		synthetic = ScalingFiles.generate(template, lengths);
+	}
+
+	@TearDown(Level.Trial)
+	public void delete() {
+		ScalingFiles.delete(synthetic);
+	}
+
+	@Benchmark
+	public boolean check() throws Exception {
+		return ScalingFiles.check(synthetic);
+	}
+
+}
@@ -0,0 +1,117 @@
+package fr.coriolis.checker.bench;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.coriolis.checker.core.NetcdfReadPath;
+import ucar.ma2.Array;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+
+/**
+ * netCDF read paths (NetcdfReadPath: file, mmap, memory): open a file and read
+ * all its variables, whole or one row (profile, measurement...) at a time as
+ * the validators do.
+ * <p>
+ * nMeasurement = 0 reads the file as is; otherwise a synthetic trajectory file
+ * of nMeasurement measurements is generated from it (e.g. -p
+ * file=demo/inputs/2903996/2903996_Rtraj.nc -p nMeasurement=250000).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+	@Param({ CheckerState.CORE_PROFILE, CheckerState.BIO_PROFILE, CheckerState.TRAJECTORY })
+	public String file;
+
+	@Param({ "0" })
+	public int nMeasurement;
+
+	@Param({ "file", "mmap", "memory" })
+	public String readPath;
+
+	private String path;
+	private File synthetic;
+	private NetcdfReadPath.Mode mode;
+
+	@Setup(Level.Trial)
+	public void prepare() throws Exception {
+		mode = NetcdfReadPath.Mode.of(readPath);
+
+		if (nMeasurement > 0) {
+			Map<String, Integer> lengths = new LinkedHashMap<String, Integer>();
+			lengths.put("N_MEASUREMENT", nMeasurement);
+			synthetic = ScalingFiles.generate(file, lengths);
+			path = synthetic.getPath();
+		} else {
+			path = CheckerState.path(file);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void delete() {
+		ScalingFiles.delete(synthetic);
+	}
+
+	@Benchmark
+	public long readVariables() throws Exception {
+		long nBytes = 0;
+		NetcdfFile nc = NetcdfReadPath.open(path, mode);
+		try {
+			for (Variable var : nc.getVariables()) {
+				nBytes += var.read().getSizeBytes();
+			}
+		} finally {
+			nc.close();
+		}
+		return nBytes;
+	}
+
+	@Benchmark
+	public long readRows() throws Exception {
+		long nBytes = 0;
+		NetcdfFile nc = NetcdfReadPath.open(path, mode);
+		try {
+			for (Variable var : nc.getVariables()) {
+				int[] shape = var.getShape();
+				if (shape.length < 2) {
+					nBytes += var.read().getSizeBytes();
+					continue;
+				}
+
+				int[] origin = new int[shape.length];
+				int[] row = shape.clone();
+				row[0] = 1;
+				for (int n = 0; n < shape[0]; n++) {
+					origin[0] = n;
+					Array array = var.read(origin, row);
+					nBytes += array.getSizeBytes();
+				}
+			}
+		} finally {
+			nc.close();
+		}
+		return nBytes;
+	}
+
+}
@@ -0,0 +1,77 @@
+package fr.coriolis.checker.bench;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.output.ResultsFile;
+import fr.coriolis.checker.validators.ArgoFileValidator;
+
+/**
+ * Serialization of the results of a checked file (status, meta-data, errors
+ * and warnings) by ResultsFile, in XML and text. The results are written to
+ * memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultsFileBenchmark {
+
+	@Param({ CheckerState.CORE_PROFILE, CheckerState.TRAJECTORY, CheckerState.METADATA, CheckerState.TECHNICAL,
+			CheckerState.TEST_TECHNICAL })
+	public String file;
+
+	@Param({ "true", "false" })
+	public boolean xml;
+
+	private ArgoDataFile argo;
+	private ArgoFileValidator validator;
+	private boolean formatPassed;
+
+	@Setup(Level.Trial)
+	public void checkFile(CheckerState checker) throws Exception {
+		argo = CheckerState.open(file);
+		validator = CheckerState.validateFormat(argo);
+		formatPassed = validator.getValidationResult().nFormatErrors() == 0;
+		if (formatPassed) {
+			validator = CheckerState.dataValidator(argo, validator);
+			CheckerState.validateData(validator);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void closeFile() throws Exception {
+		argo.close();
+	}
+
+	@Benchmark
+	public int serialize() throws Exception {
+		StringWriter results = new StringWriter();
+		ResultsFile out = new ResultsFile(xml, results, "bench", "bench", file);
+
+		out.statusAndPhase(validator.getValidationResult().nFormatErrors() == 0, "DATA-VALIDATION");
+		out.metaData(CheckerState.DAC, argo, formatPassed, false);
+		out.errorsAndWarnings(validator, false);
+		out.close();
+
+		return results.getBuffer().length();
+	}
+
+}
@@ -0,0 +1,57 @@
+package fr.coriolis.checker.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.validators.ArgoFileValidator;
+
+/**
+ * Synthetic files of the scaling benchmarks: generated in a temporary
+ * directory, under the name of their template (file names are part of some
+ * checks).
+ */
+class ScalingFiles {
+
+	static File generate(String template, Map<String, Integer> lengths) throws IOException {
+		File templateFile = new File(CheckerState.path(template));
+
+		File dir = File.createTempFile("argo-bench-", "");
+		if (!dir.delete() || !dir.mkdir()) {
+			throw new IOException("Cannot create the directory " + dir);
+		}
+
+		return SyntheticArgoFile.write(templateFile.getPath(), new File(dir, templateFile.getName()).getPath(),
+				lengths);
+	}
+
+	static void delete(File synthetic) {
+		if (synthetic != null) {
+			synthetic.delete();
+			synthetic.getParentFile().delete();
+		}
+	}
+
+	/**
+	 * Check a file as ValidateSubmit does: open, format verification, data
+	 * validation (if the format passed) and close
+	 *
+	 * @return true if the format passed
+	 */
+	static boolean check(File file) throws Exception {
+		ArgoDataFile argo = CheckerState.open(file.getPath());
+		try {
+			ArgoFileValidator validator = CheckerState.validateFormat(argo);
+			boolean formatPassed = validator.getValidationResult().nFormatErrors() == 0;
+			if (formatPassed) {
+				CheckerState.validateData(CheckerState.dataValidator(argo, validator));
+			}
+			return formatPassed;
+
+		} finally {
+			argo.close();
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package fr.coriolis.checker.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.coriolis.checker.core.ArgoDataFile.FileType;
+import fr.coriolis.checker.specs.ArgoFileSpecification;
+
+/**
+ * Construction of a full ArgoFileSpecification from the specification files
+ * (CDL, attribute regexps, optional variables, physical parameters, ...). The
+ * specification cache of ArgoDataFile is bypassed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBenchmark {
+
+	// ..<file type>:<format version>
+	@Param({ "PROFILE:3.1", "BIO_PROFILE:3.1", "TRAJECTORY:3.2", "BIO_TRAJECTORY:3.1", "METADATA:3.1",
+			"TECHNICAL:3.1", "PROFILE:2.2" })
+	public String spec;
+
+	@Benchmark
+	public ArgoFileSpecification build(CheckerState checker) throws Exception {
+		String[] typeVersion = spec.split(":");
+		return new ArgoFileSpecification(true, FileType.valueOf(typeVersion[0]), typeVersion[1]);
+	}
+
+}
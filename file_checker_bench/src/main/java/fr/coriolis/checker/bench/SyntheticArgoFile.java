@@ -0,0 +1,179 @@
+package fr.coriolis.checker.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ucar.ma2.Array;
+import ucar.ma2.Index;
+import ucar.ma2.IndexIterator;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Attribute;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
+
+/**
+ * Generator of large synthetic Argo files, to follow how the checker scales
+ * with N_PROF, N_LEVELS (profile files) and N_MEASUREMENT (trajectory files).
+ * <p>
+ * The synthetic file is a copy of a real Argo file (the template) in which some
+ * dimensions are given a new length: the dimensions, attributes and variables
+ * are the same and the data of the template are repeated along the resized
+ * dimensions. The file passes the format verification and the data validation
+ * works on realistic values.
+ * <p>
+ * Usage (also used by the scaling benchmarks):
+ *
+ * <pre>
+ * java -cp benchmarks.jar fr.coriolis.checker.bench.SyntheticArgoFile template.nc out.nc N_PROF=100 N_LEVELS=2000
+ * </pre>
+ */
+public class SyntheticArgoFile {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 3) {
+			System.err.println("usage: SyntheticArgoFile <template.nc> <out.nc> <DIMENSION>=<length> ...");
+			System.exit(1);
+		}
+
+		Map<String, Integer> lengths = new LinkedHashMap<String, Integer>();
+		for (int n = 2; n < args.length; n++) {
+			String[] dimLength = args[n].split("=");
+			if (dimLength.length != 2) {
+				throw new IllegalArgumentException("Invalid dimension '" + args[n] + "': expected NAME=length");
+			}
+			lengths.put(dimLength[0], Integer.valueOf(dimLength[1]));
+		}
+
+		write(args[0], args[1], lengths);
+		System.out.println(args[1] + ": " + lengths);
+	}
+
+	/**
+	 * Write a copy of the template with new dimension lengths
+	 *
+	 * @param template path of the template Argo file
+	 * @param outFile  path of the synthetic file (overwritten)
+	 * @param lengths  new length of dimensions (name -&gt; length); the other
+	 *                 dimensions keep the length of the template
+	 * @return the synthetic file
+	 * @throws IOException if the template cannot be read or the file written
+	 */
+	public static File write(String template, String outFile, Map<String, Integer> lengths) throws IOException {
+		NetcdfFile in = NetcdfFile.open(template);
+		NetcdfFileWriter out = null;
+
+		try {
+			out = NetcdfFileWriter.createNew(NetcdfFileWriter.Version.netcdf3, outFile);
+			out.setFill(false);
+
+			// ..dimensions: new lengths (the unlimited dimension stays unlimited)
+			Map<String, Integer> newLength = new HashMap<String, Integer>();
+			Map<String, Dimension> outDims = new HashMap<String, Dimension>();
+
+			for (Dimension d : in.getDimensions()) {
+				Integer length = lengths.get(d.getShortName());
+				if (length == null) {
+					length = d.getLength();
+				} else if (d.getLength() == 0) {
+					throw new IllegalArgumentException(
+							"Dimension " + d.getShortName() + " is empty in the template: nothing to repeat");
+				}
+				newLength.put(d.getShortName(), length);
+
+				if (d.isUnlimited()) {
+					outDims.put(d.getShortName(), out.addUnlimitedDimension(d.getShortName()));
+				} else {
+					outDims.put(d.getShortName(), out.addDimension(null, d.getShortName(), length));
+				}
+			}
+
+			for (String name : lengths.keySet()) {
+				if (!newLength.containsKey(name)) {
+					throw new IllegalArgumentException("Dimension " + name + " not in the template");
+				}
+			}
+
+			// ..attributes and variables as in the template
+			for (Attribute a : in.getGlobalAttributes()) {
+				out.addGroupAttribute(null, a);
+			}
+
+			for (Variable v : in.getVariables()) {
+				List<Dimension> dims = new ArrayList<Dimension>();
+				for (Dimension d : v.getDimensions()) {
+					dims.add(outDims.get(d.getShortName()));
+				}
+				Variable outVar = out.addVariable(null, v.getShortName(), v.getDataType(), dims);
+
+				for (Attribute a : v.getAttributes()) {
+					out.addVariableAttribute(outVar, a);
+				}
+			}
+
+			out.create();
+
+			// ..data: the template data repeated along the resized dimensions
+			for (Variable v : in.getVariables()) {
+				int[] shape = new int[v.getRank()];
+				for (int n = 0; n < shape.length; n++) {
+					shape[n] = newLength.get(v.getDimension(n).getShortName());
+				}
+
+				Array data = repeat(v.read(), shape);
+				if (data.getSize() > 0) {
+					out.write(out.findVariable(v.getShortName()), data);
+				}
+			}
+
+		} catch (InvalidRangeException e) {
+			throw new IOException("Failed to write " + outFile, e);
+
+		} finally {
+			if (out != null) {
+				out.close();
+			}
+			in.close();
+		}
+
+		return new File(outFile);
+	}
+
+	/**
+	 * Resize an array, repeating its values along the dimensions that grow
+	 */
+	static Array repeat(Array src, int[] shape) {
+		int[] srcShape = src.getShape();
+
+		boolean sameShape = true;
+		for (int n = 0; n < shape.length; n++) {
+			sameShape &= (shape[n] == srcShape[n]);
+		}
+		if (sameShape) {
+			return src;
+		}
+
+		Array dst = Array.factory(src.getElementType(), shape);
+		Index srcIndex = src.getIndex();
+		int[] counter = new int[shape.length];
+
+		IndexIterator it = dst.getIndexIterator();
+		while (it.hasNext()) {
+			it.next();
+			int[] dstCounter = it.getCurrentCounter();
+			for (int n = 0; n < counter.length; n++) {
+				counter[n] = dstCounter[n] % srcShape[n];
+			}
+			it.setObjectCurrent(src.getObject(srcIndex.set(counter)));
+		}
+
+		return dst;
+	}
+
+}
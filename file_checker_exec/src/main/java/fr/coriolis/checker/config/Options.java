@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,6 +36,23 @@ import fr.coriolis.checker.specs.ArgoReferenceTable;
  * <li>-psal-stats: Compute PSAL statistics for index files.</li>
  * <li>-list-file &lt;file&gt;: Specify a file containing a list of input
  * files.</li>
+ * <li>-threads &lt;n&gt;: Number of files validated concurrently.</li>
+ * <li>-server &lt;port&gt;: Run as a server answering check requests on a
+ * local HTTP port.</li>
+ * <li>-summary &lt;file&gt;: Append one summary line per checked file to a
+ * JSON Lines (or CSV, for a ".csv" file) batch summary.</li>
+ * <li>-timing: Print the time spent in each phase of the checks at the end of
+ * the batch.</li>
+ * <li>-timing-per-file: Add the time spent in each phase to the results
+ * files.</li>
+ * <li>-cache &lt;dir&gt;: Reuse the results of files already checked, unchanged,
+ * with the same code, specification, NVS tables and options.</li>
+ * <li>-nvs-mirror &lt;dir&gt;: Read the NVS tables from a local mirror of the
+ * NVS server (refreshed first with -online-nvs).</li>
+ * <li>-skip-checks &lt;list&gt;: Do not run the listed data checks.</li>
+ * <li>-only-checks &lt;list&gt;: Only run the listed data checks.</li>
+ * <li>-report-checks: Report the check unit of each error and warning in the
+ * results files.</li>
  * </ul>
  * Mandatory Arguments :
  * <ul>
@@ -47,6 +65,28 @@ import fr.coriolis.checker.specs.ArgoReferenceTable;
  * <ul>
  * <li>file-names : (Optional) List of files names to process</li>
  * </ul>
+ * In server mode (-server) the only positional argument is spec-dir (none with
+ * -internal-specs): the DAC and the files are given by each request.
+ * </p>
+ * <p>
+ * JVM options (-D&lt;name&gt;=&lt;value&gt;, before -jar), read by the classes
+ * they tune through the static accessors below and checked with the
+ * command-line arguments:
+ * <ul>
+ * <li>filechecker.rules.threads: Threads running the independent groups of
+ * checks of a file (default 1).</li>
+ * <li>filechecker.traj.window: Values of a N_MEASUREMENT variable read at once
+ * by the trajectory checks (default 1048576; 0: whole variables).</li>
+ * <li>filechecker.io: netCDF read path: file, mmap or memory (default
+ * file).</li>
+ * <li>filechecker.io.memory.mb: Largest file read in memory by
+ * filechecker.io=memory (default 256).</li>
+ * <li>filechecker.readcache.mb: Data cache of each open file (default 64).</li>
+ * <li>filechecker.formatcache.size: Headers whose format checks are kept
+ * (default 256; 0 to disable).</li>
+ * <li>filechecker.configtech.cache: CONFIG / TECH parameter names whose match
+ * is kept (default 4096; 0 to disable).</li>
+ * </ul>
  * </p>
  */
 public class Options {
@@ -73,6 +113,25 @@ public class Options {
 										// dir (internal or external)
 	private final boolean useInternalSpecs; // to use specs file now included in the .jar file instead of specifying an
 											// external file_chec_spec dir
+	private final int nThreads; // ..number of files validated concurrently - default: 1
+	private final int serverPort; // ..-server: local HTTP port to listen on - default: 0 (not a server)
+	private final String summaryFile; // ..-summary: batch summary file - default: none
+	private final boolean doTiming; // ..-timing: timing report at the end of the batch - default: no
+	private final boolean doTimingPerFile; // ..-timing-per-file: timings in the results files - default: no
+	private final String cacheDirName; // ..-cache: results cache directory - default: none
+	private final String nvsMirrorDirName; // ..-nvs-mirror: NVS mirror directory - default: none
+	private final List<String> skipChecks; // ..-skip-checks: data checks not run - default: none
+	private final List<String> onlyChecks; // ..-only-checks: the only data checks run - default: all
+	private final boolean doReportChecks; // ..-report-checks: check unit of each message - default: no
+
+	// ..JVM options (system properties)
+	public static final String RULE_THREADS = "filechecker.rules.threads";
+	public static final String TRAJ_WINDOW = "filechecker.traj.window";
+	public static final String READ_PATH = "filechecker.io";
+	public static final String READ_MEMORY_MB = "filechecker.io.memory.mb";
+	public static final String READ_CACHE_MB = "filechecker.readcache.mb";
+	public static final String FORMAT_CACHE_SIZE = "filechecker.formatcache.size";
+	public static final String CONFIG_TECH_CACHE_SIZE = "filechecker.configtech.cache";
 
 	// ..standard i/o shortcuts
 	static PrintStream stdout = new PrintStream(System.out);
@@ -83,7 +142,9 @@ public class Options {
 	private Options(boolean doNameCheck, boolean doNulls, boolean doFormatOnly, boolean doFormatOnlyPre31,
 			boolean doPsalStats, boolean version, boolean help, boolean doXml, String listFile, List<String> inFileList,
 			String dacName, String specDirName, String outDirName, String inDirName, boolean useOnlineNVS,
-			boolean useInternalSpecs) {
+			boolean useInternalSpecs, int nThreads, int serverPort, String summaryFile, boolean doTiming,
+			boolean doTimingPerFile, String cacheDirName, String nvsMirrorDirName, List<String> skipChecks,
+			List<String> onlyChecks, boolean doReportChecks) {
 		super();
 		this.doNameCheck = doNameCheck;
 		this.doNulls = doNulls;
@@ -102,6 +163,16 @@ public class Options {
 
 		this.useOnlineNVS = useOnlineNVS;
 		this.useInternalSpecs = useInternalSpecs;
+		this.nThreads = nThreads;
+		this.serverPort = serverPort;
+		this.summaryFile = summaryFile;
+		this.doTiming = doTiming;
+		this.doTimingPerFile = doTimingPerFile;
+		this.cacheDirName = cacheDirName;
+		this.nvsMirrorDirName = nvsMirrorDirName;
+		this.skipChecks = skipChecks;
+		this.onlyChecks = onlyChecks;
+		this.doReportChecks = doReportChecks;
 
 		log.debug("doFormatOnly = {}", doFormatOnly);
 		log.debug("doFormatOnlyPre31 = {}", doFormatOnlyPre31);
@@ -116,6 +187,16 @@ public class Options {
 		log.debug("number of inFileList = " + (inFileList == null ? "null" : inFileList.size()));
 		log.debug("useOnlineNVS = {}", useOnlineNVS);
 		log.debug("useInternalSpecs = {}", useInternalSpecs);
+		log.debug("nThreads = {}", nThreads);
+		log.debug("serverPort = {}", serverPort);
+		log.debug("summaryFile = '{}'", summaryFile);
+		log.debug("doTiming = {}", doTiming);
+		log.debug("doTimingPerFile = {}", doTimingPerFile);
+		log.debug("cacheDirName = '{}'", cacheDirName);
+		log.debug("nvsMirrorDirName = '{}'", nvsMirrorDirName);
+		log.debug("skipChecks = {}", skipChecks);
+		log.debug("onlyChecks = {}", onlyChecks);
+		log.debug("doReportChecks = {}", doReportChecks);
 	}
 
 	/**
@@ -153,6 +234,9 @@ public class Options {
 	 */
 	private static Options extractOptionsFromArgs(String[] args) throws IllegalArgumentException {
 
+		// ..an invalid JVM option stops the run before any file is checked
+		checkJvmOptions();
+
 		// Default values :
 		String listFile = null;
 		List<String> inFileList = null; // ..list of input files//..list file name
@@ -168,6 +252,16 @@ public class Options {
 
 		boolean useOnlineNVS = false;
 		boolean useInternalSpecs = false;
+		int nThreads = 1;
+		int serverPort = 0;
+		String summaryFile = null;
+		boolean doTiming = false;
+		boolean doTimingPerFile = false;
+		String cacheDirName = null;
+		String nvsMirrorDirName = null;
+		List<String> skipChecks = null;
+		List<String> onlyChecks = null;
+		boolean doReportChecks = false;
 
 		// loop trough the arguments provided and differentiate the option (start with
 		// "-") and the positional parameters.
@@ -211,6 +305,15 @@ public class Options {
 			case "-internal-specs":
 				useInternalSpecs = true;
 				break;
+			case "-timing":
+				doTiming = true;
+				break;
+			case "-timing-per-file":
+				doTimingPerFile = true;
+				break;
+			case "-report-checks":
+				doReportChecks = true;
+				break;
 			case "-list-file":
 				if (++next < args.length) {
 					listFile = args[next];
@@ -219,6 +322,62 @@ public class Options {
 					throw new IllegalArgumentException("Error: Missing argument after '-list-file'.");
 				}
 				break;
+			case "-threads":
+				if (++next < args.length) {
+					nThreads = parseThreads(args[next]);
+				} else {
+					log.error("Error: Missing argument after '-threads'.");
+					throw new IllegalArgumentException("Error: Missing argument after '-threads'.");
+				}
+				break;
+			case "-server":
+				if (++next < args.length) {
+					serverPort = parsePort(args[next]);
+				} else {
+					log.error("Error: Missing argument after '-server'.");
+					throw new IllegalArgumentException("Error: Missing argument after '-server'.");
+				}
+				break;
+			case "-summary":
+				if (++next < args.length) {
+					summaryFile = args[next];
+				} else {
+					log.error("Error: Missing argument after '-summary'.");
+					throw new IllegalArgumentException("Error: Missing argument after '-summary'.");
+				}
+				break;
+			case "-cache":
+				if (++next < args.length) {
+					cacheDirName = args[next];
+				} else {
+					log.error("Error: Missing argument after '-cache'.");
+					throw new IllegalArgumentException("Error: Missing argument after '-cache'.");
+				}
+				break;
+			case "-nvs-mirror":
+				if (++next < args.length) {
+					nvsMirrorDirName = args[next];
+				} else {
+					log.error("Error: Missing argument after '-nvs-mirror'.");
+					throw new IllegalArgumentException("Error: Missing argument after '-nvs-mirror'.");
+				}
+				break;
+			case "-skip-checks":
+				if (++next < args.length) {
+					skipChecks = parseChecks("-skip-checks", args[next]);
+				} else {
+					log.error("Error: Missing argument after '-skip-checks'.");
+					throw new IllegalArgumentException("Error: Missing argument after '-skip-checks'.");
+				}
+				break;
+			case "-only-checks":
+				if (++next < args.length) {
+					onlyChecks = parseChecks("-only-checks", args[next]);
+				} else {
+					log.error("Error: Missing argument after '-only-checks'.");
+					throw new IllegalArgumentException("Error: Missing argument after '-only-checks'.");
+				}
+				break;
 
 			// ..obsolete arguments -- left in for backwards compatibility
 			case "-no-fresh":
@@ -235,6 +394,26 @@ public class Options {
 		}
 
 		// .....parse the positional parameters.....
+		if (serverPort > 0) {
+			// ..server mode: only the spec-dir -- dac and files come with each request
+			String specDirName = "";
+			if (!useInternalSpecs) {
+				if (next >= args.length) {
+					log.error("too few arguments: " + args.length);
+					throw new IllegalArgumentException("Too few arguments provided.");
+				}
+				specDirName = args[next++];
+			}
+			if (next < args.length) {
+				log.error("Unexpected argument in server mode: '" + args[next] + "'");
+				throw new IllegalArgumentException("Unexpected argument in server mode: '" + args[next] + "'");
+			}
+			return new Options(doNameCheck, doNulls, doFormatOnly, doFormatOnlyPre31, doPsalStats, version, help,
+					doXml, null, null, null, specDirName, null, null, useOnlineNVS, useInternalSpecs, nThreads,
+					serverPort, null, false, doTimingPerFile, null, nvsMirrorDirName, skipChecks, onlyChecks,
+					doReportChecks);
+		}
+
 		validateNumberOfPositionalArguments(args, next, useInternalSpecs); // exit system if too few arguments
 
 		String dacName = args[next++];
@@ -253,8 +432,176 @@ public class Options {
 		}
 
 		return new Options(doNameCheck, doNulls, doFormatOnly, doFormatOnlyPre31, doPsalStats, version, help, doXml,
-				listFile, inFileList, dacName, specDirName, outDirName, inDirName, useOnlineNVS, useInternalSpecs);
+				listFile, inFileList, dacName, specDirName, outDirName, inDirName, useOnlineNVS, useInternalSpecs,
+				nThreads, 0, summaryFile, doTiming, doTimingPerFile, cacheDirName, nvsMirrorDirName, skipChecks,
+				onlyChecks, doReportChecks);
+
+	}
+
+	/**
+	 * Parse the value given to -threads. It must be a strictly positive integer.
+	 * 
+	 * @param value the argument following -threads
+	 * @return the number of worker threads
+	 */
+	private static int parseThreads(String value) throws IllegalArgumentException {
+		int n;
+		try {
+			n = Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			n = 0;
+		}
+		if (n < 1) {
+			log.error("Error: Invalid '-threads' value: '" + value + "'");
+			throw new IllegalArgumentException("Error: Invalid '-threads' value: '" + value + "'");
+		}
+		return n;
+	}
+
+	/**
+	 * Check the values of the JVM options (system properties)
+	 */
+	static void checkJvmOptions() throws IllegalArgumentException {
+		getRuleThreads();
+		getTrajWindow();
+		getReadPath();
+		getReadMemoryMB();
+		getReadCacheMB();
+		getFormatCacheSize();
+		getConfigTechCacheSize();
+	}
+
+	/**
+	 * @return filechecker.rules.threads: number of threads running the groups of
+	 *         checks of a file (default 1)
+	 */
+	public static int getRuleThreads() throws IllegalArgumentException {
+		return intProperty(RULE_THREADS, 1, 1);
+	}
 
+	/**
+	 * @return filechecker.traj.window: number of values of a N_MEASUREMENT
+	 *         variable read at once (default 1048576; 0: whole variables)
+	 */
+	public static int getTrajWindow() throws IllegalArgumentException {
+		return intProperty(TRAJ_WINDOW, 1024 * 1024, 0);
+	}
+
+	/**
+	 * @return filechecker.io: the netCDF read path, "file", "mmap" or "memory"
+	 *         (default "file"; any case)
+	 */
+	public static String getReadPath() throws IllegalArgumentException {
+		String value = System.getProperty(READ_PATH, "file");
+		String name = value.trim().toLowerCase(Locale.ROOT);
+		if (!name.equals("file") && !name.equals("mmap") && !name.equals("memory")) {
+			log.error("Error: Invalid '-D" + READ_PATH + "' value: '" + value + "'");
+			throw new IllegalArgumentException("Error: Invalid '-D" + READ_PATH + "' value: '" + value + "'");
+		}
+		return name;
+	}
+
+	/**
+	 * @return filechecker.io.memory.mb: largest file read in memory (MB, default
+	 *         256)
+	 */
+	public static long getReadMemoryMB() throws IllegalArgumentException {
+		return intProperty(READ_MEMORY_MB, 256, 0);
+	}
+
+	/**
+	 * @return filechecker.readcache.mb: data cache of each open file (MB, default
+	 *         64)
+	 */
+	public static long getReadCacheMB() throws IllegalArgumentException {
+		return intProperty(READ_CACHE_MB, 64, 0);
+	}
+
+	/**
+	 * @return filechecker.formatcache.size: number of headers whose format checks
+	 *         are kept (default 256; 0: none)
+	 */
+	public static int getFormatCacheSize() throws IllegalArgumentException {
+		return intProperty(FORMAT_CACHE_SIZE, 256, 0);
+	}
+
+	/**
+	 * @return filechecker.configtech.cache: number of CONFIG / TECH parameter
+	 *         names whose match is kept (default 4096; 0: none)
+	 */
+	public static int getConfigTechCacheSize() throws IllegalArgumentException {
+		return intProperty(CONFIG_TECH_CACHE_SIZE, 4096, 0);
+	}
+
+	/**
+	 * Parse the value of an integer JVM option. It must be an integer not less
+	 * than min.
+	 * 
+	 * @param name         the system property
+	 * @param defaultValue the value if the property is not set
+	 * @param min          the smallest valid value
+	 * @return the value
+	 */
+	private static int intProperty(String name, int defaultValue, int min) throws IllegalArgumentException {
+		String value = System.getProperty(name);
+		if (value == null) {
+			return defaultValue;
+		}
+
+		int n;
+		try {
+			n = Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			n = min - 1;
+		}
+		if (n < min) {
+			log.error("Error: Invalid '-D" + name + "' value: '" + value + "'");
+			throw new IllegalArgumentException("Error: Invalid '-D" + name + "' value: '" + value + "'");
+		}
+		return n;
+	}
+
+	/**
+	 * Parse the value given to -skip-checks / -only-checks: a comma-separated list
+	 * of checks (unit ids, method names or CK_xxxx ids -- checked against the
+	 * check units when the validation starts).
+	 * 
+	 * @param option the option
+	 * @param value  the argument following the option
+	 * @return the checks
+	 */
+	private static List<String> parseChecks(String option, String value) throws IllegalArgumentException {
+		List<String> checks = new ArrayList<String>();
+		for (String check : value.split(",")) {
+			if (!check.trim().isEmpty()) {
+				checks.add(check.trim());
+			}
+		}
+		if (checks.isEmpty()) {
+			log.error("Error: Invalid '" + option + "' value: '" + value + "'");
+			throw new IllegalArgumentException("Error: Invalid '" + option + "' value: '" + value + "'");
+		}
+		return checks;
+	}
+
+	/**
+	 * Parse the value given to -server. It must be a valid TCP port number.
+	 * 
+	 * @param value the argument following -server
+	 * @return the port number
+	 */
+	private static int parsePort(String value) throws IllegalArgumentException {
+		int port;
+		try {
+			port = Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			port = 0;
+		}
+		if (port < 1 || port > 65535) {
+			log.error("Error: Invalid '-server' port: '" + value + "'");
+			throw new IllegalArgumentException("Error: Invalid '-server' port: '" + value + "'");
+		}
+		return port;
 	}
 
 	/**
@@ -280,8 +627,10 @@ public class Options {
 	 * appropriate error message.
 	 */
 	public void validateMandatoryArguments() {
-		checkDacName(dacName);
-		checkDirectory(inDirName, false);
+		if (!isServer()) {
+			checkDacName(dacName);
+			checkDirectory(inDirName, false);
+		}
 		checkDirectory(specDirName, useInternalSpecs);
 	}
 
@@ -290,7 +639,7 @@ public class Options {
 	 * referenced in ArgoReferenceTable.DACS. If the DAC name is invalid, logs an
 	 * error and terminates the application.
 	 */
-	protected static void checkDacName(String dacName) {
+	public static void checkDacName(String dacName) {
 		// .....check the DAC name.....
 		boolean dacOK = false;
 		for (ArgoReferenceTable.DACS d : ArgoReferenceTable.DACS.values()) {
@@ -383,4 +732,48 @@ public class Options {
 		return useInternalSpecs;
 	}
 
+	public int getNThreads() {
+		return nThreads;
+	}
+
+	public boolean isServer() {
+		return serverPort > 0;
+	}
+
+	public int getServerPort() {
+		return serverPort;
+	}
+
+	public String getSummaryFile() {
+		return summaryFile;
+	}
+
+	public boolean isDoTiming() {
+		return doTiming;
+	}
+
+	public boolean isDoTimingPerFile() {
+		return doTimingPerFile;
+	}
+
+	public String getCacheDirName() {
+		return cacheDirName;
+	}
+
+	public String getNvsMirrorDirName() {
+		return nvsMirrorDirName;
+	}
+
+	public List<String> getSkipChecks() {
+		return skipChecks;
+	}
+
+	public List<String> getOnlyChecks() {
+		return onlyChecks;
+	}
+
+	public boolean isDoReportChecks() {
+		return doReportChecks;
+	}
+
 }
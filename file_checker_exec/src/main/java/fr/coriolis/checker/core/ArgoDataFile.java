@@ -5,21 +5,28 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import fr.coriolis.checker.config.Options;
+import fr.coriolis.checker.exceptions.NotAnArgoFileException;
+import fr.coriolis.checker.exceptions.ProgramErrorException;
+import fr.coriolis.checker.exceptions.SpecificationNotFoundException;
 import fr.coriolis.checker.specs.ArgoFileSpecification;
 import fr.coriolis.checker.specs.ArgoReferenceTable;
+import fr.coriolis.checker.specs.SpecSnapshot;
 import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
 import fr.coriolis.checker.tables.SkosConcept;
+import ucar.ma2.Array;
 import ucar.ma2.ArrayChar;
 import ucar.ma2.ArrayDouble;
 import ucar.ma2.ArrayFloat;
 import ucar.ma2.ArrayInt;
 import ucar.ma2.ArrayShort;
+import ucar.ma2.InvalidRangeException;
 import ucar.nc2.Attribute;
 import ucar.nc2.Dimension;
 import ucar.nc2.NetcdfFile;
@@ -135,8 +142,20 @@ public class ArgoDataFile {
 
 //	protected static String message = BLANK_MESSAGE;
 
-	protected static HashMap<String, ArgoFileSpecification> fullSpecCache = new HashMap<String, ArgoFileSpecification>();
-	protected static HashMap<String, ArgoFileSpecification> tmpltSpecCache = new HashMap<String, ArgoFileSpecification>();
+	// ..specifications are never modified once built: they are shared by all the
+	// ..files (and threads) of the same type/version
+	protected static ConcurrentHashMap<String, ArgoFileSpecification> fullSpecCache =
+			new ConcurrentHashMap<String, ArgoFileSpecification>();
+	protected static ConcurrentHashMap<String, ArgoFileSpecification> tmpltSpecCache =
+			new ConcurrentHashMap<String, ArgoFileSpecification>();
+	private static final Object specBuildLock = new Object();
+
+	// ..precompiled specifications: read (once) before building the first one
+	private static SpecSnapshot specSnapshot = null;
+	private static boolean specSnapshotRead = false;
+
+	// ..memory budget of the data cache of each open file (MB)
+	private static final long READ_CACHE_BYTES = Options.getReadCacheMB() * 1024L * 1024L;
 
 	protected static SimpleDateFormat stringDateFormat = new SimpleDateFormat("yyyyMMddHHmmss");
 
@@ -172,6 +191,15 @@ public class ArgoDataFile {
 
 	private List<Variable> varList;
 
+	// ..reason of the most recent failure on this file
+	private final Diagnostic diagnostic = new Diagnostic();
+
+	// ..time spent in each phase of the check and bytes read
+	private final PhaseTimings timings = new PhaseTimings();
+
+	// ..data already read: the readers of a variable share one read of the file
+	private final ArrayCache readCache = new ArrayCache(READ_CACHE_BYTES);
+
 	// .........................................
 	// CONSTRUCTORS
 	// .........................................
@@ -305,6 +333,26 @@ public class ArgoDataFile {
 		return spec;
 	}
 
+	/**
+	 * Retrieve the diagnostic of this file: the reason of the most recent failure
+	 * (open, read, validation)
+	 * 
+	 * @returns the Diagnostic object of this file
+	 */
+	public Diagnostic getDiagnostic() {
+		return diagnostic;
+	}
+
+	/**
+	 * Retrieve the timings of this file: time spent in each phase of the check
+	 * and bytes of data read
+	 * 
+	 * @returns the PhaseTimings object of this file
+	 */
+	public PhaseTimings getTimings() {
+		return timings;
+	}
+
 //.........................................
 //               METHODS
 //.........................................
@@ -327,18 +375,13 @@ public class ArgoDataFile {
 	 *
 	 * @param inFile  the string name of the file to open
 	 * @param dacName Optional name of the dac that owns the file
-	 * @return the file object reference. Returns null if the file is not an Argo
-	 *         file.
-	 * @throws IOException If an I/O error occurs
+	 * @return the file object reference.
+	 * @throws IOException            If an I/O error occurs
+	 * @throws NotAnArgoFileException If the file is not an Argo file (see its
+	 *                                Diagnostic)
 	 */
-	public static ArgoDataFile open(String inFile, String... dacName) throws IOException {
-		try {
-			return (ArgoDataFile.open(inFile, false, dacName));
-
-		} catch (IOException e) {
-			throw e;
-		}
-
+	public static ArgoDataFile open(String inFile, String... dacName) throws IOException, NotAnArgoFileException {
+		return (ArgoDataFile.open(inFile, false, dacName));
 	}
 
 	/**
@@ -349,11 +392,13 @@ public class ArgoDataFile {
 	 * @param inFile          the string name of the file to open
 	 * @param overrideBadTYPE true = force "open" to ignore BadTYPE failure
 	 * @param dacName         Optional name of the dac that owns the file
-	 * @return the file object reference. Returns null if the file is not an Argo
-	 *         file.
-	 * @throws IOException If an I/O error occurs
+	 * @return the file object reference.
+	 * @throws IOException            If an I/O error occurs
+	 * @throws NotAnArgoFileException If the file is not an Argo file (see its
+	 *                                Diagnostic)
 	 */
-	public static ArgoDataFile open(String inFile, boolean overrideBadTYPE, String... dacName) throws IOException {
+	public static ArgoDataFile open(String inFile, boolean overrideBadTYPE, String... dacName)
+			throws IOException, NotAnArgoFileException {
 		// ..open the netCDF file
 		NetcdfFile nc;
 
@@ -369,21 +414,22 @@ public class ArgoDataFile {
 		}
 
 		try {
-			nc = NetcdfFile.open(inFile);
+			nc = NetcdfReadPath.open(inFile);
 
 		} catch (Exception e) {
 			log.error("NetcdfFile.open error on '" + inFile + "'");
 			throw new IOException("Error opening '" + inFile + "': " + e.getMessage());
 		}
 
+		ArgoDataFile arFile = new ArgoDataFile();
+
 		// ..read DATA_TYPE and check -- fail -> not an Argo file
 
-		String dt = readString(nc, "DATA_TYPE");
+		String dt = arFile.readString(nc, "DATA_TYPE");
 		log.info("data type = '" + dt + "'");
 		if (dt == null) {
 			log.error("DATA_TYPE not in file '" + inFile + "'");
-			ValidationResult.lastMessage = new String("DATA_TYPE not in file");
-			return null;
+			throw notAnArgoFile(nc, arFile, Diagnostic.Code.MISSING_DATA_TYPE, "DATA_TYPE not in file");
 		}
 		dt = dt.trim();
 
@@ -430,12 +476,13 @@ public class ArgoDataFile {
 				ft = FileType.BIO_TRAJECTORY;
 			} else {
 				log.info("Invalid DATA_TYPE: '" + dt + "'");
-				ft = FileType.UNKNOWN;
-				stderr.println(
-						"\n\n******\n" + "****** PROGRAM ERROR: Unexpected file type.  TERMINATING.\n" + "******");
-				System.exit(1);
-				// ValidationResult.lastMessage = new String("Invalid DATA_TYPE: '" + dt + "'");
-				return null;
+				// ..the caller decides whether to terminate (batch) or not (server)
+				try {
+					nc.close();
+				} catch (IOException e) {
+					log.debug("close failed on rejected file: {}", e.getMessage());
+				}
+				throw new ProgramErrorException("Unexpected file type");
 			}
 		} else if (dt.equals("ARGO profile")) {
 			// ################# TEMPORARY WARNING ################
@@ -486,23 +533,19 @@ public class ArgoDataFile {
 		} else {
 			log.info("Invalid DATA_TYPE: '" + dt + "'");
 			ft = FileType.UNKNOWN;
-			ValidationResult.lastMessage = new String("Invalid DATA_TYPE: '" + dt + "'");
-			return null;
+			throw notAnArgoFile(nc, arFile, Diagnostic.Code.INVALID_DATA_TYPE, "Invalid DATA_TYPE: '" + dt + "'");
 		}
 
 		// ..read FORMAT_VERSION and check -- fail -> not an Argo file
 
-		String fv = readString(nc, "FORMAT_VERSION");
+		String fv = arFile.readString(nc, "FORMAT_VERSION");
 		log.info("version = '" + fv + "'");
 		if (fv == null) {
 			log.info("FORMAT_VERSION not in file");
-			ValidationResult.lastMessage = new String("FORMAT_VERSION not in file");
-			return null;
+			throw notAnArgoFile(nc, arFile, Diagnostic.Code.MISSING_FORMAT_VERSION, "FORMAT_VERSION not in file");
 		}
 
 		// ..create the correct type of File
-
-		ArgoDataFile arFile = new ArgoDataFile();
 //		if (ft == FileType.METADATA) {
 //			log.debug("creating ArgoMetadataFile");
 //			arFile = new ArgoMetadataValidator();
@@ -545,15 +588,30 @@ public class ArgoDataFile {
 			if (badtype != null && fv.trim().equals("3.1")) {
 				log.info("Invalid DATA_TYPE: '" + dt + "'");
 				ft = FileType.UNKNOWN;
-				ValidationResult.lastMessage = new String("Invalid DATA_TYPE: '" + dt + "'");
-				return null;
+				throw notAnArgoFile(nc, arFile, Diagnostic.Code.INVALID_DATA_TYPE,
+						"Invalid DATA_TYPE: '" + dt + "'");
 			}
 		}
 
-		ValidationResult.lastMessage = BLANK_MESSAGE;
+		arFile.diagnostic.clear();
 		return arFile;
 	} // ..end open(inFile)
 
+	/**
+	 * Record why a file is not an Argo file, close it and build the exception to
+	 * throw.
+	 */
+	private static NotAnArgoFileException notAnArgoFile(NetcdfFile nc, ArgoDataFile arFile, Diagnostic.Code code,
+			String message) {
+		arFile.diagnostic.set(code, message);
+		try {
+			nc.close();
+		} catch (IOException e) {
+			log.debug("close failed on rejected file: {}", e.getMessage());
+		}
+		return new NotAnArgoFileException(message, arFile.diagnostic);
+	}
+
 	// .............open (inFile, specDir, fullSpec).................
 	/**
 	 * Opens an existing file and the associated <i>Argo specification</i>.
@@ -564,28 +622,30 @@ public class ArgoDataFile {
 	 * @param fullSpec true = open the full specification; false = open the template
 	 *                 specification
 	 * @param dacName  Optional name of the dac that owns the file
-	 * @return the file object reference. Returns null if the file is not an Argo
-	 *         file.
-	 * @throws IOException If an I/O error occurs
+	 * @return the file object reference.
+	 * @throws IOException            If an I/O error occurs
+	 * @throws NotAnArgoFileException If the file is not an Argo file or its type /
+	 *                                version is not handled (see its Diagnostic)
 	 */
 	public static ArgoDataFile open(String inFile, String specDir, boolean fullSpec, String... dacName)
-			throws IOException {
+			throws IOException, NotAnArgoFileException {
 		ArgoDataFile arFile = open(inFile, dacName);
-		if (arFile == null) {
-			return arFile;
-		}
 
 		// ..create the specification
 		try {
 			arFile.spec = openSpecification(fullSpec, arFile.fileType, arFile.format_version);
-		} catch (IOException e) {
-			if (e.getMessage().matches("cdlFileName.*does not exist")) {
-				ValidationResult.lastMessage = "File type / version not valid in the FileChecker: " + arFile.fileType
-						+ " / " + arFile.format_version;
-				return (null);
-			} else {
-				throw e;
+		} catch (SpecificationNotFoundException e) {
+			throw notAnArgoFile(arFile.ncReader, arFile, Diagnostic.Code.UNSUPPORTED_TYPE_VERSION,
+					"File type / version not valid in the FileChecker: " + arFile.fileType + " / "
+							+ arFile.format_version);
+		} catch (IOException | RuntimeException e) {
+			// ..the file is not returned: close it
+			try {
+				arFile.close();
+			} catch (IOException closeError) {
+				log.debug("close failed on rejected file: {}", closeError.getMessage());
 			}
+			throw e;
 		}
 
 		return arFile;
@@ -606,7 +666,8 @@ public class ArgoDataFile {
 		fileType = null;
 		dacName = null;
 
-		ValidationResult.lastMessage = BLANK_MESSAGE;
+		diagnostic.clear();
+		readCache.clear();
 	} // ..end close()
 
 	// ...............openSpecification...................
@@ -631,40 +692,89 @@ public class ArgoDataFile {
 		log.debug("file type = {}", ft.specType);
 		log.debug("version = '{}'", version);
 
+		String specType = specCacheKey(ft, version);
+
+		// ..full-specs are cached (so they can be reused)
+		// ..full-spec will work as a template spec too
+
+		ArgoFileSpecification s = getCachedSpecification(fullSpec, specType);
+		if (s != null) {
+			return s;
+		}
+
+		// ..only one thread builds a given specification; the others wait for it
+		synchronized (specBuildLock) {
+			s = getCachedSpecification(fullSpec, specType);
+			if (s != null) {
+				return s;
+			}
+
+			s = getSnapshotSpecification(specType);
+			if (s != null) {
+				return s;
+			}
+			return buildSpecification(fullSpec, ft, version, specType);
+		}
+	} // ..end openSpecification
+
+	/**
+	 * The key of a specification in the specification caches (and in the
+	 * specification snapshot)
+	 * 
+	 * @param ft      The FileType (enum) of the file type
+	 * @param version The version of the file specification
+	 * @return the key
+	 */
+	public static String specCacheKey(FileType ft, String version) {
 		// ..could handle specialized "specs" by replacing "pure" with something else
 		// .. for example, when we were doing "merged" files, it was set to "merge"
+		return ft.specType + ";" + version.trim() + ";" + "pure";
+	}
 
-		String specType = ft.specType + ";" + version.trim() + ";" + "pure";
+	/**
+	 * Get a full specification from the specification snapshot (and cache it).
+	 * Called with specBuildLock held.
+	 */
+	private static ArgoFileSpecification getSnapshotSpecification(String specType) {
+		if (!specSnapshotRead) {
+			specSnapshot = SpecSnapshot.load();
+			specSnapshotRead = true;
+		}
+		if (specSnapshot == null) {
+			return null;
+		}
 
-		// ..full-specs are cached (so they can be reused)
-		// ..full-spec will work as a template spec too
+		ArgoFileSpecification s = specSnapshot.get(specType);
+		if (s != null) {
+			fullSpecCache.put(specType, s);
+			log.info("snapshot specification ('" + specType + "')");
+		}
+		return s;
+	}
 
-		if (fullSpecCache.containsKey(specType)) {
+	private static ArgoFileSpecification getCachedSpecification(boolean fullSpec, String specType) {
+		ArgoFileSpecification s = fullSpecCache.get(specType);
+
+		if (s != null) {
 			// ..specification already exists - use it
 			log.info("existing full specification ('" + specType + "')");
 
-			return fullSpecCache.get(specType);
-
 		} else if (!fullSpec) {
 			// ..check for a cached template spec
+			s = tmpltSpecCache.get(specType);
 
-			if (tmpltSpecCache.containsKey(specType)) {
+			if (s != null) {
 				// ..specification already exists - use it
 				log.info("existing tmplt specification ('" + specType + "')");
-
-				return tmpltSpecCache.get(specType);
 			}
 		}
+		return s;
+	}
 
+	private static ArgoFileSpecification buildSpecification(boolean fullSpec, FileType ft, String version,
+			String specType) throws IOException {
 		// ..build a specification for this file
-		ArgoFileSpecification s = null;
-		try {
-			s = new ArgoFileSpecification(fullSpec, ft, version);
-
-		} catch (IOException e) {
-			ValidationResult.lastMessage = "Failed in ArgoFileSpecification";
-			throw e;
-		}
+		ArgoFileSpecification s = new ArgoFileSpecification(fullSpec, ft, version);
 
 		// ..cache the specs for later use
 		if (fullSpec) {
@@ -677,7 +787,7 @@ public class ArgoDataFile {
 		}
 
 		return s;
-	} // ..end openSpecification
+	} // ..end buildSpecification
 
 	// ........................................................
 	// ........... convenience "reader" functions ............
@@ -701,7 +811,7 @@ public class ArgoDataFile {
 	private int getDimensionLength(NetcdfFile ncReader, String dimName) {
 		Dimension dim = ncReader.findDimension(dimName);
 		if (dim == null) {
-			ValidationResult.lastMessage = "Dimension '" + dimName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_DIMENSION, "Dimension '" + dimName + "' not in Argo data file.");
 			return -1;
 		}
 
@@ -711,6 +821,386 @@ public class ArgoDataFile {
 	// *******************************************************************
 	// *************** CONVENIENCE READER METHODS ************************
 	// *******************************************************************
+	/**
+	 * Reads all the data of a variable of this file. All data reads go through
+	 * here (or the section read below) so that the bytes read are counted.
+	 * <p>
+	 * The data is kept in the read cache of the file (within its memory budget):
+	 * the following reads of the variable do not access the file. The returned
+	 * array may be shared and must not be modified.
+	 * <p>
+	 * The reads of a file are serialized: the rule groups of a validation may run
+	 * concurrently (see RuleGroups).
+	 * 
+	 * @param var the variable to read
+	 * @return the data
+	 * @throws IOException on a read error
+	 */
+	public synchronized Array read(Variable var) throws IOException {
+		String name = var.getShortName();
+
+		Array array = readCache.get(name);
+		if (array == null) {
+			array = var.read();
+			timings.addBytesRead(array.getSizeBytes());
+			readCache.put(name, array);
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a section of the data of a variable of this file.
+	 * <p>
+	 * Per-profile variables (first dimension N_PROF) are read in one piece and
+	 * kept in the read cache, so reading them profile by profile costs one read of
+	 * the file: the section is copied from the cached data. The other variables,
+	 * and the ones too large for the cache, are read section by section.
+	 * 
+	 * @param var    the variable to read
+	 * @param origin first index of the section in each dimension
+	 * @param shape  length of the section in each dimension
+	 * @return the data
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if the section is not in the variable
+	 */
+	public synchronized Array read(Variable var, int[] origin, int[] shape) throws IOException, InvalidRangeException {
+		Array whole = cachedData(var);
+
+		if (whole != null) {
+			// ..a copy, not a view: the 1-D accessors (getFloat(int), ...) ignore views
+			return whole.sectionNoReduce(origin, shape, null).copy();
+		}
+
+		Array array = var.read(origin, shape);
+		timings.addBytesRead(array.getSizeBytes());
+		return array;
+	}
+
+	/**
+	 * All the data of a variable, if it can be kept in the read cache: for the
+	 * column-wise checks, which run over all the profiles at once. The returned
+	 * array may be shared and must not be modified.
+	 * 
+	 * @param var the variable to read
+	 * @return all the data of a variable if it is in the read cache, or is a
+	 *         per-profile variable that fits in it (then read); null otherwise
+	 * @throws IOException on a read error
+	 */
+	public synchronized Array cachedData(Variable var) throws IOException {
+		Array whole = readCache.get(var.getShortName());
+
+		if (whole == null && var.getRank() > 0 && var.getDimension(0).getName().equals("N_PROF")
+				&& readCache.fits(var.getSize() * var.getElementSize())) {
+			whole = read(var);
+		}
+		return whole;
+	}
+
+	// ................ BUFFER READER METHODS .....................
+	// ..for the loops of the validators over the profiles / parameters: the
+	// ..values are copied once, into a buffer of the caller that is reused from
+	// ..one call to the next, instead of new Arrays and java arrays on each call
+
+	/**
+	 * Reads all the values of a variable, as floats (cast from the type of the
+	 * variable), into a buffer.
+	 * 
+	 * @param var    the variable to read
+	 * @param buffer the buffer to fill: reused if it has the size of the
+	 *               variable, otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException on a read error
+	 */
+	public float[] readFloats(Variable var, float[] buffer) throws IOException {
+		float[] values = (buffer != null && buffer.length == var.getSize() ? buffer : new float[(int) var.getSize()]);
+		copyFloats(read(var), 0, values);
+		return values;
+	}
+
+	/**
+	 * Reads the values of the slice var[n, ...] of a variable, as floats (cast
+	 * from the type of the variable), into a buffer.
+	 * 
+	 * @param var    the variable to read
+	 * @param n      index in the first dimension
+	 * @param buffer the buffer to fill: reused if it has the size of a slice,
+	 *               otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if n is not in the first dimension
+	 */
+	public float[] readFloats(Variable var, int n, float[] buffer) throws IOException, InvalidRangeException {
+		int size = sliceSize(var);
+		float[] values = (buffer != null && buffer.length == size ? buffer : new float[size]);
+
+		Array whole = cachedData(var);
+		if (whole != null) {
+			checkSlice(var, n);
+			copyFloats(whole, n * size, values);
+		} else {
+			copyFloats(read(var, sliceOrigin(var, n), sliceShape(var)), 0, values);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads all the characters of a char variable (NULLs included) into a buffer.
+	 * 
+	 * @param var    the variable to read
+	 * @param buffer the buffer to fill: reused if it has the size of the
+	 *               variable, otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException on a read error
+	 */
+	public char[] readChars(Variable var, char[] buffer) throws IOException {
+		char[] values = (buffer != null && buffer.length == var.getSize() ? buffer : new char[(int) var.getSize()]);
+		copyChars(read(var), 0, values);
+		return values;
+	}
+
+	/**
+	 * Reads the characters of the slice var[n, ...] of a char variable (NULLs
+	 * included) into a buffer. E.g. the QC flags of a profile: PARAM_QC[n, :].
+	 * 
+	 * @param var    the variable to read
+	 * @param n      index in the first dimension
+	 * @param buffer the buffer to fill: reused if it has the size of a slice,
+	 *               otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if n is not in the first dimension
+	 */
+	public char[] readChars(Variable var, int n, char[] buffer) throws IOException, InvalidRangeException {
+		int size = sliceSize(var);
+		char[] values = (buffer != null && buffer.length == size ? buffer : new char[size]);
+
+		Array whole = cachedData(var);
+		if (whole != null) {
+			checkSlice(var, n);
+			copyChars(whole, n * size, values);
+		} else {
+			copyChars(read(var, sliceOrigin(var, n), sliceShape(var)), 0, values);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads all the values of a variable, as ints (cast from the type of the
+	 * variable), into a buffer.
+	 * 
+	 * @param var    the variable to read
+	 * @param buffer the buffer to fill: reused if it has the size of the
+	 *               variable, otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException on a read error
+	 */
+	public int[] readInts(Variable var, int[] buffer) throws IOException {
+		int[] values = (buffer != null && buffer.length == var.getSize() ? buffer : new int[(int) var.getSize()]);
+		copyInts(read(var), 0, values);
+		return values;
+	}
+
+	/**
+	 * Reads the values of the slice var[n, ...] of a variable, as ints (cast from
+	 * the type of the variable), into a buffer.
+	 * 
+	 * @param var    the variable to read
+	 * @param n      index in the first dimension
+	 * @param buffer the buffer to fill: reused if it has the size of a slice,
+	 *               otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if n is not in the first dimension
+	 */
+	public int[] readInts(Variable var, int n, int[] buffer) throws IOException, InvalidRangeException {
+		int size = sliceSize(var);
+		int[] values = (buffer != null && buffer.length == size ? buffer : new int[size]);
+
+		Array whole = cachedData(var);
+		if (whole != null) {
+			checkSlice(var, n);
+			copyInts(whole, n * size, values);
+		} else {
+			copyInts(read(var, sliceOrigin(var, n), sliceShape(var)), 0, values);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads the values of the slices var[start, ...] to var[start + count - 1,
+	 * ...] of a variable, as floats (cast from the type of the variable), into a
+	 * buffer. E.g. a window of the measurements of a trajectory file. Unless they
+	 * are all the slices, the values are read from the file (or from the read
+	 * cache if the variable is in it) without being kept in the read cache.
+	 * 
+	 * @param var    the variable to read
+	 * @param start  index of the first slice in the first dimension
+	 * @param count  number of slices
+	 * @param buffer the buffer to fill: reused if it has the size of count
+	 *               slices, otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if the slices are not in the first dimension
+	 */
+	public float[] readFloats(Variable var, int start, int count, float[] buffer)
+			throws IOException, InvalidRangeException {
+		if (start == 0 && count == var.getShape(0)) {
+			return readFloats(var, buffer);
+		}
+
+		int size = count * sliceSize(var);
+		float[] values = (buffer != null && buffer.length == size ? buffer : new float[size]);
+		copyFloats(read(var, sliceOrigin(var, start), sliceShape(var, count)), 0, values);
+		return values;
+	}
+
+	/**
+	 * Reads the characters of the slices var[start, ...] to var[start + count -
+	 * 1, ...] of a char variable (NULLs included) into a buffer: as
+	 * readFloats(Variable, int, int, float[]).
+	 * 
+	 * @param var    the variable to read
+	 * @param start  index of the first slice in the first dimension
+	 * @param count  number of slices
+	 * @param buffer the buffer to fill: reused if it has the size of count
+	 *               slices, otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if the slices are not in the first dimension
+	 */
+	public char[] readChars(Variable var, int start, int count, char[] buffer)
+			throws IOException, InvalidRangeException {
+		if (start == 0 && count == var.getShape(0)) {
+			return readChars(var, buffer);
+		}
+
+		int size = count * sliceSize(var);
+		char[] values = (buffer != null && buffer.length == size ? buffer : new char[size]);
+		copyChars(read(var, sliceOrigin(var, start), sliceShape(var, count)), 0, values);
+		return values;
+	}
+
+	/**
+	 * Reads the values of the slices var[start, ...] to var[start + count - 1,
+	 * ...] of a variable, as ints (cast from the type of the variable), into a
+	 * buffer: as readFloats(Variable, int, int, float[]).
+	 * 
+	 * @param var    the variable to read
+	 * @param start  index of the first slice in the first dimension
+	 * @param count  number of slices
+	 * @param buffer the buffer to fill: reused if it has the size of count
+	 *               slices, otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if the slices are not in the first dimension
+	 */
+	public int[] readInts(Variable var, int start, int count, int[] buffer)
+			throws IOException, InvalidRangeException {
+		if (start == 0 && count == var.getShape(0)) {
+			return readInts(var, buffer);
+		}
+
+		int size = count * sliceSize(var);
+		int[] values = (buffer != null && buffer.length == size ? buffer : new int[size]);
+		copyInts(read(var, sliceOrigin(var, start), sliceShape(var, count)), 0, values);
+		return values;
+	}
+
+	/**
+	 * Reads the values of the slices var[start, ...] to var[start + count - 1,
+	 * ...] of a variable, as doubles (cast from the type of the variable), into a
+	 * buffer: as readFloats(Variable, int, int, float[]).
+	 * 
+	 * @param var    the variable to read
+	 * @param start  index of the first slice in the first dimension
+	 * @param count  number of slices
+	 * @param buffer the buffer to fill: reused if it has the size of count
+	 *               slices, otherwise (or null) a new one is allocated
+	 * @return the filled buffer (the given one or a new one)
+	 * @throws IOException           on a read error
+	 * @throws InvalidRangeException if the slices are not in the first dimension
+	 */
+	public double[] readDoubles(Variable var, int start, int count, double[] buffer)
+			throws IOException, InvalidRangeException {
+		int size = count * sliceSize(var);
+		double[] values = (buffer != null && buffer.length == size ? buffer : new double[size]);
+
+		Array array = (start == 0 && count == var.getShape(0) ? read(var)
+				: read(var, sliceOrigin(var, start), sliceShape(var, count)));
+		Object storage = array.getStorage();
+		if (storage instanceof double[]) {
+			System.arraycopy(storage, 0, values, 0, size);
+		} else {
+			for (int i = 0; i < size; i++) {
+				values[i] = array.getDouble(i);
+			}
+		}
+		return values;
+	}
+
+	// ..number of values of a slice var[n, ...]
+	private static int sliceSize(Variable var) {
+		int[] shape = var.getShape();
+		return (int) (shape[0] == 0 ? 0 : var.getSize() / shape[0]);
+	}
+
+	private static int[] sliceOrigin(Variable var, int n) {
+		int[] origin = new int[var.getRank()];
+		origin[0] = n;
+		return origin;
+	}
+
+	private static int[] sliceShape(Variable var) {
+		return sliceShape(var, 1);
+	}
+
+	private static int[] sliceShape(Variable var, int count) {
+		int[] shape = var.getShape();
+		shape[0] = count;
+		return shape;
+	}
+
+	private static void checkSlice(Variable var, int n) throws InvalidRangeException {
+		if (n < 0 || n >= var.getShape(0)) {
+			throw new InvalidRangeException(var.getShortName() + ": index " + n + " not in [0, " + var.getShape(0) + "[");
+		}
+	}
+
+	// ..the data read (whole variables or sections) are not views: the values are
+	// ..in the storage, in index order
+	private static void copyFloats(Array from, int start, float[] to) {
+		Object storage = from.getStorage();
+		if (storage instanceof float[]) {
+			System.arraycopy(storage, start, to, 0, to.length);
+		} else {
+			for (int i = 0; i < to.length; i++) {
+				to[i] = from.getFloat(start + i);
+			}
+		}
+	}
+
+	private static void copyInts(Array from, int start, int[] to) {
+		Object storage = from.getStorage();
+		if (storage instanceof int[]) {
+			System.arraycopy(storage, start, to, 0, to.length);
+		} else {
+			for (int i = 0; i < to.length; i++) {
+				to[i] = from.getInt(start + i);
+			}
+		}
+	}
+
+	private static void copyChars(Array from, int start, char[] to) {
+		Object storage = from.getStorage();
+		if (storage instanceof char[]) {
+			System.arraycopy(storage, start, to, 0, to.length);
+		} else {
+			for (int i = 0; i < to.length; i++) {
+				to[i] = from.getChar(start + i);
+			}
+		}
+	}
+
 	/**
 	 * Retrieve a list of variables in the associated file
 	 */
@@ -755,20 +1245,20 @@ public class ArgoDataFile {
 	 * @return the value of the variable null if not read (variable not present or a
 	 *         read error)
 	 */
-	private static String readString(NetcdfFile ncReader, String varName, boolean... returnNulls) {
+	private String readString(NetcdfFile ncReader, String varName, boolean... returnNulls) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		ArrayChar.D1 array = null;
 		try {
-			array = (ArrayChar.D1) ncVar.read();
+			array = (ArrayChar.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -836,20 +1326,20 @@ public class ArgoDataFile {
 	 * @return the value of the variable null if not read (variable not present or a
 	 *         read error)
 	 */
-	private static String readString(NetcdfFile ncReader, String varName, int n, boolean... returnNulls) {
+	private String readString(NetcdfFile ncReader, String varName, int n, boolean... returnNulls) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		ArrayChar.D2 array = null;
 		try {
-			array = (ArrayChar.D2) ncVar.read();
+			array = (ArrayChar.D2) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -917,20 +1407,20 @@ public class ArgoDataFile {
 	 * @return the value of the variable null if not read (variable not present or a
 	 *         read error)
 	 */
-	private static String readString(NetcdfFile ncReader, String varName, int n, int m, boolean... returnNulls) {
+	private String readString(NetcdfFile ncReader, String varName, int n, int m, boolean... returnNulls) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		ArrayChar.D3 array = null;
 		try {
-			array = (ArrayChar.D3) ncVar.read();
+			array = (ArrayChar.D3) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -998,20 +1488,20 @@ public class ArgoDataFile {
 	 * @return the value of the variable null if not read (variable not present or a
 	 *         read error)
 	 */
-	private static String readString(NetcdfFile ncReader, String varName, int n, int m, int k, boolean... returnNulls) {
+	private String readString(NetcdfFile ncReader, String varName, int n, int m, int k, boolean... returnNulls) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		ArrayChar.D4 array = null;
 		try {
-			array = (ArrayChar.D4) ncVar.read();
+			array = (ArrayChar.D4) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1081,20 +1571,20 @@ public class ArgoDataFile {
 	 * @return array of String representing varName[:] null if not read (variable
 	 *         not present or a read error)
 	 */
-	private static String[] readStringArr(NetcdfFile ncReader, String varName, boolean... returnNulls) {
+	private String[] readStringArr(NetcdfFile ncReader, String varName, boolean... returnNulls) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		ArrayChar.D2 array = null;
 		try {
-			array = (ArrayChar.D2) ncVar.read();
+			array = (ArrayChar.D2) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1167,20 +1657,20 @@ public class ArgoDataFile {
 	 * @return array of String representing varName[n, :] null if not read (variable
 	 *         not present or a read error)
 	 */
-	private static String[] readStringArr(NetcdfFile ncReader, String varName, int n, boolean... returnNulls) {
+	private String[] readStringArr(NetcdfFile ncReader, String varName, int n, boolean... returnNulls) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		ArrayChar.D3 array = null;
 		try {
-			array = (ArrayChar.D3) ncVar.read();
+			array = (ArrayChar.D3) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1253,20 +1743,20 @@ public class ArgoDataFile {
 	 * @return array of String representing varName[n, m, :] null if not read
 	 *         (variable not present or a read error)
 	 */
-	private static String[] readStringArr(NetcdfFile ncReader, String varName, int n, int m, boolean... returnNulls) {
+	private String[] readStringArr(NetcdfFile ncReader, String varName, int n, int m, boolean... returnNulls) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		ArrayChar.D4 array = null;
 		try {
-			array = (ArrayChar.D4) ncVar.read();
+			array = (ArrayChar.D4) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1335,23 +1825,23 @@ public class ArgoDataFile {
 	 * @return the value of the variable Integer.MAX_VALUE if not read (variable not
 	 *         present or a read error)
 	 */
-	private static int readInt(NetcdfFile ncReader, String varName) {
+	private int readInt(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayInt.D0 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Integer.MAX_VALUE;
 		}
 
 		array = null;
 		try {
-			array = (ArrayInt.D0) ncVar.read();
+			array = (ArrayInt.D0) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Integer.MAX_VALUE;
 		}
 
@@ -1381,20 +1871,20 @@ public class ArgoDataFile {
 	 * @return the value of the variable Integer.MAX_VALUE if not read (variable not
 	 *         present or a read error)
 	 */
-	private static int readInt(NetcdfFile ncReader, String varName, int n) {
+	private int readInt(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Integer.MAX_VALUE;
 		}
 
 		ArrayInt.D1 array = null;
 		try {
-			array = (ArrayInt.D1) ncVar.read();
+			array = (ArrayInt.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Integer.MAX_VALUE;
 		}
 
@@ -1422,23 +1912,23 @@ public class ArgoDataFile {
 	 * @return an int array of the values of the variable Integer.MAX_VALUE if not
 	 *         read (variable not present or a read error)
 	 */
-	private static int[] readIntArr(NetcdfFile ncReader, String varName) {
+	private int[] readIntArr(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayInt.D1 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		array = null;
 		try {
-			array = (ArrayInt.D1) ncVar.read();
+			array = (ArrayInt.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1467,10 +1957,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a int[] null if not read (variable not present
 	 *         or a read error)
 	 */
-	private static int[] readIntArr(NetcdfFile ncReader, String varName, int n) {
+	private int[] readIntArr(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -1482,11 +1972,11 @@ public class ArgoDataFile {
 
 		ArrayInt.D2 array = null;
 		try {
-			array = (ArrayInt.D2) ncVar.read(origin, shape);
+			array = (ArrayInt.D2) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1520,10 +2010,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a int[] null if not read (variable not present
 	 *         or a read error)
 	 */
-	private static int[] readIntArr(NetcdfFile ncReader, String varName, int n, int m) {
+	private int[] readIntArr(NetcdfFile ncReader, String varName, int n, int m) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -1536,11 +2026,11 @@ public class ArgoDataFile {
 
 		ArrayInt.D3 array = null;
 		try {
-			array = (ArrayInt.D3) ncVar.read(origin, shape);
+			array = (ArrayInt.D3) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1570,23 +2060,23 @@ public class ArgoDataFile {
 	 * @return the value of the variable Double.NaN if not read (variable not
 	 *         present or a read error)
 	 */
-	private static double readDouble(NetcdfFile ncReader, String varName) {
+	private double readDouble(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayDouble.D0 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Double.NaN;
 		}
 
 		array = null;
 		try {
-			array = (ArrayDouble.D0) ncVar.read();
+			array = (ArrayDouble.D0) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Double.NaN;
 		}
 
@@ -1616,23 +2106,23 @@ public class ArgoDataFile {
 	 * @return the value of the variable Double.NaN if not read (variable not
 	 *         present or a read error)
 	 */
-	private static double readDouble(NetcdfFile ncReader, String varName, int n) {
+	private double readDouble(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar;
 		ArrayDouble.D1 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Double.NaN;
 		}
 
 		array = null;
 		try {
-			array = (ArrayDouble.D1) ncVar.read();
+			array = (ArrayDouble.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Double.NaN;
 		}
 
@@ -1660,23 +2150,23 @@ public class ArgoDataFile {
 	 * @return the value of the variable null if not read (variable not present or a
 	 *         read error)
 	 */
-	private static double[] readDoubleArr(NetcdfFile ncReader, String varName) {
+	private double[] readDoubleArr(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayDouble.D1 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		array = null;
 		try {
-			array = (ArrayDouble.D1) ncVar.read();
+			array = (ArrayDouble.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1706,10 +2196,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a double[] null if not read (variable not
 	 *         present or a read error)
 	 */
-	private static double[] readDoubleArr(NetcdfFile ncReader, String varName, int n) {
+	private double[] readDoubleArr(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -1721,11 +2211,11 @@ public class ArgoDataFile {
 
 		ArrayDouble.D2 array = null;
 		try {
-			array = (ArrayDouble.D2) ncVar.read(origin, shape);
+			array = (ArrayDouble.D2) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1760,10 +2250,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a double[] null if not read (variable not
 	 *         present or a read error)
 	 */
-	private static double[] readDoubleArr(NetcdfFile ncReader, String varName, int n, int m) {
+	private double[] readDoubleArr(NetcdfFile ncReader, String varName, int n, int m) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -1776,11 +2266,11 @@ public class ArgoDataFile {
 
 		ArrayDouble.D3 array = null;
 		try {
-			array = (ArrayDouble.D3) ncVar.read(origin, shape);
+			array = (ArrayDouble.D3) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1810,23 +2300,23 @@ public class ArgoDataFile {
 	 * @return the value of the variable Float.NaN if not read (variable not present
 	 *         or a read error)
 	 */
-	private static float readFloat(NetcdfFile ncReader, String varName) {
+	private float readFloat(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayFloat.D0 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Float.NaN;
 		}
 
 		array = null;
 		try {
-			array = (ArrayFloat.D0) ncVar.read();
+			array = (ArrayFloat.D0) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Float.NaN;
 		}
 
@@ -1856,23 +2346,23 @@ public class ArgoDataFile {
 	 * @return the value of the variable Float.NaN if not read (variable not present
 	 *         or a read error)
 	 */
-	private static float readFloat(NetcdfFile ncReader, String varName, int n) {
+	private float readFloat(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar;
 		ArrayFloat.D1 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Float.NaN;
 		}
 
 		array = null;
 		try {
-			array = (ArrayFloat.D1) ncVar.read();
+			array = (ArrayFloat.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Float.NaN;
 		}
 
@@ -1900,23 +2390,23 @@ public class ArgoDataFile {
 	 * @return the array of values as a float[] null if not read (variable not
 	 *         present or a read error)
 	 */
-	private static float[] readFloatArr(NetcdfFile ncReader, String varName) {
+	private float[] readFloatArr(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayFloat.D1 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		array = null;
 		try {
-			array = (ArrayFloat.D1) ncVar.read();
+			array = (ArrayFloat.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -1945,10 +2435,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a float[] null if not read (variable not
 	 *         present or a read error)
 	 */
-	private static float[] readFloatArr(NetcdfFile ncReader, String varName, int n) {
+	private float[] readFloatArr(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -1963,11 +2453,11 @@ public class ArgoDataFile {
 
 		ArrayFloat.D2 array = null;
 		try {
-			array = (ArrayFloat.D2) ncVar.read(origin, shape);
+			array = (ArrayFloat.D2) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.println(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -2002,10 +2492,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a float[] null if not read (variable not
 	 *         present or a read error)
 	 */
-	private static float[] readFloatArr(NetcdfFile ncReader, String varName, int n, int m) {
+	private float[] readFloatArr(NetcdfFile ncReader, String varName, int n, int m) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -2018,11 +2508,11 @@ public class ArgoDataFile {
 
 		ArrayFloat.D3 array = null;
 		try {
-			array = (ArrayFloat.D3) ncVar.read(origin, shape);
+			array = (ArrayFloat.D3) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -2052,23 +2542,23 @@ public class ArgoDataFile {
 	 * @return the value of the variable Short.MAX_VALUE if not read (variable not
 	 *         present or a read error)
 	 */
-	private static short readShort(NetcdfFile ncReader, String varName) {
+	private short readShort(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayShort.D0 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Short.MAX_VALUE;
 		}
 
 		array = null;
 		try {
-			array = (ArrayShort.D0) ncVar.read();
+			array = (ArrayShort.D0) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Short.MAX_VALUE;
 		}
 
@@ -2098,20 +2588,20 @@ public class ArgoDataFile {
 	 * @return the value of the variable Short.MAX_VALUE if not read (variable not
 	 *         present or a read error)
 	 */
-	private static short readShort(NetcdfFile ncReader, String varName, int n) {
+	private short readShort(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return Short.MAX_VALUE;
 		}
 
 		ArrayShort.D1 array = null;
 		try {
-			array = (ArrayShort.D1) ncVar.read();
+			array = (ArrayShort.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return Short.MAX_VALUE;
 		}
 
@@ -2139,23 +2629,23 @@ public class ArgoDataFile {
 	 * @return an short array of the values of the variable Short.MAX_VALUE if not
 	 *         read (variable not present or a read error)
 	 */
-	private static short[] readShortArr(NetcdfFile ncReader, String varName) {
+	private short[] readShortArr(NetcdfFile ncReader, String varName) {
 		Variable ncVar;
 		ArrayShort.D1 array;
 
 		ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
 		array = null;
 		try {
-			array = (ArrayShort.D1) ncVar.read();
+			array = (ArrayShort.D1) read(ncVar);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -2184,10 +2674,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a short[] null if not read (variable not
 	 *         present or a read error)
 	 */
-	private static short[] readShortArr(NetcdfFile ncReader, String varName, int n) {
+	private short[] readShortArr(NetcdfFile ncReader, String varName, int n) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -2202,11 +2692,11 @@ public class ArgoDataFile {
 
 		ArrayShort.D2 array = null;
 		try {
-			array = (ArrayShort.D2) ncVar.read(origin, shape);
+			array = (ArrayShort.D2) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.println(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -2241,10 +2731,10 @@ public class ArgoDataFile {
 	 * @return the array of values as a short[] null if not read (variable not
 	 *         present or a read error)
 	 */
-	private static short[] readShortArr(NetcdfFile ncReader, String varName, int n, int m) {
+	private short[] readShortArr(NetcdfFile ncReader, String varName, int n, int m) {
 		Variable ncVar = ncReader.findVariable(varName);
 		if (ncVar == null) {
-			ValidationResult.lastMessage = "Variable '" + varName + "' not in Argo data file.";
+			diagnostic.set(Diagnostic.Code.MISSING_VARIABLE, "Variable '" + varName + "' not in Argo data file.");
 			return null;
 		}
 
@@ -2257,11 +2747,11 @@ public class ArgoDataFile {
 
 		ArrayShort.D3 array = null;
 		try {
-			array = (ArrayShort.D3) ncVar.read(origin, shape);
+			array = (ArrayShort.D3) read(ncVar, origin, shape);
 		} catch (Exception e) {
 			stderr.println("ERROR: Reading '" + varName + "': " + e);
 			// stderr.print(e);
-			ValidationResult.lastMessage = "Netcdf read exception: " + e;
+			diagnostic.set(Diagnostic.Code.READ_FAILED, "Netcdf read exception: " + e);
 			return null;
 		}
 
@@ -0,0 +1,78 @@
+package fr.coriolis.checker.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ucar.ma2.Array;
+
+/**
+ * Memory-bounded cache of the variables read from an ArgoDataFile: the data of
+ * a variable is read once and then served from memory to all the readers.
+ * <p>
+ * The cache holds at most <i>budget</i> bytes of data; the least recently used
+ * variables are evicted first. A variable larger than the budget is never
+ * cached (it is read from the file each time).
+ * <p>
+ * The arrays are shared: they must not be modified by the readers.
+ */
+class ArrayCache {
+
+	private final long budget;
+	private long size = 0;
+
+	// ..access order: the first entry is the least recently used
+	private final LinkedHashMap<String, Array> arrays = new LinkedHashMap<String, Array>(64, 0.75f, true);
+
+	/**
+	 * @param budget maximum number of bytes of data held
+	 */
+	ArrayCache(long budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * @return the data of the variable, null if not in the cache
+	 */
+	synchronized Array get(String varName) {
+		return arrays.get(varName);
+	}
+
+	/**
+	 * Add the data of a variable, evicting the least recently used variables if
+	 * needed. Ignored if the data is larger than the budget.
+	 */
+	synchronized void put(String varName, Array array) {
+		long bytes = array.getSizeBytes();
+		if (!fits(bytes)) {
+			return;
+		}
+
+		Array previous = arrays.remove(varName);
+		if (previous != null) {
+			size -= previous.getSizeBytes();
+		}
+
+		Iterator<Map.Entry<String, Array>> lru = arrays.entrySet().iterator();
+		while (size + bytes > budget && lru.hasNext()) {
+			size -= lru.next().getValue().getSizeBytes();
+			lru.remove();
+		}
+
+		arrays.put(varName, array);
+		size += bytes;
+	}
+
+	/**
+	 * @return true if data of this size can be cached
+	 */
+	boolean fits(long bytes) {
+		return bytes <= budget;
+	}
+
+	synchronized void clear() {
+		arrays.clear();
+		size = 0;
+	}
+
+}
@@ -0,0 +1,64 @@
+package fr.coriolis.checker.core;
+
+/**
+ * Describes why the most recent operation on an Argo file (open, read,
+ * validation) could not be completed: an error {@link Code} and a descriptive
+ * message.
+ * <p>
+ * Each {@link ArgoDataFile} carries its own Diagnostic so that files checked
+ * concurrently never see each other's failures. The exceptions raised by the
+ * validation steps carry the Diagnostic of the file being processed.
+ */
+public class Diagnostic {
+
+	private static final String BLANK_MESSAGE = "";
+
+	/** Reasons for an operation failure */
+	public static enum Code {
+		NONE,
+		// ..open: the file is not an Argo file (or not one the FileChecker handles)
+		MISSING_DATA_TYPE,
+		INVALID_DATA_TYPE,
+		MISSING_FORMAT_VERSION,
+		UNSUPPORTED_TYPE_VERSION,
+		// ..read
+		MISSING_DIMENSION,
+		MISSING_VARIABLE,
+		READ_FAILED,
+		// ..validation
+		SPECIFICATION_NOT_OPENED,
+		FORMAT_NOT_VERIFIED,
+		UNKNOWN_DAC;
+	}
+
+	private Code code = Code.NONE;
+	private String message = BLANK_MESSAGE;
+
+	/** Record the most recent failure */
+	public void set(Code code, String message) {
+		this.code = code;
+		this.message = message;
+	}
+
+	/** Forget any previous failure */
+	public void clear() {
+		code = Code.NONE;
+		message = BLANK_MESSAGE;
+	}
+
+	/** Retrieve the code of the most recent failure (NONE = no failure) */
+	public Code getCode() {
+		return code;
+	}
+
+	/** Retrieve the message of the most recent failure ("" = no failure) */
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return code + ": " + message;
+	}
+
+}
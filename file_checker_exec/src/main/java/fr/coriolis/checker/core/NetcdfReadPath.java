@@ -0,0 +1,207 @@
+package fr.coriolis.checker.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import fr.coriolis.checker.config.Options;
+
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.iosp.IOServiceProvider;
+import ucar.nc2.iosp.netcdf3.SPFactory;
+import ucar.unidata.io.RandomAccessFile;
+
+/**
+ * How the netCDF files are read (ArgoDataFile.open).
+ * <p>
+ * The validators make many small reads (variables, profile slices...). With
+ * the default netCDF-java RandomAccessFile each one that misses its 8 kB
+ * buffer is a seek and a read system call. The other read paths serve them
+ * from memory:
+ * <ul>
+ * <li>{@link Mode#FILE}: netCDF-java buffered RandomAccessFile (default)
+ * <li>{@link Mode#MMAP}: netCDF-3 classic files (most Argo files) are
+ * memory-mapped and read from the mapped region; other files are read as
+ * with FILE
+ * <li>{@link Mode#MEMORY}: the file is read in one pass and served from memory
+ * (files larger than "filechecker.io.memory.mb", default 256, are
+ * memory-mapped instead)
+ * </ul>
+ * The read path is set by the "filechecker.io" system property (file, mmap or
+ * memory). The values read are the same whatever the read path.
+ */
+public final class NetcdfReadPath {
+
+	public enum Mode {
+		FILE, MMAP, MEMORY;
+
+		/**
+		 * @param name the name of a read path (any case)
+		 * @throws IllegalArgumentException if it is not a read path
+		 */
+		public static Mode of(String name) {
+			try {
+				return valueOf(name.trim().toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("unknown netCDF read path '" + name + "' (file, mmap or memory)");
+			}
+		}
+	}
+
+	private static final Logger log = LogManager.getLogger("NetcdfReadPath");
+
+	// ..read path of ArgoDataFile.open
+	private static final Mode DEFAULT_MODE = Mode.of(Options.getReadPath());
+
+	// ..largest file read in memory (MEMORY)
+	private static final long MAX_MEMORY_BYTES = Options.getReadMemoryMB() * 1024L * 1024L;
+
+	private NetcdfReadPath() {
+	}
+
+	/**
+	 * @return the read path set by the "filechecker.io" system property
+	 */
+	public static Mode getDefaultMode() {
+		return DEFAULT_MODE;
+	}
+
+	/**
+	 * Open a netCDF file with the default read path
+	 */
+	public static NetcdfFile open(String location) throws IOException {
+		return open(location, DEFAULT_MODE);
+	}
+
+	/**
+	 * Open a netCDF file
+	 *
+	 * @param location the file
+	 * @param mode     the read path
+	 * @return the open file
+	 * @throws IOException if the file cannot be read, or is not a netCDF file
+	 */
+	public static NetcdfFile open(String location, Mode mode) throws IOException {
+		long length = new File(location).length();
+
+		if (mode == Mode.MEMORY && length <= MAX_MEMORY_BYTES) {
+			// ..one read of the whole file: all the reads are then served from memory
+			byte[] content = new byte[(int) length];
+			try (FileChannel channel = FileChannel.open(Paths.get(location), StandardOpenOption.READ)) {
+				ByteBuffer buffer = ByteBuffer.wrap(content);
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0) {
+						throw new IOException("'" + location + "' changed while being read");
+					}
+				}
+			}
+			return NetcdfFile.openInMemory(location, content);
+		}
+
+		if (mode != Mode.FILE && length <= Integer.MAX_VALUE) {
+			NetcdfFile nc = openMapped(location);
+			if (nc != null) {
+				return nc;
+			}
+			log.debug("not a netCDF-3 classic file: read path 'file' for '{}'", location);
+		}
+
+		return NetcdfFile.open(location);
+	}
+
+	/**
+	 * Open a netCDF-3 classic file from a memory-mapped region
+	 *
+	 * @return the open file; null if the file is not a netCDF-3 classic file
+	 */
+	private static NetcdfFile openMapped(String location) throws IOException {
+		MappedFile raf = new MappedFile(location);
+		try {
+			IOServiceProvider iosp = SPFactory.getServiceProvider();
+			if (!iosp.isValidFile(raf)) {
+				raf.close();
+				return null;
+			}
+			return new MappedNetcdfFile(iosp, raf, location);
+
+		} catch (IOException | RuntimeException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	/** A netCDF file opened with a given service provider and RandomAccessFile */
+	private static final class MappedNetcdfFile extends NetcdfFile {
+		MappedNetcdfFile(IOServiceProvider iosp, RandomAccessFile raf, String location) throws IOException {
+			super(iosp, raf, location, null);
+		}
+	}
+
+	/**
+	 * Read-only RandomAccessFile reading a memory-mapped file: a read is a copy
+	 * from the mapped region, without system call. The region is released when
+	 * it is garbage collected.
+	 */
+	private static final class MappedFile extends RandomAccessFile {
+		private static final int BUFFER_SIZE = 8 * 1024;
+
+		private final MappedByteBuffer region;
+		private final long lastModified;
+
+		MappedFile(String location) throws IOException {
+			super(BUFFER_SIZE);
+			this.location = location;
+			this.lastModified = new File(location).lastModified();
+			try (FileChannel channel = FileChannel.open(Paths.get(location), StandardOpenOption.READ)) {
+				region = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+		}
+
+		@Override
+		public long length() {
+			return region.capacity();
+		}
+
+		@Override
+		public long getLastModified() {
+			return lastModified;
+		}
+
+		@Override
+		protected int read_(long pos, byte[] b, int offset, int len) {
+			if (pos >= region.capacity()) {
+				return -1;
+			}
+			int n = (int) Math.min(len, region.capacity() - pos);
+			ByteBuffer view = region.duplicate();
+			view.position((int) pos);
+			view.get(b, offset, n);
+			return n;
+		}
+
+		@Override
+		public long readToByteChannel(WritableByteChannel dest, long offset, long nbytes) throws IOException {
+			if (offset >= region.capacity()) {
+				return 0;
+			}
+			ByteBuffer view = region.duplicate();
+			view.position((int) offset);
+			view.limit((int) Math.min(region.capacity(), offset + nbytes));
+			long n = 0;
+			while (view.hasRemaining()) {
+				n += dest.write(view);
+			}
+			return n;
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package fr.coriolis.checker.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wall time spent in each phase of the check of one file, and the number of
+ * bytes of data read from the file.
+ * <p>
+ * Phases are named by the caller: the steps of ValidateSubmit ("open",
+ * "format", "data", ...) and the main validator methods
+ * ("ArgoProfileFileValidator.validateParams", ...). A phase timed more than
+ * once accumulates. Typical use:
+ *
+ * <pre>
+ * long t = timings.start();
+ * validateDates();
+ * t = timings.lap("validateDates", t);
+ * validateParams();
+ * t = timings.lap("validateParams", t);
+ * </pre>
+ */
+public class PhaseTimings {
+
+	private final LinkedHashMap<String, Long> phaseNanos = new LinkedHashMap<String, Long>();
+	private long bytesRead = 0;
+
+	/** Start timing: returns the current time (nanoseconds) */
+	public long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Add the time elapsed since <i>start</i> to a phase
+	 *
+	 * @param phase name of the phase
+	 * @param start value returned by {@link #start()} (or a previous lap)
+	 * @return the current time: the start of the next phase
+	 */
+	public long lap(String phase, long start) {
+		long now = System.nanoTime();
+		add(phase, now - start);
+		return now;
+	}
+
+	/** Add a duration (nanoseconds) to a phase */
+	public synchronized void add(String phase, long nanos) {
+		Long previous = phaseNanos.get(phase);
+		phaseNanos.put(phase, previous == null ? nanos : previous + nanos);
+	}
+
+	/** Count bytes of data read from the file */
+	public synchronized void addBytesRead(long nBytes) {
+		bytesRead += nBytes;
+	}
+
+	/** The time (nanoseconds) of each phase, in the order the phases were first timed */
+	public synchronized Map<String, Long> getPhaseNanos() {
+		return Collections.unmodifiableMap(new LinkedHashMap<String, Long>(phaseNanos));
+	}
+
+	public synchronized long getBytesRead() {
+		return bytesRead;
+	}
+
+}
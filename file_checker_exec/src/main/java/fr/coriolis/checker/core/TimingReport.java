@@ -0,0 +1,117 @@
+package fr.coriolis.checker.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregate of the {@link PhaseTimings} of the files of a batch (-timing
+ * option): for each phase, the number of files, the median, 95th percentile,
+ * maximum and total time, for all the files and for each file type.
+ * <p>
+ * Files are added by the validation workers as they complete.
+ */
+public class TimingReport {
+
+	private static final String ALL_FILES = "all files";
+
+	// ..file type -> phase -> time of each file (nanoseconds)
+	private final TreeMap<String, LinkedHashMap<String, List<Long>>> nanosByType = new TreeMap<String, LinkedHashMap<String, List<Long>>>();
+	private final LinkedHashMap<String, List<Long>> allNanos = new LinkedHashMap<String, List<Long>>();
+	private final Map<String, Integer> nFilesByType = new TreeMap<String, Integer>();
+
+	private int nFiles = 0;
+	private long bytesRead = 0;
+	private final long startTime = System.nanoTime();
+
+	/**
+	 * Add the timings of a checked file
+	 *
+	 * @param fileType type of the file (null if not determined)
+	 * @param timings  the timings of the file
+	 */
+	public synchronized void add(String fileType, PhaseTimings timings) {
+		if (fileType == null) {
+			fileType = "File type not determined";
+		}
+
+		LinkedHashMap<String, List<Long>> typeNanos = nanosByType.get(fileType);
+		if (typeNanos == null) {
+			typeNanos = new LinkedHashMap<String, List<Long>>();
+			nanosByType.put(fileType, typeNanos);
+		}
+
+		for (Map.Entry<String, Long> phase : timings.getPhaseNanos().entrySet()) {
+			addValue(allNanos, phase.getKey(), phase.getValue());
+			addValue(typeNanos, phase.getKey(), phase.getValue());
+		}
+
+		Integer n = nFilesByType.get(fileType);
+		nFilesByType.put(fileType, n == null ? 1 : n + 1);
+		nFiles++;
+		bytesRead += timings.getBytesRead();
+	}
+
+	/**
+	 * Format the report
+	 *
+	 * @return the report (several lines)
+	 */
+	public synchronized String format() {
+		double elapsedSec = (System.nanoTime() - startTime) / 1.e9;
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("TIMING REPORT: %d files, %.1f MB read in %.1f s (%.1f files/s, %.1f MB/s)%n",
+				nFiles, bytesRead / 1.e6, elapsedSec, nFiles / elapsedSec, bytesRead / 1.e6 / elapsedSec));
+
+		formatGroup(report, ALL_FILES, nFiles, allNanos);
+		for (Map.Entry<String, LinkedHashMap<String, List<Long>>> type : nanosByType.entrySet()) {
+			formatGroup(report, type.getKey(), nFilesByType.get(type.getKey()), type.getValue());
+		}
+
+		return report.toString();
+	}
+
+	// ************************** convenience methods ******************************
+
+	private static void addValue(Map<String, List<Long>> nanos, String phase, long value) {
+		List<Long> values = nanos.get(phase);
+		if (values == null) {
+			values = new ArrayList<Long>();
+			nanos.put(phase, values);
+		}
+		values.add(value);
+	}
+
+	private static void formatGroup(StringBuilder report, String group, int nFiles, Map<String, List<Long>> nanos) {
+		report.append(String.format("%n  %s (%d files)%n", group, nFiles));
+		report.append(String.format("    %-50s %6s %10s %10s %10s %10s%n", "phase", "files", "p50 ms", "p95 ms",
+				"max ms", "total s"));
+
+		for (Map.Entry<String, List<Long>> phase : nanos.entrySet()) {
+			long[] values = new long[phase.getValue().size()];
+			long total = 0;
+			for (int n = 0; n < values.length; n++) {
+				values[n] = phase.getValue().get(n);
+				total += values[n];
+			}
+			Arrays.sort(values);
+
+			report.append(String.format("    %-50s %6d %10.1f %10.1f %10.1f %10.2f%n", phase.getKey(), values.length,
+					percentile(values, 50) / 1.e6, percentile(values, 95) / 1.e6, values[values.length - 1] / 1.e6,
+					total / 1.e9));
+		}
+	}
+
+	/**
+	 * Nearest-rank percentile of sorted values
+	 */
+	private static long percentile(long[] sorted, int p) {
+		int rank = (int) Math.ceil(p / 100.d * sorted.length);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+
+}
@@ -7,11 +7,17 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.StringWriter;
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -19,16 +25,22 @@ import org.apache.logging.log4j.Logger;
 import fr.coriolis.checker.config.Options;
 import fr.coriolis.checker.core.ArgoDataFile.FileType;
 import fr.coriolis.checker.exceptions.NotAnArgoFileException;
+import fr.coriolis.checker.exceptions.ProgramErrorException;
 import fr.coriolis.checker.exceptions.ValidateFileDataFailedException;
 import fr.coriolis.checker.exceptions.VerifyFileFormatFailedException;
+import fr.coriolis.checker.output.BatchSummary;
+import fr.coriolis.checker.output.ResultsCache;
 import fr.coriolis.checker.output.ResultsFile;
+import fr.coriolis.checker.server.CheckerServer;
 import fr.coriolis.checker.specs.SpecIO;
 import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+import fr.coriolis.checker.tables.NVSMirror;
 import fr.coriolis.checker.validators.ArgoFileValidator;
 import fr.coriolis.checker.validators.ArgoMetadataFileValidator;
 import fr.coriolis.checker.validators.ArgoProfileFileValidator;
 import fr.coriolis.checker.validators.ArgoTechnicalFileValidator;
 import fr.coriolis.checker.validators.ArgoTrajectoryFileValidator;
+import fr.coriolis.checker.validators.CheckRegistry;
 
 /**
  * Implements the Argo FileChecker data file validation checking.
@@ -47,9 +59,6 @@ public class ValidateSubmit {
 
 	// ......................Variable Declarations................
 
-	private static ArgoDataFile argo;
-	private static ArgoFileValidator argoFileValidator;
-
 	private static boolean doXml = true;
 
 	private static final String UNKNOWN_VERSION = "unknown";
@@ -62,6 +71,9 @@ public class ValidateSubmit {
 	private static Properties codeProp;
 	private static Properties specProp;
 
+	// ..-server: a program error fails the request instead of terminating
+	private static volatile boolean serverMode = false;
+
 	// ..standard i/o shortcuts
 	static PrintStream stdout = new PrintStream(System.out);
 	static PrintStream stderr = new PrintStream(System.err);
@@ -98,8 +110,6 @@ public class ValidateSubmit {
 			Options options = Options.getInstance();
 
 			doXml = options.isDoXml();
-			String dacName = options.getDacName();
-			File inDir = new File(options.getInDirName()); // already checked in Options that it is a directory.
 
 			// is help is asked :
 			displayHelpIfAsked(options);
@@ -110,12 +120,30 @@ public class ValidateSubmit {
 			// validate Mandatory arguments :
 			options.validateMandatoryArguments(); // System exit with error if no validated
 
+			// ..the data checks to run (-only-checks / -skip-checks)
+			if (options.getOnlyChecks() != null || options.getSkipChecks() != null) {
+				for (String warning : CheckRegistry.select(options.getOnlyChecks(), options.getSkipChecks())) {
+					stderr.println(warning);
+				}
+			}
+
 			// initiate SpecIO
 			SpecIO.init(options.isUseInternalSpecs(), options.getSpecDirName());
 
 			// .............load the spec version information..............
 			loadSpecVersionInfo();
 
+			if (options.isServer()) {
+				// ..server mode: answer check requests until stopped
+				serverMode = true;
+				initializeNVSTables(options);
+				new CheckerServer(options).start();
+				return;
+			}
+
+			String dacName = options.getDacName();
+			File inDir = new File(options.getInDirName()); // already checked in Options that it is a directory.
+
 			// ....................get list of input files.................
 			List<String> filesToProcess = getFilesToProcessList(options.getListFile(), options.getInFileList(), inDir);
 
@@ -184,118 +212,398 @@ public class ValidateSubmit {
 	 * @param inFileName Name of the input file
 	 * @param dacName    Name of the DAC
 	 * @return ArgoDataFile object if successfully opened and validated
-	 * @throws Exception if any issue occurs during processing
+	 * @throws NotAnArgoFileException if the file did not meet the min criteria to
+	 *                                be an argo file
+	 * @throws Exception              if any issue occurs during processing
 	 */
 	private static ArgoDataFile openArgoFile(String inFileName, String specDirName, String dacName) throws Exception {
-		ArgoDataFile argo = ArgoDataFile.open(inFileName, specDirName, true, dacName);
-
-		if (argo == null) {
-			// ..null file means it did not meet the min criteria to be an argo file
-			throw new NotAnArgoFileException("ArgoDataFile.open failed: " + ValidationResult.getMessage());
-		}
-
-		return argo;
+		return ArgoDataFile.open(inFileName, specDirName, true, dacName);
 	}
 
 	/**
-	 * Loop through files and check format and optionally data also
+	 * Loop through files and check format and optionally data also. With
+	 * -threads &gt; 1 the files are handed to a pool of workers; each file still
+	 * gets its own ArgoDataFile, validator and ResultsFile so the results files
+	 * are the same as for a sequential run.
+	 * <p>
+	 * With -summary, one line per file is also appended to the batch summary.
+	 * With -timing, the time spent in each phase and the counts of the check
+	 * units are reported at the end. With -cache, the results of unchanged files
+	 * are reused.
 	 * 
 	 * @param options
 	 * @param dacName
 	 * @param filesToProcess
 	 */
-	private static void validateFiles(Options options, String dacName, List<String> filesToProcess) {
+	private static void validateFiles(final Options options, final String dacName, List<String> filesToProcess) {
 		// initialize NVS tables :
 		initializeNVSTables(options);
 
-		// Loop through files list
-		for (String file : filesToProcess) {
-			// .... get file informations from options :
-			String inFileName = options.getInDirName().concat(File.separator).concat(file);
-			String outFileName = options.getOutDirName().concat(File.separator).concat(file).concat(".filecheck");
-			log.info("input file: '" + inFileName + "'");
-			log.info("results file: '" + outFileName + "'");
+		// open the batch summary and the results cache (optional) :
+		final BatchSummary summary = openBatchSummary(options.getSummaryFile());
+		final TimingReport timingReport = options.isDoTiming() ? new TimingReport() : null;
+		final ResultsCache cache = openResultsCache(options, dacName);
 
-			// .....open the output results file...
-			ResultsFile out = openOuputFile(inFileName, outFileName);
+		try {
+			validateFiles(options, dacName, filesToProcess, summary, timingReport, cache);
+		} finally {
+			if (summary != null) {
+				summary.close();
+			}
+		}
+
+		if (cache != null) {
+			log.info("results cache: {} files reused, {} files checked", cache.getNHits(), cache.getNMisses());
+		}
+
+		if (timingReport != null) {
+			String report = timingReport.format() + CheckRegistry.format();
+			stdout.print(report);
+			log.info("\n{}", report);
+		}
+	}
+
+	private static void validateFiles(final Options options, final String dacName, List<String> filesToProcess,
+			final BatchSummary summary, final TimingReport timingReport, final ResultsCache cache) {
+		int nThreads = Math.min(options.getNThreads(), filesToProcess.size());
+
+		if (nThreads <= 1) {
+			// Loop through files list
+			for (String file : filesToProcess) {
+				validateFile(options, dacName, file, summary, timingReport, cache);
+			}
+			return;
+		}
+
+		log.info("validating {} files with {} threads", filesToProcess.size(), nThreads);
+
+		ExecutorService workers = Executors.newFixedThreadPool(nThreads);
+		List<Future<?>> tasks = new ArrayList<Future<?>>(filesToProcess.size());
+		for (final String file : filesToProcess) {
+			tasks.add(workers.submit(() -> validateFile(options, dacName, file, summary, timingReport, cache)));
+		}
+		workers.shutdown();
 
-			// ......open and process the input file.....
+		for (Future<?> task : tasks) {
 			try {
+				task.get();
+			} catch (ExecutionException e) {
+				log.error("validation worker failed", e.getCause());
+			} catch (InterruptedException e) {
+				log.error("interrupted while waiting for validation workers");
+				workers.shutdownNow();
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+	}
 
-				// ..............open Argo file ....................
-				argo = openArgoFile(inFileName, options.getSpecDirName(), dacName);
-
-				// ..............instanciate File validator ....................
-				argoFileValidator = new ArgoFileValidator(argo);
-
-				// .................check the format................
-				String phase = "FORMAT-VERIFICATION";
-				boolean[] checkFormatResults = checkArgoFileFormat(dacName);
-				boolean specialPreV31FormatCheckPassed = checkFormatResults[1];
-				boolean formatPassed = checkFormatResults[0];
-
-				// ..................check the data..................
-				boolean rudimentaryDateCheckDone = rudimentaryDateCheck(options, formatPassed); // true if a rudimentary
-																								// date check has be
-																								// done
-				// Evaluate is full data check needs to be done
-				boolean doDataCheck = isCheckDataToBeDone(formatPassed, options.isDoFormatOnly(),
-						rudimentaryDateCheckDone);
-
-				if (doDataCheck) { // Full data check needs to be done
-					phase = "DATA-VALIDATION";
-					checkArgoFileData(dacName, options.isDoNulls());
-				}
+	/**
+	 * Check format and optionally data of one file and write its results file.
+	 * 
+	 * @param options
+	 * @param dacName
+	 * @param file    Name of the file (relative to the input directory)
+	 * @param summary      Batch summary (null: none)
+	 * @param timingReport Batch timing report (null: none)
+	 * @param cache        Results cache (null: none)
+	 */
+	private static void validateFile(Options options, String dacName, String file, BatchSummary summary,
+			TimingReport timingReport, ResultsCache cache) {
+		long start = System.nanoTime();
+
+		// .... get file informations from options :
+		String inFileName = options.getInDirName().concat(File.separator).concat(file);
+		String outFileName = options.getOutDirName().concat(File.separator).concat(file).concat(".filecheck");
+		log.info("input file: '" + inFileName + "'");
+		log.info("results file: '" + outFileName + "'");
+
+		// .....reuse the results of an unchanged file.....
+		String cacheKey = null;
+		if (cache != null) {
+			try {
+				cacheKey = cache.key(inFileName);
+			} catch (IOException e) {
+				// ..not readable: the check reports it
+				log.warn("no results cache key for '{}': {}", inFileName, e.toString());
+			}
 
-				// ..................check file Name...................
-				if (options.isDoNameCheck() && formatPassed) {
-					// .."name check" requested and no other errors
-					phase = "FILE-NAME-CHECK";
-					argoFileValidator.validateGdacFileName();
+			ResultsCache.Entry cached = (cacheKey == null ? null : cache.restore(cacheKey, outFileName));
+			if (cached != null) {
+				log.info("results reused from the results cache");
+				long end = System.nanoTime();
+				if (timingReport != null) {
+					PhaseTimings timings = new PhaseTimings();
+					timings.add("results-cache", end - start);
+					timings.add("total", end - start);
+					timingReport.add(cached.getDataType(), timings);
 				}
-				// ...............report status and meta-data results...............
-				// ..status is that open was successful
-				// ..- that means identified as Argo netCDF file (DATA_TYPE and FORMAT_VERSION)
-				// ..- format may or may not have passed
-				// .. - if format did not pass, trying to retrieve the numeric meta-data
-				// .. may cause aborts -- i think string types are safe
-				// ..try to get as much of the meta-data as exists, but avoid aborts
-
-				if (!specialPreV31FormatCheckPassed) {
-					out.oldDModeFile(dacName, argo.fileVersion());
-				} else {
-					out.statusAndPhase((argoFileValidator.getValidationResult().nFormatErrors() == 0), phase);
-					out.metaData(dacName, argo, formatPassed, options.isDoPsalStats());
-					out.errorsAndWarnings(argoFileValidator);
+				if (summary != null) {
+					summary.add(file, dacName, cached, (end - start) / 1000000L);
 				}
+				return;
+			}
+		}
+
+		// .....open the output results file...
+		ResultsFile out = openOuputFile(inFileName, outFileName);
 
-				// .............................close Argo file......................
-				argo.close();
-				// .....................Exceptions handle......................
+		PhaseTimings timings = null;
+		long t = System.nanoTime();
+		try {
+			timings = checkArgoFile(options, dacName, inFileName, file, out);
+			t = System.nanoTime();
+		} finally {
+			log.debug("closing Results file");
+			handleResultsFileOperation(out, "close", "", "");
+		}
+
+		if (cacheKey != null) {
+			cache.store(cacheKey, outFileName, out);
+		}
+
+		long end = System.nanoTime();
+		if (timingReport != null) {
+			timings.add("results-close", end - t);
+			timings.add("total", end - start);
+			timingReport.add(out.getDataType(), timings);
+		}
+		if (summary != null) {
+			summary.add(file, dacName, out, (end - start) / 1000000L);
+		}
+	}
+
+	/**
+	 * Open the batch summary file
+	 * 
+	 * @param summaryFileName Name of the summary file (null: no summary)
+	 * @return the BatchSummary, null if no summary is requested
+	 */
+	private static BatchSummary openBatchSummary(String summaryFileName) {
+		if (summaryFileName == null) {
+			return null;
+		}
+
+		BatchSummary summary = null;
+		try {
+			summary = new BatchSummary(summaryFileName);
+
+		} catch (Exception e) {
+			handleResultsFileException(e);
+		}
+		return summary;
+	}
+
+	/**
+	 * Open the results cache. Its configuration key holds everything, besides the
+	 * input file, the results depend on.
+	 * 
+	 * @param options Options of the batch (-cache directory, checks to perform)
+	 * @param dacName Name of the DAC
+	 * @return the ResultsCache, null if no cache is requested
+	 */
+	private static ResultsCache openResultsCache(Options options, String dacName) {
+		if (options.getCacheDirName() == null) {
+			return null;
+		}
+		if (options.isDoTimingPerFile()) {
+			// ..the results hold the timings of the run that produced them
+			log.warn("-cache ignored with -timing-per-file");
+			stderr.println("WARNING: -cache ignored with -timing-per-file");
+			return null;
+		}
+
+		String configKey = "fcVersion=" + fcVersion + "\nspVersion=" + spVersion + "\nnvs="
+				+ ArgoNVSReferenceTable.getDigest() + "\nspecs="
+				+ (options.isUseInternalSpecs() ? "internal" : new File(options.getSpecDirName()).getAbsolutePath())
+				+ "\ndac=" + dacName + "\nxml=" + options.isDoXml() + "\nnameCheck=" + options.isDoNameCheck()
+				+ "\nformatOnly=" + options.isDoFormatOnly() + "\nformatOnlyPre31=" + options.isDoFormatOnlyPre31()
+				+ "\nnulls=" + options.isDoNulls() + "\npsalStats=" + options.isDoPsalStats();
+		if (options.getOnlyChecks() != null || options.getSkipChecks() != null || options.isDoReportChecks()) {
+			// ..only then: the results cached without these options stay valid
+			configKey += "\nonlyChecks=" + options.getOnlyChecks() + "\nskipChecks=" + options.getSkipChecks()
+					+ "\nreportChecks=" + options.isDoReportChecks();
+		}
+
+		ResultsCache cache = null;
+		try {
+			cache = new ResultsCache(options.getCacheDirName(), configKey);
+
+		} catch (Exception e) {
+			handleResultsFileException(e);
+		}
+		return cache;
+	}
+
+	/**
+	 * Check format and optionally data of one file for a server request. The
+	 * results are returned instead of being written to a results file.
+	 * 
+	 * @param options          Options of the server (checks to perform)
+	 * @param dacName          Name of the DAC that owns the file
+	 * @param inFileName       Path of the file to check
+	 * @param reportedFileName File name written in the results
+	 * @param xmlResults       true: XML-formatted results; false: text-formatted
+	 * @return the content of the results file
+	 * @throws Exception if the results cannot be produced
+	 */
+	public static String checkFile(Options options, String dacName, String inFileName, String reportedFileName,
+			boolean xmlResults) throws Exception {
+		StringWriter results = new StringWriter();
+		ResultsFile out = new ResultsFile(xmlResults, results, fcVersion, spVersion, reportedFileName);
+
+		checkArgoFile(options, dacName, inFileName, reportedFileName, out);
+
+		out.close();
+		return results.toString();
+	}
+
+	/**
+	 * Open, check and report one file into an opened results file.
+	 * 
+	 * @param options
+	 * @param dacName
+	 * @param inFileName Path of the file to check
+	 * @param file       Name of the file, for the log
+	 * @param out        The results file
+	 * @return the time spent in each step
+	 */
+	private static PhaseTimings checkArgoFile(Options options, String dacName, String inFileName, String file,
+			ResultsFile out) {
+		// ..until the file is opened, the steps are timed here
+		PhaseTimings timings = new PhaseTimings();
+		String step = "open";
+		long t = timings.start();
+
+		// ......open and process the input file.....
+		ArgoDataFile argo = null;
+		try {
+
+			// ..............open Argo file ....................
+			argo = openArgoFile(inFileName, options.getSpecDirName(), dacName);
+			timings = argo.getTimings();
+			t = timings.lap(step, t);
+
+			// ..............instanciate File validator ....................
+			ArgoFileValidator argoFileValidator = new ArgoFileValidator(argo);
+
+			// .................check the format................
+			String phase = "FORMAT-VERIFICATION";
+			step = "format";
+			boolean[] checkFormatResults = checkArgoFileFormat(argo, argoFileValidator, dacName);
+			boolean specialPreV31FormatCheckPassed = checkFormatResults[1];
+			boolean formatPassed = checkFormatResults[0];
+			t = timings.lap(step, t);
+
+			// ..................check the data..................
+			// ..true if a rudimentary date check has be done
+			step = "rudimentary-date-check";
+			boolean rudimentaryDateCheckDone = rudimentaryDateCheck(argo, argoFileValidator, options, formatPassed);
+			if (rudimentaryDateCheckDone) {
+				t = timings.lap(step, t);
+			}
+			// Evaluate is full data check needs to be done
+			boolean doDataCheck = isCheckDataToBeDone(formatPassed, options.isDoFormatOnly(),
+					rudimentaryDateCheckDone);
+
+			if (doDataCheck) { // Full data check needs to be done
+				phase = "DATA-VALIDATION";
+				step = "data";
+				argoFileValidator = checkArgoFileData(argo, argoFileValidator, dacName, options.isDoNulls());
+				t = timings.lap(step, t);
+			}
+
+			// ..................check file Name...................
+			if (options.isDoNameCheck() && formatPassed) {
+				// .."name check" requested and no other errors
+				phase = "FILE-NAME-CHECK";
+				step = "file-name";
+				argoFileValidator.validateGdacFileName();
+				t = timings.lap(step, t);
+			}
+			// ...............report status and meta-data results...............
+			// ..status is that open was successful
+			// ..- that means identified as Argo netCDF file (DATA_TYPE and FORMAT_VERSION)
+			// ..- format may or may not have passed
+			// .. - if format did not pass, trying to retrieve the numeric meta-data
+			// .. may cause aborts -- i think string types are safe
+			// ..try to get as much of the meta-data as exists, but avoid aborts
+
+			step = "report-metadata";
+			if (!specialPreV31FormatCheckPassed) {
+				out.oldDModeFile(dacName, argo.fileVersion());
+			} else {
+				out.statusAndPhase((argoFileValidator.getValidationResult().nFormatErrors() == 0), phase);
+				out.metaData(dacName, argo, formatPassed, options.isDoPsalStats());
+				t = timings.lap(step, t);
+				step = "report-errors";
+				out.errorsAndWarnings(argoFileValidator, options.isDoReportChecks());
+			}
+			t = timings.lap(step, t);
+
+			// .............................close Argo file......................
+			step = "close";
+			argo.close();
+			argo = null;
+			timings.lap(step, t);
+			// .....................Exceptions handle......................
+		} catch (Exception e) {
+			// ..the time of the failed step
+			timings.lap(step, t);
+			handleValidateFilesExceptions(e, out, file, dacName);
+		} finally {
+			// ..not closed if a step failed (a server must not keep it open)
+			if (argo != null) {
+				try {
+					argo.close();
+				} catch (IOException e) {
+					log.debug("close failed on '{}': {}", file, e.getMessage());
+				}
+			}
+		}
+
+		if (options.isDoTimingPerFile()) {
+			try {
+				out.timings(timings);
 			} catch (Exception e) {
-				handleValidateFilesExceptions(e, out, file, dacName);
-			} finally {
-				log.debug("closing Results file");
-				handleResultsFileOperation(out, "close", "");
+				handleResultsFileException(e);
 			}
 		}
+		return timings;
 	}
 
 	private static void initializeNVSTables(Options options) {
-		if (options.isUseOnlineNVS()) {
-			String nvsBaseUrl = System.getenv().getOrDefault("NVS_BASE_URL",
-					codeProp.getProperty("nvs.baseurl.default", NVS_DEFAULT_BASE_URL));
+		String nvsBaseUrl = System.getenv().getOrDefault("NVS_BASE_URL",
+				codeProp.getProperty("nvs.baseurl.default", NVS_DEFAULT_BASE_URL));
+
+		if (options.getNvsMirrorDirName() != null) {
+			// ..the tables of the local mirror: refreshed first with -online-nvs
+			NVSMirror mirror;
+			try {
+				mirror = new NVSMirror(Paths.get(options.getNvsMirrorDirName()));
+				if (options.isUseOnlineNVS()) {
+					mirror.refresh(nvsBaseUrl);
+				}
+			} catch (IOException e) {
+				log.error("NVS mirror '{}': {}", options.getNvsMirrorDirName(), e.toString());
+				throw new IllegalArgumentException(
+						"ERROR: NVS mirror '" + options.getNvsMirrorDirName() + "': " + e.getMessage());
+			}
+			ArgoNVSReferenceTable.initializeFromMirror(mirror);
+
+		} else if (options.isUseOnlineNVS()) {
 			ArgoNVSReferenceTable.initializeFromInternet(nvsBaseUrl);
 		} else {
 			ArgoNVSReferenceTable.initialize();
 		}
 	}
 
-	private static boolean[] checkArgoFileFormat(String dacName) throws VerifyFileFormatFailedException {
+	private static boolean[] checkArgoFileFormat(ArgoDataFile argo, ArgoFileValidator argoFileValidator,
+			String dacName) throws VerifyFileFormatFailedException {
 		boolean[] results = new boolean[2];
 
-		boolean isRegularFormatCheckPassed = regularCheckArgoFileFormat(dacName);
-		boolean isSpecialPreV31FormatCheckPassed = checkArgoPreV31FileFormat(dacName); // return true if not pre v3.1.
+		boolean isRegularFormatCheckPassed = regularCheckArgoFileFormat(argo, argoFileValidator, dacName);
+		boolean isSpecialPreV31FormatCheckPassed = checkArgoPreV31FileFormat(argo, dacName); // return true if not pre v3.1.
 																						// If pre v3.1, do the special
 																						// check and return true / false
 																						// if accepted/refused
@@ -313,18 +621,23 @@ public class ValidateSubmit {
 	 * format accepted, false otherwise. If the verifyFormat method fail, an
 	 * exception is raised.
 	 * 
+	 * @param argo
+	 * @param argoFileValidator
 	 * @param dacName
 	 * @return
 	 * @throws VerifyFileFormatFailedException
 	 */
-	private static boolean regularCheckArgoFileFormat(String dacName) throws VerifyFileFormatFailedException {
+	private static boolean regularCheckArgoFileFormat(ArgoDataFile argo, ArgoFileValidator argoFileValidator,
+			String dacName) throws VerifyFileFormatFailedException {
 
 		// check the format and return true if all process could be done
 		boolean isVerifyFormatCompleted = argoFileValidator.validateFormat(dacName);
 
 		if (!isVerifyFormatCompleted) {
 			// ..verifyFormat *failed* -- not format errors - an actual failure
-			throw new VerifyFileFormatFailedException("verifyFormat check failed: " + ValidationResult.getMessage());
+			Diagnostic diagnostic = argo.getDiagnostic();
+			throw new VerifyFileFormatFailedException("verifyFormat check failed: " + diagnostic.getMessage(),
+					diagnostic);
 
 		} else {
 			// ..verifyFormat completed -- chech error/warning counts to determine status
@@ -344,10 +657,11 @@ public class ValidateSubmit {
 	 * format check don't pass and a special Result File will be issued. If arfo
 	 * Profile file version is 3.1 or after, return True.
 	 * 
+	 * @param argo
 	 * @param dacName
 	 * @return true/false
 	 */
-	private static boolean checkArgoPreV31FileFormat(String dacName) {
+	private static boolean checkArgoPreV31FileFormat(ArgoDataFile argo, String dacName) {
 		// ......SPECIAL CHECK for pre-v3.1 D-mode Profile file......
 
 		if (argo.fileType() == FileType.PROFILE) {
@@ -366,12 +680,15 @@ public class ValidateSubmit {
 	 * Do the rudimentary date check if needed. Return true if the
 	 * rudimentaryDateCheck has be done, false otherwise
 	 * 
+	 * @param argo
+	 * @param argoFileValidator
 	 * @param options
 	 * @param formatPassed
 	 * @return
 	 */
-	private static boolean rudimentaryDateCheck(Options options, boolean formatPassed) {
-		boolean doRudimentaryDateCheck = isDoRudimentaryDateCheck(options.isDoFormatOnlyPre31(),
+	private static boolean rudimentaryDateCheck(ArgoDataFile argo, ArgoFileValidator argoFileValidator,
+			Options options, boolean formatPassed) {
+		boolean doRudimentaryDateCheck = isDoRudimentaryDateCheck(argo, options.isDoFormatOnlyPre31(),
 				options.isDoFormatOnly(), formatPassed);
 		if (doRudimentaryDateCheck) {
 			// ..passed format checks, format accepted, full data checks not performed
@@ -385,17 +702,19 @@ public class ValidateSubmit {
 	 * Do the argo file data check by calling the method validate from ArgoDataFile
 	 * classes.
 	 * 
+	 * @param argo
+	 * @param formatValidator validator used for the format verification
 	 * @param dacName
 	 * @param doNulls
-	 * @param doBatteryChecks
+	 * @return the specialized validator holding the format and data results
 	 * @throws IOException
 	 * @throws ValidateFileDataFailedException
 	 */
-	private static void checkArgoFileData(String dacName, boolean doNulls)
-			throws IOException, ValidateFileDataFailedException {
+	private static ArgoFileValidator checkArgoFileData(ArgoDataFile argo, ArgoFileValidator formatValidator,
+			String dacName, boolean doNulls) throws IOException, ValidateFileDataFailedException {
 
 		// argoFileValidator must be in the right specialized validation class:
-		instanciateSpecializedValidator();
+		ArgoFileValidator argoFileValidator = instanciateSpecializedValidator(argo, formatValidator);
 
 		if (argo.fileType() == FileType.METADATA) {
 
@@ -404,8 +723,8 @@ public class ValidateSubmit {
 					.validateData(doNulls);
 			if (!isValidateArgoMetadaFileDataCompleted) {
 				// ..the validate process failed (not errors within the data)
-				log.error("ArgoMetadataFile.validate failed: " + ValidationResult.getMessage());
-				throw new ValidateFileDataFailedException("Meta-data");
+				log.error("ArgoMetadataFile.validate failed: " + argo.getDiagnostic().getMessage());
+				throw new ValidateFileDataFailedException("Meta-data", argo.getDiagnostic());
 			}
 
 		} else if (argo.fileType() == FileType.PROFILE || argo.fileType() == FileType.BIO_PROFILE) {
@@ -414,8 +733,8 @@ public class ValidateSubmit {
 					.validateData(false, dacName, doNulls);
 			if (!isValidateArgoProfileFileDataCompleted) {
 				// ..the validate process failed (not errors within the data)
-				log.error("ArgoProfileFile.validate failed: " + ValidationResult.getMessage());
-				throw new ValidateFileDataFailedException("Profile");
+				log.error("ArgoProfileFile.validate failed: " + argo.getDiagnostic().getMessage());
+				throw new ValidateFileDataFailedException("Profile", argo.getDiagnostic());
 			}
 
 		} else if (argo.fileType() == FileType.TECHNICAL) {
@@ -424,8 +743,8 @@ public class ValidateSubmit {
 					.validateData(dacName, doNulls);
 			if (!isValidateArgoTechnicalFileDataCompleted) {
 				// ..the validate process failed (not errors within the data)
-				log.error("ArgoTechnicalFile.validate failed: " + ValidationResult.getMessage());
-				throw new ValidateFileDataFailedException("Technical");
+				log.error("ArgoTechnicalFile.validate failed: " + argo.getDiagnostic().getMessage());
+				throw new ValidateFileDataFailedException("Technical", argo.getDiagnostic());
 			}
 
 		} else if (argo.fileType() == FileType.TRAJECTORY || argo.fileType() == FileType.BIO_TRAJECTORY) {
@@ -434,13 +753,15 @@ public class ValidateSubmit {
 					.validateData(dacName, doNulls);
 			if (!isValidateArgoTrajectoryFileDataCompleted) {
 				// ..the validate process failed (not errors within the data)
-				log.error("ArgoTrajectoryFile.validate failed: " + ValidationResult.getMessage());
-				throw new ValidateFileDataFailedException("Trajectory");
+				log.error("ArgoTrajectoryFile.validate failed: " + argo.getDiagnostic().getMessage());
+				throw new ValidateFileDataFailedException("Trajectory", argo.getDiagnostic());
 			}
 		}
+		return argoFileValidator;
 	}
 
-	private static void instanciateSpecializedValidator() throws IOException {
+	private static ArgoFileValidator instanciateSpecializedValidator(ArgoDataFile argo,
+			ArgoFileValidator argoFileValidator) throws IOException {
 		ValidationResult formatResult = argoFileValidator.getValidationResult();
 
 		if (argo.fileType() == FileType.METADATA) {
@@ -458,6 +779,7 @@ public class ValidateSubmit {
 		// copy the previous ValidationResult from format verification
 		argoFileValidator.setValidationResult(formatResult);
 
+		return argoFileValidator;
 	}
 
 	/**
@@ -488,13 +810,14 @@ public class ValidateSubmit {
 	/**
 	 * Evalutate if a rudimentary DATE checks needs to be done.
 	 * 
+	 * @param argo
 	 * @param doFormatOnlyPre31
 	 * @param doFormatOnly
 	 * @param formatPassed
 	 * @return boolean doRudimentaryDateCheck
 	 */
-	public static boolean isDoRudimentaryDateCheck(boolean doFormatOnlyPre31, boolean doFormatOnly,
-			boolean formatPassed) {
+	public static boolean isDoRudimentaryDateCheck(ArgoDataFile argo, boolean doFormatOnlyPre31,
+			boolean doFormatOnly, boolean formatPassed) {
 		if (formatPassed && !doFormatOnly && doFormatOnlyPre31) {
 			// ..have to evaluate the version #
 			log.debug("argo.fileVersion() = '{}'", argo.fileVersion());
@@ -540,20 +863,33 @@ public class ValidateSubmit {
 		try {
 			throw exception;
 		} catch (NotAnArgoFileException e) {
-			log.error(e.getMessage());
-			handleResultsFileOperation(out, "notArgoFile", dacName);
+			log.error("ArgoDataFile.open failed: " + e.getMessage());
+			handleResultsFileOperation(out, "notArgoFile", dacName, diagnosticMessage(e.getDiagnostic()));
 		} catch (VerifyFileFormatFailedException e) {
 			log.error(e.getMessage());
-			handleResultsFileOperation(out, "formatErrorMessage", "FORMAT-VERIFICATION");
+			handleResultsFileOperation(out, "formatErrorMessage", "FORMAT-VERIFICATION",
+					diagnosticMessage(e.getDiagnostic()));
 		} catch (ValidateFileDataFailedException e) {
 			log.error(e.getMessage());
-			handleResultsFileOperation(out, "dataErrorMessage", e.getMessage());
+			handleResultsFileOperation(out, "dataErrorMessage", e.getMessage(), diagnosticMessage(e.getDiagnostic()));
+		} catch (ProgramErrorException e) {
+			log.error("Program error on file: " + file, e);
+			if (!serverMode) {
+				stderr.println("\n\n******\n" + "****** PROGRAM ERROR: " + e.getMessage() + ".  TERMINATING.\n"
+						+ "******");
+				System.exit(1);
+			}
+			throw e;
 		} catch (Exception e) {
 			log.error("Error processing file: " + file, e);
-			handleResultsFileOperation(out, "openError", e.getMessage());
+			handleResultsFileOperation(out, "openError", e.getMessage(), "");
 		}
 	}
 
+	private static String diagnosticMessage(Diagnostic diagnostic) {
+		return diagnostic == null ? "" : diagnostic.getMessage();
+	}
+
 	/**
 	 * Handles operations on the ResultsFile object and handle results file
 	 * exception if the operation fails.
@@ -563,18 +899,21 @@ public class ValidateSubmit {
 	 *                       "formatErrorMessage", etc.)
 	 * @param additionalInfo Additional information for the operation, if required
 	 *                       (e.g., a message or DAC name)
+	 * @param message        Reason of the failure reported by the operation, if
+	 *                       required
 	 */
-	private static void handleResultsFileOperation(ResultsFile out, String operation, String additionalInfo) {
+	private static void handleResultsFileOperation(ResultsFile out, String operation, String additionalInfo,
+			String message) {
 		try {
 			switch (operation) {
 			case "notArgoFile":
-				out.notArgoFile(additionalInfo);
+				out.notArgoFile(additionalInfo, message);
 				break;
 			case "formatErrorMessage":
-				out.formatErrorMessage(additionalInfo);
+				out.formatErrorMessage(additionalInfo, message);
 				break;
 			case "dataErrorMessage":
-				out.dataErrorMessage(additionalInfo);
+				out.dataErrorMessage(additionalInfo, message);
 				break;
 			case "openError":
 				out.openError(new Exception(additionalInfo));
@@ -591,14 +930,19 @@ public class ValidateSubmit {
 	}
 
 	/**
+	 * A batch run is terminated; in server mode, the request fails
 	 * 
 	 * @param e The exception to log and process
+	 * @throws ProgramErrorException in server mode
 	 */
 	private static void handleResultsFileException(Exception e) {
+		log.error("results file exception : ", e.getMessage());
+		if (serverMode) {
+			throw new ProgramErrorException("ResultsFile exception: " + e, e);
+		}
 		e.printStackTrace(stderr);
 		stderr.println("\nERROR: ResultsFile exception:");
 		stderr.println(e);
-		log.error("results file exception : ", e.getMessage());
 		System.exit(1);
 	}
 
@@ -724,6 +1068,41 @@ public class ValidateSubmit {
 				+ "   -internal-specs  Use specs files wich are included in the JAR archive.\n"
 				+ "                     With this option, spec-dir argument should not be provided.\n "
 				+ "   -online-nvs  Use directly up-to-date NVS from internet. NVS forlder in spec dir will therefore be ignored.\n"
+				+ "   -threads <n>   Number of files validated concurrently\n"
+				+ "                  default: 1 (one file at a time)\n"
+				+ "   -server <port>  Server mode: load the specifications once and answer check requests\n"
+				+ "                   on http://127.0.0.1:<port>/ (see Server Mode below)\n"
+				+ "   -summary <file>  Append one line per checked file (file, type, status, phase,\n"
+				+ "                    error and warning counts, time) to a batch summary.\n"
+				+ "                    JSON Lines; CSV if <file> ends with '.csv'\n"
+				+ "   -timing        Print the time spent in each phase (p50/p95/max, per file type)\n"
+				+ "                  and in each check unit at the end of the batch\n"
+				+ "   -timing-per-file  Add the time spent in each phase and the bytes read to the\n"
+				+ "                     results files\n"
+				+ "   -cache <dir>   Results cache: the results of a file already checked (same content,\n"
+				+ "                  name, code/spec/NVS versions and options) are reused from <dir>\n"
+				+ "                  instead of checking the file again. Not used with -timing-per-file\n"
+				+ "   -nvs-mirror <dir>  Read the NVS tables from the local mirror <dir> of the NVS server,\n"
+				+ "                      without contacting the server. With -online-nvs, the tables that\n"
+				+ "                      changed on the server are downloaded to the mirror first\n"
+				+ "   -skip-checks <list>  Do not run the listed data checks (comma-separated check units\n"
+				+ "                        '<validator>.<method>', method names or CK_xxxx checks)\n"
+				+ "   -only-checks <list>  Only run the listed data checks (same list as -skip-checks)\n"
+				+ "                        default: run all the data checks\n"
+				+ "   -report-checks  Report the check unit of each error and warning in the results files\n"
+				+ "JVM Options (java -D<name>=<value> -jar ...):\n"
+				+ "   -D" + Options.RULE_THREADS + "=<n>  Threads running the independent groups of checks\n"
+				+ "                  of a file. default: 1\n"
+				+ "   -D" + Options.TRAJ_WINDOW + "=<n>  Values of a N_MEASUREMENT variable read at once\n"
+				+ "                  by the trajectory checks. default: 1048576; 0: whole variables\n"
+				+ "   -D" + Options.READ_PATH + "=file|mmap|memory  netCDF read path. default: file\n"
+				+ "   -D" + Options.READ_MEMORY_MB + "=<MB>  Largest file read in memory by '"
+				+ Options.READ_PATH + "=memory'. default: 256\n"
+				+ "   -D" + Options.READ_CACHE_MB + "=<MB>  Data cache of each open file. default: 64\n"
+				+ "   -D" + Options.FORMAT_CACHE_SIZE + "=<n>  Headers whose format check results are\n"
+				+ "                  reused for the next files. default: 256; 0: none\n"
+				+ "   -D" + Options.CONFIG_TECH_CACHE_SIZE + "=<n>  CONFIG / TECH parameter names whose\n"
+				+ "                  match is reused for the next files. default: 4096; 0: none\n"
 				+ "Arguments:\n" + "   dac-name       Name of DAC that owns the input files\n"
 				+ "   spec-dir       Directory path of specification files. Do not specify if -internal-specs is used\n"
 				+ "   output-dir     Directory path where results files will be placed\n"
@@ -732,7 +1111,12 @@ public class ValidateSubmit {
 				+ "   Input files to process are determined in one of the following ways (priority order):\n"
 				+ "   1) -list-file              List of names will be read from <list-file-path>\n"
 				+ "   2) [file-names] argument   Files listed on command-line will be processed\n"
-				+ "   3) All files in 'input-dir' will be processed\n" + "\n");
+				+ "   3) All files in 'input-dir' will be processed\n" + "\n" + "Server Mode:\n"
+				+ "   java " + ClassName + " -server <port> [options] [spec-dir]\n"
+				+ "   POST /check?dac=<dac-name>&path=<file-path>      check a local file\n"
+				+ "   POST /check?dac=<dac-name>&name=<file-name>      check the file sent as request body\n"
+				+ "        optional: &format=xml|text (default: set by -text-result)\n"
+				+ "   GET  /health                                     server status\n" + "\n");
 	}
 
 }
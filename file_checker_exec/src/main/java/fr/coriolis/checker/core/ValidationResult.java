@@ -3,21 +3,32 @@ package fr.coriolis.checker.core;
 import java.util.ArrayList;
 
 public class ValidationResult {
-	private static final String BLANK_MESSAGE = new String("");
-
 	private ArrayList<String> warnings;
 	private ArrayList<String> errors;
-	public static String lastMessage = BLANK_MESSAGE;
+
+	// ..the check unit that reported each error / warning (null: none)
+	private final ArrayList<String> errorChecks;
+	private final ArrayList<String> warningChecks;
+
+	// ..the results of the rule group run by the current thread, if any (see
+	// ..beginGroup)
+	private final ThreadLocal<ValidationResult> group = new ThreadLocal<ValidationResult>();
+
+	// ..the check unit run by the current thread, if any (see beginCheck)
+	private final ThreadLocal<String> check = new ThreadLocal<String>();
 
 	public ValidationResult() {
 		errors = new ArrayList<String>();
 		warnings = new ArrayList<String>();
+		errorChecks = new ArrayList<String>();
+		warningChecks = new ArrayList<String>();
 	}
 
 	/** Clear the errors */
 	public void clearFormatErrors() {
 		if (errors != null) {
 			errors.clear();
+			errorChecks.clear();
 		}
 	}
 
@@ -25,6 +36,7 @@ public class ValidationResult {
 	public void clearFormatWarnings() {
 		if (warnings != null) {
 			warnings.clear();
+			warningChecks.clear();
 		}
 	}
 
@@ -38,12 +50,88 @@ public class ValidationResult {
 		return new ArrayList<String>(warnings);
 	}
 
+	/**
+	 * Retrieve the check unit that reported each error (same order as getErrors;
+	 * null for an error reported outside of a check unit)
+	 */
+	public ArrayList<String> getErrorChecks() {
+		return new ArrayList<String>(errorChecks);
+	}
+
+	/**
+	 * Retrieve the check unit that reported each warning (same order as
+	 * getWarnings; null for a warning reported outside of a check unit)
+	 */
+	public ArrayList<String> getWarningChecks() {
+		return new ArrayList<String>(warningChecks);
+	}
+
 	public void addError(String errorStr) {
-		errors.add(errorStr);
+		ValidationResult target = current();
+		target.errors.add(errorStr);
+		target.errorChecks.add(check.get());
 	}
 
 	public void addWarning(String warningStr) {
-		warnings.add(warningStr);
+		ValidationResult target = current();
+		target.warnings.add(warningStr);
+		target.warningChecks.add(check.get());
+	}
+
+	/**
+	 * The results the errors and warnings added by the current thread go to: these
+	 * results, or those of its rule group (see beginGroup)
+	 */
+	public ValidationResult current() {
+		ValidationResult groupResult = group.get();
+		return (groupResult == null ? this : groupResult);
+	}
+
+	/**
+	 * Until endCheck, the errors and warnings added by the current thread are
+	 * reported by the check unit <i>id</i> (see getErrorChecks)
+	 * 
+	 * @param id id of the check unit (see CheckRegistry)
+	 * @return the check unit run before by the thread (null: none), to be given to
+	 *         endCheck
+	 */
+	public String beginCheck(String id) {
+		String previous = check.get();
+		check.set(id);
+		return previous;
+	}
+
+	/** The errors and warnings added by the current thread are <i>previous</i>'s again */
+	public void endCheck(String previous) {
+		if (previous == null) {
+			check.remove();
+		} else {
+			check.set(previous);
+		}
+	}
+
+	/**
+	 * Until endGroup, the errors and warnings added by the current thread go to
+	 * the results of its rule group instead: the rule groups run concurrently keep
+	 * their messages apart, to be appended (see add) in a fixed order.
+	 * 
+	 * @param groupResult the results of the rule group
+	 */
+	public void beginGroup(ValidationResult groupResult) {
+		group.set(groupResult);
+	}
+
+	/** The errors and warnings added by the current thread are these results' again */
+	public void endGroup() {
+		group.remove();
+	}
+
+	/** Append the errors and warnings of other results (e.g. of a rule group) */
+	public void add(ValidationResult other) {
+		errors.addAll(other.errors);
+		warnings.addAll(other.warnings);
+		errorChecks.addAll(other.errorChecks);
+		warningChecks.addAll(other.warningChecks);
 	}
 
 	/**
@@ -64,11 +152,6 @@ public class ValidationResult {
 		return warnings.size();
 	}
 
-	/** Retrieve the most recent error message generated by a method */
-	public static String getMessage() {
-		return new String(lastMessage);
-	}
-
 	public boolean isValid() {
 		if (errors.size() == 0) {
 			return true;
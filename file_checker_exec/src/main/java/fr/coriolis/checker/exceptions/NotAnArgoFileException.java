@@ -1,5 +1,7 @@
 package fr.coriolis.checker.exceptions;
 
+import fr.coriolis.checker.core.Diagnostic;
+
 
 /**
  * Exception thrown when a file to process is not a valid Argo file.
@@ -10,6 +12,8 @@ public class NotAnArgoFileException extends Exception {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private Diagnostic diagnostic; // ..reason of the failure, if known
+
 	public NotAnArgoFileException() {
 	        super();
 	    }
@@ -25,4 +29,14 @@ public class NotAnArgoFileException extends Exception {
 	    public NotAnArgoFileException(Throwable cause) {
 	        super(cause);
 	    }
+
+	    public NotAnArgoFileException(String message, Diagnostic diagnostic) {
+	        super(message);
+	        this.diagnostic = diagnostic;
+	    }
+
+	    /** Retrieve the reason of the failure (null if unknown) */
+	    public Diagnostic getDiagnostic() {
+	        return diagnostic;
+	    }
 }
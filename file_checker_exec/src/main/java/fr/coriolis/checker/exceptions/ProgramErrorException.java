@@ -0,0 +1,23 @@
+package fr.coriolis.checker.exceptions;
+
+/**
+ * Exception raised on an error of the FileChecker itself (results file that
+ * cannot be written, unexpected file type...): a batch run is terminated, a
+ * server answers the request with an error and goes on.
+ */
+public class ProgramErrorException extends RuntimeException {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public ProgramErrorException(String message) {
+		super(message);
+	}
+
+	public ProgramErrorException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
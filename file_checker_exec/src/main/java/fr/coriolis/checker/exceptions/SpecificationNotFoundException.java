@@ -0,0 +1,24 @@
+package fr.coriolis.checker.exceptions;
+
+import java.io.FileNotFoundException;
+
+/**
+ * Exception raised when there is no specification for a file type / version:
+ * the FileChecker does not handle that kind of file.
+ */
+public class SpecificationNotFoundException extends FileNotFoundException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public SpecificationNotFoundException() {
+		super();
+	}
+
+	public SpecificationNotFoundException(String message) {
+		super(message);
+	}
+
+}
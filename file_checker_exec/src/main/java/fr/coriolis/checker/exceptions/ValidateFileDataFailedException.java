@@ -1,11 +1,15 @@
 package fr.coriolis.checker.exceptions;
 
+import fr.coriolis.checker.core.Diagnostic;
+
 public class ValidateFileDataFailedException extends Exception {
 	/**
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private Diagnostic diagnostic; // ..reason of the failure, if known
+
 	public ValidateFileDataFailedException() {
         super();
     }
@@ -22,4 +26,14 @@ public class ValidateFileDataFailedException extends Exception {
         super(cause);
     }
 
+    public ValidateFileDataFailedException(String message, Diagnostic diagnostic) {
+        super(message);
+        this.diagnostic = diagnostic;
+    }
+
+    /** Retrieve the reason of the failure (null if unknown) */
+    public Diagnostic getDiagnostic() {
+        return diagnostic;
+    }
+
 }
@@ -1,5 +1,7 @@
 package fr.coriolis.checker.exceptions;
 
+import fr.coriolis.checker.core.Diagnostic;
+
 /**
  * Exception raised when there is an error during the verify format process
  */
@@ -11,6 +13,8 @@ public class VerifyFileFormatFailedException extends Exception {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private Diagnostic diagnostic; // ..reason of the failure, if known
+
 	public VerifyFileFormatFailedException() {
         super();
     }
@@ -27,4 +31,14 @@ public class VerifyFileFormatFailedException extends Exception {
         super(cause);
     }
 
+    public VerifyFileFormatFailedException(String message, Diagnostic diagnostic) {
+        super(message);
+        this.diagnostic = diagnostic;
+    }
+
+    /** Retrieve the reason of the failure (null if unknown) */
+    public Diagnostic getDiagnostic() {
+        return diagnostic;
+    }
+
 }
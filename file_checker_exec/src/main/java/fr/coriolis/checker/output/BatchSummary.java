@@ -0,0 +1,168 @@
+package fr.coriolis.checker.output;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Machine-readable summary of a batch: one line per checked file, appended to
+ * the summary file as soon as the file is checked (-summary option).
+ * <p>
+ * The summary is JSON Lines, or CSV when the file name ends with ".csv". Each
+ * line holds the file, the DAC, the data type, the status, the phase, the
+ * number of errors and warnings and the time spent on the file:
+ *
+ * <pre>
+ * {"file":"R6903283_001.nc","dac":"coriolis","data_type":"Argo profile","status":"FILE-ACCEPTED","phase":"FILE-NAME-CHECK","errors":0,"warnings":2,"time_ms":154}
+ * </pre>
+ *
+ * The file is opened in append mode so that several runs can feed the same
+ * summary. The CSV header is only written to a new (empty) file.
+ */
+public class BatchSummary {
+
+	private static final Logger log = LogManager.getLogger("BatchSummary");
+
+	private static final JsonFactory jsonFactory = new JsonFactory();
+
+	private static final String[] COLUMNS = { "file", "dac", "data_type", "status", "phase", "errors", "warnings",
+			"time_ms" };
+
+	private final PrintWriter out;
+	private final boolean csv;
+
+	/**
+	 * Open (append) the summary file
+	 *
+	 * @param summaryFileName path of the summary file
+	 * @throws IOException if the file cannot be opened
+	 */
+	public BatchSummary(String summaryFileName) throws IOException {
+		File f = new File(summaryFileName);
+		boolean newFile = !f.exists() || f.length() == 0;
+
+		csv = summaryFileName.toLowerCase().endsWith(".csv");
+		out = new PrintWriter(
+				new BufferedWriter(new OutputStreamWriter(new FileOutputStream(f, true), StandardCharsets.UTF_8)));
+
+		if (csv && newFile) {
+			out.println(String.join(",", COLUMNS));
+			out.flush();
+		}
+
+		log.info("batch summary: '{}' ({})", summaryFileName, (csv ? "CSV" : "JSON Lines"));
+	}
+
+	/**
+	 * Append the summary line of a checked file. Called by concurrent workers: a
+	 * line is always written whole.
+	 *
+	 * @param file    name of the checked file
+	 * @param dacName DAC of the file
+	 * @param results the (closed) results file of the check
+	 * @param timeMs  time spent on the file (milliseconds)
+	 */
+	public void add(String file, String dacName, ResultsFile results, long timeMs) {
+		add(file, dacName, results.getDataType(), results.getStatus(), results.getPhase(), results.getNErrors(),
+				results.getNWarnings(), timeMs);
+	}
+
+	/**
+	 * Append the summary line of a file whose results were reused from the
+	 * results cache
+	 *
+	 * @param file    name of the checked file
+	 * @param dacName DAC of the file
+	 * @param cached  summary of the cached results
+	 * @param timeMs  time spent on the file (milliseconds)
+	 */
+	public void add(String file, String dacName, ResultsCache.Entry cached, long timeMs) {
+		add(file, dacName, cached.getDataType(), cached.getStatus(), cached.getPhase(), cached.getNErrors(),
+				cached.getNWarnings(), timeMs);
+	}
+
+	private void add(String file, String dacName, String dataType, String status, String phase, int nErrors,
+			int nWarnings, long timeMs) {
+		String line;
+		if (csv) {
+			line = csvLine(file, dacName, dataType, status, phase, nErrors, nWarnings, timeMs);
+		} else {
+			line = jsonLine(file, dacName, dataType, status, phase, nErrors, nWarnings, timeMs);
+		}
+
+		synchronized (out) {
+			out.println(line);
+			out.flush();
+		}
+	}
+
+	public void close() {
+		synchronized (out) {
+			out.close();
+		}
+	}
+
+	// ************************** convenience methods ******************************
+
+	private static String jsonLine(String file, String dacName, String dataType, String status, String phase,
+			int nErrors, int nWarnings, long timeMs) {
+		StringWriter line = new StringWriter();
+		try (JsonGenerator json = jsonFactory.createGenerator(line)) {
+			json.writeStartObject();
+			json.writeStringField("file", file);
+			json.writeStringField("dac", dacName);
+			json.writeStringField("data_type", dataType);
+			json.writeStringField("status", status);
+			json.writeStringField("phase", phase);
+			json.writeNumberField("errors", nErrors);
+			json.writeNumberField("warnings", nWarnings);
+			json.writeNumberField("time_ms", timeMs);
+			json.writeEndObject();
+
+		} catch (IOException e) {
+			// ..cannot happen with a StringWriter
+			throw new IllegalStateException(e);
+		}
+		return line.toString();
+	}
+
+	private static String csvLine(String file, String dacName, String dataType, String status, String phase,
+			int nErrors, int nWarnings, long timeMs) {
+		StringBuilder line = new StringBuilder();
+		line.append(csvField(file)).append(',');
+		line.append(csvField(dacName)).append(',');
+		line.append(csvField(dataType)).append(',');
+		line.append(csvField(status)).append(',');
+		line.append(csvField(phase)).append(',');
+		line.append(nErrors).append(',');
+		line.append(nWarnings).append(',');
+		line.append(timeMs);
+		return line.toString();
+	}
+
+	/**
+	 * Quote a CSV field if needed (RFC 4180). Null is an empty field.
+	 */
+	private static String csvField(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+				&& value.indexOf('\r') < 0) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+} // ..end class BatchSummary
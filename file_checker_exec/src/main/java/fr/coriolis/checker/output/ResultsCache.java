@@ -0,0 +1,236 @@
+package fr.coriolis.checker.output;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import fr.coriolis.checker.utils.DigestUtils;
+
+/**
+ * On-disk cache of results files (-cache option): the results of a file already
+ * checked are reused instead of checking the file again.
+ * <p>
+ * An entry is keyed by a digest of:
+ * <ul>
+ * <li>the configuration of the run: code and specification versions, NVS
+ * tables and the options that change the results (given by the caller)
+ * <li>the name of the input file (it is part of the results)
+ * <li>the content of the input file
+ * <li>the modification time of the input file: the dates of the file are
+ * checked against it (DATE_CREATION / DATE_UPDATE "after file time"), so a file
+ * re-delivered or touched with the same content is checked again
+ * </ul>
+ * so a file is checked again as soon as it, or anything the checks depend on,
+ * changes. The checks relative to the current date are not re-done for a
+ * reused result.
+ * <p>
+ * Each entry is a copy of the results file ("key.filecheck") and the status
+ * summary needed by the batch summary ("key.properties", written last: an entry
+ * without it is incomplete and ignored). Entries are written through a
+ * temporary file and renamed, so concurrent workers and runs sharing the cache
+ * never read a partial entry. The results of checks that failed (status ERROR:
+ * I/O problems, ...) are not cached.
+ */
+public class ResultsCache {
+
+	private static final Logger log = LogManager.getLogger("ResultsCache");
+
+	private final Path cacheDir;
+	private final String configKey;
+
+	private final AtomicInteger nHits = new AtomicInteger();
+	private final AtomicInteger nMisses = new AtomicInteger();
+
+	/**
+	 * Status summary of a cached results file
+	 */
+	public static class Entry {
+		private final String status;
+		private final String phase;
+		private final String dataType;
+		private final int nErrors;
+		private final int nWarnings;
+
+		private Entry(Properties p) {
+			status = p.getProperty("status");
+			phase = p.getProperty("phase");
+			dataType = p.getProperty("data_type");
+			nErrors = Integer.parseInt(p.getProperty("errors", "0"));
+			nWarnings = Integer.parseInt(p.getProperty("warnings", "0"));
+		}
+
+		public String getStatus() {
+			return status;
+		}
+
+		public String getPhase() {
+			return phase;
+		}
+
+		public String getDataType() {
+			return dataType;
+		}
+
+		public int getNErrors() {
+			return nErrors;
+		}
+
+		public int getNWarnings() {
+			return nWarnings;
+		}
+	}
+
+	/**
+	 * Open (create) the cache directory
+	 *
+	 * @param cacheDirName path of the cache directory
+	 * @param configKey    description of everything, other than the input file,
+	 *                     the results depend on
+	 * @throws IOException if the directory cannot be created
+	 */
+	public ResultsCache(String cacheDirName, String configKey) throws IOException {
+		this.cacheDir = Files.createDirectories(Paths.get(cacheDirName));
+		this.configKey = configKey;
+
+		log.info("results cache: '{}'", cacheDirName);
+		log.debug("results cache configuration:\n{}", configKey);
+	}
+
+	/**
+	 * Compute the key of an input file (reads the whole file)
+	 *
+	 * @param inFileName path of the input file
+	 * @return the key
+	 * @throws IOException if the file cannot be read
+	 */
+	public String key(String inFileName) throws IOException {
+		Path inFile = Paths.get(inFileName);
+		String content = DigestUtils.sha256(inFile);
+		long lastModified = Files.getLastModifiedTime(inFile).toMillis();
+		return DigestUtils.sha256(
+				configKey + "\nfile=" + inFileName + "\nlastModified=" + lastModified + "\ncontent=" + content);
+	}
+
+	/**
+	 * Copy the cached results of a file to its results file
+	 *
+	 * @param key         key of the input file
+	 * @param outFileName path of the results file
+	 * @return the summary of the cached results; null if the file is not in the
+	 *         cache (or the entry cannot be read)
+	 */
+	public Entry restore(String key, String outFileName) {
+		Path props = entryFile(key, ".properties");
+		if (!Files.isRegularFile(props)) {
+			nMisses.incrementAndGet();
+			return null;
+		}
+
+		try {
+			Properties p = new Properties();
+			try (InputStream in = Files.newInputStream(props)) {
+				p.load(in);
+			}
+			Files.copy(entryFile(key, ".filecheck"), Paths.get(outFileName), StandardCopyOption.REPLACE_EXISTING);
+
+			nHits.incrementAndGet();
+			log.debug("results reused from the cache ({})", key);
+			return new Entry(p);
+
+		} catch (IOException | RuntimeException e) {
+			log.warn("cannot reuse the cache entry {}: {}", key, e.toString());
+			nMisses.incrementAndGet();
+			return null;
+		}
+	}
+
+	/**
+	 * Add the (closed) results file of a checked file to the cache. Failures are
+	 * logged: the cache is only an optimization.
+	 *
+	 * @param key         key of the input file
+	 * @param outFileName path of the results file
+	 * @param results     the results file (for its status)
+	 */
+	public void store(String key, String outFileName, ResultsFile results) {
+		if (results.getStatus() == null || results.getStatus().equals("ERROR")) {
+			return;
+		}
+
+		Properties p = new Properties();
+		p.setProperty("status", results.getStatus());
+		if (results.getPhase() != null) {
+			p.setProperty("phase", results.getPhase());
+		}
+		if (results.getDataType() != null) {
+			p.setProperty("data_type", results.getDataType());
+		}
+		p.setProperty("errors", Integer.toString(results.getNErrors()));
+		p.setProperty("warnings", Integer.toString(results.getNWarnings()));
+
+		Path tmp = null;
+		try {
+			Path dir = Files.createDirectories(entryFile(key, "").getParent());
+
+			tmp = Files.createTempFile(dir, key, ".tmp");
+			Files.copy(Paths.get(outFileName), tmp, StandardCopyOption.REPLACE_EXISTING);
+			moveInPlace(tmp, entryFile(key, ".filecheck"));
+
+			tmp = Files.createTempFile(dir, key, ".tmp");
+			try (OutputStream out = Files.newOutputStream(tmp)) {
+				p.store(out, null);
+			}
+			moveInPlace(tmp, entryFile(key, ".properties"));
+			tmp = null;
+
+		} catch (IOException e) {
+			log.warn("cannot add '{}' to the results cache: {}", outFileName, e.toString());
+
+		} finally {
+			if (tmp != null) {
+				try {
+					Files.deleteIfExists(tmp);
+				} catch (IOException e) {
+					// ..left behind: ignored by the lookups
+				}
+			}
+		}
+	}
+
+	public int getNHits() {
+		return nHits.get();
+	}
+
+	public int getNMisses() {
+		return nMisses.get();
+	}
+
+	// ************************** convenience methods ******************************
+
+	/**
+	 * File of an entry: entries are spread over sub-directories named by the first
+	 * 2 characters of the key
+	 */
+	private Path entryFile(String key, String suffix) {
+		return cacheDir.resolve(key.substring(0, 2)).resolve(key + suffix);
+	}
+
+	private static void moveInPlace(Path tmp, Path target) throws IOException {
+		try {
+			Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+} // ..end class ResultsCache
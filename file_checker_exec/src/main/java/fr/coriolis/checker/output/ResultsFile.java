@@ -3,31 +3,20 @@ package fr.coriolis.checker.output;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.Writer;
 import java.text.DecimalFormat;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
-import javax.xml.transform.ErrorListener;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import fr.coriolis.checker.core.ArgoDataFile;
 import fr.coriolis.checker.core.ArgoDataFile.FileType;
-import fr.coriolis.checker.core.ValidationResult;
+import fr.coriolis.checker.core.PhaseTimings;
 import fr.coriolis.checker.specs.ArgoDate;
 import fr.coriolis.checker.validators.ArgoFileValidator;
 
@@ -38,14 +27,21 @@ public class ResultsFile {
 	private PrintWriter out;
 	boolean doXml;
 
-	StringWriter stringWriter;
-	XMLStreamWriter xml;
+	XmlResultsWriter xml;
+
+	// ..what has been reported -- for the batch summary
+	private String status = null;
+	private String phase = null;
+	private String dataType = null;
+	private int nErrors = 0;
+	private int nWarnings = 0;
 
 	// ArgoDataFile argo = null;
 
 	// ..class variables
-	private final static DecimalFormat cycleFmt = new DecimalFormat("000");
-	private final static DecimalFormat dFmt = new DecimalFormat("####0.0000;-####0.0000");
+	private final DecimalFormat cycleFmt = new DecimalFormat("000");
+	private final DecimalFormat dFmt = new DecimalFormat("####0.0000;-####0.0000");
+	private final DecimalFormat msFmt = new DecimalFormat("0.000");
 
 	private static final Logger log = LogManager.getLogger("ResultsFile");
 
@@ -57,17 +53,22 @@ public class ResultsFile {
 
 	public ResultsFile(boolean doXml, String resultsFileName, String fcVersion, String spVersion, String inputFileName)
 			throws IOException, XMLStreamException {
-		out = new PrintWriter(new BufferedWriter(new java.io.FileWriter(resultsFileName)));
+		this(doXml, new BufferedWriter(new java.io.FileWriter(resultsFileName)), fcVersion, spVersion, inputFileName);
+	}
+
+	/**
+	 * Writes the results to the given writer instead of a file (closed by close)
+	 */
+	public ResultsFile(boolean doXml, Writer writer, String fcVersion, String spVersion, String inputFileName)
+			throws IOException, XMLStreamException {
+		out = new PrintWriter(writer);
 
 		this.doXml = doXml;
 
 		if (doXml) {
-			// ......if XML, open the XMLStreamWriter
-
-			stringWriter = new StringWriter();
+			// ......if XML, open the streaming XML writer
 
-			XMLOutputFactory xMLOutputFactory = XMLOutputFactory.newInstance();
-			xml = xMLOutputFactory.createXMLStreamWriter(stringWriter);
+			xml = new XmlResultsWriter(out);
 
 			xml.writeStartDocument();
 
@@ -95,79 +96,23 @@ public class ResultsFile {
 	//
 	// .....................................................................
 
-	public void close()
-			throws IOException, XMLStreamException, TransformerConfigurationException, TransformerException {
+	public void close() throws IOException, XMLStreamException {
 		if (out != null) {
 			if (doXml) {
 				xml.writeEndElement();
 				xml.writeEndDocument();
-
 				xml.flush();
-				xml.close();
-
-				String xmlString = stringWriter.getBuffer().toString();
-				stringWriter.close();
-				xmlString = scrubInvalidXmlChar(xmlString);
-
-				Source xmlInput = new StreamSource(new StringReader(xmlString));
-
-				StringWriter stringWriter = new StringWriter();
-				Result xmlOutput = new StreamResult(stringWriter);
-
-				// out.println(xmlString);
-				// out.println();
-				// out.flush();
-
-				log.debug("transform xml");
-
-				TransformerFactory transformerFactory = TransformerFactory.newInstance();
-				transformerFactory.setAttribute("indent-number", 2);
-				Transformer transformer = transformerFactory.newTransformer();
-				transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-				transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-				transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-				transformer.setErrorListener(new ErrorListener() {
-					@Override
-					public void error(TransformerException e) throws TransformerException {
-						log.warn(e.getMessage());
-					}
-
-					@Override
-					public void fatalError(TransformerException e) throws TransformerException {
-						log.warn(e.getMessage());
-					}
-
-					@Override
-					public void warning(TransformerException e) throws TransformerException {
-						log.warn(e.getMessage());
-					}
-				});
-
-				try {
-					transformer.transform(xmlInput, xmlOutput);
-				} catch (TransformerException e) {
-					log.warn("Transformer failed, retrying after re-scrubbing", e);
-					// ..tranform exception: probably an invalid character
-					// ..scrub and re-transform
-					xmlString = scrubInvalidXmlChar(xmlString);
-
-					xmlInput = new StreamSource(new StringReader(xmlString));
-
-					stringWriter = new StringWriter();
-					xmlOutput = new StreamResult(stringWriter);
-
-					transformer.transform(xmlInput, xmlOutput);
-					log.debug("close: caught TransformerException - cleaned up input");
-				}
 
-				log.debug("output xml");
-				out.println(stringWriter.toString());
+				// ..blank line at the end of the XML results
+				out.println();
 			}
 			out.close();
 		}
 	} // ..end close
 
 	public void openError(Exception e) throws XMLStreamException {
+		summarize("ERROR", "OPEN-FILE", 1, 0);
+
 		if (doXml) {
 			xml.writeStartElement("status");
 			xml.writeCharacters("ERROR");
@@ -191,6 +136,9 @@ public class ResultsFile {
 	} // ..end openError
 
 	public void oldDModeFile(String dacName, String version) throws XMLStreamException {
+		summarize("FILE-REJECTED", "DMODE-VERSION-CHECK", 1, 0);
+		dataType = "Argo profile";
+
 		if (doXml) {
 			xml.writeStartElement("status");
 			xml.writeCharacters("FILE-REJECTED");
@@ -239,7 +187,9 @@ public class ResultsFile {
 		}
 	} // ..end oldDModeFile
 
-	public void notArgoFile(String dacName) throws XMLStreamException {
+	public void notArgoFile(String dacName, String message) throws XMLStreamException {
+		summarize("FILE-REJECTED", "OPEN-FILE", 1, 0);
+
 		if (doXml) {
 			xml.writeStartElement("status");
 			xml.writeCharacters("FILE-REJECTED");
@@ -258,7 +208,7 @@ public class ResultsFile {
 			xml.writeStartElement("errors");
 			xml.writeAttribute("number", "1");
 			xml.writeStartElement("error");
-			xml.writeCharacters(ValidationResult.getMessage());
+			xml.writeCharacters(message);
 			xml.writeEndElement();
 			xml.writeEndElement();
 
@@ -269,14 +219,16 @@ public class ResultsFile {
 			out.println("DAC: " + dacName);
 			out.println("META-DATA: end");
 			out.println("FORMAT-ERRORS: start");
-			out.println(ValidationResult.getMessage());
+			out.println(message);
 			out.println("FORMAT-ERRORS: end");
 			out.println("FORMAT-WARNINGS: start");
 			out.println("FORMAT-WARNINGS: end");
 		}
 	} // ..end notArgoFile
 
-	public void formatErrorMessage(String phase) throws XMLStreamException {
+	public void formatErrorMessage(String phase, String message) throws XMLStreamException {
+		summarize("ERROR", phase, 1, 0);
+
 		if (doXml) {
 			xml.writeStartElement("status");
 			xml.writeCharacters("ERROR");
@@ -289,18 +241,19 @@ public class ResultsFile {
 			xml.writeStartElement("errors");
 			xml.writeAttribute("number", "1");
 			xml.writeStartElement("error");
-			xml.writeCharacters("Format check failed. " + ValidationResult.getMessage());
+			xml.writeCharacters("Format check failed. " + message);
 			xml.writeEndElement();
 			xml.writeEndElement();
 
 		} else {
-			out.println("ERROR: Format check failed." + ValidationResult.getMessage());
+			out.println("ERROR: Format check failed." + message);
 			out.println("PHASE: " + phase);
 		}
 	}
 
-	public void dataErrorMessage(String type) throws XMLStreamException {
+	public void dataErrorMessage(String type, String message) throws XMLStreamException {
 		String phase = "DATA-VALIDATION";
+		summarize("ERROR", phase, 1, 0);
 
 		if (doXml) {
 			xml.writeStartElement("status");
@@ -314,12 +267,12 @@ public class ResultsFile {
 			xml.writeStartElement("errors");
 			xml.writeAttribute("number", "1");
 			xml.writeStartElement("error");
-			xml.writeCharacters(type + " validation failed. " + ValidationResult.getMessage());
+			xml.writeCharacters(type + " validation failed. " + message);
 			xml.writeEndElement();
 			xml.writeEndElement();
 
 		} else {
-			out.println("ERROR: " + type + " validation failed: " + ValidationResult.getMessage());
+			out.println("ERROR: " + type + " validation failed: " + message);
 		}
 	}
 
@@ -333,6 +286,8 @@ public class ResultsFile {
 		} else {
 			status = rej;
 		}
+		this.status = status;
+		this.phase = phase;
 
 		if (doXml) {
 			xml.writeStartElement("status");
@@ -400,6 +355,7 @@ public class ResultsFile {
 			str = "File type not determined";
 			break;
 		}
+		dataType = str;
 
 		if (doXml) {
 			xml.writeStartElement("DATA_TYPE");
@@ -583,7 +539,19 @@ public class ResultsFile {
 
 	// ************************** errorsAndWarnings ************************
 
-	public void errorsAndWarnings(ArgoFileValidator argoFileValidator) throws XMLStreamException {
+	/**
+	 * Report the errors and warnings of the checks
+	 *
+	 * @param reportChecks true: report the check unit of each error and warning
+	 *                     (a "check" attribute in XML, "[check: ...]" in text)
+	 */
+	public void errorsAndWarnings(ArgoFileValidator argoFileValidator, boolean reportChecks)
+			throws XMLStreamException {
+		List<String> errorChecks = argoFileValidator.getValidationResult().getErrorChecks();
+		List<String> warningChecks = argoFileValidator.getValidationResult().getWarningChecks();
+		nErrors = argoFileValidator.getValidationResult().nFormatErrors();
+		nWarnings = argoFileValidator.getValidationResult().nFormatWarnings();
+
 		if (doXml) {
 			xml.writeStartElement("errors");
 			xml.writeAttribute("number", Integer.toString(argoFileValidator.getValidationResult().nFormatErrors()));
@@ -592,15 +560,9 @@ public class ResultsFile {
 		}
 		log.debug("format errors:" + argoFileValidator.getValidationResult().nFormatErrors());
 
+		int n = 0;
 		for (String err : argoFileValidator.getValidationResult().getErrors()) {
-			if (doXml) {
-				xml.writeStartElement("error");
-				xml.writeCharacters(err);
-				xml.writeEndElement();
-			} else {
-				out.println(err + "\n");
-			}
-			log.debug(err);
+			message("error", err, reportChecks ? errorChecks.get(n++) : null);
 		}
 
 		if (doXml) {
@@ -619,15 +581,9 @@ public class ResultsFile {
 		}
 		log.debug("format warnings: " + argoFileValidator.getValidationResult().nFormatWarnings());
 
+		n = 0;
 		for (String err : argoFileValidator.getValidationResult().getWarnings()) {
-			if (doXml) {
-				xml.writeStartElement("warning");
-				xml.writeCharacters(err);
-				xml.writeEndElement();
-			} else {
-				out.println(err + "\n");
-			}
-			log.debug(err);
+			message("warning", err, reportChecks ? warningChecks.get(n++) : null);
 		}
 
 		if (!doXml) {
@@ -637,6 +593,92 @@ public class ResultsFile {
 		log.debug("...end warnings");
 	}// ..end errorsAndWarnings
 
+	// ..an error / warning, with the check unit that reported it (null: none)
+	private void message(String element, String msg, String check) throws XMLStreamException {
+		if (doXml) {
+			xml.writeStartElement(element);
+			if (check != null) {
+				xml.writeAttribute("check", check);
+			}
+			xml.writeCharacters(msg);
+			xml.writeEndElement();
+		} else if (check != null) {
+			out.println(msg + " [check: " + check + "]\n");
+		} else {
+			out.println(msg + "\n");
+		}
+		log.debug(msg);
+	}
+
+	// ************************** timings ************************
+
+	/**
+	 * Report the time spent in each phase of the check (-timing-per-file)
+	 */
+	public void timings(PhaseTimings timings) throws XMLStreamException {
+		if (doXml) {
+			// ..at the top level of the results (the warnings are left open)
+			while (xml.getDepth() > 1) {
+				xml.writeEndElement();
+			}
+			xml.writeStartElement("timing");
+			xml.writeAttribute("bytes_read", Long.toString(timings.getBytesRead()));
+		} else {
+			out.println("TIMING: start");
+			out.println("BYTES-READ: " + timings.getBytesRead());
+		}
+
+		for (Map.Entry<String, Long> phase : timings.getPhaseNanos().entrySet()) {
+			String ms = msFmt.format(phase.getValue() / 1.e6);
+			if (doXml) {
+				xml.writeStartElement("phase");
+				xml.writeAttribute("name", phase.getKey());
+				xml.writeAttribute("ms", ms);
+				xml.writeEndElement();
+			} else {
+				out.println(phase.getKey() + ": " + ms + " ms");
+			}
+		}
+
+		if (doXml) {
+			xml.writeEndElement();
+		} else {
+			out.println("TIMING: end");
+		}
+	}// ..end timings
+
+	// ************************** summary **************************
+
+	private void summarize(String status, String phase, int nErrors, int nWarnings) {
+		this.status = status;
+		this.phase = phase;
+		this.nErrors = nErrors;
+		this.nWarnings = nWarnings;
+	}
+
+	/** Status reported (FILE-ACCEPTED, FILE-REJECTED, ERROR). Null if none yet. */
+	public String getStatus() {
+		return status;
+	}
+
+	/** Phase reported. Null if none yet. */
+	public String getPhase() {
+		return phase;
+	}
+
+	/** DATA_TYPE reported in the meta-data. Null if the type was not reported. */
+	public String getDataType() {
+		return dataType;
+	}
+
+	public int getNErrors() {
+		return nErrors;
+	}
+
+	public int getNWarnings() {
+		return nWarnings;
+	}
+
 	// ************************** metaStr **************************
 
 	private void metaStr(ArgoDataFile argo, String var, String fmt) throws XMLStreamException {
@@ -854,7 +896,7 @@ public class ResultsFile {
 		if (fmt == null) {
 			char comma = ' ';
 			for (double val : arr) {
-				String str = ArgoDate.format(ArgoDate.get(val));
+				String str = ArgoDate.format(ArgoDate.toMillis(val));
 				if (doXml) {
 					xml.writeCharacters(comma + str);
 				} else {
@@ -866,7 +908,7 @@ public class ResultsFile {
 		} else {
 			char comma = ' ';
 			for (double val : arr) {
-				String str = ArgoDate.format(ArgoDate.get(val));
+				String str = ArgoDate.format(ArgoDate.toMillis(val));
 				if (doXml) {
 					xml.writeCharacters(comma + String.format(str, val));
 				} else {
@@ -1041,25 +1083,4 @@ public class ResultsFile {
 		log.debug("meta-data: 'TRAJECTORY_PARAMETER' = '" + list + "' (single string)");
 	}// ..end metaTrajectoryParameters
 
-	// ************************** convenience methods ******************************
-	private String scrubInvalidXmlChar(String input) {
-		if (input == null) {
-			return null;
-		}
-
-		StringBuilder out = new StringBuilder();
-
-		input.codePoints().forEach(cp -> {
-			if ((cp == 0x9) || (cp == 0xA) || (cp == 0xD) || (cp >= 0x20 && cp <= 0xD7FF)
-					|| (cp >= 0xE000 && cp <= 0xFFFD) || (cp >= 0x10000 && cp <= 0x10FFFF)) {
-				out.appendCodePoint(cp);
-			} else {
-				out.append('-');
-			}
-		});
-
-		return out.toString();
-
-	}
-
 } // ..end class ResultsFile
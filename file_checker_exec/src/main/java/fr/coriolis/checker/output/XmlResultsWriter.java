@@ -0,0 +1,258 @@
+package fr.coriolis.checker.output;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Streaming writer of the XML results.
+ * <p>
+ * The document is indented and escaped as it is written and goes straight to
+ * the output: only the open elements and the text of the current element are
+ * held in memory, whatever the number of errors reported.
+ * <p>
+ * The output is the one of the former "XMLStreamWriter to a string, scrub,
+ * re-parse and indent with a Transformer" sequence:
+ * <ul>
+ * <li>no XML declaration, 2-space indentation, one element per line
+ * <li>elements without content are written as &lt;name/&gt;
+ * <li>characters not allowed by XML 1.0 are replaced by '-'
+ * <li>end-of-lines are normalized; the C1 controls and the characters outside
+ * the BMP are written as character references
+ * </ul>
+ */
+class XmlResultsWriter {
+
+	private static final String INDENT = "  ";
+
+	private final Writer out;
+	private final String lineSep = System.lineSeparator();
+
+	private final ArrayDeque<Element> openElements = new ArrayDeque<Element>();
+	private final StringBuilder pendingText = new StringBuilder();
+	private boolean startTagOpen = false;
+
+	private static final class Element {
+		final String name;
+		boolean hasChildren = false;
+
+		Element(String name) {
+			this.name = name;
+		}
+	}
+
+	XmlResultsWriter(Writer out) {
+		this.out = out;
+	}
+
+	// .....................................................................
+	//
+	// methods
+	//
+	// .....................................................................
+
+	/**
+	 * Start the document (the XML declaration is omitted)
+	 */
+	public void writeStartDocument() {
+	}
+
+	/**
+	 * End all open elements and the document
+	 */
+	public void writeEndDocument() throws XMLStreamException {
+		while (!openElements.isEmpty()) {
+			writeEndElement();
+		}
+		write(lineSep);
+	}
+
+	public void writeStartElement(String name) throws XMLStreamException {
+		Element parent = openElements.peek();
+		if (parent != null) {
+			closeStartTag();
+			parent.hasChildren = true;
+			// ..text of the parent written before this element goes on its own line
+			writeMixedText(openElements.size());
+			newLine(openElements.size());
+		}
+
+		write("<");
+		write(name);
+		openElements.push(new Element(name));
+		startTagOpen = true;
+	}
+
+	public void writeAttribute(String name, String value) throws XMLStreamException {
+		if (!startTagOpen) {
+			throw new XMLStreamException("Attribute '" + name + "' written outside of a start tag");
+		}
+
+		write(" ");
+		write(name);
+		write("=\"");
+		escape(value, true);
+		write("\"");
+	}
+
+	/**
+	 * Add text to the current element. The text is held until the element ends
+	 * (or a child element starts) to decide where it goes.
+	 */
+	public void writeCharacters(String text) throws XMLStreamException {
+		if (openElements.isEmpty()) {
+			throw new XMLStreamException("Characters written outside of the root element");
+		}
+
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+
+		closeStartTag();
+		pendingText.append(text);
+	}
+
+	public void writeEndElement() throws XMLStreamException {
+		Element element = openElements.poll();
+		if (element == null) {
+			throw new XMLStreamException("No element to end");
+		}
+
+		if (startTagOpen) {
+			// ..no content
+			write("/>");
+			startTagOpen = false;
+			return;
+		}
+
+		if (element.hasChildren) {
+			writeMixedText(openElements.size() + 1);
+			newLine(openElements.size());
+
+		} else {
+			escape(pendingText, false);
+			pendingText.setLength(0);
+		}
+
+		write("</");
+		write(element.name);
+		write(">");
+	}
+
+	/**
+	 * Number of open elements (1: in the root element)
+	 */
+	public int getDepth() {
+		return openElements.size();
+	}
+
+	public void flush() throws XMLStreamException {
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	// ************************** convenience methods ******************************
+
+	private void closeStartTag() throws XMLStreamException {
+		if (startTagOpen) {
+			write(">");
+			startTagOpen = false;
+		}
+	}
+
+	private void writeMixedText(int level) throws XMLStreamException {
+		if (pendingText.length() > 0) {
+			newLine(level);
+			escape(pendingText, false);
+			pendingText.setLength(0);
+		}
+	}
+
+	private void newLine(int level) throws XMLStreamException {
+		write(lineSep);
+		for (int n = 0; n < level; n++) {
+			write(INDENT);
+		}
+	}
+
+	/**
+	 * Write text or an attribute value, escaping and scrubbing it on the fly.
+	 * Runs of characters needing no change are written in one call.
+	 */
+	private void escape(CharSequence str, boolean attribute) throws XMLStreamException {
+		int len = str.length();
+		int start = 0;
+
+		int i = 0;
+		while (i < len) {
+			int cp = Character.codePointAt(str, i);
+			int next = i + Character.charCount(cp);
+
+			String replacement = null;
+
+			if (cp == '&') {
+				replacement = "&amp;";
+			} else if (cp == '<') {
+				replacement = "&lt;";
+			} else if (cp == '>') {
+				replacement = "&gt;";
+			} else if (cp == '"' && attribute) {
+				replacement = "&quot;";
+			} else if (cp == '\r') {
+				// ..CR-LF and CR are end-of-lines
+				if (next < len && str.charAt(next) == '\n') {
+					next++;
+				}
+				replacement = attribute ? " " : lineSep;
+			} else if (cp == '\n') {
+				replacement = attribute ? " " : lineSep;
+			} else if (cp == '\t') {
+				if (attribute) {
+					replacement = " ";
+				}
+			} else if (!isXmlChar(cp)) {
+				replacement = "-";
+			} else if (cp >= 0x10000 || (!attribute && cp >= 0x7F && cp <= 0x9F)) {
+				replacement = "&#" + cp + ";";
+			}
+
+			if (replacement != null) {
+				writeRun(str, start, i);
+				write(replacement);
+				start = next;
+			}
+			i = next;
+		}
+
+		writeRun(str, start, len);
+	}
+
+	private static boolean isXmlChar(int cp) {
+		return (cp == 0x9) || (cp == 0xA) || (cp == 0xD) || (cp >= 0x20 && cp <= 0xD7FF)
+				|| (cp >= 0xE000 && cp <= 0xFFFD) || (cp >= 0x10000 && cp <= 0x10FFFF);
+	}
+
+	private void writeRun(CharSequence str, int start, int end) throws XMLStreamException {
+		if (end > start) {
+			try {
+				out.append(str, start, end);
+			} catch (IOException e) {
+				throw new XMLStreamException(e);
+			}
+		}
+	}
+
+	private void write(String str) throws XMLStreamException {
+		try {
+			out.write(str);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+} // ..end class XmlResultsWriter
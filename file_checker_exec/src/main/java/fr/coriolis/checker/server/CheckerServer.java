@@ -0,0 +1,222 @@
+package fr.coriolis.checker.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import fr.coriolis.checker.config.Options;
+import fr.coriolis.checker.core.ValidateSubmit;
+
+/**
+ * Server mode of the FileChecker (-server &lt;port&gt;).
+ * <p>
+ * The specifications and NVS tables are loaded once by the JVM and reused by
+ * every request, which removes the start-up cost of a "java -jar" per check.
+ * The server only listens on the loopback interface.
+ * <ul>
+ * <li>POST /check?dac=&lt;dac-name&gt;&amp;path=&lt;file-path&gt; : check a
+ * file readable by the server
+ * <li>POST /check?dac=&lt;dac-name&gt;&amp;name=&lt;file-name&gt; : check the
+ * file sent as the request body (name is used for the file name check)
+ * <li>GET /health : "OK" when the server is ready
+ * </ul>
+ * The response body of /check is the content of the results file the command
+ * line would write. "&amp;format=xml|text" overrides the -text-result option.
+ * The checks performed are set by the command-line options of the server.
+ */
+public class CheckerServer {
+
+	private static final Logger log = LogManager.getLogger("CheckerServer");
+
+	private static final String XML_CONTENT_TYPE = "application/xml; charset=UTF-8";
+	private static final String TEXT_CONTENT_TYPE = "text/plain; charset=UTF-8";
+
+	private final Options options;
+	private HttpServer server;
+	private ExecutorService workers;
+
+	public CheckerServer(Options options) {
+		this.options = options;
+	}
+
+	/**
+	 * Start listening. Requests are handled by a pool of -threads workers; the
+	 * server keeps the JVM alive until stopped.
+	 *
+	 * @throws IOException if the port cannot be bound
+	 */
+	public void start() throws IOException {
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getServerPort());
+		server = HttpServer.create(address, 0);
+		server.createContext("/check", this::handleCheck);
+		server.createContext("/health", this::handleHealth);
+
+		workers = Executors.newFixedThreadPool(options.getNThreads());
+		server.setExecutor(workers);
+		server.start();
+
+		log.info("server listening on http://{}:{}/ ({} threads)", address.getHostString(), options.getServerPort(),
+				options.getNThreads());
+		System.out.println("FileChecker server listening on http://" + address.getHostString() + ":"
+				+ options.getServerPort() + "/");
+	}
+
+	/**
+	 * Stop the server: requests being processed are given a few seconds to end
+	 */
+	public void stop() {
+		if (server != null) {
+			server.stop(5);
+			workers.shutdown();
+			server = null;
+		}
+	}
+
+	private void handleHealth(HttpExchange exchange) throws IOException {
+		try {
+			respond(exchange, 200, TEXT_CONTENT_TYPE, "OK\n");
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void handleCheck(HttpExchange exchange) throws IOException {
+		try {
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				respond(exchange, 405, TEXT_CONTENT_TYPE, "ERROR: use POST\n");
+				return;
+			}
+
+			Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+			String dacName = query.get("dac");
+			if (dacName == null) {
+				respond(exchange, 400, TEXT_CONTENT_TYPE, "ERROR: missing 'dac' parameter\n");
+				return;
+			}
+			try {
+				Options.checkDacName(dacName);
+			} catch (IllegalArgumentException e) {
+				respond(exchange, 400, TEXT_CONTENT_TYPE, e.getMessage().trim() + "\n");
+				return;
+			}
+
+			boolean xmlResults = options.isDoXml();
+			String format = query.get("format");
+			if (format != null) {
+				if (format.equals("xml")) {
+					xmlResults = true;
+				} else if (format.equals("text")) {
+					xmlResults = false;
+				} else {
+					respond(exchange, 400, TEXT_CONTENT_TYPE, "ERROR: invalid 'format': '" + format + "'\n");
+					return;
+				}
+			}
+
+			String path = query.get("path");
+			String name = query.get("name");
+
+			if (path != null) {
+				checkLocalFile(exchange, dacName, path, xmlResults);
+			} else if (name != null) {
+				checkUploadedFile(exchange, dacName, name, xmlResults);
+			} else {
+				respond(exchange, 400, TEXT_CONTENT_TYPE, "ERROR: missing 'path' or 'name' parameter\n");
+			}
+
+		} catch (Exception e) {
+			log.error("check request failed", e);
+			respond(exchange, 500, TEXT_CONTENT_TYPE, "ERROR: " + e + "\n");
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void checkLocalFile(HttpExchange exchange, String dacName, String path, boolean xmlResults)
+			throws Exception {
+		if (!new File(path).isFile()) {
+			respond(exchange, 404, TEXT_CONTENT_TYPE, "ERROR: file not found: '" + path + "'\n");
+			return;
+		}
+
+		log.info("check request: dac = '{}', path = '{}'", dacName, path);
+		String results = ValidateSubmit.checkFile(options, dacName, path, path, xmlResults);
+		respond(exchange, 200, xmlResults ? XML_CONTENT_TYPE : TEXT_CONTENT_TYPE, results);
+	}
+
+	private void checkUploadedFile(HttpExchange exchange, String dacName, String name, boolean xmlResults)
+			throws Exception {
+		// ..the file keeps its name (file name check): it must be a plain name
+		if (name.isEmpty() || name.contains("/") || name.contains("\\") || name.equals(".") || name.equals("..")) {
+			respond(exchange, 400, TEXT_CONTENT_TYPE, "ERROR: invalid 'name': '" + name + "'\n");
+			return;
+		}
+
+		Path dir = Files.createTempDirectory("filechecker");
+		Path file = dir.resolve(name);
+		try {
+			try (InputStream in = exchange.getRequestBody()) {
+				Files.copy(in, file);
+			}
+
+			log.info("check request: dac = '{}', uploaded file = '{}' ({} bytes)", dacName, name, Files.size(file));
+			String results = ValidateSubmit.checkFile(options, dacName, file.toString(), name, xmlResults);
+			respond(exchange, 200, xmlResults ? XML_CONTENT_TYPE : TEXT_CONTENT_TYPE, results);
+
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+		Map<String, String> query = new HashMap<String, String>();
+		if (rawQuery == null) {
+			return query;
+		}
+
+		for (String param : rawQuery.split("&")) {
+			if (param.isEmpty()) {
+				continue;
+			}
+			int eq = param.indexOf('=');
+			if (eq < 0) {
+				query.put(URLDecoder.decode(param, "UTF-8"), "");
+			} else {
+				query.put(URLDecoder.decode(param.substring(0, eq), "UTF-8"),
+						URLDecoder.decode(param.substring(eq + 1), "UTF-8"));
+			}
+		}
+		return query;
+	}
+
+	private static void respond(HttpExchange exchange, int status, String contentType, String body)
+			throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(bytes);
+		}
+	}
+
+}
@@ -1,5 +1,7 @@
 package fr.coriolis.checker.specs;
 
+import java.io.IOException;
+
 import ucar.ma2.DataType;
 
 /**
@@ -127,6 +129,61 @@ public class ArgoAttribute {
       this.default_val = new String(def);
    }
 
+   /**
+    * Reads an attribute written by writeSnapshot (see SpecSnapshot)
+    */
+   ArgoAttribute (SpecSnapshot.Input in) throws IOException
+   {
+      this.name = in.readString();
+      this.type = in.readEnum(DataType.class);
+      this.isNumeric = in.readBoolean();
+      this.handling = in.readEnum(AttrHandling.class);
+      this.default_val = in.readString();
+
+      //..the value: its class then its string form
+      String valueClass = in.readString();
+      String value = in.readString();
+
+      if (valueClass == null) {
+         this.value = null;
+      } else if (valueClass.equals("String")) {
+         this.value = value;
+      } else if (valueClass.equals("Double")) {
+         this.value = Double.valueOf(value);
+      } else if (valueClass.equals("Float")) {
+         this.value = Float.valueOf(value);
+      } else if (valueClass.equals("Integer")) {
+         this.value = Integer.valueOf(value);
+      } else if (valueClass.equals("Long")) {
+         this.value = Long.valueOf(value);
+      } else if (valueClass.equals("Short")) {
+         this.value = Short.valueOf(value);
+      } else {
+         throw new IOException("attribute '" + name + "': unknown value class " + valueClass);
+      }
+   }
+
+   void writeSnapshot(SpecSnapshot.Output out) throws IOException
+   {
+      out.writeString(name);
+      out.writeEnum(type);
+      out.writeBoolean(isNumeric);
+      out.writeEnum(handling);
+      out.writeString(default_val);
+
+      if (value == null) {
+         out.writeString(null);
+         out.writeString(null);
+      } else if (value instanceof String || value instanceof Double || value instanceof Float
+                 || value instanceof Integer || value instanceof Long || value instanceof Short) {
+         out.writeString(value.getClass().getSimpleName());
+         out.writeString(value.toString());
+      } else {
+         throw new IOException("attribute '" + name + "': value of class " + value.getClass().getName()
+                               + " cannot be written");
+      }
+   }
+
    //............................................................
    //                        ACCESSORS
    //............................................................
@@ -151,6 +151,18 @@ public class ArgoConfigTechParam {
 	private LinkedHashMap<Pattern, HashMap<String, HashSet<String>>> techParamRegex_DEP; // ..config param variable
 																							// names
 
+	// ..indexes of the regexes above (see ConfigTechRegexIndex): built from them,
+	// ..not in the snapshot
+	private ConfigTechRegexIndex configParamIndex;
+	private ConfigTechRegexIndex configParamIndex_DEP;
+	private ConfigTechRegexIndex techParamIndex;
+	private ConfigTechRegexIndex techParamIndex_DEP;
+
+	// ..the names already looked up, by all the files checked with the
+	// ..specification (see ConfigTechMatchCache)
+	private final ConfigTechMatchCache configParamMatches = new ConfigTechMatchCache();
+	private final ConfigTechMatchCache techParamMatches = new ConfigTechMatchCache();
+
 	private LinkedHashMap<String, ConfigTechValueType> unitList; // ..config/tech units and type
 	private LinkedHashMap<String, ConfigTechValueType> unitList_DEP; // ..config/tech units - deprecated
 
@@ -217,6 +229,134 @@ public class ArgoConfigTechParam {
 		}
 	}
 
+	/**
+	 * Reads the parameters written by {@link #writeSnapshot} (see SpecSnapshot)
+	 *
+	 * @param in the snapshot decoder
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	ArgoConfigTechParam(SpecSnapshot.Input in) throws IOException {
+		unitFileName = in.readString();
+		version = in.readString();
+
+		configParamList = in.readStringSet();
+		configParamList_DEP = in.readStringSet();
+		configParamRegex = readRegexMap(in);
+		configParamRegex_DEP = readRegexMap(in);
+
+		techParamList = in.readStringSet();
+		techParamCodeList = in.readStringSet();
+		techParamList_DEP = in.readStringSet();
+		techParamCodeList_DEP = in.readStringSet();
+		techParamRegex = readRegexMap(in);
+		techParamRegex_DEP = readRegexMap(in);
+
+		paramAuthorizedUnits = readListMap(in);
+		paramAuthorizedLongName = readListMap(in);
+
+		unitList = readUnitMap(in);
+		unitList_DEP = readUnitMap(in);
+
+		configParamIndex = index(configParamRegex, "config names");
+		configParamIndex_DEP = index(configParamRegex_DEP, "deprecated config names");
+		techParamIndex = index(techParamRegex, "tech names");
+		techParamIndex_DEP = index(techParamRegex_DEP, "deprecated tech names");
+	}
+
+	/**
+	 * Writes the parameters to a specification snapshot
+	 *
+	 * @param out the snapshot encoder
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	void writeSnapshot(SpecSnapshot.Output out) throws IOException {
+		out.writeString(unitFileName);
+		out.writeString(version);
+
+		out.writeStrings(configParamList);
+		out.writeStrings(configParamList_DEP);
+		writeRegexMap(out, configParamRegex);
+		writeRegexMap(out, configParamRegex_DEP);
+
+		out.writeStrings(techParamList);
+		out.writeStrings(techParamCodeList);
+		out.writeStrings(techParamList_DEP);
+		out.writeStrings(techParamCodeList_DEP);
+		writeRegexMap(out, techParamRegex);
+		writeRegexMap(out, techParamRegex_DEP);
+
+		out.writeStringSetMap(paramAuthorizedUnits);
+		out.writeStringSetMap(paramAuthorizedLongName);
+
+		writeUnitMap(out, unitList);
+		writeUnitMap(out, unitList_DEP);
+	}
+
+	private static LinkedHashMap<Pattern, HashMap<String, HashSet<String>>> readRegexMap(SpecSnapshot.Input in)
+			throws IOException {
+		int size = in.readInt();
+		if (size < 0) {
+			return null;
+		}
+		LinkedHashMap<Pattern, HashMap<String, HashSet<String>>> map = new LinkedHashMap<Pattern, HashMap<String, HashSet<String>>>(
+				2 * size);
+		for (int n = 0; n < size; n++) {
+			map.put(in.readPattern(), in.readStringSetMap());
+		}
+		return map;
+	}
+
+	private static void writeRegexMap(SpecSnapshot.Output out,
+			LinkedHashMap<Pattern, HashMap<String, HashSet<String>>> map) throws IOException {
+		out.writeSize(map);
+		if (map != null) {
+			for (Map.Entry<Pattern, HashMap<String, HashSet<String>>> e : map.entrySet()) {
+				out.writePattern(e.getKey());
+				out.writeStringSetMap(e.getValue());
+			}
+		}
+	}
+
+	private static ConfigTechRegexIndex index(LinkedHashMap<Pattern, HashMap<String, HashSet<String>>> regexMap,
+			String listName) {
+		return (regexMap == null ? null : new ConfigTechRegexIndex(regexMap, knownTemplates, listName));
+	}
+
+	private static Map<String, List<String>> readListMap(SpecSnapshot.Input in) throws IOException {
+		int size = in.readInt();
+		if (size < 0) {
+			return null;
+		}
+		Map<String, List<String>> map = new LinkedHashMap<String, List<String>>(2 * size);
+		for (int n = 0; n < size; n++) {
+			map.put(in.readString(), in.readStringList());
+		}
+		return map;
+	}
+
+	private static LinkedHashMap<String, ConfigTechValueType> readUnitMap(SpecSnapshot.Input in) throws IOException {
+		int size = in.readInt();
+		if (size < 0) {
+			return null;
+		}
+		LinkedHashMap<String, ConfigTechValueType> map = new LinkedHashMap<String, ConfigTechValueType>(2 * size);
+		for (int n = 0; n < size; n++) {
+			map.put(in.readString(), in.readEnum(ConfigTechValueType.class));
+		}
+		return map;
+	}
+
+	private static void writeUnitMap(SpecSnapshot.Output out, LinkedHashMap<String, ConfigTechValueType> map)
+			throws IOException {
+		out.writeSize(map);
+		if (map != null) {
+			for (Map.Entry<String, ConfigTechValueType> e : map.entrySet()) {
+				out.writeString(e.getKey());
+				out.writeEnum(e.getValue());
+			}
+		}
+	}
+
 //............................................
 //               METHODS
 //............................................
@@ -224,82 +364,66 @@ public class ArgoConfigTechParam {
 	/**
 	 * Determines if the name is matched by a REGEX in the set
 	 * 
-	 * @param name     The parameter name in question.
-	 * @param regexSet The set of REGEXPs to check
+	 * @param name         The parameter name in question.
+	 * @param index        The index of the REGEXPs to check
+	 * @param isDeprecated True if the REGEXPs are the deprecated ones
 	 * @return An ArgoConfigTechParamMatch containing full information about the
 	 *         match (null = NO MATCH)
 	 */
-	private ArgoConfigTechParamMatch checkRegex(String name,
-			HashMap<Pattern, HashMap<String, HashSet<String>>> regexSet) {
-		ArgoConfigTechParamMatch match = null; // ..return object
-		HashMap<String, String> unMatchedTemplates = null; // ..return templates
-		HashMap<String, String> failedMatchedTemplates = null; // ..return templates
-
-		// ..NOTE..NOTE..NOTE..
-		// ..Should be able to truncate the loop below on the first match
-		// ..ie, find a match -> return
-		// ..However, during development I *really* want to know if there are
-		// ..multiple matches - which indicates ambiguous regex patterns
-		// ..So, FOR NOW, complete the looping and report multiple matches
-		// ..Returns the LAST one matched
-
-		for (Map.Entry<Pattern, HashMap<String, HashSet<String>>> entry : regexSet.entrySet()) {
-			Pattern pattern = entry.getKey();
-			HashMap<String, HashSet<String>> value = entry.getValue();
+	private ArgoConfigTechParamMatch checkRegex(String name, ConfigTechRegexIndex index, boolean isDeprecated) {
+		// ..the candidates come last-first: the first one that matches is the LAST
+		// ..one matched (ambiguous regexes are reported when the index is built)
 
-			Matcher m = pattern.matcher(name);
+		for (ConfigTechRegexIndex.Entry entry : index.candidates(name)) {
+			Matcher m = entry.pattern.matcher(name);
 
 			if (m.matches()) {
-				unMatchedTemplates = new HashMap<String, String>(m.groupCount());
-				failedMatchedTemplates = new HashMap<String, String>(m.groupCount());
+				HashMap<String, HashSet<String>> value = entry.matchLists;
+				HashMap<String, String> unMatchedTemplates = new HashMap<String, String>(m.groupCount());
+				HashMap<String, String> failedMatchedTemplates = new HashMap<String, String>(m.groupCount());
 
-				for (String key : knownTemplates) {
-					try {
-						String str = m.group(key);
+				for (String key : entry.templates) {
+					String str = m.group(key);
 
-						// ..is there a "match-list" for this (regex param and template)
+					// ..is there a "match-list" for this (regex param and template)
 
-						if (value != null) {
-							HashSet<String> matchSet = value.get(key);
+					if (value != null) {
+						HashSet<String> matchSet = value.get(key);
 
-							if (matchSet == null) {
-								// ..there was no match-list to compare to
-								unMatchedTemplates.put(key, str);
+						if (matchSet == null) {
+							// ..there was no match-list to compare to
+							unMatchedTemplates.put(key, str);
 
-							} else {
-								// ..there is a match-list - compare it
+						} else {
+							// ..there is a match-list - compare it
 
-								if (!matchSet.contains(str)) {
-									failedMatchedTemplates.put(key, str);
-									log.debug("checkRegex: match-list success: key '{}', matched '{}'", key, str);
+							if (!matchSet.contains(str)) {
+								failedMatchedTemplates.put(key, str);
+								log.debug("checkRegex: match-list success: key '{}', matched '{}'", key, str);
 
-								} else if (log.isDebugEnabled()) {
-									log.debug("checkRegex: match-list failed: key '{}', matched '{}'", key, str);
-								}
+							} else if (log.isDebugEnabled()) {
+								log.debug("checkRegex: match-list failed: key '{}', matched '{}'", key, str);
 							}
-						} else {
-							unMatchedTemplates.put(key, str);
 						}
-
-					} catch (IllegalArgumentException e) {
+					} else {
+						unMatchedTemplates.put(key, str);
 					}
 				}
 
-				match = new ArgoConfigTechParamMatch(pattern.toString(), false, unMatchedTemplates.size(),
-						unMatchedTemplates, failedMatchedTemplates.size(), failedMatchedTemplates);
-
 				log.debug("checkRegex: '{}' regex match #{}: '{}', unMatchedTemplates {}" + "failedTemplates {}",
 						unMatchedTemplates.size(), failedMatchedTemplates.size());
 
-				// ****temporary**** return match;
+				return new ArgoConfigTechParamMatch(entry.pattern.toString(), isDeprecated, unMatchedTemplates.size(),
+						unMatchedTemplates, failedMatchedTemplates.size(), failedMatchedTemplates);
 			}
 		}
 
-		return match;
+		return null;
 	} // ..checkRegex
 
 	/**
-	 * Determines if the name is a CONFIG parameter name
+	 * Determines if the name is a CONFIG parameter name. The matches are kept for
+	 * the next lookups (see ConfigTechMatchCache) and shared: they are read-only.
 	 * 
 	 * @param name the parameter name in question.
 	 * @return An ArgoConfigTechParamMatch containing full information about the
@@ -307,13 +431,14 @@ public class ArgoConfigTechParam {
 	 * 
 	 */
 	public ArgoConfigTechParamMatch findConfigParam(String name) {
-		ArgoConfigTechParamMatch match = findParam(name, configParamList, configParamRegex, configParamList_DEP,
-				configParamRegex_DEP);
+		ArgoConfigTechParamMatch match = configParamMatches.get(name,
+				n -> findParam(n, configParamList, configParamIndex, configParamList_DEP, configParamIndex_DEP));
 		return match;
 	}
 
 	/**
-	 * Determines if the name is a Tech parameter name
+	 * Determines if the name is a Tech parameter name. The matches are kept for
+	 * the next lookups (see ConfigTechMatchCache) and shared: they are read-only.
 	 * 
 	 * @param name the parameter name in question.
 	 * @return An ArgoConfigTechParamMatch containing full information about the
@@ -321,8 +446,8 @@ public class ArgoConfigTechParam {
 	 * 
 	 */
 	public ArgoConfigTechParamMatch findTechParam(String name) {
-		ArgoConfigTechParamMatch match = findParam(name, techParamList, techParamRegex, techParamList_DEP,
-				techParamRegex_DEP);
+		ArgoConfigTechParamMatch match = techParamMatches.get(name,
+				n -> findParam(n, techParamList, techParamIndex, techParamList_DEP, techParamIndex_DEP));
 		return match;
 	}
 
@@ -335,8 +460,7 @@ public class ArgoConfigTechParam {
 	 * 
 	 */
 	private ArgoConfigTechParamMatch findParam(String name, HashSet<String> activeList,
-			HashMap<Pattern, HashMap<String, HashSet<String>>> activeRegex, HashSet<String> deprecatedList,
-			HashMap<Pattern, HashMap<String, HashSet<String>>> deprecatedRegex) {
+			ConfigTechRegexIndex activeRegex, HashSet<String> deprecatedList, ConfigTechRegexIndex deprecatedRegex) {
 		boolean literal = false;
 		HashMap<String, String> templates = null;
 		ArgoConfigTechParamMatch match = null;
@@ -356,10 +480,9 @@ public class ArgoConfigTechParam {
 		if (activeRegex != null) {
 			// log.debug("findParam: checking active regex");
 
-			match = checkRegex(name, activeRegex);
+			match = checkRegex(name, activeRegex, false);
 
 			if (match != null) {
-				match.isDeprecated = false;
 				log.debug("findParam: '{}': active regex match '{}'", name, match.match);
 				return match;
 			}
@@ -377,10 +500,9 @@ public class ArgoConfigTechParam {
 		if (deprecatedRegex != null) {
 			// log.debug("findParam: checking active regex");
 
-			match = checkRegex(name, deprecatedRegex);
+			match = checkRegex(name, deprecatedRegex, true);
 
 			if (match != null) {
-				match.isDeprecated = true;
 				log.debug("findParam: '{}': deprecated regex match '{}'", name, match.match);
 				return match;
 			}
@@ -573,6 +695,10 @@ public class ArgoConfigTechParam {
 			}
 		}
 
+		configParamIndex = index(configParamRegex, "config names");
+		configParamIndex_DEP = index(configParamRegex_DEP, "deprecated config names");
+		configParamMatches.clear();
+
 		log.debug("configParamList: {}", configParamList);
 
 		log.debug(".....parseConfigParamFiles: end.....");
@@ -693,6 +819,10 @@ public class ArgoConfigTechParam {
 				parseParamName(techParamList_DEP, techParamRegex_DEP, "NVS R14 table", pTemplate, techParamEntry);
 			}
 		}
+		techParamIndex = index(techParamRegex, "tech names");
+		techParamIndex_DEP = index(techParamRegex_DEP, "deprecated tech names");
+		techParamMatches.clear();
+
 		log.debug(".....parseTechParamFile: end.....");
 
 	} // ..end parseTechParamFile
@@ -1076,13 +1206,14 @@ public class ArgoConfigTechParam {
 
 	public class ArgoConfigTechParamMatch {
 		// ......object variables........
+		// ..read-only: a match is shared by the files and threads (see ConfigTechMatchCache)
 
-		public boolean isDeprecated;
-		public String match;
-		public int nUnMatchedTemplates;
-		public HashMap<String, String> unMatchedTemplates;
-		public int nFailedMatchedTemplates;
-		public HashMap<String, String> failedMatchedTemplates;
+		public final boolean isDeprecated;
+		public final String match;
+		public final int nUnMatchedTemplates;
+		public final Map<String, String> unMatchedTemplates;
+		public final int nFailedMatchedTemplates;
+		public final Map<String, String> failedMatchedTemplates;
 
 		// ........constructors..........
 
@@ -1101,9 +1232,13 @@ public class ArgoConfigTechParam {
 			this.match = new String(match);
 			this.isDeprecated = isDeprecated;
 			this.nUnMatchedTemplates = nUnMatchedTemplates;
-			this.unMatchedTemplates = unMatchedTemplates;
+			this.unMatchedTemplates = readOnly(unMatchedTemplates);
 			this.nFailedMatchedTemplates = nFailedMatchedTemplates;
-			this.failedMatchedTemplates = failedMatchedTemplates;
+			this.failedMatchedTemplates = readOnly(failedMatchedTemplates);
+		}
+
+		private Map<String, String> readOnly(HashMap<String, String> templates) {
+			return (templates == null ? null : Collections.unmodifiableMap(templates));
 		}
 	}
 
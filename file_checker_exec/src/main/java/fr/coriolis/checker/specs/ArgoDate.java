@@ -4,14 +4,23 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.text.ParseException;
 import java.util.Date;
-import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.TimeZone;
-import java.util.regex.Pattern;
-import java.lang.Math;
 
 
 /**
+ * Argo dates: the "YYYYMMDDHHMMSS" strings (UTC) and the JULD values (days since
+ * 1950-01-01 00:00:00 UTC).
+ * <p>
+ * The dates are parsed and formatted digit by digit into / from milliseconds
+ * since the epoch, without a lock or a shared formatter: the methods may be
+ * called by several threads. The results are those of a non-lenient GMT
+ * SimpleDateFormat (the former implementation): the dates before 1583 (Julian
+ * calendar, Gregorian cutover) and after 9999 are still handed to a
+ * SimpleDateFormat of the calling thread.
+ *
  * @version  $HeadURL: https://inversion.nrlmry.navy.mil/svn/godae/trunk/argo/bin/java/usgdac/ArgoDate.java $
  * @version  $Id: ArgoDate.java 963 2018-08-09 16:34:21Z ignaszewski $
  */
@@ -24,89 +33,48 @@ public class ArgoDate extends Date
 
    //............class variables.................
 
-   private static Calendar cal;
-   private static SimpleDateFormat dateFormat;
-   private static long refTime = Long.MAX_VALUE;
-   private static TimeZone tz;
+   /** Returned by {@link #toMillis(String)} for an invalid date */
+   public static final long INVALID = Long.MIN_VALUE;
 
-   private static HashMap<String, SimpleDateFormat> validFormat = 
-      new HashMap<String, SimpleDateFormat>();
+   private static final long DAY_MILLIS = 24L * 3600L * 1000L;
+
+   //..1950-01-01 00:00:00 UTC: JULD = 0
+   private static final long refTime = daysFromCivil(1950, 1, 1) * DAY_MILLIS;
+
+   //..the dates handled digit by digit: years 1583 to 9999 (Gregorian calendar)
+   private static final int FIRST_YEAR = 1583;
+   private static final long FIRST_MILLIS = daysFromCivil(FIRST_YEAR, 1, 1) * DAY_MILLIS;
+   private static final long END_MILLIS = daysFromCivil(10000, 1, 1) * DAY_MILLIS;
+
+   private static final TimeZone tz = TimeZone.getTimeZone("GMT");
+
+   //..the date/time patterns of the technical parameter units (see checkArgoDatePattern)
+   private static final Map<String, String> validFormat;
 
-   private static Pattern nonDigit;
-   
    static {
-      tz = TimeZone.getTimeZone("GMT");
-      cal = Calendar.getInstance(tz);
-      refTime = getRefTime();
-      
-      dateFormat = (SimpleDateFormat) DateFormat.getInstance();
-      dateFormat.setTimeZone(tz);
-      dateFormat.applyPattern("yyyyMMddHHmmss");
-      dateFormat.setLenient(false);
-
-
-      SimpleDateFormat DF = (SimpleDateFormat) DateFormat.getInstance();
-      DF.setTimeZone(tz);
-      DF.setLenient(false);
-
-      SimpleDateFormat df;
-
-      //..day month year
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("ddMMyyyy");
-      validFormat.put("DDMMYYYY", df);
-
-      //..year month day hour minute second
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("yyyyMMddHHmmss");
-      validFormat.put("YYYYMMDDHHMMSS", df);
-
-      //..year month day
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("yyyyMMdd");
-      validFormat.put("YYYYMMDD", df);
-
-      //..year
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("yyyy");
-      validFormat.put("YYYY", df);
-
-      //..month (number)
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("MM");
-      validFormat.put("MM", df);
-
-      //..day of month
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("dd");
-      validFormat.put("DD", df);
-
-      //..clock: hour minute second
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("HHmmss");
-      validFormat.put("HHMMSS", df);
-
-      //..clock: hour minute
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("HHmm");
-      validFormat.put("HHMM", df);
-
-      //..clock: minute second
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("mmss");
-      df.setLenient(false);
-      validFormat.put("MMSS", df);
-
-      //..clock: hour
-      df = (SimpleDateFormat) DF.clone();
-      df.applyPattern("HH");
-      validFormat.put("HH", df);
-
-      //..
-
-      nonDigit = Pattern.compile(".*\\D.*");
+      Map<String, String> temp = new HashMap<String, String>();
+      temp.put("DDMMYYYY", "ddMMyyyy");                //..day month year
+      temp.put("YYYYMMDDHHMMSS", "yyyyMMddHHmmss");    //..year month day hour minute second
+      temp.put("YYYYMMDD", "yyyyMMdd");                //..year month day
+      temp.put("YYYY", "yyyy");                        //..year
+      temp.put("MM", "MM");                            //..month (number)
+      temp.put("DD", "dd");                            //..day of month
+      temp.put("HHMMSS", "HHmmss");                    //..clock: hour minute second
+      temp.put("HHMM", "HHmm");                        //..clock: hour minute
+      temp.put("MMSS", "mmss");                        //..clock: minute second
+      temp.put("HH", "HH");                            //..clock: hour
+      validFormat = Collections.unmodifiableMap(temp);
    }
 
+   //..SimpleDateFormat of the dates outside of FIRST_YEAR - 9999 (one per thread)
+   private static final ThreadLocal<Map<String, SimpleDateFormat>> legacyFormat =
+      new ThreadLocal<Map<String, SimpleDateFormat>>() {
+         @Override
+         protected Map<String, SimpleDateFormat> initialValue() {
+            return new HashMap<String, SimpleDateFormat>();
+         }
+      };
+
    //static PrintStream stdout = new PrintStream(System.out);
 
    //******************************************************
@@ -114,21 +82,79 @@ public class ArgoDate extends Date
    //******************************************************
 
 
-   public static String format(Date date) { return dateFormat.format(date); }
-   
+   /**
+    * Formats a date as "YYYYMMDDHHMMSS" (UTC)
+    */
+   public static String format(Date date) { return format(date.getTime()); }
+
+   /**
+    * Formats a time (milliseconds since the epoch) as "YYYYMMDDHHMMSS" (UTC)
+    */
+   public static String format(long millis)
+   {
+      if (millis < FIRST_MILLIS || millis >= END_MILLIS) {
+         return legacy("yyyyMMddHHmmss").format(new Date(millis));
+      }
+
+      long days = Math.floorDiv(millis, DAY_MILLIS);
+      int sec = (int) (Math.floorMod(millis, DAY_MILLIS) / 1000L);
+
+      //..civil date of the day (proleptic Gregorian calendar)
+      long z = days + 719468L;
+      long era = Math.floorDiv(z, 146097L);
+      int doe = (int) (z - era * 146097L);
+      int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+      int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+      int mp = (5 * doy + 2) / 153;
+      int day = doy - (153 * mp + 2) / 5 + 1;
+      int month = (mp < 10 ? mp + 3 : mp - 9);
+      int year = (int) (yoe + era * 400L) + (month <= 2 ? 1 : 0);
+
+      char[] dtg = new char[14];
+      digits(dtg, 0, year, 4);
+      digits(dtg, 4, month, 2);
+      digits(dtg, 6, day, 2);
+      digits(dtg, 8, sec / 3600, 2);
+      digits(dtg, 10, (sec / 60) % 60, 2);
+      digits(dtg, 12, sec % 60, 2);
+      return new String(dtg);
+   }
+
    public static Date get(long long_juld)
    {
       return (new Date(refTime + long_juld));
    }
 
    public static Date get(double juld)
+   {
+      return (new Date(toMillis(juld)));
+   }
+
+   /**
+    * Converts a JULD value (days since 1950-01-01 00:00:00 UTC) to milliseconds
+    * since the epoch
+    */
+   public static long toMillis(double juld)
    {
       long long_juld = Math.round(juld * 24.D * 3600.D * 1000.D);
-      return (new Date(refTime + long_juld));
+      return (refTime + long_juld);
+   }
+
+   /**
+    * Converts the JULD values [from, to[ of an array to milliseconds since the
+    * epoch, in millis[0] ... millis[to - from - 1]
+    *
+    * @param millis  the array filled (at least to - from long)
+    */
+   public static void toMillis(double[] juld, int from, int to, long[] millis)
+   {
+      for (int n = from; n < to; n++) {
+         millis[n - from] = refTime + Math.round(juld[n] * 24.D * 3600.D * 1000.D);
+      }
    }
 
    /**
-    * Checks the input date/time "pattern" against the known patterns typically used as 
+    * Checks the input date/time "pattern" against the known patterns typically used as
     * Technical Parameter Units and checks the "value" to see if it conforms to the pattern.
     *
     * @param pattern  Date/time pattern to be checked against known Argo data/time patterns
@@ -139,23 +165,36 @@ public class ArgoDate extends Date
     */
    public static Boolean checkArgoDatePattern (String pattern, String value)
    {
-      SimpleDateFormat format = validFormat.get(pattern);
+      String format = validFormat.get(pattern);
 
       if (format == null) {
          return null;
       }
 
-      if (value.length() != pattern.length() || nonDigit.matcher(value).matches()) {
-         return new Boolean(false);
+      if (value.length() != pattern.length() || !isDigits(value, 0, value.length())) {
+         return Boolean.FALSE;
       }
 
-
-      try {
-         Date date = format.parse(value);
-      } catch (ParseException e) {
-         return new Boolean(false);
+      //..the fields of the value (-1: not in the pattern)
+      int year = field(format, value, 'y');
+      int month = field(format, value, 'M');
+      int day = field(format, value, 'd');
+
+      if (year >= 0 && year < FIRST_YEAR) {
+         //..Julian calendar: as parsed by SimpleDateFormat
+         try {
+            legacy(format).parse(value);
+         } catch (ParseException e) {
+            return Boolean.FALSE;
+         }
+         return Boolean.TRUE;
       }
-      return new Boolean(true);
+
+      //..the fields not in the pattern default to 1970-01-01 00:00:00
+      boolean valid = isValid(year < 0 ? 1970 : year, month < 0 ? 1 : month, day < 0 ? 1 : day,
+                              Math.max(0, field(format, value, 'H')), Math.max(0, field(format, value, 'm')),
+                              Math.max(0, field(format, value, 's')));
+      return (valid ? Boolean.TRUE : Boolean.FALSE);
    }
 
    /**
@@ -166,35 +205,141 @@ public class ArgoDate extends Date
     */
    public static Date get(String dtg)
    {
-      Date date;
+      long millis = toMillis(dtg);
+      return (millis == INVALID ? null : new Date(millis));
+   }
 
-      try {
-         //..
-         date = dateFormat.parse(dtg);
+   /**
+    * Converts an Argo string date value ("YYYYMMDDHHMMSS", UTC) to milliseconds
+    * since the epoch, checking for validity
+    *
+    * @param dtg  String (14-char) date/time setting
+    * @return the time; INVALID if input dtg is illegal
+    */
+   public static long toMillis(String dtg)
+   {
+      //..only 14 digits are formatted back to the same value
+      if (dtg.length() != 14 || !isDigits(dtg, 0, 14)) {
+         return INVALID;
+      }
+
+      int year = number(dtg, 0, 4);
+      if (year < FIRST_YEAR) {
+         return legacyMillis(dtg);
+      }
+
+      int month = number(dtg, 4, 2);
+      int day = number(dtg, 6, 2);
+      int hour = number(dtg, 8, 2);
+      int minute = number(dtg, 10, 2);
+      int second = number(dtg, 12, 2);
 
-         String tst = dateFormat.format(date);
-         if (! dtg.equals(tst)) {
-            date = null;
+      if (!isValid(year, month, day, hour, minute, second)) {
+         return INVALID;
+      }
+      return daysFromCivil(year, month, day) * DAY_MILLIS + ((hour * 60L + minute) * 60L + second) * 1000L;
+   }
+
+   //..the date as parsed, then formatted back, by SimpleDateFormat (dates before FIRST_YEAR)
+   private static long legacyMillis(String dtg)
+   {
+      SimpleDateFormat format = legacy("yyyyMMddHHmmss");
+      try {
+         Date date = format.parse(dtg);
+         if (dtg.equals(format.format(date))) {
+            return date.getTime();
          }
-         
       } catch (ParseException e) {
-         date = null;
-      }   
+      }
+      return INVALID;
+   }
 
-      return (date);
+   private static SimpleDateFormat legacy(String pattern)
+   {
+      Map<String, SimpleDateFormat> formats = legacyFormat.get();
+      SimpleDateFormat df = formats.get(pattern);
+      if (df == null) {
+         df = (SimpleDateFormat) DateFormat.getInstance();
+         df.setTimeZone(tz);
+         df.setLenient(false);
+         df.applyPattern(pattern);
+         formats.put(pattern, df);
+      }
+      return df;
    }
 
-   private static long getRefTime() {
-      cal.set(1950, 00, 01, 00, 00, 00);
+   private static boolean isValid(int year, int month, int day, int hour, int minute, int second)
+   {
+      if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+         return false;
+      }
+      return hour <= 23 && minute <= 59 && second <= 59;
+   }
 
-      //..this is odd.  The above cal.set does NOT intialize the millisecond
-      //..value of cal.  The milliseconds are set to something that is 
-      //..runtime depedent.  Thus the "cal" is not repeatable at sub-second
-      //..resolution.  So...
-      //..initialize milliseconds to 0
-      cal.set(Calendar.MILLISECOND, 0);
+   private static int daysInMonth(int year, int month)
+   {
+      switch (month) {
+         case 2:
+            boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+            return (leap ? 29 : 28);
+         case 4: case 6: case 9: case 11:
+            return 30;
+         default:
+            return 31;
+      }
+   }
 
-      return (cal.getTimeInMillis());
+   //..days since 1970-01-01 of a date of the proleptic Gregorian calendar
+   private static long daysFromCivil(int year, int month, int day)
+   {
+      int y = year - (month <= 2 ? 1 : 0);
+      int era = (y >= 0 ? y : y - 399) / 400;
+      int yoe = y - era * 400;
+      int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+      int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+      return era * 146097L + doe - 719468L;
+   }
+
+   //..the value of the field "letter" of a SimpleDateFormat pattern (-1: not in the pattern)
+   private static int field(String format, String value, char letter)
+   {
+      int start = format.indexOf(letter);
+      if (start < 0) {
+         return -1;
+      }
+      int end = start;
+      while (end < format.length() && format.charAt(end) == letter) {
+         end++;
+      }
+      return number(value, start, end - start);
+   }
+
+   private static boolean isDigits(String str, int start, int end)
+   {
+      for (int n = start; n < end; n++) {
+         char c = str.charAt(n);
+         if (c < '0' || c > '9') {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static int number(String str, int start, int length)
+   {
+      int value = 0;
+      for (int n = start; n < start + length; n++) {
+         value = value * 10 + (str.charAt(n) - '0');
+      }
+      return value;
+   }
+
+   private static void digits(char[] chars, int start, int value, int length)
+   {
+      for (int n = start + length - 1; n >= start; n--) {
+         chars[n] = (char) ('0' + value % 10);
+         value /= 10;
+      }
    }
 
 }
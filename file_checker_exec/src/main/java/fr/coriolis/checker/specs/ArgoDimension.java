@@ -1,5 +1,6 @@
 package fr.coriolis.checker.specs;
 
+import java.io.IOException;
 import java.util.LinkedHashSet;
 import ucar.nc2.Dimension;
 
@@ -29,6 +30,22 @@ public class ArgoDimension {
       value = s;
    }
 
+   /** Reads a dimension written by writeSnapshot (see SpecSnapshot) */
+   ArgoDimension(SpecSnapshot.Input in) throws IOException {
+      name = in.readString();
+      value = in.readInt();
+      extra_dimension = in.readBoolean();
+      altDimension = in.readStringSet();
+      ncDim = null;
+   }
+
+   void writeSnapshot(SpecSnapshot.Output out) throws IOException {
+      out.writeString(name);
+      out.writeInt(value);
+      out.writeBoolean(extra_dimension);
+      out.writeStrings(altDimension);
+   }
+
       
 
    //............Methods..............
@@ -0,0 +1,95 @@
+package fr.coriolis.checker.specs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+/**
+ * The dimensions of an {@link ArgoFileSpecification} as seen by one data file:
+ * the dimensions defined by the (shared) specification plus the "extra
+ * dimensions" the data file declares.
+ * <p>
+ * A specification is cached and shared by all the files of the same type and
+ * version, so it is never modified. The extra dimensions of a file are kept
+ * here instead and simply go away with the view.
+ */
+public class ArgoDimensionView {
+
+	private final ArgoFileSpecification spec;
+	private final LinkedHashMap<String, ArgoDimension> extraDimHash; // ..name to def
+
+	public ArgoDimensionView(ArgoFileSpecification spec) {
+		this.spec = spec;
+		this.extraDimHash = new LinkedHashMap<String, ArgoDimension>();
+	}
+
+	/**
+	 * Returns the dimension definition for the given name
+	 *
+	 * @param name the string name of the requested dimension
+	 * @return The ArgoDimension object. Null if not defined.
+	 */
+	public ArgoDimension getDimension(String name) {
+		ArgoDimension aDim = spec.getDimension(name);
+		if (aDim == null) {
+			aDim = extraDimHash.get(name);
+		}
+		return aDim;
+	}
+
+	/**
+	 * Adds an "extra dimension" to this view. These are dimensions added to allow
+	 * for an extra data dimension in the physical parameters.
+	 *
+	 * The name of the dimension must: 1) match an "extra dimension" pattern in the
+	 * CDL spec file 2) not already exist in the specification
+	 *
+	 * @param name   the string name of the requested dimension
+	 * @param length the length of the requested dimension
+	 * @return The ArgoDimension object. Null if not an allowed extra dimension.
+	 */
+	public ArgoDimension addExtraDimension(String name, int length) {
+		// ===========
+		// CK_0008 2/3
+		// ===========
+		if (getDimension(name) != null) {
+			return null;
+		}
+
+		if (!spec.isExtraDimensionName(name)) {
+			return null;
+		}
+
+		ArgoDimension aDim = new ArgoDimension(name, length);
+		aDim.setExtraDimension();
+		extraDimHash.put(name, aDim);
+
+		return aDim;
+	}
+
+	/**
+	 * Returns all dimension definitions: the specification dimensions followed by
+	 * the extra dimensions.
+	 *
+	 * @return The ArgoDimension objects.
+	 */
+	public Collection<ArgoDimension> getDimensions() {
+		Collection<ArgoDimension> specDims = spec.getDimensions();
+		if (extraDimHash.isEmpty()) {
+			return specDims;
+		}
+
+		ArrayList<ArgoDimension> dims = new ArrayList<ArgoDimension>(specDims.size() + extraDimHash.size());
+		dims.addAll(specDims);
+		dims.addAll(extraDimHash.values());
+		return dims;
+	}
+
+	/**
+	 * Returns the specification this view is built on.
+	 */
+	public ArgoFileSpecification getSpecification() {
+		return spec;
+	}
+
+}
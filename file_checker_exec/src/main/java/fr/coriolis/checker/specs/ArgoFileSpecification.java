@@ -9,8 +9,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +26,7 @@ import org.apache.logging.log4j.Logger;
 
 import fr.coriolis.checker.core.ArgoDataFile;
 import fr.coriolis.checker.exceptions.R03ParameterException;
+import fr.coriolis.checker.exceptions.SpecificationNotFoundException;
 import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
 import fr.coriolis.checker.tables.R03DeprecatedEntry;
 import fr.coriolis.checker.tables.SkosConcept;
@@ -734,6 +737,175 @@ public class ArgoFileSpecification {
 		openSpecification(fullSpec, fType, version);
 	} // ..end constructor
 
+	// ........... (snapshot).......
+	/**
+	 * Rebuilds a full specification written to a snapshot by
+	 * {@link #writeSnapshot}
+	 *
+	 * @param in the snapshot decoder
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	ArgoFileSpecification(SpecSnapshot.Input in) throws IOException {
+		specName = in.readString();
+		cdlFileName = in.readString();
+		optFileName = in.readString();
+		prmFileNameAux = in.readString();
+		r03DepPhysicalParamsTableName = in.readString();
+		regFileName = in.readString();
+		attrRegex = in.readBoolean();
+		optionalVars = in.readBoolean();
+
+		// ..dimensions are shared by dimHash and the variables
+		ArgoDimension[] dims = new ArgoDimension[in.readInt()];
+		for (int n = 0; n < dims.length; n++) {
+			dims[n] = new ArgoDimension(in);
+		}
+
+		dimHash = new LinkedHashMap<String, ArgoDimension>();
+		for (int n = in.readInt(); n > 0; n--) {
+			dimHash.put(in.readString(), dims[in.readInt()]);
+		}
+
+		extraDimPattern = new ArrayList<Pattern>();
+		for (int n = in.readInt(); n > 0; n--) {
+			extraDimPattern.add(in.readPattern());
+		}
+
+		metaHash = in.readStringMap();
+		optVar = in.readStringSet();
+		interPhysParam = in.readStringSet();
+		depParamNameList = in.readStringSet();
+		physParamNameList = in.readStringSet();
+		physParamVarList = in.readStringSet();
+		groupMembers = in.readStringSetMap();
+		varGroup = in.readStringMap();
+
+		varHash = new LinkedHashMap<String, ArgoVariable>();
+		for (int n = in.readInt(); n > 0; n--) {
+			varHash.put(in.readString(), new ArgoVariable(in, dims));
+		}
+
+		gAttrHash = new LinkedHashMap<String, ArgoAttribute>();
+		for (int n = in.readInt(); n > 0; n--) {
+			gAttrHash.put(in.readString(), new ArgoAttribute(in));
+		}
+
+		regexHash = new LinkedHashMap<String, AttrRegex>();
+		for (int n = in.readInt(); n > 0; n--) {
+			String name = in.readString();
+			AttrRegex regex = new AttrRegex();
+			regex.pattern = in.readPattern();
+			regex.warn = in.readBoolean();
+			regexHash.put(name, regex);
+		}
+
+		int nDeprecated = in.readInt();
+		if (nDeprecated >= 0) {
+			R03DeprecatedEntries = new ArrayList<R03DeprecatedEntry>(nDeprecated);
+			for (int n = 0; n < nDeprecated; n++) {
+				R03DeprecatedEntries.add(new R03DeprecatedEntry(in.readString(), in.readString(), in.readString(),
+						in.readString(), in.readString()));
+			}
+		}
+
+		if (in.readBoolean()) {
+			ConfigTech = new ArgoConfigTechParam(in);
+		}
+	} // ..end constructor
+
+	/**
+	 * Writes this (full) specification to a snapshot. See
+	 * {@link #ArgoFileSpecification(SpecSnapshot.Input)}.
+	 *
+	 * @param out the snapshot encoder
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	void writeSnapshot(SpecSnapshot.Output out) throws IOException {
+		out.writeString(specName);
+		out.writeString(cdlFileName);
+		out.writeString(optFileName);
+		out.writeString(prmFileNameAux);
+		out.writeString(r03DepPhysicalParamsTableName);
+		out.writeString(regFileName);
+		out.writeBoolean(attrRegex);
+		out.writeBoolean(optionalVars);
+
+		// ..dimensions are shared by dimHash and the variables: written once
+		Map<ArgoDimension, Integer> dims = new IdentityHashMap<ArgoDimension, Integer>();
+		for (ArgoDimension d : dimHash.values()) {
+			dims.putIfAbsent(d, dims.size());
+		}
+		for (ArgoVariable v : varHash.values()) {
+			for (ArgoDimension d : v.getDimension()) {
+				dims.putIfAbsent(d, dims.size());
+			}
+		}
+
+		ArgoDimension[] dimTable = new ArgoDimension[dims.size()];
+		for (Map.Entry<ArgoDimension, Integer> d : dims.entrySet()) {
+			dimTable[d.getValue()] = d.getKey();
+		}
+		out.writeInt(dimTable.length);
+		for (ArgoDimension d : dimTable) {
+			d.writeSnapshot(out);
+		}
+
+		out.writeSize(dimHash);
+		for (Map.Entry<String, ArgoDimension> d : dimHash.entrySet()) {
+			out.writeString(d.getKey());
+			out.writeInt(dims.get(d.getValue()));
+		}
+
+		out.writeSize(extraDimPattern);
+		for (Pattern p : extraDimPattern) {
+			out.writePattern(p);
+		}
+
+		out.writeStringMap(metaHash);
+		out.writeStrings(optVar);
+		out.writeStrings(interPhysParam);
+		out.writeStrings(depParamNameList);
+		out.writeStrings(physParamNameList);
+		out.writeStrings(physParamVarList);
+		out.writeStringSetMap(groupMembers);
+		out.writeStringMap(varGroup);
+
+		out.writeSize(varHash);
+		for (Map.Entry<String, ArgoVariable> v : varHash.entrySet()) {
+			out.writeString(v.getKey());
+			v.getValue().writeSnapshot(out, dims);
+		}
+
+		out.writeSize(gAttrHash);
+		for (Map.Entry<String, ArgoAttribute> a : gAttrHash.entrySet()) {
+			out.writeString(a.getKey());
+			a.getValue().writeSnapshot(out);
+		}
+
+		out.writeSize(regexHash);
+		for (Map.Entry<String, AttrRegex> r : regexHash.entrySet()) {
+			out.writeString(r.getKey());
+			out.writePattern(r.getValue().pattern);
+			out.writeBoolean(r.getValue().warn);
+		}
+
+		out.writeSize(R03DeprecatedEntries);
+		if (R03DeprecatedEntries != null) {
+			for (R03DeprecatedEntry e : R03DeprecatedEntries) {
+				out.writeString(e.getParamName());
+				out.writeString(e.getAttributeKey());
+				out.writeString(e.getOldValue());
+				out.writeString(e.getStatus());
+				out.writeString(e.getMessage());
+			}
+		}
+
+		out.writeBoolean(ConfigTech != null);
+		if (ConfigTech != null) {
+			ConfigTech.writeSnapshot(out);
+		}
+	}
+
 	// ............................................
 	// ACCESSORS
 	// ............................................
@@ -749,46 +921,25 @@ public class ArgoFileSpecification {
 	}
 
 	/**
-	 * Adds an "extra dimension" to the specification. These are dimensions added to
-	 * allow for an extra data dimension in the physical parameters.
+	 * Determines if a name is allowed as an "extra dimension". These are
+	 * dimensions added to allow for an extra data dimension in the physical
+	 * parameters. Extra dimensions are not added to the specification (which is
+	 * shared between files), see {@link ArgoDimensionView}.
 	 *
-	 * The name of the dimension must: 1) match an "extra dimension" pattern in the
-	 * CDL spec file 2) not already exist in the specification
-	 *
-	 * @param name   the string name of the requested dimension
-	 * @param length the length of the requested dimension
-	 * @return The ArgoDimension object. Null if not defined.
+	 * @param name the string name of the dimension
+	 * @return true if the name matches an "extra dimension" pattern of the CDL
+	 *         spec file
 	 */
-	public ArgoDimension addExtraDimension(String name, int length) {
+	public boolean isExtraDimensionName(String name) {
 		// ===========
 		// CK_0008 2/3
 		// ===========
-		ArgoDimension aDim = dimHash.get(name);
-
-		if (aDim != null) {
-			return null;
-		}
-
 		for (Pattern extName : extraDimPattern) {
 			if (extName.matcher(name).matches()) {
-				aDim = new ArgoDimension(name, length);
-				aDim.setExtraDimension();
-				dimHash.put(name, aDim);
-			}
-		}
-
-		return aDim;
-	}
-
-	/**
-	 * Clear "extra dimensions" from the specification.
-	 */
-	public void clearExtraDimensions() {
-		for (String dim : dimHash.keySet()) {
-			if (dimHash.get(dim).isExtraDimension()) {
-				dimHash.remove(dim);
+				return true;
 			}
 		}
+		return false;
 	}
 
 	/**
@@ -797,7 +948,7 @@ public class ArgoFileSpecification {
 	 * @return The ArgoDimension objects. Null if not defined.
 	 */
 	public Collection<ArgoDimension> getDimensions() {
-		return dimHash.values();
+		return Collections.unmodifiableCollection(dimHash.values());
 	}
 
 	/**
@@ -1395,7 +1546,7 @@ public class ArgoFileSpecification {
 
 		} catch (FileNotFoundException e) {
 			log.error("cdlFileName '" + cdlFileName + "' does not exist");
-			throw e;
+			throw new SpecificationNotFoundException("cdlFileName '" + cdlFileName + "' does not exist");
 		} catch (IOException e) {
 			log.error("cdlFileName '" + cdlFileName + "' cannot be read");
 			throw e;
@@ -1,5 +1,6 @@
 package fr.coriolis.checker.specs;
 
+import java.io.IOException;
 import java.util.*;
 
 //import java.util.regex.*;
@@ -153,6 +154,68 @@ public class ArgoVariable {
       }
    }
 
+   /**
+    * Reads a variable written by writeSnapshot (see SpecSnapshot)
+    * @param in   the snapshot decoder
+    * @param dims the dimensions of the specification (by index)
+    */
+   ArgoVariable (SpecSnapshot.Input in, ArgoDimension[] dims) throws IOException
+   {
+      name = in.readString();
+      type = in.readEnum(DataType.class);
+      paramName = in.readString();
+      dimsString = in.readString();
+      fillable = in.readBoolean();
+      string = in.readBoolean();
+      extraDims = in.readBoolean();
+      altDims = in.readBoolean();
+      calibDim = in.readInt();
+      paramDim = in.readInt();
+      profileDim = in.readInt();
+      levelsDim = in.readInt();
+
+      dim = new ArgoDimension[in.readInt()];
+      for (int i = 0 ; i < dim.length ; i++) {
+         dim[i] = dims[in.readInt()];
+      }
+
+      int nAttr = in.readInt();
+      attr = new LinkedHashMap<String, ArgoAttribute>(2 * nAttr);
+      for (int i = 0 ; i < nAttr ; i++) {
+         attr.put(in.readString(), new ArgoAttribute(in));
+      }
+   }
+
+   /**
+    * @param dims index of the dimensions of the specification
+    */
+   void writeSnapshot(SpecSnapshot.Output out, Map<ArgoDimension, Integer> dims) throws IOException
+   {
+      out.writeString(name);
+      out.writeEnum(type);
+      out.writeString(paramName);
+      out.writeString(dimsString);
+      out.writeBoolean(fillable);
+      out.writeBoolean(string);
+      out.writeBoolean(extraDims);
+      out.writeBoolean(altDims);
+      out.writeInt(calibDim);
+      out.writeInt(paramDim);
+      out.writeInt(profileDim);
+      out.writeInt(levelsDim);
+
+      out.writeInt(dim.length);
+      for (ArgoDimension d : dim) {
+         out.writeInt(dims.get(d));
+      }
+
+      out.writeSize(attr);
+      for (Map.Entry<String, ArgoAttribute> a : attr.entrySet()) {
+         out.writeString(a.getKey());
+         a.getValue().writeSnapshot(out);
+      }
+   }
+
    //.........................................................
    //                  ACCESSORS
    //.........................................................
@@ -0,0 +1,84 @@
+package fr.coriolis.checker.specs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import fr.coriolis.checker.config.Options;
+import fr.coriolis.checker.specs.ArgoConfigTechParam.ArgoConfigTechParamMatch;
+
+/**
+ * Memo of the CONFIG / TECH parameter name lookups of a specification (see
+ * ArgoConfigTechParam.findConfigParam / findTechParam).
+ * <p>
+ * The validators only avoid looking up the same name twice in a file: the
+ * files of a DAC mostly hold the same names, which would otherwise go through
+ * the regexes again for each file. The match of a name (or no match) only
+ * depends on the specification, so it is kept for the next files checked with
+ * the same specification, by every thread.
+ * <p>
+ * The memo goes away with the specification. At most
+ * "filechecker.configtech.cache" names (system property, default 4096; 0 to
+ * disable) are kept for each list: the least recently used are dropped first.
+ * The matches are shared: they must not be modified.
+ */
+final class ConfigTechMatchCache {
+
+	static final int SIZE = Options.getConfigTechCacheSize();
+
+	/** The lookup of a name not in the memo */
+	interface Lookup {
+		ArgoConfigTechParamMatch find(String name);
+	}
+
+	// ..access order: the first entry is the least recently used
+	// ..(a null match: the name is not valid)
+	private final LinkedHashMap<String, ArgoConfigTechParamMatch> matches = new LinkedHashMap<String, ArgoConfigTechParamMatch>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ArgoConfigTechParamMatch> eldest) {
+			return size() > SIZE;
+		}
+	};
+
+	/**
+	 * The match of a name: from the memo, or looked up (outside of the lock) and
+	 * kept
+	 *
+	 * @return the match; null if the name is not valid
+	 */
+	ArgoConfigTechParamMatch get(String name, Lookup lookup) {
+		if (SIZE <= 0) {
+			return lookup.find(name);
+		}
+
+		synchronized (matches) {
+			ArgoConfigTechParamMatch match = matches.get(name);
+			if (match != null || matches.containsKey(name)) {
+				return match;
+			}
+		}
+
+		ArgoConfigTechParamMatch match = lookup.find(name);
+
+		synchronized (matches) {
+			matches.put(name, match);
+		}
+		return match;
+	}
+
+	/** Forget the names looked up (the lists changed) */
+	void clear() {
+		synchronized (matches) {
+			matches.clear();
+		}
+	}
+
+	int size() {
+		synchronized (matches) {
+			return matches.size();
+		}
+	}
+
+}
@@ -0,0 +1,333 @@
+package fr.coriolis.checker.specs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Index of the CONFIG / TECH parameter name regexes of a specification (see
+ * ArgoConfigTechParam.checkRegex), built once when the specification is loaded.
+ * <p>
+ * Each regex is made of literal parts and templates (named groups). A name can
+ * only match the regexes whose literal prefix starts the name and literal
+ * suffix ends it: the prefixes are kept in a tree walked once along the name,
+ * so a lookup runs a handful of regexes instead of all of them. The named
+ * groups of each regex are also listed once, instead of asking every known
+ * template of each match.
+ * <p>
+ * A name matched by several regexes gets the last one in the specification
+ * order, as before. Such ambiguous regexes are found when the index is built (on
+ * a sample name of each regex) and logged, instead of being looked for on every
+ * lookup.
+ * <p>
+ * The index is not modified after it is built: it is shared by the threads
+ * checking files with the specification.
+ */
+final class ConfigTechRegexIndex {
+
+	private static final Logger log = LogManager.getLogger("ArgoConfigTechParam");
+
+	// ..a regex of the specification
+	static final class Entry {
+		final int order; // ..position in the specification
+		final Pattern pattern;
+		final HashMap<String, HashSet<String>> matchLists; // ..null: none
+		final String[] templates; // ..the known templates that are groups of the regex
+		final String prefix;
+		final String suffix;
+
+		private Entry(int order, Pattern pattern, HashMap<String, HashSet<String>> matchLists, String[] templates,
+				String prefix, String suffix) {
+			this.order = order;
+			this.pattern = pattern;
+			this.matchLists = matchLists;
+			this.templates = templates;
+			this.prefix = prefix;
+			this.suffix = suffix;
+		}
+	}
+
+	// ..tree of the literal prefixes: the entries whose prefix ends at the node
+	private static final class Node {
+		private HashMap<Character, Node> next;
+		private List<Entry> entries;
+	}
+
+	// ..sample values of the templates without a match-list (ambiguity check)
+	private static final Map<String, String> sampleValues;
+	static {
+		Map<String, String> temp = new HashMap<String, String>();
+		temp.put("param", "Doxy");
+		temp.put("PARAM", "DOXY");
+		temp.put("shortsensorname", "Ctd");
+		temp.put("cyclephasename", "AscentPhase");
+		temp.put("default", "Value1");
+		sampleValues = Collections.unmodifiableMap(temp);
+	}
+
+	private static final Pattern pNamedGroup = Pattern.compile("\\(\\?<([a-zA-Z][a-zA-Z0-9]*)>");
+
+	private final Node root = new Node();
+	private final int size;
+
+	/**
+	 * Index the regexes of a list
+	 *
+	 * @param regexMap       the regexes, in the specification order, and their
+	 *                       template match-lists
+	 * @param knownTemplates the templates reported in the matches
+	 * @param listName       name of the list (ambiguity diagnostics)
+	 */
+	ConfigTechRegexIndex(LinkedHashMap<Pattern, HashMap<String, HashSet<String>>> regexMap,
+			Set<String> knownTemplates, String listName) {
+		size = regexMap.size();
+
+		List<Entry> entries = new ArrayList<Entry>(size);
+		int order = 0;
+		for (Map.Entry<Pattern, HashMap<String, HashSet<String>>> e : regexMap.entrySet()) {
+			String regex = e.getKey().pattern();
+
+			List<String> templates = new ArrayList<String>();
+			for (String group : groupNames(regex)) {
+				if (knownTemplates.contains(group)) {
+					templates.add(group);
+				}
+			}
+
+			String prefix = literalPrefix(regex);
+			String suffix = (prefix.length() == regex.length() ? "" : literalSuffix(regex));
+
+			Entry entry = new Entry(order++, e.getKey(), e.getValue(), templates.toArray(new String[0]), prefix,
+					suffix);
+			entries.add(entry);
+			add(entry);
+		}
+
+		logAmbiguities(entries, listName);
+	}
+
+	/** The number of regexes indexed */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * The regexes that may match a name: literal prefix and suffix of the name, by
+	 * descending specification order (the last matching one is the match)
+	 */
+	List<Entry> candidates(String name) {
+		List<Entry> candidates = null;
+		Node node = root;
+		int n = 0;
+		while (node != null) {
+			if (node.entries != null) {
+				for (Entry entry : node.entries) {
+					if (name.length() >= entry.prefix.length() + entry.suffix.length()
+							&& name.endsWith(entry.suffix)) {
+						if (candidates == null) {
+							candidates = new ArrayList<Entry>(4);
+						}
+						candidates.add(entry);
+					}
+				}
+			}
+			if (n == name.length() || node.next == null) {
+				break;
+			}
+			node = node.next.get(name.charAt(n++));
+		}
+
+		if (candidates == null) {
+			return Collections.emptyList();
+		}
+		if (candidates.size() > 1) {
+			Collections.sort(candidates, (a, b) -> Integer.compare(b.order, a.order));
+		}
+		return candidates;
+	}
+
+	// ************************** convenience methods ******************************
+
+	private void add(Entry entry) {
+		Node node = root;
+		for (int n = 0; n < entry.prefix.length(); n++) {
+			if (node.next == null) {
+				node.next = new HashMap<Character, Node>(4);
+			}
+			Character c = entry.prefix.charAt(n);
+			Node next = node.next.get(c);
+			if (next == null) {
+				next = new Node();
+				node.next.put(c, next);
+			}
+			node = next;
+		}
+		if (node.entries == null) {
+			node.entries = new ArrayList<Entry>(2);
+		}
+		node.entries.add(entry);
+	}
+
+	// ..the names of the named groups of a regex
+	private static List<String> groupNames(String regex) {
+		List<String> names = new ArrayList<String>();
+		Matcher m = pNamedGroup.matcher(regex);
+		while (m.find()) {
+			names.add(m.group(1));
+		}
+		return names;
+	}
+
+	// ..the characters every match starts with: the leading letters, digits and
+	// .."_" (not the last one if it is quantified); none with a top-level "|"
+	static String literalPrefix(String regex) {
+		if (hasTopLevelAlternation(regex)) {
+			return "";
+		}
+		int n = 0;
+		while (n < regex.length() && isLiteral(regex.charAt(n))) {
+			n++;
+		}
+		if (n > 0 && n < regex.length() && isQuantifier(regex.charAt(n))) {
+			n--;
+		}
+		return regex.substring(0, n);
+	}
+
+	// ..the characters every match ends with: the trailing letters, digits and "_"
+	// ..(not an escaped one); none with a top-level "|"
+	static String literalSuffix(String regex) {
+		if (hasTopLevelAlternation(regex)) {
+			return "";
+		}
+		int n = regex.length();
+		while (n > 0 && isLiteral(regex.charAt(n - 1))) {
+			n--;
+		}
+		if (n > 0 && n < regex.length() && regex.charAt(n - 1) == '\\') {
+			n++;
+		}
+		return regex.substring(n);
+	}
+
+	private static boolean isLiteral(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+	}
+
+	private static boolean isQuantifier(char c) {
+		return c == '?' || c == '*' || c == '+' || c == '{';
+	}
+
+	private static boolean hasTopLevelAlternation(String regex) {
+		int depth = 0;
+		boolean inClass = false;
+		for (int n = 0; n < regex.length(); n++) {
+			char c = regex.charAt(n);
+			if (c == '\\') {
+				n++;
+			} else if (inClass) {
+				inClass = (c != ']');
+			} else if (c == '[') {
+				inClass = true;
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			} else if (c == '|' && depth == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Log the regexes that match the same names: for each regex, a sample name
+	 * (each template replaced by the first value of its match-list, or a typical
+	 * value) is looked up in the index.
+	 */
+	private void logAmbiguities(List<Entry> entries, String listName) {
+		int nAmbiguous = 0;
+		for (Entry entry : entries) {
+			String sample = sampleName(entry);
+			if (sample == null) {
+				continue;
+			}
+			for (Entry other : candidates(sample)) {
+				if (other.order > entry.order && other.pattern.matcher(sample).matches()) {
+					nAmbiguous++;
+					log.debug("{}: ambiguous regexes: '{}' ('{}') also matches '{}'", listName, other.pattern,
+							sample, entry.pattern);
+				}
+			}
+		}
+		if (nAmbiguous > 0) {
+			log.info("{}: {} regexes also match names of an earlier regex (the last one is used)", listName,
+					nAmbiguous);
+		}
+	}
+
+	// ..a name matched by the regex of the entry (null: not found)
+	private static String sampleName(Entry entry) {
+		String regex = entry.pattern.pattern();
+		StringBuilder sample = new StringBuilder(regex.length());
+
+		int n = 0;
+		Matcher m = pNamedGroup.matcher(regex);
+		while (m.find(n)) {
+			int end = groupEnd(regex, m.start());
+			if (end < 0) {
+				return null;
+			}
+			sample.append(regex, n, m.start()).append(sampleValue(entry, m.group(1)));
+			n = end;
+		}
+		sample.append(regex.substring(n));
+
+		String name = sample.toString();
+		return (entry.pattern.matcher(name).matches() ? name : null);
+	}
+
+	private static String sampleValue(Entry entry, String template) {
+		if (entry.matchLists != null) {
+			HashSet<String> values = entry.matchLists.get(template);
+			if (values != null && !values.isEmpty()) {
+				return new TreeSet<String>(values).first();
+			}
+		}
+		String value = sampleValues.get(template);
+		return (value == null ? "1" : value);
+	}
+
+	// ..the end (exclusive) of the group opened at "start"; -1 if not closed
+	private static int groupEnd(String regex, int start) {
+		int depth = 0;
+		boolean inClass = false;
+		for (int n = start; n < regex.length(); n++) {
+			char c = regex.charAt(n);
+			if (c == '\\') {
+				n++;
+			} else if (inClass) {
+				inClass = (c != ']');
+			} else if (c == '[') {
+				inClass = true;
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')' && --depth == 0) {
+				return n + 1;
+			}
+		}
+		return -1;
+	}
+
+}
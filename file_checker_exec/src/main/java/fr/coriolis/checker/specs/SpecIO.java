@@ -6,6 +6,8 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
 
 public final class SpecIO {
 
@@ -16,6 +18,9 @@ public final class SpecIO {
 	private final boolean internalSpecs;
 	private final Path externalBaseDir; // needed if internalSpecs == false
 
+	// ..names of the files opened while recording (null: not recording)
+	private Set<String> recordedFiles;
+
 	public static SpecIO getInstance() {
 		if (specIOInstance == null) {
 			throw new IllegalStateException("SpecIO not initialized");
@@ -34,7 +39,18 @@ public final class SpecIO {
 		}
 	}
 
-	private SpecIO(boolean internalSpecs, Path externalBaseDir) {
+	/**
+	 * Replace the instance (tests: another specification directory)
+	 * 
+	 * @return the previous instance (null if none)
+	 */
+	static synchronized SpecIO setInstance(SpecIO instance) {
+		SpecIO previous = specIOInstance;
+		specIOInstance = instance;
+		return previous;
+	}
+
+	SpecIO(boolean internalSpecs, Path externalBaseDir) {
 		this.internalSpecs = internalSpecs;
 		this.externalBaseDir = externalBaseDir;
 
@@ -45,6 +61,7 @@ public final class SpecIO {
 
 	// Public methods :
 	public InputStream open(String fileName) throws IOException {
+		record(fileName);
 
 		if (internalSpecs) {
 			String resourcePath = RESOURCES_BASE_PATH + "/" + fileName; // ex: "/specs/spec.properties"
@@ -62,4 +79,29 @@ public final class SpecIO {
 		}
 	}
 
+	/**
+	 * Start recording the names of the files opened (found or not): the files a
+	 * specification is built from (see {@link SpecSnapshot})
+	 */
+	public synchronized void startRecording() {
+		recordedFiles = new TreeSet<String>();
+	}
+
+	/**
+	 * Stop recording
+	 * 
+	 * @return the names of the files opened since {@link #startRecording()}
+	 */
+	public synchronized Set<String> stopRecording() {
+		Set<String> files = recordedFiles;
+		recordedFiles = null;
+		return files;
+	}
+
+	private synchronized void record(String fileName) {
+		if (recordedFiles != null) {
+			recordedFiles.add(fileName);
+		}
+	}
+
 }
@@ -0,0 +1,527 @@
+package fr.coriolis.checker.specs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.core.ArgoDataFile.FileType;
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+import fr.coriolis.checker.utils.DigestUtils;
+
+/**
+ * Precompiled ("binary") snapshot of the full specifications of a
+ * specification directory.
+ * <p>
+ * Building a specification parses the CDL, opt, attr_regexp and aux files and
+ * expands the R03 table into the parameter variables of the file type: it is
+ * the main part of the start-up time of the checker. The snapshot holds the
+ * specifications already built, in a compact binary form, so a process only
+ * has to decode the ones it needs.
+ * <p>
+ * The snapshot ({@value #SNAPSHOT_FILE_NAME}, in the specification directory)
+ * is written by the build (or by hand, see {@link #main(String[])}). It
+ * records the digest of every file the specifications were built from and of
+ * the NVS tables: it is only used if none of them changed, otherwise the
+ * specifications are parsed from the text files as before.
+ * <p>
+ * Each specification class writes and reads its own fields (writeSnapshot and
+ * a constructor taking an {@link Input}). LAYOUT_VERSION must be incremented
+ * when they change: a snapshot of another layout is not used.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java -cp file_checker_exec.jar fr.coriolis.checker.specs.SpecSnapshot spec-dir [snapshot-file]
+ * </pre>
+ */
+public final class SpecSnapshot {
+
+	/** Name of the snapshot file in the specification directory */
+	public static final String SNAPSHOT_FILE_NAME = "argo-spec-snapshot.bin";
+
+	// ..identifies the layout of the snapshot file
+	private static final String MAGIC = "ArgoFormatChecker specification snapshot";
+	private static final int LAYOUT_VERSION = 1;
+
+	// ..digest of a file that does not exist (optional specification files)
+	private static final String ABSENT = "-";
+
+	// ..name of a CDL specification file. group 1: spec type; group 2: version
+	private static final Pattern pCdlFile = Pattern.compile("argo-(\\w+)-spec-v(\\d+\\.\\d+)\\.cdl");
+
+	private static final Logger log = LogManager.getLogger("SpecSnapshot");
+
+	// ..encoded specifications, by ArgoDataFile cache key
+	private final Map<String, byte[]> specs;
+
+	private SpecSnapshot(Map<String, byte[]> specs) {
+		this.specs = specs;
+	}
+
+	// ............................................
+	// COMPILE
+	// ............................................
+
+	/**
+	 * Compile a specification directory into its snapshot (and its NVS tables
+	 * into the NVS snapshot)
+	 *
+	 * @param args spec-dir [snapshot-file (default:
+	 *             spec-dir/{@value #SNAPSHOT_FILE_NAME})]
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("usage: SpecSnapshot <spec-dir> [<snapshot-file>]");
+			System.exit(1);
+		}
+
+		Path specDir = Paths.get(args[0]);
+		Path snapshotFile = (args.length > 1 ? Paths.get(args[1]) : specDir.resolve(SNAPSHOT_FILE_NAME));
+
+		SpecIO.init(false, args[0]);
+		ArgoNVSReferenceTable.initialize();
+
+		int n = write(specDir, snapshotFile);
+		System.out.println(snapshotFile + ": " + n + " specifications");
+
+		// ..and the snapshot of the NVS tables
+		Path nvsSnapshotFile = specDir.resolve(ArgoNVSReferenceTable.getSnapshotFileName());
+		ArgoNVSReferenceTable.writeSnapshot(nvsSnapshotFile);
+		System.out.println(nvsSnapshotFile + ": NVS tables");
+	}
+
+	/**
+	 * Build the full specification of each CDL file of the directory and write
+	 * them to the snapshot. SpecIO must be initialized on this directory and the
+	 * NVS tables loaded.
+	 *
+	 * @param specDir      the specification directory
+	 * @param snapshotFile the snapshot file (replaced)
+	 * @return the number of specifications in the snapshot
+	 * @throws IOException if the directory cannot be read or the snapshot written
+	 */
+	public static int write(Path specDir, Path snapshotFile) throws IOException {
+		List<Path> cdlFiles = new ArrayList<Path>();
+		try (DirectoryStream<Path> dir = Files.newDirectoryStream(specDir, "argo-*-spec-v*.cdl")) {
+			for (Path p : dir) {
+				cdlFiles.add(p);
+			}
+		}
+		Collections.sort(cdlFiles);
+
+		// ..build the specifications, recording the files they are built from
+		Map<String, byte[]> specs = new LinkedHashMap<String, byte[]>();
+		Set<String> sources;
+
+		SpecIO.getInstance().startRecording();
+		try {
+			for (Path cdl : cdlFiles) {
+				Matcher m = pCdlFile.matcher(cdl.getFileName().toString());
+				FileType ft = (m.matches() ? fileType(m.group(1)) : null);
+				if (ft == null) {
+					log.warn("'{}': not a specification CDL file name. Ignored", cdl.getFileName());
+					continue;
+				}
+
+				try {
+					ArgoFileSpecification spec = new ArgoFileSpecification(true, ft, m.group(2));
+					specs.put(ArgoDataFile.specCacheKey(ft, m.group(2)), encode(spec));
+					log.info("snapshot: '{}'", spec.getSpecName());
+
+				} catch (IOException | RuntimeException e) {
+					System.err.println(cdl.getFileName() + ": specification not in the snapshot: " + e);
+				}
+			}
+		} finally {
+			sources = SpecIO.getInstance().stopRecording();
+		}
+
+		// ..write through a temporary file: a reader never sees a partial snapshot
+		Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+		try {
+			try (OutputStream os = Files.newOutputStream(tmp);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+				out.writeUTF(MAGIC);
+				out.writeInt(LAYOUT_VERSION);
+				out.writeUTF(ArgoNVSReferenceTable.getDigest());
+
+				out.writeInt(sources.size());
+				for (String fileName : sources) {
+					out.writeUTF(fileName);
+					out.writeUTF(digest(fileName));
+				}
+
+				out.writeInt(specs.size());
+				for (Map.Entry<String, byte[]> spec : specs.entrySet()) {
+					out.writeUTF(spec.getKey());
+					out.writeInt(spec.getValue().length);
+					out.write(spec.getValue());
+				}
+			}
+			Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+
+		return specs.size();
+	}
+
+	// ............................................
+	// LOAD
+	// ............................................
+
+	/**
+	 * Read the snapshot of the specification directory (SpecIO), if it is up to
+	 * date. The NVS tables must be loaded.
+	 *
+	 * @return the snapshot; null if there is none, or it cannot be used
+	 */
+	public static SpecSnapshot load() {
+		long start = System.currentTimeMillis();
+
+		try (InputStream is = SpecIO.getInstance().open(SNAPSHOT_FILE_NAME);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+
+			if (!MAGIC.equals(in.readUTF()) || in.readInt() != LAYOUT_VERSION) {
+				log.info("specification snapshot: other layout. Not used");
+				return null;
+			}
+
+			if (!in.readUTF().equals(ArgoNVSReferenceTable.getDigest())) {
+				log.info("specification snapshot: NVS tables changed. Not used");
+				return null;
+			}
+
+			for (int n = in.readInt(); n > 0; n--) {
+				String fileName = in.readUTF();
+				if (!in.readUTF().equals(digest(fileName))) {
+					log.info("specification snapshot: '{}' changed. Not used", fileName);
+					return null;
+				}
+			}
+
+			Map<String, byte[]> specs = new HashMap<String, byte[]>();
+			for (int n = in.readInt(); n > 0; n--) {
+				String key = in.readUTF();
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				specs.put(key, bytes);
+			}
+
+			// ..normally initialized while building a full specification
+			new ArgoReferenceTable();
+
+			log.info("specification snapshot: {} specifications ({} ms)", specs.size(),
+					System.currentTimeMillis() - start);
+			return new SpecSnapshot(specs);
+
+		} catch (FileNotFoundException e) {
+			log.info("no specification snapshot");
+
+		} catch (IOException e) {
+			log.warn("specification snapshot cannot be read: {}. Not used", e.toString());
+		}
+		return null;
+	}
+
+	/**
+	 * Get a specification of the snapshot
+	 *
+	 * @param specCacheKey the key of the specification (see
+	 *                     {@link ArgoDataFile#specCacheKey})
+	 * @return a new copy of the specification; null if it is not in the snapshot
+	 *         (or cannot be read)
+	 */
+	public ArgoFileSpecification get(String specCacheKey) {
+		byte[] bytes = specs.get(specCacheKey);
+		if (bytes == null) {
+			return null;
+		}
+
+		try {
+			return new ArgoFileSpecification(new Input(bytes));
+
+		} catch (IOException | RuntimeException e) {
+			log.warn("specification snapshot: '{}' cannot be read: {}", specCacheKey, e.toString());
+			return null;
+		}
+	}
+
+	// ............................................
+	// CONVENIENCE METHODS
+	// ............................................
+
+	private static FileType fileType(String specType) {
+		for (FileType ft : FileType.values()) {
+			if (ft != FileType.UNKNOWN && ft.specType.equals(specType)) {
+				return ft;
+			}
+		}
+		return null;
+	}
+
+	private static byte[] encode(ArgoFileSpecification spec) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		Output out = new Output(bytes);
+		spec.writeSnapshot(out);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Digest of a specification file; {@link #ABSENT} if it does not exist
+	 */
+	private static String digest(String fileName) throws IOException {
+		try (InputStream in = SpecIO.getInstance().open(fileName)) {
+			return DigestUtils.sha256(in);
+		} catch (FileNotFoundException e) {
+			return ABSENT;
+		}
+	}
+
+	// ............................................
+	// ENCODING
+	// ............................................
+
+	/**
+	 * Encoder of a specification. A string is written once: the next times, only
+	 * its index is written (the specifications hold the same names and attribute
+	 * values in many variables). The collections are written in iteration order.
+	 */
+	static final class Output {
+		private final DataOutputStream out;
+		private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+		Output(OutputStream out) {
+			this.out = new DataOutputStream(out);
+		}
+
+		void flush() throws IOException {
+			out.flush();
+		}
+
+		void writeBoolean(boolean b) throws IOException {
+			out.writeBoolean(b);
+		}
+
+		/** An int, as a variable-length ("zigzag" varint) number: most take 1 byte */
+		void writeInt(int i) throws IOException {
+			int v = (i << 1) ^ (i >> 31);
+			while ((v & ~0x7F) != 0) {
+				out.writeByte((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			out.writeByte(v);
+		}
+
+		/** A string (may be null) */
+		void writeString(String s) throws IOException {
+			if (s == null) {
+				writeInt(-1);
+				return;
+			}
+
+			Integer index = strings.get(s);
+			if (index != null) {
+				writeInt(index);
+			} else {
+				// ..first time: the next index followed by the string
+				writeInt(strings.size());
+				strings.put(s, strings.size());
+
+				byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+
+		/** The name of an enum constant (may be null) */
+		void writeEnum(Enum<?> e) throws IOException {
+			writeString(e == null ? null : e.name());
+		}
+
+		/** A regex: pattern and flags (may be null) */
+		void writePattern(Pattern p) throws IOException {
+			writeString(p == null ? null : p.pattern());
+			if (p != null) {
+				writeInt(p.flags());
+			}
+		}
+
+		/** The size of a collection or map; -1 if null */
+		void writeSize(Collection<?> c) throws IOException {
+			writeInt(c == null ? -1 : c.size());
+		}
+
+		void writeSize(Map<?, ?> m) throws IOException {
+			writeInt(m == null ? -1 : m.size());
+		}
+
+		/** A collection of strings (may be null) */
+		void writeStrings(Collection<String> c) throws IOException {
+			writeSize(c);
+			if (c != null) {
+				for (String s : c) {
+					writeString(s);
+				}
+			}
+		}
+
+		/** A map of strings (may be null) */
+		void writeStringMap(Map<String, String> m) throws IOException {
+			writeSize(m);
+			if (m != null) {
+				for (Map.Entry<String, String> e : m.entrySet()) {
+					writeString(e.getKey());
+					writeString(e.getValue());
+				}
+			}
+		}
+
+		/** A map of string sets (may be null) */
+		void writeStringSetMap(Map<String, ? extends Collection<String>> m) throws IOException {
+			writeSize(m);
+			if (m != null) {
+				for (Map.Entry<String, ? extends Collection<String>> e : m.entrySet()) {
+					writeString(e.getKey());
+					writeStrings(e.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Decoder of a specification written by {@link Output}. The sets and maps are
+	 * read as LinkedHashSet and LinkedHashMap: they iterate in the same order as
+	 * the ones written.
+	 */
+	static final class Input {
+		private final ByteBuffer in;
+		private final List<String> strings = new ArrayList<String>();
+
+		Input(byte[] bytes) {
+			this.in = ByteBuffer.wrap(bytes);
+		}
+
+		boolean readBoolean() throws IOException {
+			return in.get() != 0;
+		}
+
+		int readInt() throws IOException {
+			int v = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = in.get();
+				v |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			return (v >>> 1) ^ -(v & 1);
+		}
+
+		String readString() throws IOException {
+			int index = readInt();
+			if (index < 0) {
+				return null;
+			}
+			if (index < strings.size()) {
+				return strings.get(index);
+			}
+
+			int length = readInt();
+			String s = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+			in.position(in.position() + length);
+			strings.add(s);
+			return s;
+		}
+
+		<E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+			String name = readString();
+			return (name == null ? null : Enum.valueOf(type, name));
+		}
+
+		Pattern readPattern() throws IOException {
+			String regex = readString();
+			return (regex == null ? null : Pattern.compile(regex, readInt()));
+		}
+
+		LinkedHashSet<String> readStringSet() throws IOException {
+			int size = readInt();
+			if (size < 0) {
+				return null;
+			}
+			LinkedHashSet<String> set = new LinkedHashSet<String>(2 * size);
+			for (int n = 0; n < size; n++) {
+				set.add(readString());
+			}
+			return set;
+		}
+
+		ArrayList<String> readStringList() throws IOException {
+			int size = readInt();
+			if (size < 0) {
+				return null;
+			}
+			ArrayList<String> list = new ArrayList<String>(size);
+			for (int n = 0; n < size; n++) {
+				list.add(readString());
+			}
+			return list;
+		}
+
+		LinkedHashMap<String, String> readStringMap() throws IOException {
+			int size = readInt();
+			if (size < 0) {
+				return null;
+			}
+			LinkedHashMap<String, String> map = new LinkedHashMap<String, String>(2 * size);
+			for (int n = 0; n < size; n++) {
+				map.put(readString(), readString());
+			}
+			return map;
+		}
+
+		LinkedHashMap<String, HashSet<String>> readStringSetMap() throws IOException {
+			int size = readInt();
+			if (size < 0) {
+				return null;
+			}
+			LinkedHashMap<String, HashSet<String>> map = new LinkedHashMap<String, HashSet<String>>(2 * size);
+			for (int n = 0; n < size; n++) {
+				map.put(readString(), readStringSet());
+			}
+			return map;
+		}
+	}
+
+}
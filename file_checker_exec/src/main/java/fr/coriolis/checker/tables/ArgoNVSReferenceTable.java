@@ -1,13 +1,24 @@
 package fr.coriolis.checker.tables;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import fr.coriolis.checker.specs.SpecIO;
+import fr.coriolis.checker.utils.DigestUtils;
 import fr.coriolis.checker.utils.NetUtils;
 
 public final class ArgoNVSReferenceTable {
@@ -79,36 +90,44 @@ public final class ArgoNVSReferenceTable {
 	public static SkosCollection BATTERY_SIZE_TABLE;
 	public static SkosCollection PI_NAME_TABLE;
 
+	// ..digest of the tables read: changes whenever the content of a table changes
+	private static String digest = null;
+
+	// ..the tables loaded by the last initialization
+	private static Map<RELEVANT_TABLES, SkosCollection> loadedTables = null;
+
 	// ====
 	// INIT
 	// ====
 	/**
-	 * Initialize NVS references tables (static variables) : loop over all files in
-	 * the spec folder (from SpecIO) and instanciate a SkosCollection if file is a
-	 * NVS jsonld table. Then populate all static variable of the Argo netcdf files
-	 * checkers 's useful tables.
+	 * Initialize NVS references tables (static variables) : read the NVS jsonld
+	 * table of each relevant table from the spec folder (from SpecIO) and
+	 * instanciate a SkosCollection. Then populate all static variable of the Argo
+	 * netcdf files checkers 's useful tables.
 	 * 
-	 * @param nvsFolderPath
+	 * The tables are read and parsed in parallel.
 	 */
 	public static void initialize() {
-		// MAp to store the tables
-		Map<RELEVANT_TABLES, SkosCollection> nvsReferenceTables = new HashMap<>();
+		loadTables(new TableSource() {
+			@Override
+			String location(RELEVANT_TABLES t) {
+				return "NVS/" + t.getCode() + ".jsonld";
+			}
 
-		// loop over relevant table list
-		for (RELEVANT_TABLES t : RELEVANT_TABLES.values()) {
-			String fileRableName = "NVS/" + t.getCode() + ".jsonld";
-			try (InputStream tableInputStream = SpecIO.getInstance().open(fileRableName)) {
-				processNVSTableFile(nvsReferenceTables, tableInputStream);
-			} catch (FileNotFoundException e) {
-				stderr.println("Table file not found : " + fileRableName + " (" + e.getMessage() + ")");
-				break;
-			} catch (IOException e) {
-				stderr.println("Failed to parse table file: " + fileRableName + " (" + e.getMessage() + ")");
-				break;
+			@Override
+			InputStream open(RELEVANT_TABLES t) throws IOException {
+				return SpecIO.getInstance().open(location(t));
 			}
-		}
 
-		populateStaticTables(nvsReferenceTables);
+			@Override
+			void failed(RELEVANT_TABLES t, IOException e) {
+				if (e instanceof FileNotFoundException) {
+					stderr.println("Table file not found : " + location(t) + " (" + e.getMessage() + ")");
+				} else {
+					stderr.println("Failed to parse table file: " + location(t) + " (" + e.getMessage() + ")");
+				}
+			}
+		});
 	}
 
 	/**
@@ -116,42 +135,215 @@ public final class ArgoNVSReferenceTable {
 	 * 
 	 */
 
-	public static void initializeFromInternet(String baseUrl) {
-		Map<RELEVANT_TABLES, SkosCollection> nvsReferenceTables = new HashMap<>();
+	public static void initializeFromInternet(final String baseUrl) {
+		loadTables(new TableSource() {
+			@Override
+			String location(RELEVANT_TABLES t) {
+				return tableUrl(baseUrl, t);
+			}
 
-		// Loop through relevant tables list :
-		for (RELEVANT_TABLES t : RELEVANT_TABLES.values()) {
-			String tableUrl = baseUrl + t.getCode() + "/current/?_profile=nvs&_mediatype=application/ld+json";
-			try (InputStream tableInputStream = NetUtils.openInputStream(tableUrl)) {
-				processNVSTableFile(nvsReferenceTables, tableInputStream);
-			} catch (IOException e) {
-				stderr.println("Table file not found on NVS : " + tableUrl + " (" + e.getMessage() + ")");
-				break;
+			@Override
+			InputStream open(RELEVANT_TABLES t) throws IOException {
+				return NetUtils.openInputStream(location(t));
 			}
-		}
 
-		populateStaticTables(nvsReferenceTables);
+			@Override
+			void failed(RELEVANT_TABLES t, IOException e) {
+				stderr.println("Table file not found on NVS : " + location(t) + " (" + e.getMessage() + ")");
+			}
+		});
+	}
+
+	/**
+	 * Initialize the NVS tables from a local mirror of the NVS server (see
+	 * NVSMirror): the copies of the tables downloaded by the last refresh of the
+	 * mirror.
+	 * 
+	 */
+	public static void initializeFromMirror(final NVSMirror mirror) {
+		loadTables(new TableSource() {
+			@Override
+			String location(RELEVANT_TABLES t) {
+				return mirror.location(t);
+			}
 
+			@Override
+			InputStream open(RELEVANT_TABLES t) throws IOException {
+				return mirror.open(t);
+			}
+
+			@Override
+			void failed(RELEVANT_TABLES t, IOException e) {
+				stderr.println("Table file not found in NVS mirror : " + location(t) + " (" + e.getMessage() + ")");
+			}
+		});
+	}
+
+	/**
+	 * URL of a table on the NVS server
+	 * 
+	 * @param baseUrl the collections URL of the server
+	 */
+	static String tableUrl(String baseUrl, RELEVANT_TABLES t) {
+		return baseUrl + t.getCode() + "/current/?_profile=nvs&_mediatype=application/ld+json";
+	}
+
+	/**
+	 * Digest (SHA-256) of the content of the tables read by the last
+	 * initialization: identifies the version of the NVS tables used by the checks.
+	 *
+	 * @return the hexadecimal digest, null if the tables are not initialized
+	 */
+	public static String getDigest() {
+		return digest;
+	}
+
+	/**
+	 * Write the tables loaded by the last initialization to a NVS snapshot (see
+	 * NVSTableSnapshot), so the next initializations on the same tables do not
+	 * parse them.
+	 * 
+	 * @param snapshotFile the snapshot file (replaced)
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static void writeSnapshot(Path snapshotFile) throws IOException {
+		if (loadedTables == null) {
+			throw new IllegalStateException("NVS tables not initialized");
+		}
+		NVSTableSnapshot.write(loadedTables, digest, snapshotFile);
+	}
+
+	/**
+	 * @return the name of the NVS snapshot file, relative to the specification
+	 *         directory
+	 */
+	public static String getSnapshotFileName() {
+		return NVSTableSnapshot.SNAPSHOT_FILE_NAME;
 	}
 
 	// ==================
 	// CONVENIENT METHODS
 	// ==================
-	private static void processNVSTableFile(Map<RELEVANT_TABLES, SkosCollection> nvsReferenceTables,
-			InputStream tableInput) throws IOException {
-		// table parser :
-		ArgoNVSReferenceTableParser nvsTablesParser = new ArgoNVSReferenceTableParser();
+	/** Where the content of the tables is read from */
+	private static abstract class TableSource {
+		/** @return the file name or URL of a table (for the messages) */
+		abstract String location(RELEVANT_TABLES t);
+
+		abstract InputStream open(RELEVANT_TABLES t) throws IOException;
+
+		/** Report a table that could not be read or parsed */
+		abstract void failed(RELEVANT_TABLES t, IOException e);
+	}
 
-		SkosCollection table;
+	/**
+	 * Read all the relevant tables, then populate the static tables and the
+	 * digest. The tables are read, and parsed, in parallel.
+	 * 
+	 * The digest covers the content of the tables in the order of RELEVANT_TABLES
+	 * (whatever the order they are read in). If the NVS snapshot was written from
+	 * the same tables, the tables are taken from it instead of being parsed. As
+	 * before, the tables following a table that cannot be read are not loaded.
+	 */
+	private static void loadTables(final TableSource source) {
+		Map<RELEVANT_TABLES, SkosCollection> nvsReferenceTables = new HashMap<>();
+		MessageDigest md = DigestUtils.newDigest();
 
-		// parse table :
-		table = nvsTablesParser.getCollection(tableInput);
+		RELEVANT_TABLES[] tables = RELEVANT_TABLES.values();
+		int nThreads = Math.min(tables.length, Math.max(1, Runtime.getRuntime().availableProcessors()));
+		ExecutorService loaders = Executors.newFixedThreadPool(nThreads);
+		try {
+			// ..read the content of the tables
+			List<Future<byte[]>> reads = new ArrayList<Future<byte[]>>(tables.length);
+			for (final RELEVANT_TABLES t : tables) {
+				reads.add(loaders.submit(() -> readTable(source, t)));
+			}
+
+			List<byte[]> contents = new ArrayList<byte[]>(tables.length);
+			for (int n = 0; n < tables.length; n++) {
+				byte[] content = getResult(reads.get(n), source, tables[n]);
+				if (content == null) {
+					break;
+				}
+				md.update(content);
+				contents.add(content);
+			}
+			digest = DigestUtils.toHex(md.digest());
+
+			// ..all the tables read: they may be in the snapshot
+			Map<RELEVANT_TABLES, SkosCollection> snapshot = (contents.size() == tables.length
+					? NVSTableSnapshot.read(digest)
+					: null);
+			if (snapshot != null) {
+				nvsReferenceTables.putAll(snapshot);
+
+			} else {
+				// ..parse the tables
+				List<Future<SkosCollection>> parses = new ArrayList<Future<SkosCollection>>(contents.size());
+				for (final byte[] content : contents) {
+					parses.add(loaders.submit(() -> new ArgoNVSReferenceTableParser()
+							.getCollection(new ByteArrayInputStream(content))));
+				}
+
+				for (int n = 0; n < parses.size(); n++) {
+					SkosCollection table = getResult(parses.get(n), source, tables[n]);
+					if (table == null) {
+						break;
+					}
+					// is it a relevant table ?
+					RELEVANT_TABLES enumKey = RELEVANT_TABLES.fromName(table.getAltLabel());
+					if (enumKey != null) {
+						nvsReferenceTables.put(enumKey, table);
+					}
+				}
+			}
+		} finally {
+			loaders.shutdownNow();
+		}
+
+		populateStaticTables(nvsReferenceTables);
+		loadedTables = nvsReferenceTables;
+	}
+
+	/**
+	 * Wait for the result of reading or parsing a table
+	 * 
+	 * @return the result; null if the table cannot be read or parsed (reported)
+	 */
+	private static <T> T getResult(Future<T> task, TableSource source, RELEVANT_TABLES t) {
+		try {
+			return task.get();
+
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				source.failed(t, (IOException) cause);
+				return null;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while loading the NVS tables");
+		}
+	}
+
+	private static byte[] readTable(TableSource source, RELEVANT_TABLES t) throws IOException {
+		try (InputStream in = source.open(t)) {
+			return readFully(in);
+		}
+	}
 
-		// is it a relevant table ?
-		RELEVANT_TABLES enumKey = RELEVANT_TABLES.fromName(table.getAltLabel());
-		if (enumKey != null) {
-			nvsReferenceTables.put(enumKey, table);
+	static byte[] readFully(InputStream in) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream(64 * 1024);
+		byte[] buffer = new byte[64 * 1024];
+		int n;
+		while ((n = in.read(buffer)) > 0) {
+			content.write(buffer, 0, n);
 		}
+		return content.toByteArray();
 	}
 
 	private static void populateStaticTables(Map<RELEVANT_TABLES, SkosCollection> nvsReferenceTables) {
@@ -8,6 +8,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -16,13 +18,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import ioinformarics.oss.jackson.module.jsonld.JsonldModule;
 
 public class ArgoNVSReferenceTableParser {
+	// ..the mapper (and the deserializers it builds) is shared by all the parsers:
+	// ..it is thread-safe once configured
+	private static final ObjectMapper SHARED_OBJECT_MAPPER = initObjectMapper();
+
 	private final ObjectMapper objectMapper;
 
 	public ArgoNVSReferenceTableParser() {
-		this.objectMapper = initObjectMapper();
+		this.objectMapper = SHARED_OBJECT_MAPPER;
 	}
 
-	private ObjectMapper initObjectMapper() {
+	private static ObjectMapper initObjectMapper() {
 		final ObjectMapper objectMapper = new ObjectMapper();
 		// Ignore unknown properties in deserialization input
 		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -42,30 +48,56 @@ public class ArgoNVSReferenceTableParser {
 	}
 
 	public SkosCollection getCollection(InputStream jsonLdStream) throws IOException {
-		// read json :
-		JsonNode root = objectMapper.readTree(jsonLdStream);
-		JsonNode graphArray = root.get("@graph");
-		if (graphArray == null || !graphArray.isArray()) {
-			throw new IllegalArgumentException("JSON-LD do not contains @graph array !");
-		}
-		// find Collection and concepts :
-		SkosCollection collection = null;
-		Map<String, SkosConcept> conceptsMap = new HashMap<>();
-
-		for (JsonNode node : graphArray) {
-			// try to bin the node to a SkosCollection :
-			collection = readCollection(node);
-			// if node is a concept, index it :
-			SkosConcept skosConcept = readConcepts(node);
-			if (skosConcept != null) {
-				conceptsMap.put(skosConcept.getId(), skosConcept);
+		// read json : the "@graph" nodes are read one at a time from the stream
+		try (JsonParser parser = objectMapper.getFactory().createParser(jsonLdStream)) {
+			if (!moveToGraphArray(parser)) {
+				throw new IllegalArgumentException("JSON-LD do not contains @graph array !");
+			}
+			// find Collection and concepts :
+			SkosCollection collection = null;
+			Map<String, SkosConcept> conceptsMap = new HashMap<>();
+
+			while (parser.nextToken() == JsonToken.START_OBJECT) {
+				JsonNode node = parser.readValueAsTree();
+				// try to bind the node to a SkosCollection :
+				SkosCollection nodeCollection = readCollection(node);
+				if (nodeCollection != null) {
+					collection = nodeCollection;
+				}
+				// if node is a concept, index it :
+				SkosConcept skosConcept = readConcepts(node);
+				if (skosConcept != null) {
+					conceptsMap.put(skosConcept.getId(), skosConcept);
+				}
 			}
-		}
 
-		// populate collection members :
-		resolveMembers(collection, conceptsMap);
+			// populate collection members :
+			resolveMembers(collection, conceptsMap);
+
+			return collection;
+		}
+	}
 
-		return collection;
+	/**
+	 * Advance the parser to the start of the top-level "@graph" array, skipping
+	 * the other top-level members.
+	 * 
+	 * @return true if positioned on the start of the array, false if there is no
+	 *         "@graph" array
+	 */
+	private boolean moveToGraphArray(JsonParser parser) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			return false;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("@graph".equals(name)) {
+				return value == JsonToken.START_ARRAY;
+			}
+			parser.skipChildren();
+		}
+		return false;
 	}
 
 	/**
@@ -78,7 +110,7 @@ public class ArgoNVSReferenceTableParser {
 	 */
 	private SkosCollection readCollection(JsonNode node) throws IOException, JsonParseException, JsonMappingException {
 		if (node.has("@type") && node.get("@type").asText().equals("skos:Collection")) {
-			return objectMapper.readValue(node.toString(), SkosCollection.class);
+			return objectMapper.treeToValue(node, SkosCollection.class);
 		}
 		return null;
 	}
@@ -93,7 +125,7 @@ public class ArgoNVSReferenceTableParser {
 	 */
 	private SkosConcept readConcepts(JsonNode node) throws JsonParseException, JsonMappingException, IOException {
 		if (node.has("@type") && node.get("@type").asText().equals("skos:Concept")) {
-			return objectMapper.readValue(node.toString(), SkosConcept.class);
+			return objectMapper.treeToValue(node, SkosConcept.class);
 		}
 		return null;
 	}
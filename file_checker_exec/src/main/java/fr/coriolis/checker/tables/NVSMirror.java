@@ -0,0 +1,308 @@
+package fr.coriolis.checker.tables;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable.RELEVANT_TABLES;
+import fr.coriolis.checker.utils.DigestUtils;
+import fr.coriolis.checker.utils.NetUtils;
+
+/**
+ * Local mirror of the NVS tables of the NVS server (-nvs-mirror option).
+ * <p>
+ * A refresh downloads the relevant tables (concurrently) and stores each
+ * version of a table once, named by the digest of its content
+ * ("objects/sha256.jsonld"). The index ({@value #INDEX_FILE_NAME}) maps each
+ * table to its current version, with the ETag and Last-Modified headers of the
+ * server: the next refresh only downloads the tables that changed. A table
+ * that cannot be downloaded keeps its previous version.
+ * <p>
+ * The checker reads the tables of the index and never contacts the server,
+ * unless -online-nvs is also given (the mirror is then refreshed first). So a
+ * batch run uses a pinned set of tables, refreshed when wanted with :
+ *
+ * <pre>
+ * java -cp file_checker_exec.jar fr.coriolis.checker.tables.NVSMirror mirror-dir [base-url]
+ * </pre>
+ *
+ * The index and the objects are written through temporary files and renamed:
+ * a run reading the mirror never sees a partial table.
+ */
+public final class NVSMirror {
+
+	/** Name of the index file in the mirror directory */
+	public static final String INDEX_FILE_NAME = "nvs-mirror.properties";
+
+	/** Collections URL of the NVS server */
+	public static final String DEFAULT_BASE_URL = "https://vocab.nerc.ac.uk/collection/";
+
+	private static final String OBJECTS_DIR = "objects";
+
+	// ..number of tables downloaded at the same time
+	private static final int N_FETCHERS = 8;
+
+	private static final Logger log = LogManager.getLogger("NVSMirror");
+
+	private static PrintStream stderr = new PrintStream(System.err);
+
+	private final Path mirrorDir;
+	private final Properties index = new Properties();
+
+	/**
+	 * Open (create) a mirror directory
+	 *
+	 * @param mirrorDir the mirror directory
+	 * @throws IOException if the directory cannot be created or its index read
+	 */
+	public NVSMirror(Path mirrorDir) throws IOException {
+		this.mirrorDir = Files.createDirectories(mirrorDir);
+
+		Path indexFile = mirrorDir.resolve(INDEX_FILE_NAME);
+		if (Files.isRegularFile(indexFile)) {
+			try (InputStream in = Files.newInputStream(indexFile)) {
+				index.load(in);
+			}
+		}
+		log.info("NVS mirror: '{}'", mirrorDir);
+	}
+
+	/**
+	 * Refresh a mirror directory from the NVS server
+	 *
+	 * @param args mirror-dir [base-url (default: $NVS_BASE_URL or
+	 *             {@value #DEFAULT_BASE_URL})]
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("usage: NVSMirror <mirror-dir> [<base-url>]");
+			System.exit(1);
+		}
+
+		String baseUrl = (args.length > 1 ? args[1] : System.getenv().getOrDefault("NVS_BASE_URL", DEFAULT_BASE_URL));
+
+		NVSMirror mirror = new NVSMirror(Paths.get(args[0]));
+		int nMissing = mirror.refresh(baseUrl);
+		System.out.println(args[0] + ": " + (RELEVANT_TABLES.values().length - nMissing) + " tables mirrored");
+		if (nMissing > 0) {
+			System.exit(2);
+		}
+	}
+
+	// ............................................
+	// REFRESH
+	// ............................................
+
+	/** Outcome of the download of one table */
+	private static final class Fetch {
+		final String sha256; // ..null: not modified
+		final String etag;
+		final String lastModified;
+
+		Fetch(String sha256, String etag, String lastModified) {
+			this.sha256 = sha256;
+			this.etag = etag;
+			this.lastModified = lastModified;
+		}
+	}
+
+	/**
+	 * Download the tables that changed on the server since the last refresh. A
+	 * table that cannot be downloaded (or is not a valid table) is reported and
+	 * keeps its previous version.
+	 *
+	 * @param baseUrl the collections URL of the NVS server
+	 * @return the number of tables not available in the mirror (failed, with no
+	 *         previous version)
+	 * @throws IOException if the index cannot be written
+	 */
+	public synchronized int refresh(final String baseUrl) throws IOException {
+		long start = System.currentTimeMillis();
+
+		RELEVANT_TABLES[] tables = RELEVANT_TABLES.values();
+		List<Future<Fetch>> fetches = new ArrayList<Future<Fetch>>(tables.length);
+
+		ExecutorService fetchers = Executors.newFixedThreadPool(Math.min(N_FETCHERS, tables.length));
+		try {
+			for (final RELEVANT_TABLES t : tables) {
+				final String etag = index.getProperty(t.getCode() + ".etag");
+				final String lastModified = index.getProperty(t.getCode() + ".last-modified");
+				final boolean mirrored = isMirrored(t);
+
+				fetches.add(fetchers.submit(() -> fetch(baseUrl, t, (mirrored ? etag : null),
+						(mirrored ? lastModified : null))));
+			}
+
+			int nUpdated = 0;
+			int nMissing = 0;
+			String now = Instant.now().toString();
+
+			for (int n = 0; n < tables.length; n++) {
+				RELEVANT_TABLES t = tables[n];
+				try {
+					Fetch fetch = fetches.get(n).get();
+
+					if (fetch.sha256 != null) {
+						index.setProperty(t.getCode() + ".sha256", fetch.sha256);
+						setOrRemove(t.getCode() + ".etag", fetch.etag);
+						setOrRemove(t.getCode() + ".last-modified", fetch.lastModified);
+						nUpdated++;
+					}
+					index.setProperty(t.getCode() + ".checked", now);
+
+				} catch (ExecutionException e) {
+					String previous = (isMirrored(t) ? "previous version kept" : "not mirrored");
+					stderr.println("Failed to refresh NVS table " + t.getCode() + " (" + e.getCause().getMessage()
+							+ "): " + previous);
+					if (!isMirrored(t)) {
+						nMissing++;
+					}
+
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("interrupted while refreshing the NVS mirror");
+				}
+			}
+
+			index.setProperty("base-url", baseUrl);
+			writeIndex();
+
+			log.info("NVS mirror refreshed: {} tables updated, {} missing ({} ms)", nUpdated, nMissing,
+					System.currentTimeMillis() - start);
+			return nMissing;
+
+		} finally {
+			fetchers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Download one table, unless it did not change
+	 *
+	 * @return the new version; a Fetch without digest if not modified
+	 */
+	private Fetch fetch(String baseUrl, RELEVANT_TABLES t, String etag, String lastModified) throws IOException {
+		String url = ArgoNVSReferenceTable.tableUrl(baseUrl, t);
+
+		try (NetUtils.Response response = NetUtils.openConditional(url, etag, lastModified)) {
+			if (response.isNotModified()) {
+				log.debug("NVS table {}: not modified", t.getCode());
+				return new Fetch(null, etag, lastModified);
+			}
+
+			byte[] content = ArgoNVSReferenceTable.readFully(response.getBody());
+
+			// ..never replace a table by something that is not that table
+			SkosCollection table = new ArgoNVSReferenceTableParser().getCollection(new ByteArrayInputStream(content));
+			if (table == null || !t.name.equals(table.getAltLabel())) {
+				throw new IOException("not the " + t.name + " table");
+			}
+
+			String sha256 = DigestUtils.toHex(DigestUtils.newDigest().digest(content));
+			Path object = objectFile(sha256);
+			if (!Files.isRegularFile(object)) {
+				Files.createDirectories(object.getParent());
+				Path tmp = Files.createTempFile(object.getParent(), sha256, ".tmp");
+				try {
+					Files.write(tmp, content);
+					moveInPlace(tmp, object);
+				} finally {
+					Files.deleteIfExists(tmp);
+				}
+			}
+
+			log.debug("NVS table {}: {}", t.getCode(), sha256);
+			return new Fetch(sha256, response.getEtag(), response.getLastModified());
+
+		} catch (RuntimeException e) {
+			// ..not a valid json ld table
+			throw new IOException(e.toString(), e);
+		}
+	}
+
+	// ............................................
+	// READ
+	// ............................................
+
+	/**
+	 * Open the current version of a table
+	 *
+	 * @throws FileNotFoundException if the table is not in the mirror
+	 */
+	public synchronized InputStream open(RELEVANT_TABLES t) throws IOException {
+		String sha256 = index.getProperty(t.getCode() + ".sha256");
+		if (sha256 == null) {
+			throw new FileNotFoundException("not in the NVS mirror: " + t.getCode());
+		}
+		return Files.newInputStream(objectFile(sha256));
+	}
+
+	/**
+	 * @return where the current version of a table is read from (for the messages)
+	 */
+	public synchronized String location(RELEVANT_TABLES t) {
+		String sha256 = index.getProperty(t.getCode() + ".sha256");
+		return (sha256 == null ? mirrorDir.resolve(t.getCode()) : objectFile(sha256)).toString();
+	}
+
+	// ............................................
+	// CONVENIENCE METHODS
+	// ............................................
+
+	private boolean isMirrored(RELEVANT_TABLES t) {
+		String sha256 = index.getProperty(t.getCode() + ".sha256");
+		return sha256 != null && Files.isRegularFile(objectFile(sha256));
+	}
+
+	private Path objectFile(String sha256) {
+		return mirrorDir.resolve(OBJECTS_DIR).resolve(sha256 + ".jsonld");
+	}
+
+	private void setOrRemove(String key, String value) {
+		if (value == null) {
+			index.remove(key);
+		} else {
+			index.setProperty(key, value);
+		}
+	}
+
+	private void writeIndex() throws IOException {
+		Path tmp = Files.createTempFile(mirrorDir, INDEX_FILE_NAME, ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(tmp)) {
+				index.store(out, "NVS mirror index");
+			}
+			moveInPlace(tmp, mirrorDir.resolve(INDEX_FILE_NAME));
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	private static void moveInPlace(Path tmp, Path target) throws IOException {
+		try {
+			Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
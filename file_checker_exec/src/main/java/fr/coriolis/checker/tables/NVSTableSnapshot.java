@@ -0,0 +1,258 @@
+package fr.coriolis.checker.tables;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import fr.coriolis.checker.specs.SpecIO;
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable.RELEVANT_TABLES;
+
+/**
+ * Binary snapshot of the NVS tables, as resolved from their json ld files.
+ * <p>
+ * Parsing the json ld tables (the R03, R14, R18 tables are large) is a large
+ * part of the start-up time of the checker. The snapshot holds the resolved
+ * SkosCollection of each table, so they are read without parsing json ld.
+ * <p>
+ * The snapshot ({@value #SNAPSHOT_FILE_NAME}, in the specification directory)
+ * is written along with the specification snapshot (see SpecSnapshot). It
+ * records the digest of the tables it was written from: it is only used if the
+ * tables read have the same digest, otherwise the tables are parsed as before.
+ */
+final class NVSTableSnapshot {
+
+	/** Name of the snapshot file in the specification directory */
+	static final String SNAPSHOT_FILE_NAME = "NVS/argo-nvs-snapshot.bin";
+
+	// ..identifies the layout of the snapshot file
+	private static final String MAGIC = "ArgoFormatChecker NVS snapshot";
+	private static final int LAYOUT_VERSION = 1;
+
+	private static final Logger log = LogManager.getLogger("NVSTableSnapshot");
+
+	private NVSTableSnapshot() {
+	}
+
+	// ............................................
+	// WRITE
+	// ............................................
+
+	/**
+	 * Write the tables to a snapshot file
+	 *
+	 * @param tables       the tables
+	 * @param digest       the digest of the json ld tables they were read from
+	 * @param snapshotFile the snapshot file (replaced)
+	 */
+	static void write(Map<RELEVANT_TABLES, SkosCollection> tables, String digest, Path snapshotFile)
+			throws IOException {
+		// ..write through a temporary file: a reader never sees a partial snapshot
+		Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+		try {
+			try (OutputStream os = Files.newOutputStream(tmp);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+				out.writeUTF(MAGIC);
+				out.writeInt(LAYOUT_VERSION);
+				out.writeUTF(digest);
+
+				out.writeInt(tables.size());
+				for (Map.Entry<RELEVANT_TABLES, SkosCollection> table : tables.entrySet()) {
+					out.writeUTF(table.getKey().name());
+					writeCollection(out, table.getValue());
+				}
+			}
+			Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * A collection: its own fields, then its concept members (each one once),
+	 * then the two concept members maps as (label, concept index) entries
+	 */
+	private static void writeCollection(DataOutputStream out, SkosCollection collection) throws IOException {
+		writeString(out, collection.getId());
+		writeString(out, collection.getAltLabel());
+		writeString(out, collection.getTitle());
+
+		List<String> memberIds = new ArrayList<>();
+		for (SkosConceptId id : collection.getMembersIds()) {
+			memberIds.add(id.getId());
+		}
+		writeStrings(out, memberIds);
+
+		Map<SkosConcept, Integer> concepts = new IdentityHashMap<>();
+		List<SkosConcept> conceptList = new ArrayList<>();
+		for (Map<String, SkosConcept> members : membersMaps(collection)) {
+			for (SkosConcept concept : members.values()) {
+				if (!concepts.containsKey(concept)) {
+					concepts.put(concept, conceptList.size());
+					conceptList.add(concept);
+				}
+			}
+		}
+
+		out.writeInt(conceptList.size());
+		for (SkosConcept concept : conceptList) {
+			writeString(out, concept.getId());
+			writeString(out, concept.getNotation());
+			writeString(out, concept.getAltLabel());
+			writeString(out, concept.getPrefLabel());
+			writeString(out, concept.getDefinition());
+			out.writeBoolean(concept.isDeprecated());
+			writeStrings(out, concept.getRelatedConceptIds());
+			writeStrings(out, concept.getNarrowerConceptIds());
+			writeStrings(out, concept.getBroaderConceptIds());
+		}
+
+		for (Map<String, SkosConcept> members : membersMaps(collection)) {
+			out.writeInt(members.size());
+			for (Map.Entry<String, SkosConcept> member : members.entrySet()) {
+				writeString(out, member.getKey());
+				out.writeInt(concepts.get(member.getValue()));
+			}
+		}
+	}
+
+	// ............................................
+	// READ
+	// ............................................
+
+	/**
+	 * Read the tables of the snapshot of the specification directory (SpecIO), if
+	 * it was written from the same tables.
+	 *
+	 * @param digest the digest of the json ld tables
+	 * @return the tables; null if there is no snapshot, or it cannot be used
+	 */
+	static Map<RELEVANT_TABLES, SkosCollection> read(String digest) {
+		long start = System.currentTimeMillis();
+
+		try (InputStream is = SpecIO.getInstance().open(SNAPSHOT_FILE_NAME);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(is, 64 * 1024))) {
+
+			if (!MAGIC.equals(in.readUTF()) || in.readInt() != LAYOUT_VERSION) {
+				log.info("NVS snapshot: other layout. Not used");
+				return null;
+			}
+
+			if (!in.readUTF().equals(digest)) {
+				log.info("NVS snapshot: NVS tables changed. Not used");
+				return null;
+			}
+
+			Map<RELEVANT_TABLES, SkosCollection> tables = new EnumMap<>(RELEVANT_TABLES.class);
+			for (int n = in.readInt(); n > 0; n--) {
+				RELEVANT_TABLES t = RELEVANT_TABLES.valueOf(in.readUTF());
+				tables.put(t, readCollection(in));
+			}
+
+			log.info("NVS snapshot: {} tables ({} ms)", tables.size(), System.currentTimeMillis() - start);
+			return tables;
+
+		} catch (FileNotFoundException e) {
+			log.info("no NVS snapshot");
+
+		} catch (IOException | RuntimeException e) {
+			log.warn("NVS snapshot cannot be read: {}. Not used", e.toString());
+		}
+		return null;
+	}
+
+	private static SkosCollection readCollection(DataInputStream in) throws IOException {
+		String id = readString(in);
+		String altLabel = readString(in);
+		String title = readString(in);
+
+		Set<SkosConceptId> membersIds = new LinkedHashSet<>();
+		for (String memberId : readStrings(in)) {
+			membersIds.add(new SkosConceptId(memberId));
+		}
+		SkosCollection collection = new SkosCollection(id, altLabel, title, membersIds);
+
+		int nConcepts = in.readInt();
+		List<SkosConcept> concepts = new ArrayList<>(nConcepts);
+		for (int n = 0; n < nConcepts; n++) {
+			concepts.add(new SkosConcept(readString(in), readString(in), readString(in), readString(in),
+					readString(in), in.readBoolean(), readStrings(in), readStrings(in), readStrings(in)));
+		}
+
+		for (Map<String, SkosConcept> members : membersMaps(collection)) {
+			for (int n = in.readInt(); n > 0; n--) {
+				String label = readString(in);
+				members.put(label, concepts.get(in.readInt()));
+			}
+		}
+		return collection;
+	}
+
+	// ............................................
+	// CONVENIENCE METHODS
+	// ............................................
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, SkosConcept>[] membersMaps(SkosCollection collection) {
+		return new Map[] { collection.getConceptMembersByAltLabelMap(),
+				collection.getConceptMembersByPrefLabelMap() };
+	}
+
+	/** A string (may be null): the definitions may be longer than writeUTF allows */
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (String s : strings) {
+			writeString(out, s);
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		List<String> strings = new ArrayList<>(size);
+		for (int n = 0; n < size; n++) {
+			strings.add(readString(in));
+		}
+		return strings;
+	}
+
+}
@@ -0,0 +1,94 @@
+package fr.coriolis.checker.tables;
+
+import java.util.Map;
+
+/**
+ * Compiled view of the single-character codes of an NVS table (QC flags RD2 /
+ * RP2, measurement status, position accuracy, grounded...): the status of each
+ * ASCII character is kept in a 128-entry array.
+ * <p>
+ * The validators check such codes for every level or measurement of a file: the
+ * status of a code is read from the array, instead of making a String of the
+ * character and looking it up in the altLabel map. The status is the one of the
+ * concept with the character as altLabel (see
+ * SkosCollection.getConceptMembersByAltLabelMap), so the results are the same.
+ * <p>
+ * The view is built from the table when first asked for (see
+ * SkosCollection.getSingleCharTable) and not modified afterwards: it is shared
+ * by all the threads.
+ */
+public final class SingleCharTable {
+
+	/** The character is not an altLabel of the table */
+	public static final byte INVALID = 1;
+	/** The character is the altLabel of an active concept */
+	public static final byte VALID = 2;
+	/** The character is the altLabel of a deprecated concept */
+	public static final byte DEPRECATED = 3;
+
+	private final byte[] status = new byte[128];
+
+	// ..the codes outside of the array (non-ASCII) are looked up in the table
+	private final Map<String, SkosConcept> byAltLabel;
+
+	SingleCharTable(Map<String, SkosConcept> byAltLabel) {
+		this.byAltLabel = byAltLabel;
+
+		for (char c = 0; c < status.length; c++) {
+			status[c] = status(byAltLabel.get(String.valueOf(c)));
+		}
+	}
+
+	/**
+	 * The status of a code
+	 *
+	 * @return INVALID, VALID or DEPRECATED
+	 */
+	public byte status(char code) {
+		if (code < status.length) {
+			return status[code];
+		}
+		return status(byAltLabel.get(String.valueOf(code)));
+	}
+
+	/**
+	 * The status of a code read as a byte (netCDF char)
+	 *
+	 * @return INVALID, VALID or DEPRECATED
+	 */
+	public byte status(byte code) {
+		return status((char) (code & 0xFF));
+	}
+
+	/**
+	 * The status of the codes [from, to[ of an array, in result[0] ... result[to
+	 * - from - 1]
+	 *
+	 * @param result the array filled (at least to - from long)
+	 */
+	public void classify(char[] codes, int from, int to, byte[] result) {
+		for (int n = from; n < to; n++) {
+			result[n - from] = status(codes[n]);
+		}
+	}
+
+	/**
+	 * The status of the codes [from, to[ of an array of bytes (netCDF chars), in
+	 * result[0] ... result[to - from - 1]
+	 *
+	 * @param result the array filled (at least to - from long)
+	 */
+	public void classify(byte[] codes, int from, int to, byte[] result) {
+		for (int n = from; n < to; n++) {
+			result[n - from] = status(codes[n]);
+		}
+	}
+
+	private static byte status(SkosConcept concept) {
+		if (concept == null) {
+			return INVALID;
+		}
+		return (concept.isDeprecated() ? DEPRECATED : VALID);
+	}
+
+}
@@ -24,6 +24,23 @@ public class SkosCollection {
 	private Map<String, SkosConcept> conceptMembersByAltLabelMap = new HashMap<>();
 	private Map<String, SkosConcept> conceptMembersByPrefLabelMap = new HashMap<>();
 
+	// ..compiled view of the single-character altLabels (built on first use)
+	private volatile SingleCharTable singleCharTable;
+
+	public SkosCollection() {
+	}
+
+	/**
+	 * A collection read from the NVS table snapshot (see NVSTableSnapshot): the
+	 * concept members maps are filled by the caller
+	 */
+	SkosCollection(String id, String altLabel, String title, Set<SkosConceptId> membersIds) {
+		this.id = id;
+		this.altLabel = altLabel;
+		this.title = title;
+		this.membersIds = membersIds;
+	}
+
 	// ===================
 	// GETTERS and SETTERS
 	// ===================
@@ -55,4 +72,18 @@ public class SkosCollection {
 		return conceptMembersByPrefLabelMap;
 	}
 
+	/**
+	 * The status of the single-character altLabels (QC flags, status codes...) in
+	 * a lookup table. Built on the first call, once the concept members are read.
+	 */
+	public SingleCharTable getSingleCharTable() {
+		SingleCharTable table = singleCharTable;
+		if (table == null) {
+			// ..a race builds the same table twice
+			table = new SingleCharTable(conceptMembersByAltLabelMap);
+			singleCharTable = table;
+		}
+		return table;
+	}
+
 }
@@ -1,6 +1,9 @@
 package fr.coriolis.checker.tables;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,6 +41,26 @@ public class SkosConcept {
 
 	// private Set<SkosConcept> relatedConcepts;
 
+	public SkosConcept() {
+	}
+
+	/**
+	 * A concept read from the NVS table snapshot (see NVSTableSnapshot)
+	 */
+	SkosConcept(String id, String notation, String altLabel, String prefLabel, String definition,
+			boolean deprecated, Collection<String> relatedConceptIds, Collection<String> narrowerConceptIds,
+			Collection<String> broaderConceptIds) {
+		this.id = id;
+		this.notation = notation;
+		this.altLabel = altLabel;
+		this.prefLabel = prefLabel;
+		this.definition = definition;
+		this.deprecated = deprecated;
+		this.relatedConceptIds = toIdObjects(relatedConceptIds);
+		this.narrowerConceptIds = toIdObjects(narrowerConceptIds);
+		this.broaderConceptIds = toIdObjects(broaderConceptIds);
+	}
+
 	// ===================
 	// GETTERS and SETTERS
 	// ===================
@@ -108,6 +131,17 @@ public class SkosConcept {
 		return Collections.emptySet();
 	}
 
+	/**
+	 * The ids as they are deserialized from the json ld: a list of { "@id": id }
+	 */
+	private static List<Map<String, String>> toIdObjects(Collection<String> ids) {
+		List<Map<String, String>> idObjects = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			idObjects.add(Collections.singletonMap("@id", id));
+		}
+		return idObjects;
+	}
+
 	/**
 	 * Case where properties is an object. ex: "skos:definition": { "@language":
 	 * "en", "@value": "Estimated value (interpolated, extrapolated or other
@@ -6,6 +6,13 @@ public class SkosConceptId {
 	@JsonldId
 	private String id;
 
+	public SkosConceptId() {
+	}
+
+	SkosConceptId(String id) {
+		this.id = id;
+	}
+
 	public String getId() {
 		return id;
 	}
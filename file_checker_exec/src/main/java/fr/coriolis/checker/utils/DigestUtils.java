@@ -0,0 +1,63 @@
+package fr.coriolis.checker.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests, written as lower-case hexadecimal strings.
+ */
+public final class DigestUtils {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private DigestUtils() {
+	}
+
+	/** A new SHA-256 digest (always available in the JRE) */
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Digest of the content of a file */
+	public static String sha256(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			return sha256(in);
+		}
+	}
+
+	/** Digest of the (remaining) content of a stream; the stream is not closed */
+	public static String sha256(InputStream in) throws IOException {
+		MessageDigest md = newDigest();
+		byte[] buffer = new byte[64 * 1024];
+
+		int n;
+		while ((n = in.read(buffer)) > 0) {
+			md.update(buffer, 0, n);
+		}
+		return toHex(md.digest());
+	}
+
+	/** Digest of a string (UTF-8) */
+	public static String sha256(String str) {
+		return toHex(newDigest().digest(str.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	public static String toHex(byte[] bytes) {
+		char[] hex = new char[2 * bytes.length];
+		for (int n = 0; n < bytes.length; n++) {
+			hex[2 * n] = HEX[(bytes[n] >> 4) & 0xF];
+			hex[2 * n + 1] = HEX[bytes[n] & 0xF];
+		}
+		return new String(hex);
+	}
+
+}
@@ -1,5 +1,6 @@
 package fr.coriolis.checker.utils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -9,12 +10,76 @@ public final class NetUtils {
 	private static final int TIMEOUT_MS = 15_000;
 
 	public static InputStream openInputStream(String url) throws IOException {
+		return openConditional(url, null, null).getBody();
+	}
+
+	/**
+	 * Response of a (conditional) GET request
+	 */
+	public static final class Response implements Closeable {
+		private final int status;
+		private final String etag;
+		private final String lastModified;
+		private final InputStream body;
+
+		private Response(int status, String etag, String lastModified, InputStream body) {
+			this.status = status;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.body = body;
+		}
+
+		/** @return true if the resource did not change (HTTP 304): no body */
+		public boolean isNotModified() {
+			return status == HttpURLConnection.HTTP_NOT_MODIFIED;
+		}
+
+		/** @return the ETag header (null if none) */
+		public String getEtag() {
+			return etag;
+		}
+
+		/** @return the Last-Modified header (null if none) */
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		/** @return the content; null if not modified */
+		public InputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (body != null) {
+				body.close();
+			}
+		}
+	}
+
+	/**
+	 * GET a resource, unless it did not change since the copy described by etag
+	 * and lastModified (If-None-Match / If-Modified-Since).
+	 *
+	 * @param url          the resource
+	 * @param etag         ETag of the copy (null: none)
+	 * @param lastModified Last-Modified of the copy (null: none)
+	 * @return the response: content, or "not modified"
+	 * @throws IOException on network and HTTP errors
+	 */
+	public static Response openConditional(String url, String etag, String lastModified) throws IOException {
 
 		HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
 		conn.setInstanceFollowRedirects(true); // follow redirects
 		conn.setConnectTimeout(TIMEOUT_MS);
 		conn.setReadTimeout(TIMEOUT_MS);
 		conn.setRequestProperty("Accept", "application/ld+json");
+		if (etag != null) {
+			conn.setRequestProperty("If-None-Match", etag);
+		}
+		if (lastModified != null) {
+			conn.setRequestProperty("If-Modified-Since", lastModified);
+		}
 		conn.setRequestMethod("GET");
 		conn.connect();
 
@@ -32,7 +97,11 @@ public final class NetUtils {
 			throw new IOException("HTTP " + status + " for " + url);
 		}
 
-		return conn.getInputStream();
+		if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			return new Response(status, etag, lastModified, null);
+		}
+		return new Response(status, conn.getHeaderField("ETag"), conn.getHeaderField("Last-Modified"),
+				conn.getInputStream());
 	}
 
 }
@@ -1,8 +1,8 @@
 package fr.coriolis.checker.validators;
 
 import java.io.IOException;
-import java.io.PrintStream;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
@@ -13,22 +13,24 @@ import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 
 import fr.coriolis.checker.core.ArgoDataFile;
 import fr.coriolis.checker.core.ArgoDataFile.FileType;
+import fr.coriolis.checker.core.Diagnostic;
 import fr.coriolis.checker.core.ValidationResult;
+import fr.coriolis.checker.exceptions.ProgramErrorException;
 import fr.coriolis.checker.specs.ArgoAttribute;
 import fr.coriolis.checker.specs.ArgoDate;
 import fr.coriolis.checker.specs.ArgoDimension;
+import fr.coriolis.checker.specs.ArgoDimensionView;
 import fr.coriolis.checker.specs.ArgoFileSpecification;
 import fr.coriolis.checker.specs.ArgoReferenceTable;
 import fr.coriolis.checker.specs.ArgoVariable;
 import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
 import fr.coriolis.checker.tables.R03DeprecatedEntry;
 import fr.coriolis.checker.tables.SkosConcept;
-import ucar.ma2.ArrayChar;
 import ucar.ma2.DataType;
-import ucar.ma2.Index;
 import ucar.nc2.Attribute;
 import ucar.nc2.Dimension;
 import ucar.nc2.Variable;
@@ -72,8 +74,6 @@ import ucar.nc2.Variable;
  */
 public class ArgoFileValidator {
 	// class variables
-	// ..standard i/o shortcuts
-	private static PrintStream stderr = new PrintStream(System.err);
 	private static final Logger log = LogManager.getLogger("ArgoFileValidator");
 
 	static Pattern pDataMode; // ..CDL "variables:" tag
@@ -81,13 +81,16 @@ public class ArgoFileValidator {
 		// ..check for legal data_mode
 		pDataMode = Pattern.compile("[RDA]+");
 	}
-	private final static DecimalFormat cycleFmt = new DecimalFormat("000");
+	private final DecimalFormat cycleFmt = new DecimalFormat("000");
 	protected final static Date earliestDate = ArgoDate.get("19970101000000");
 	protected final static long oneDaySec = 1L * 24L * 60L * 60L * 1000L;
 
 	// ..object variables
 	protected final ArgoDataFile arFile;
 	protected ValidationResult validationResult;
+	private ArgoDimensionView specDimensions; // ..spec dimensions + this file's extra dimensions
+	// ..warnings logged by the format checks (see FormatCheckCache)
+	private final ArrayList<FormatCheckCache.LoggedWarning> formatLog = new ArrayList<FormatCheckCache.LoggedWarning>();
 
 	public ArgoFileValidator(ArgoDataFile arFile) {
 		this.arFile = arFile;
@@ -118,7 +121,8 @@ public class ArgoFileValidator {
 	public boolean validateFormat(String dacName) {
 		if (arFile.getFileSpec() == null) {
 			log.info("File specification not opened");
-			ValidationResult.lastMessage = "ERROR: File specification not opened for this file";
+			arFile.getDiagnostic().set(Diagnostic.Code.SPECIFICATION_NOT_OPENED,
+					"ERROR: File specification not opened for this file");
 			validationResult.addError("ERROR: File specification not opened for this file");
 			return false;
 		}
@@ -133,10 +137,28 @@ public class ArgoFileValidator {
 		 * postpone processing of missing optional variables 4a) - for each variable,
 		 * iterate through the attributes and compare 5) For missing optional variables,
 		 * check that all variables for the group are missing. 6) Iterate through the
-		 * spec global attributes and compare to the data file 7) Clear any "extra"
-		 * dimensions that were added
+		 * spec global attributes and compare to the data file. The "extra" dimensions
+		 * are only added to this file's view of the spec dimensions (the spec itself
+		 * is shared between files)
 		 */
 
+		specDimensions = new ArgoDimensionView(arFile.getFileSpec());
+
+		// ..a file with the same header as a file already checked: same results
+		String fingerprint = null;
+		if (FormatCheckCache.isEnabled()) {
+			fingerprint = FormatCheckCache.fingerprint(arFile);
+			FormatCheckCache.Entry known = FormatCheckCache.get(arFile.getFileSpec(), fingerprint);
+			if (known != null) {
+				replayFormatResults(known, dacName);
+				log.debug(".....verifyFormat: same header as a file already checked.....");
+				return true;
+			}
+		}
+		int nErrors = validationResult.nFormatErrors();
+		int nWarnings = validationResult.nFormatWarnings();
+		formatLog.clear();
+
 		HashSet<String> dataElement = new HashSet<String>(); // ..reported elements
 		HashSet<String> dataGroup = new HashSet<String>(); // ..groups with reported elements
 
@@ -172,13 +194,67 @@ public class ArgoFileValidator {
 		log.debug(".....verifyFormat: compare spec global attr to data file.....");
 		verifyGlobalAttributes(dacName);
 
-		arFile.getFileSpec().clearExtraDimensions();
+		if (fingerprint != null) {
+			List<String> errors = validationResult.getErrors();
+			List<String> warnings = validationResult.getWarnings();
+			FormatCheckCache.put(arFile.getFileSpec(), fingerprint,
+					new FormatCheckCache.Entry(errors.subList(nErrors, errors.size()),
+							warnings.subList(nWarnings, warnings.size()), formatLog));
+		}
 
 		log.debug(".....verifyFormat: completed.....");
 
 		return true;
 	} // ..end validateFormat
 
+	/**
+	 * Report the results of the format checks of a file with the same header,
+	 * and log their warnings for this file
+	 */
+	private void replayFormatResults(FormatCheckCache.Entry known, String dacName) {
+		for (String err : known.errors) {
+			validationResult.addError(err);
+		}
+		for (String warn : known.warnings) {
+			validationResult.addWarning(warn);
+		}
+		for (FormatCheckCache.LoggedWarning logged : known.logged) {
+			if (logged.label == null) {
+				log.warn(logged.message);
+			} else {
+				log.warn("{}{}: {}: {}", logged.label, dacName, arFile.getFileName(), logged.message);
+			}
+		}
+
+		// ..this file's view of the dimensions, as built by the checks
+		for (Dimension dataDim : arFile.getNcReader().getDimensions()) {
+			if (specDimensions.getDimension(dataDim.getShortName()) == null) {
+				specDimensions.addExtraDimension(dataDim.getShortName(), dataDim.getLength());
+			}
+		}
+	}
+
+	/**
+	 * Log a warning of the format checks of this file: "label dac: file: err"
+	 * 
+	 * @param label "TEMP WARNING: " or ""
+	 */
+	private void logFormatWarning(String label, String dac, String err) {
+		log.warn("{}{}: {}: {}", label, dac, arFile.getFileName(), err);
+		formatLog.add(new FormatCheckCache.LoggedWarning(label, err));
+	}
+
+	/**
+	 * Log a warning of the format checks of this file
+	 * 
+	 * @param pattern the message, with "{}" for each parameter (as log.warn)
+	 */
+	private void logFormatWarning(String pattern, Object... params) {
+		String message = ParameterizedMessage.format(pattern, params);
+		log.warn(message);
+		formatLog.add(new FormatCheckCache.LoggedWarning(null, message));
+	}
+
 	private void verifyGlobalAttributes(String dacName) {
 		for (String name : arFile.getFileSpec().getGlobalAttributeNames()) {
 			ArgoAttribute specAttr = arFile.getFileSpec().getGlobalAttribute(name);
@@ -195,7 +271,7 @@ public class ArgoFileValidator {
 
 				// ################# TEMPORARY WARNING ################
 				validationResult.addWarning(err + "   *** WILL BECOME AN ERROR ***");
-				log.warn("{}: {}: {}", dacName, arFile.getFileName(), err);
+				logFormatWarning("", dacName, err);
 
 			} else {
 				// ..spec attr is in data file -- check values
@@ -360,11 +436,11 @@ public class ArgoFileValidator {
 									+ dataAttr.getShortName() + ": Accepted; not standard value"
 									+ "\n\tSpecification     = '" + specAttrValue + "'" + "\n\tException allowed = '"
 									+ regex.pattern + "' (regex)" + "\n\tData File         = '" + dataAttrValue + "'");
-							log.warn("regex match (WARN): attribute '{}:{} = '{}' matches '{}'", varName, attrName,
-									dataAttrValue, regex.pattern);
+							logFormatWarning("regex match (WARN): attribute '{}:{} = '{}' matches '{}'", varName,
+									attrName, dataAttrValue, regex.pattern);
 						} else {
-							log.warn("regex match (NO WARN): attribute '{}:{} = '{}' matches '{}'", varName, attrName,
-									dataAttrValue, regex.pattern);
+							logFormatWarning("regex match (NO WARN): attribute '{}:{} = '{}' matches '{}'", varName,
+									attrName, dataAttrValue, regex.pattern);
 						}
 					}
 				} // ..end if regex
@@ -514,7 +590,7 @@ public class ArgoFileValidator {
 
 				// ################# TEMPORARY WARNING ################
 				validationResult.addWarning(err + "   *** WILL BECOME AN ERROR ***");
-				log.warn("{}: {}: {}", arFile.getDacName(), arFile.getFileName(), err);
+				logFormatWarning("", arFile.getDacName(), err);
 
 				return false;
 
@@ -530,7 +606,7 @@ public class ArgoFileValidator {
 				// ################# TEMPORARY WARNING ################
 				validationResult.addWarning(err + "   *** WILL BECOME AN ERROR ***");
 
-				log.warn("{}: {}: {}", arFile.getDacName(), arFile.getFileName(), err);
+				logFormatWarning("", arFile.getDacName(), err);
 
 				return false;
 
@@ -542,9 +618,8 @@ public class ArgoFileValidator {
 			// CK_0016
 			// =======
 			// ..what the hell were you thinking?
-			stderr.println("\n\n******\n" + "****** PROGRAM ERROR: ArgoDataFile(ckvarattr) " + varName + ":" + attrName
-					+ ": unknown specAttr type.  TERMINATING.\n" + "******");
-			System.exit(1);
+			throw new ProgramErrorException(
+					"ArgoDataFile(ckvarattr) " + varName + ":" + attrName + ": unknown specAttr type");
 		}
 		return true;
 	}
@@ -558,7 +633,7 @@ public class ArgoFileValidator {
 
 			// ################# TEMPORARY WARNING ################
 			validationResult.addWarning(err + "   *** WILL BECOME AN ERROR ***");
-			log.warn("{}: {}: {}", arFile.getDacName(), arFile.getFileName(), err);
+			logFormatWarning("", arFile.getDacName(), err);
 
 			return false;
 
@@ -639,7 +714,7 @@ public class ArgoFileValidator {
 				} else {
 					// ..an "extra dimension"
 					// ..check that it is valid
-					if (!arFile.getFileSpec().getDimension(dDimName).isExtraDimension()) {
+					if (!specDimensions.getDimension(dDimName).isExtraDimension()) {
 						pass = false;
 						break;
 					}
@@ -739,7 +814,7 @@ public class ArgoFileValidator {
 
 						// ################# TEMPORARY WARNING ################
 						validationResult.addWarning(err + "   *** WILL BECOME AN ERROR ***");
-						log.warn("TEMP WARNING: {}: {}: {}", dacName, arFile.getFileName(), err);
+						logFormatWarning("TEMP WARNING: ", dacName, err);
 
 					} else {
 						// ..regex defined ... does it match?
@@ -753,7 +828,7 @@ public class ArgoFileValidator {
 							// ################# TEMPORARY WARNING ################
 							validationResult.addWarning(err + "   *** WILL BECOME AN ERROR ***");
 
-							log.warn("TEMP WARNING: {}: {}: {}", dacName, arFile.getFileName(), err);
+							logFormatWarning("TEMP WARNING: ", dacName, err);
 
 						} else {
 							if (regex.warn) { // useless as global attribute regex warn is always false
@@ -761,11 +836,11 @@ public class ArgoFileValidator {
 										+ ": Accepted; not standard value" + "\n\tSpecification     = '" + specValue
 										+ "'" + "\n\tException allowed = '" + regex.pattern + "' (regex)"
 										+ "\n\tData File         = '" + dataValue + "'");
-								log.warn("regex match (WARN): global attribute ':{} = '{}' matches '{}'", name,
+								logFormatWarning("regex match (WARN): global attribute ':{} = '{}' matches '{}'", name,
 										dataValue, regex.pattern);
 							} else {
-								log.warn("regex match (NO WARN): global attribute ':{} = '{}' matches '{}'", name,
-										dataValue, regex.pattern);
+								logFormatWarning("regex match (NO WARN): global attribute ':{} = '{}' matches '{}'",
+										name, dataValue, regex.pattern);
 							}
 						}
 					} // ..end if regex
@@ -779,7 +854,7 @@ public class ArgoFileValidator {
 
 			// ################# TEMPORARY WARNING ################
 			validationResult.addWarning(err + "   *** WILL BECOME AN ERROR ***");
-			log.warn("TEMP WARNING: {}: {}: {}", dacName, arFile.getFileName(), err);
+			logFormatWarning("TEMP WARNING: ", dacName, err);
 
 		} // ..end if(dataAttr.isString)
 	}
@@ -894,7 +969,7 @@ public class ArgoFileValidator {
 		// =======
 		// CK_0006
 		// =======
-		for (ArgoDimension dim : arFile.getFileSpec().getDimensions()) {
+		for (ArgoDimension dim : specDimensions.getDimensions()) {
 			String name = dim.getName();
 			Dimension dataDim = arFile.getNcReader().findDimension(name);
 			log.debug("spec dim: {}", name);
@@ -982,7 +1057,7 @@ public class ArgoFileValidator {
 
 		for (Dimension dataDim : dimList) {
 			String dimName = dataDim.getShortName();
-			ArgoDimension specDim = arFile.getFileSpec().getDimension(dimName);
+			ArgoDimension specDim = specDimensions.getDimension(dimName);
 			dataElement.add(dimName);
 			if (log.isDebugEnabled()) {
 				log.debug("data dim: {} -- {}", dataDim, specDim);
@@ -1034,7 +1109,7 @@ public class ArgoFileValidator {
 		// CK_0008 3/3
 		// ============
 		ArgoDimension specDim;
-		specDim = arFile.getFileSpec().addExtraDimension(dimName, dataDim.getLength());
+		specDim = specDimensions.addExtraDimension(dimName, dataDim.getLength());
 
 		if (specDim == null) {
 			// ..nope, not an allowed "extra dimension" -> error
@@ -1081,7 +1156,7 @@ public class ArgoFileValidator {
 	 * @param dacName name of the DAC for this file
 	 * @param ckNulls true = check all strings for NULL values; false = skip
 	 * @return success indicator. true - validation was performed. false -
-	 *         validation could not be performed (getMessage() will return the
+	 *         validation could not be performed (the file Diagnostic holds the
 	 *         reason).
 	 * @throws IOException If an I/O error occurs
 	 */
@@ -1089,14 +1164,14 @@ public class ArgoFileValidator {
 		// before checking data, verify if the file had not failed the format validation
 		// :
 		if (!validationResult.isValid()) {
-			ValidationResult.lastMessage = new String(
+			arFile.getDiagnostic().set(Diagnostic.Code.FORMAT_NOT_VERIFIED,
 					"File must be verified (verifyFormat) " + "successfully before validation");
 			return false;
 		}
 
 		// check dacName passed in argument line:
 		if (!checkDacNameArgument()) {
-			ValidationResult.lastMessage = new String("Unknown DAC name = '" + arFile.getDacName() + "'");
+			arFile.getDiagnostic().set(Diagnostic.Code.UNKNOWN_DAC, "Unknown DAC name = '" + arFile.getDacName() + "'");
 			return false;
 		}
 
@@ -1475,8 +1550,6 @@ public class ArgoFileValidator {
 	 * @throws IOException If an I/O error occurs
 	 */
 	private void validateStringNulls() throws IOException {
-		char nullChar = (char) 0;
-
 		// .....Check all Strings -- no nulls allowed.....
 		if (log.isDebugEnabled()) {
 			log.debug(".....validateStrings.....");
@@ -1484,74 +1557,32 @@ public class ArgoFileValidator {
 
 		for (Variable var : arFile.getVarList()) {
 			if (var.getDataType() == DataType.CHAR) {
-				ArrayChar ch;
-				ch = (ArrayChar) var.read();
-
-				Index ndx = ch.getIndex();
+				String name = var.getShortName();
 				int shape[] = var.getShape();
 				int rank = shape.length;
 
-				// log.debug(var.getShortName()+": shape:"+shape.length+" rank:"+rank);
+				if (rank == 0) {
+					throw new IOException("validateString cannot handle rank " + rank + " arrays");
+				}
 
-				if (rank == 1) {
-					// log.debug("rank 1: '"+ch.getString()+"'");
-					for (int i = 0; i < shape[0]; i++) {
-						ndx.set(i);
-						if (ch.getChar(ndx) == nullChar) {
-							validationResult.addWarning(var.getShortName() + ": NULL character at [" + (i + 1) + "]");
-							log.warn("warning: {}[{}]: null character", var.getShortName(), i);
-							break;
-						}
-					}
-				} else if (rank == 2) {
-					for (int i = 0; i < shape[0]; i++) {
-						// log.debug("rank 2: '"+ch.getString(ndx.set(i,0))+"'");
-						for (int j = 0; j < shape[1]; j++) {
-							ndx.set(i, j);
-							if (ch.getChar(ndx) == nullChar) {
-								validationResult.addWarning(
-										var.getShortName() + ": NULL character at [" + (i + 1) + "," + (j + 1) + "]");
-								log.warn("warning: {}[{},{}]: null character", var.getShortName(), i, j);
-								break;
-							}
-						}
-					}
-				} else if (rank == 3) {
-					for (int i = 0; i < shape[0]; i++) {
-						for (int j = 0; j < shape[1]; j++) {
-							// log.debug("rank 3: '"+ch.getString(ndx.set(i,j,0))+"'");
-							for (int k = 0; k < shape[2]; k++) {
-								ndx.set(i, j, k);
-								if (ch.getChar(ndx) == nullChar) {
-									validationResult.addWarning(var.getShortName() + ": NULL character at [" + (i + 1)
-											+ "," + (j + 1) + "," + (k + 1) + "]");
-									log.warn("warning: {}[{},{},{}]: null character", var.getShortName(), i, j, k);
-									break;
-								}
-							}
+				// ..one pass over the data: the first NULL of each string (row of the last
+				// ..dimension); rank 1: the first NULL of the variable
+				NullCharScanner.scan(arFile.read(var), shape, index -> {
+					StringBuilder at = new StringBuilder();
+					StringBuilder logAt = new StringBuilder();
+					for (int d = 0; d < index.length; d++) {
+						if (d > 0) {
+							at.append(',');
+							logAt.append(',');
 						}
+						at.append(index[d] + 1);
+						logAt.append(index[d]);
 					}
-				} else if (rank == 4) {
-					for (int i = 0; i < shape[0]; i++) {
-						for (int j = 0; j < shape[1]; j++) {
-							for (int k = 0; k < shape[2]; k++) {
-								// log.debug("rank 4: '"+ch.getString(ndx.set(i,j,k,0))+"'");
-								for (int l = 0; l < shape[3]; l++) {
-									ndx.set(i, j, k, l);
-									if (ch.getChar(ndx) == nullChar) {
-										validationResult.addWarning(var.getShortName() + ": NULL character at ("
-												+ (i + 1) + "," + (j + 1) + "," + (k + 1) + "," + (l + 1) + "]");
-										log.warn("warning: {}[{},{},{},{}]: null character", var.getShortName(), i, j,
-												k, l);
-										break;
-									}
-								}
-							}
-						}
-					}
-				} else {
-					throw new IOException("validateString cannot handle rank " + rank + " arrays");
-				} // ..end if (rank)
+
+					// ..rank 4: the message has always started with "("
+					validationResult.addWarning(name + ": NULL character at " + (rank == 4 ? "(" : "[") + at + "]");
+					log.warn("warning: {}[{}]: null character", name, logAt);
+				});
 			}
 		}
 	}// ..end validateStringNulls
@@ -1712,6 +1743,95 @@ public class ArgoFileValidator {
 		}
 	}
 
+	/** A step of a validation whose result the following steps need */
+	interface Producer<T> {
+		T run() throws IOException;
+	}
+
+	/**
+	 * Run a check unit of the validation (see CheckRegistry), unless it is
+	 * disabled. Its time is added to "&lt;validator&gt;.&lt;method&gt;" in the
+	 * timings of the file.
+	 *
+	 * @param method name of the validator method the unit runs
+	 * @param rule   the unit
+	 * @throws IOException If an I/O error occurs
+	 */
+	protected void check(String method, RuleGroups.Rule rule) throws IOException {
+		long nanos = runCheck(method, rule);
+		if (nanos >= 0) {
+			arFile.getTimings().add(unitId(method), nanos);
+		}
+	}
+
+	/**
+	 * Run a check unit of the validation whose result the following units need
+	 * (see CheckRegistry). If it is disabled, it is run and its errors and
+	 * warnings are dropped.
+	 *
+	 * @param method   name of the validator method the unit runs
+	 * @param producer the unit
+	 * @return the result of the unit
+	 * @throws IOException If an I/O error occurs
+	 */
+	protected <T> T produce(String method, final Producer<T> producer) throws IOException {
+		CheckRegistry.Unit unit = CheckRegistry.unit(unitId(method));
+		if (unit == null || unit.isEnabled()) {
+			final List<T> result = new ArrayList<T>(1);
+			check(method, () -> result.add(producer.run()));
+			return result.get(0);
+		}
+
+		// ..not in a rule group: its results are set aside
+		long start = System.nanoTime();
+		validationResult.beginGroup(new ValidationResult());
+		try {
+			return producer.run();
+		} finally {
+			validationResult.endGroup();
+			unit.skipped();
+			arFile.getTimings().add(unitId(method), System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Run a check unit, unless it is disabled: its errors and warnings are tagged
+	 * with its id and counted with its time.
+	 *
+	 * @return the time of the unit (nanoseconds); -1 if it is disabled
+	 */
+	long runCheck(String method, RuleGroups.Rule rule) throws IOException {
+		String id = unitId(method);
+		CheckRegistry.Unit unit = CheckRegistry.unit(id);
+		if (unit != null && !unit.isEnabled()) {
+			unit.skipped();
+			return -1;
+		}
+
+		ValidationResult target = validationResult.current();
+		int nErrors = target.nFormatErrors();
+		int nWarnings = target.nFormatWarnings();
+
+		String previous = validationResult.beginCheck(id);
+		long start = System.nanoTime();
+		try {
+			rule.run();
+		} finally {
+			validationResult.endCheck(previous);
+		}
+		long nanos = System.nanoTime() - start;
+
+		if (unit != null) {
+			unit.ran(nanos, target.nFormatErrors() - nErrors, target.nFormatWarnings() - nWarnings);
+		}
+		return nanos;
+	}
+
+	// .."<validator>.<method>": the check unit and timing phase of a method
+	String unitId(String method) {
+		return getClass().getSimpleName() + "." + method;
+	}
+
 //.........................................
 //  ACCESSORS
 //.........................................
@@ -1724,4 +1844,10 @@ public class ArgoFileValidator {
 		this.validationResult = validationResult;
 	}
 
+	// ..the specification dimensions + this file's extra dimensions (set by
+	// ..validateFormat)
+	ArgoDimensionView getSpecDimensions() {
+		return specDimensions;
+	}
+
 }
@@ -131,32 +131,35 @@ public class ArgoMetadataFileValidator extends ArgoFileValidator {
 	 * @param dacName name of the DAC for this file
 	 * @param ckNulls true = check all strings for NULL values; false = skip
 	 * @return success indicator. true - validation was performed. false -
-	 *         validation could not be performed (getMessage() will return the
+	 *         validation could not be performed (the file Diagnostic holds the
 	 *         reason).
 	 * @throws IOException If an I/O error occurs
 	 */
 	public boolean validateData(boolean ckNulls) throws IOException {
-		boolean basicsChecks = super.basicDataValidation(ckNulls);
+		boolean basicsChecks = produce("basicDataValidation", () -> super.basicDataValidation(ckNulls));
 		if (!basicsChecks) {
 			return false;
 		}
 		// .......do meta-data file specific validations..........
 
-		validateDates();
+		// ..these checks do not depend on each other (see RuleGroups)
+		RuleGroups groups = new RuleGroups(this).add("validateDates", () -> validateDates());
 
 		if (this.arFile.fileVersion().trim().compareTo("2.2") <= 0) {
-			validateHighlyDesirable_v2(this.arFile.getValidatedDac());
+			groups.add("validateHighlyDesirable_v2",
+					() -> validateHighlyDesirable_v2(this.arFile.getValidatedDac()));
 		} else {
-			validateMandatory_v3(this.arFile.getValidatedDac());
-			validateOptionalParams();
-			validateConfigMission();
-			validateConfigParams();
+			groups.add("validateMandatory_v3", () -> validateMandatory_v3(this.arFile.getValidatedDac()))
+					.add("validateOptionalParams", () -> validateOptionalParams())
+					.add("validateConfigMission", () -> validateConfigMission())
+					.add("validateConfigParams", () -> validateConfigParams());
 			// 04/2026 V3.0.2 : Battery parameters's checks are deactivated for the moment
 			// as majority of files was not compliants. More time is given to DACs. But
 			// should be reactivated in the coming months.
 //			validateBattery(); 
 
 		}
+		groups.run();
 
 		return true;
 	}// ..end validate
@@ -203,7 +206,7 @@ public class ArgoMetadataFileValidator extends ArgoFileValidator {
 		String startup;
 
 		if (var != null) {
-			startup = ((ArrayChar) var.read()).getString();
+			startup = ((ArrayChar) arFile.read(var)).getString();
 		} else {
 			startup = " ";
 		}
@@ -1216,7 +1219,7 @@ public class ArgoMetadataFileValidator extends ArgoFileValidator {
 	 * @throws IOException If an I/O error occurs
 	 */
 	private Character getChar(String name) throws IOException {
-		ArrayChar.D0 value = (ArrayChar.D0) arFile.getNcReader().findVariable(name).read();
+		ArrayChar.D0 value = (ArrayChar.D0) arFile.read(arFile.getNcReader().findVariable(name));
 		return Character.valueOf(value.get());
 	}
 
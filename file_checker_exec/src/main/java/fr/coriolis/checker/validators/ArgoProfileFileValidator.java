@@ -15,6 +15,7 @@ import fr.coriolis.checker.core.ArgoDataFile.FileType;
 import fr.coriolis.checker.specs.ArgoDate;
 import fr.coriolis.checker.specs.ArgoReferenceTable;
 import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+import fr.coriolis.checker.tables.SingleCharTable;
 import fr.coriolis.checker.tables.SkosConcept;
 import ucar.ma2.Array;
 import ucar.ma2.ArrayChar;
@@ -57,12 +58,26 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 
 	private ArrayList<ArrayList<String>> profParam;
 
+	// ..buffers of checkParamParamQC, reused from one parameter / profile to the
+	// ..next (see ArgoDataFile.readFloats)
+	private float[] prmBuffer;
+	private char[] prmQcBuffer;
+	private float[] prmAdjBuffer;
+	private float[] prmAdjErrBuffer;
+	private char[] prmAdjQcBuffer;
+	// ..PRES[n, :] of validateMetaData
+	private float[] presBuffer;
+
+	// ..column-wise <param>/_QC level checks (see ParamQcColumns)
+	private final ParamQcColumns paramQcColumns;
+
 	// .......................................
 	// CONSTRUCTORS
 	// .......................................
 
 	public ArgoProfileFileValidator(ArgoDataFile arFile) throws IOException {
 		super(arFile);
+		paramQcColumns = new ParamQcColumns(arFile);
 	}
 
 //	protected ArgoProfileFileValidator(String specDir, String version) {
@@ -135,12 +150,12 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 	 * @param dacName     name of the DAC for this file
 	 * @param ckNulls     true = check all strings for NULL values; false = skip
 	 * @return success indicator. true - validation was performed. false -
-	 *         validation could not be performed (getMessage() will return the
+	 *         validation could not be performed (the file Diagnostic holds the
 	 *         reason).
 	 * @throws IOException If an I/O error occurs
 	 */
 	public boolean validateData(boolean singleCycle, String dacName, boolean ckNulls) throws IOException {
-		boolean basicsChecks = super.basicDataValidation(ckNulls);
+		boolean basicsChecks = produce("basicDataValidation", () -> super.basicDataValidation(ckNulls));
 		if (!basicsChecks) {
 			return false;
 		}
@@ -155,18 +170,28 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 		int nParam = arFile.getDimensionLength("N_PARAM");
 		int nLevel = arFile.getDimensionLength("N_LEVELS");
 
-		validateHighlyDesirable(nProf);
+		check("validateHighlyDesirable", () -> validateHighlyDesirable(nProf));
 
-		if (!validateMetaData(nProf, arFile.getValidatedDac(), singleCycle)) {
+		boolean metaDataPassed = produce("validateMetaData",
+				() -> validateMetaData(nProf, arFile.getValidatedDac(), singleCycle));
+		if (!metaDataPassed) {
 			return true;
 		}
 
-		validateDates(nProf, nParam, nCalib, nHistory);
-		validateParams(nProf, nParam, nLevel);
-		validateQC(nProf, nParam, nLevel);
+		// ..validateDates and validateParams set the dates and parameters of the
+		// ..file for the following checks
+		produce("validateDates", () -> {
+			validateDates(nProf, nParam, nCalib, nHistory);
+			return null;
+		});
+		produce("validateParams", () -> {
+			validateParams(nProf, nParam, nLevel);
+			return null;
+		});
+		check("validateQC", () -> validateQC(nProf, nParam, nLevel));
 
 		if (arFile.fileType() == FileType.PROFILE) { // ..implies a core-file
-			validateDMode(nProf, nParam, nCalib, nHistory);
+			check("validateDMode", () -> validateDMode(nProf, nParam, nCalib, nHistory));
 		}
 
 		return true;
@@ -322,7 +347,7 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 		// ..if set, after DATE_CREATION, before DATE_UPDATE
 
 		if (nHistory > 0) {
-			ArrayChar hDate = (ArrayChar) arFile.findVariable("HISTORY_DATE").read();
+			ArrayChar hDate = (ArrayChar) arFile.read(arFile.findVariable("HISTORY_DATE"));
 			Index ndx = hDate.getIndex();
 
 			for (int h = 0; h < nHistory; h++) {
@@ -380,7 +405,7 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 				var = arFile.findVariable(calib_date);
 			}
 
-			ArrayChar cDate = (ArrayChar) var.read();
+			ArrayChar cDate = (ArrayChar) arFile.read(var);
 			Index ndx = cDate.getIndex();
 
 			for (int n = 0; n < nProf; n++) {
@@ -439,8 +464,8 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 
 		String dMode = arFile.readString("DATA_MODE", true); // ..true -> return NULLs if present
 		String[] dState = arFile.readStringArr("DATA_STATE_INDICATOR");
-		ArrayChar params = (ArrayChar) arFile.findVariable("PARAMETER").read();
-		ArrayChar cmts = (ArrayChar) arFile.findVariable("SCIENTIFIC_CALIB_COMMENT").read();
+		ArrayChar params = (ArrayChar) arFile.read(arFile.findVariable("PARAMETER"));
+		ArrayChar cmts = (ArrayChar) arFile.read(arFile.findVariable("SCIENTIFIC_CALIB_COMMENT"));
 		// ArrayChar eqns =
 		// (ArrayChar) findVariable("SCIENTIFIC_CALIB_EQUATION").read();
 		// ArrayChar coefs =
@@ -456,7 +481,7 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 			calib_date = "CALIBRATION_DATE";
 			var = arFile.findVariable(calib_date);
 		}
-		ArrayChar dates = (ArrayChar) var.read();
+		ArrayChar dates = (ArrayChar) arFile.read(var);
 
 		Index pNdx = params.getIndex();
 		Index cNdx = cmts.getIndex();
@@ -763,19 +788,9 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 				// ..set to _FillValue --- data must be missing
 				// ..use PRES as a proxy - if all PRES is missing assume all data is missing
 
-				boolean has_data = false;
-
 				// ..not checked above
 
-				float[] pres = arFile.readFloatArr("PRES", n);
-				if (pres != null) {
-					for (float d : pres) {
-						if (!ArgoFileValidator.is_99_999_FillValue(d)) {
-							has_data = true;
-							break;
-						}
-					}
-				}
+				boolean has_data = hasPresData(n);
 
 				hasData = has_data;
 				log.debug("...data_state_indicator empty. searched PRES. has_data = {}", has_data);
@@ -856,15 +871,7 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 				if (hasData == null) {
 					// ..not checked above
 
-					float[] pres = arFile.readFloatArr("PRES", n);
-					if (pres != null) {
-						for (float d : pres) {
-							if (!ArgoFileValidator.is_99_999_FillValue(d)) {
-								has_data = true;
-								break;
-							}
-						}
-					}
+					has_data = hasPresData(n);
 
 					hasData = has_data;
 					log.debug("...vertical_sampling_scheme empty. searched PRES. has_data = {}", has_data);
@@ -941,6 +948,53 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 		return true;
 	}// ..end validateMetaData
 
+	/**
+	 * Whether PRES[n, :] has data (a value that is not the 99999. fill value):
+	 * the proxy for "data is missing" of the meta-data checks.
+	 *
+	 * @param n the profile
+	 * @return false if no data, or PRES is not present or not read
+	 */
+	private boolean hasPresData(int n) {
+		Variable var = arFile.findVariable("PRES");
+		if (var == null || var.getRank() != 2) {
+			return false;
+		}
+
+		try {
+			presBuffer = arFile.readFloats(var, n, presBuffer);
+		} catch (Exception e) {
+			stderr.println("ERROR: Reading 'PRES': " + e);
+			return false;
+		}
+
+		for (float d : presBuffer) {
+			if (!ArgoFileValidator.is_99_999_FillValue(d)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads all the values of an int variable (see ArgoDataFile.readInts)
+	 *
+	 * @return the values; null if not present or not read
+	 */
+	private int[] readInts(String varName) {
+		Variable var = arFile.findVariable(varName);
+		if (var == null) {
+			return null;
+		}
+
+		try {
+			return arFile.readInts(var, null);
+		} catch (IOException e) {
+			stderr.println("ERROR: Reading '" + varName + "': " + e);
+			return null;
+		}
+	}
+
 	/**
 	 * Validates the PARAM variables in the profile file.
 	 * 
@@ -992,6 +1046,10 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 		// ..read station parameters and data_mode
 		String dMode = arFile.readString("DATA_MODE", true); // incl NULLs
 
+		// ..CONFIG_MISSION_NUMBER and CYCLE_NUMBER: read once for all the profiles
+		int[] msnNums = readInts("CONFIG_MISSION_NUMBER");
+		int[] cycNums = readInts("CYCLE_NUMBER");
+
 		// ..need orgin/shape for 2-dim variables multiple time
 		int[] origin2 = { 0, 0 }; // ..will anchor read to {profNum, level=0}
 		int[] shape2 = { 1, nLevel }; // ..will read {1 profile, nLevel levels}
@@ -1096,12 +1154,12 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 			// =======
 			// CK_0069
 			// =======
-			int msnNum = arFile.readInt("CONFIG_MISSION_NUMBER", profNum);
+			int msnNum = (msnNums == null ? Integer.MAX_VALUE : msnNums[profNum]);
 
 			log.debug("CONFIG_MISSION_NUMBER[{}]: '{}'", profNum, msnNum);
 
 			if (msnNum == 99999) {
-				int cyc = arFile.readInt("CYCLE_NUMBER", profNum);
+				int cyc = (cycNums == null ? Integer.MAX_VALUE : cycNums[profNum]);
 				if (cyc != 0 && mode == 'D') {
 					validationResult.addError("CONFIG_MISSION_NUMBER[" + (profNum + 1) + "]: '" + msnNum
 							+ "': Cannot be FillValue in D-mode");
@@ -1289,7 +1347,7 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 						// ..read the section of the array
 						Array array;
 						try {
-							array = var.read(origin, shape);
+							array = arFile.read(var, origin, shape);
 
 						} catch (Exception e) {
 							stderr.println(e.getMessage());
@@ -1453,24 +1511,6 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 			origin[0] = profNum;
 			shape[0] = 1;
 
-			// ..read the section of the array
-			Array array;
-			try {
-				array = var.read(origin, shape);
-
-			} catch (Exception e) {
-				stderr.println(e.getMessage());
-				e.printStackTrace(stderr);
-				throw new IOException("Unable to read '" + param + "'");
-			}
-
-			/*
-			 * log.debug("(temp) whatData? origin {}", Arrays.toString(origin));
-			 * log.debug("(temp) whatData? shape {}", Arrays.toString(shape));
-			 * log.debug("(temp) whatData? array.shape {}",
-			 * Arrays.toString(array.getShape()));
-			 */
-
 			// ..by far the most common situation is (nProf, nLevel)
 			// ..deal with that first
 
@@ -1480,32 +1520,34 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 
 				// ..the exact values don't matter, just whether they are
 				// ..nan, fill value, or not. So do it all as "float"
+				// ..(other types than FLOAT are cast level-by-level)
 
-				DataType type = var.getDataType();
+				try {
+					prm = prmBuffer = arFile.readFloats(var, profNum, prmBuffer);
 
-				if (type == DataType.FLOAT) {
-					prm = (float[]) array.copyTo1DJavaArray();
-					log.debug("...rank 2 float var: use copyTo1DJavaArray");
-					// log.debug("(temp) prm: {}", Arrays.toString(prm));
+				} catch (Exception e) {
+					stderr.println(e.getMessage());
+					e.printStackTrace(stderr);
+					throw new IOException("Unable to read '" + param + "'");
+				}
 
-				} else {
-					// ..for other than FLOAT, we have to cast it level-by-level
+				log.debug("...rank 2 {} var: read as float", var.getDataType());
+				// log.debug("(temp) prm: {}", Arrays.toString(prm));
 
-					prm = new float[nLevel];
-					Index index = array.getIndex();
+			} else { // ..rank is 3 or greater
+				log.debug("...rank {} variable", vRank);
 
-					for (int k = 0; k < nLevel; k++) {
-						index.set(0, k);
-						prm[k] = array.getFloat(index);
-					}
+				// ..read the section of the array
+				Array array;
+				try {
+					array = arFile.read(var, origin, shape);
 
-					log.debug("...rank 2 unspecified-type var: level-by-level cast");
-					// log.debug("(temp) prm: {}", Arrays.toString(prm));
+				} catch (Exception e) {
+					stderr.println(e.getMessage());
+					e.printStackTrace(stderr);
+					throw new IOException("Unable to read '" + param + "'");
 				}
 
-			} else { // ..rank is 3 or greater
-				log.debug("...rank {} variable", vRank);
-
 				if (vRank > 3) {
 					// ..collapse all the extra-dimensions into 1
 					// ..the shape is [1, nLevel, i, j, k, ..]
@@ -1567,7 +1609,7 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 			// ..<param>_QC: this is always char <param>_QC (nProf, nLevel)
 
 			try {
-				prm_qc = (char[]) varQC.read(origin2, shape2).copyTo1DJavaArray();
+				prm_qc = prmQcBuffer = arFile.readChars(varQC, profNum, prmQcBuffer);
 			} catch (InvalidRangeException e) {
 				stderr.println("validateParams: Invalid range in read");
 				stderr.println(e.getMessage());
@@ -1580,101 +1622,28 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 				throw new IOException("Unable to read " + varName + "_QC[" + profNum + "]: InvalidRangeException");
 			}
 
-			char profQC = ((ArrayChar.D1) profVarQC.read()).get(profNum);
-
-			int depQC = 0; // ..count of "deprecated QC"
-			int illQC = 0; // ..count of "illegal QC"
-			int invQC = 0; // ..count of "invalid QC"
-			int notMiss = 0; // ..count of QC not set missing when data is missing
-			int notNotMeas = 0; // ..count of QC "not measured" when data is NOT missing
-			int nan = 0; // ..count of NANs
-			int inf = 0; // count of Inf values
-			int noQC = 0; // ..count of "no QC"
-			int n_data = 0; // ..number of data values (based on QC code)
-			int n_good = 0; // ..number of good values (based on QC code)
-			int n_noqc = 0; // ..number of no-qc values
-
-			for (int k = 0; k < prm.length; k++) {
-				// if (! ArgoDataFile.is_99_999_FillValue(prm[k]) && k > maxLevelUsed)
-				// maxLevelUsed = k;
-				// =================
-				// CK_0064 & CK_0065
-				// =================
-				if (Float.isNaN(prm[k])) {
-					nan++;
-				}
-
-				if (Float.isInfinite(prm[k])) {
-					inf++;
-				}
-
-				SkosConcept qcFlagsTableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-						.get(String.valueOf(prm_qc[k]));
-
-				// =======
-				// CK_0073
-				// =======
-				if (qcFlagsTableEntry != null) {
-					// ..valid QC flag (NOT " ")
-					// =======
-					// CK_0185
-					// =======
-					if (qcFlagsTableEntry.isDeprecated()) {
-						depQC++;
-					}
-					// =======
-					// CK_0074
-					// =======
-					if (ArgoFileValidator.is_FillValue(fValue, prm[k])) {
-						// ..data is missing - QC better be too
-						if (prm_qc[k] != '9' && prm_qc[k] != '0') {
-							notMiss++;
-						}
+			char profQC = ((ArrayChar.D1) arFile.read(profVarQC)).get(profNum);
 
-					} else {
-						// ..data not missing - check QC value
-						// ==========
-						// CHECK_0075
-						// ==========
-
-						if (prm_qc[k] == '0') {
-							if (!arFile.getFileSpec().isOptional(varName)) {
-								noQC++;
-							}
-						} else if (prm_qc[k] > '4') {
-							illQC++;
-						}
-					}
+			// ..the counts of the level checks: for all the profiles at once
+			// ..(column-wise) if possible, otherwise for this profile
+			ParamQcColumns.Counts counts = (vRank == 2 ? paramQcColumns.counts(var, varQC, fValue) : null);
+			int p = profNum;
+			if (counts == null) {
+				counts = paramQcColumns.counts(varName, prm, prm_qc, fValue);
+				p = 0;
+			}
 
-					// ..count the good, bad, and ugly (for profile QC)
-					if (prm_qc[k] != '9' && prm_qc[k] != ' ') {
-						n_data++;
-					}
-					if (prm_qc[k] == '1' || prm_qc[k] == '2' || prm_qc[k] == '5' || prm_qc[k] == '8') {
-						n_good++;
-					} else if (prm_qc[k] == '0') {
-						n_noqc++;
-					}
-					// ==========
-					// CHECK_0074
-					// ==========
-				} else { // ..QC not is ref table 2, handle " " special case
-					// =======
-					// CK_0186
-					// =======
-					if (prm_qc[k] == ' ') {
-
-						// ..qc set to NOT MEASURED, data better be missing
-						if (!ArgoFileValidator.is_FillValue(fValue, prm[k])) {
-							notNotMeas++;
-						}
-					} else {
-						// ..not in QCFlag (not in ref table 2) and not " "
-						// ..invalid QC flag
-						invQC++;
-					}
-				}
-			} // ..end for (k)
+			int depQC = counts.depQC[p]; // ..count of "deprecated QC"
+			int illQC = counts.illQC[p]; // ..count of "illegal QC"
+			int invQC = counts.invQC[p]; // ..count of "invalid QC"
+			int notMiss = counts.notMiss[p]; // ..count of QC not set missing when data is missing
+			int notNotMeas = counts.notNotMeas[p]; // ..count of QC "not measured" when data is NOT missing
+			int nan = counts.nan[p]; // ..count of NANs
+			int inf = counts.inf[p]; // count of Inf values
+			int noQC = counts.noQC[p]; // ..count of "no QC"
+			int n_data = counts.nData[p]; // ..number of data values (based on QC code)
+			int n_good = counts.nGood[p]; // ..number of good values (based on QC code)
+			int n_noqc = counts.nNoQC[p]; // ..number of no-qc values
 
 			if (log.isDebugEnabled()) {
 				log.debug("checking {}[{}]: invQC, illQC, noQC, notMiss, nan, depQC = " + "{}, {}, {}, {}, {}, {}",
@@ -1781,58 +1750,39 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 				origin[0] = profNum;
 				shape[0] = 1;
 
-				try {
-					array = var.read(origin, shape);
-
-				} catch (Exception e) {
-					stderr.println(e.getMessage());
-					e.printStackTrace(stderr);
-					throw new IOException("Unable to read " + varName + "[" + profNum + "]  (validateParams)");
-				}
-
-				/*
-				 * log.debug("(temp) _adj whatData? origin {}", Arrays.toString(origin));
-				 * log.debug("(temp) _adj whatData? shape {}", Arrays.toString(shape));
-				 * log.debug("(temp) _adj whatData? array.shape {}",
-				 * Arrays.toString(array.getShape()));
-				 */
-
-				// ..the most common (by far) is float <param> (nProf, nLevel)
-				// ..so let's deal with that situation the easiest way possible
-
-				DataType type = var.getDataType();
-
 				// ..by far the most common situation is (nProf, nLevel)
 				// ..deal with that first
 
 				if (vRank == 2) {
 					// ..this is just a standard (nProf, nLevel) array
 					// ..convert it to a level-by-level array
+					// ..(other types than FLOAT are cast level-by-level)
 
-					if (type == DataType.FLOAT) {
-						prm_adj = (float[]) array.copyTo1DJavaArray();
+					try {
+						prm_adj = prmAdjBuffer = arFile.readFloats(var, profNum, prmAdjBuffer);
 
-						log.debug("...rank 2 float var: use copyTo1DJavaArray");
-						// log.debug("(temp) prm_adj: {}", Arrays.toString(prm_adj));
+					} catch (Exception e) {
+						stderr.println(e.getMessage());
+						e.printStackTrace(stderr);
+						throw new IOException("Unable to read " + varName + "[" + profNum + "]  (validateParams)");
+					}
 
-					} else {
-						// ..for other than float, we have to cast it level-by-level
+					log.debug("...rank 2 {} var: read as float", var.getDataType());
+					// log.debug("(temp) prm_adj: {}", Arrays.toString(prm_adj));
 
-						prm_adj = new float[nLevel];
-						Index index = array.getIndex();
+				} else { // ..rank is 3 or greater
+					log.debug("...rank {} variable", vRank);
 
-						for (int k = 0; k < nLevel; k++) {
-							index.set(0, k);
-							prm_adj[k] = array.getFloat(index);
-						}
+					Array array;
+					try {
+						array = arFile.read(var, origin, shape);
 
-						log.debug("...rank 2 double var: level-by-level cast");
-						// log.debug("(temp) prm_adj: {}", Arrays.toString(prm_adj));
+					} catch (Exception e) {
+						stderr.println(e.getMessage());
+						e.printStackTrace(stderr);
+						throw new IOException("Unable to read " + varName + "[" + profNum + "]  (validateParams)");
 					}
 
-				} else { // ..rank is 3 or greater
-					log.debug("...rank {} variable", vRank);
-
 					if (vRank > 3) {
 						// ..collapse all the extra-dimensions into 1
 						// ..the shape is [1, nLevel, i, j, k, ..]
@@ -1895,8 +1845,10 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 
 				// ..<param>_ADJUSTED_ERROR: always the standard (N_PROF, N_LEVEL)
 
+				// ..(other types than FLOAT are cast level-by-level)
+
 				try {
-					array = varErr.read(origin2, shape2);
+					prm_adj_err = prmAdjErrBuffer = arFile.readFloats(varErr, profNum, prmAdjErrBuffer);
 
 				} catch (Exception e) {
 					stderr.println(e.getMessage());
@@ -1904,37 +1856,13 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 					throw new IOException("Unable to read " + varName + "[" + profNum + "]  (validateParams)");
 				}
 
-				// ..the most common (by far) is float <param> (nProf, nLevel)
-				// ..so let's deal with that situation the easiest way possible
-
-				type = varErr.getDataType();
-
-				if (type == DataType.FLOAT) {
-
-					prm_adj_err = (float[]) array.copyTo1DJavaArray();
-
-					log.debug("...rank 2 float var: use copyTo1DJavaArray");
-					// log.debug("(temp) prm_adj_err: {}", Arrays.toString(prm_adj_err));
-
-				} else {
-					// ..for DOUBLE, we have to cast it level-by-level
-
-					prm_adj_err = new float[nLevel];
-					Index index = array.getIndex();
-
-					for (int k = 0; k < nLevel; k++) {
-						index.set(0, k);
-						prm_adj_err[k] = array.getFloat(index);
-					}
-
-					log.debug("...rank 2 double var: level-by-level cast");
-					// log.debug("(temp) prm_adj_err: {}", Arrays.toString(prm_adj));
-				}
+				log.debug("...rank 2 {} var: read as float", varErr.getDataType());
+				// log.debug("(temp) prm_adj_err: {}", Arrays.toString(prm_adj_err));
 
 				// ..<param>_ADJUSTED_QC: this is always char <param>_QC (nProf, nLevel)
 
 				try {
-					prm_adj_qc = (char[]) varQC.read(origin2, shape2).copyTo1DJavaArray();
+					prm_adj_qc = prmAdjQcBuffer = arFile.readChars(varQC, profNum, prmAdjQcBuffer);
 				} catch (InvalidRangeException e) {
 					throw new IOException("Unable to read " + varName + "_QC[" + profNum + "]: InvalidRangeException");
 				}
@@ -2001,14 +1929,13 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 						// CK_0077
 						// ========
 						// ..check the per level QC flag
-						SkosConcept qcFlagsTableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE
-								.getConceptMembersByAltLabelMap().get(String.valueOf(prm_adj_qc[k]));
+						byte qcClass = paramQcColumns.qcClass(prm_adj_qc[k]);
 
-						if (qcFlagsTableEntry != null) {
+						if (qcClass != ParamQcColumns.QC_NOT_IN_TABLE) {
 							// ========
 							// CK_0189
 							// ========
-							if (qcFlagsTableEntry.isDeprecated()) {
+							if (qcClass == ParamQcColumns.QC_DEPRECATED) {
 								depQC++;
 							}
 
@@ -2248,13 +2175,11 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 			char expProfQC = 'x';
 			char profileQCFillValue = ' ';
 
-			SkosConcept tableEntry;
-			tableEntry = ArgoNVSReferenceTable.PROF_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-					.get(String.valueOf(profQC));
+			byte codeStatus = ArgoNVSReferenceTable.PROF_QC_FLAG_TABLE.getSingleCharTable().status(profQC);
 			// =======
 			// CK_0058
 			// =======
-			if (profQC != profileQCFillValue && tableEntry == null) {
+			if (profQC != profileQCFillValue && codeStatus == SingleCharTable.INVALID) {
 				validationResult.addError("PROFILE_" + param + "_QC[" + (profNum + 1) + "]: '" + profQC + ": "
 						+ SkosConcept.INVALID_ALTLABEL_MESSAGE);
 
@@ -2262,7 +2187,7 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 				// =======
 				// CK_190
 				// =======
-				if (tableEntry != null && tableEntry.isDeprecated()) {
+				if (codeStatus == SingleCharTable.DEPRECATED) {
 					validationResult.addWarning("PROFILE_" + param + "_QC[" + (profNum + 1) + "]: '" + profQC + "': "
 							+ SkosConcept.DEPRECATED_CONCEPT);
 				}
@@ -2386,24 +2311,24 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 
 		String juldQC = arFile.readString("JULD_QC", true);// ..true -> return NULLs if present
 		String posQC = arFile.readString("POSITION_QC", true);// ..true -> return NULLs if present
-		// NVS table entry:
-		SkosConcept tableEntry;
+		// NVS table: status of the QC flags
+		SingleCharTable qcFlags = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getSingleCharTable();
+		byte codeStatus;
 		// ...........loop over each profile in the file.............
 		for (int n = 0; n < nProf; n++) {
 			Character ch;
 			ch = juldQC.charAt(n);
 
-			tableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-					.get(String.valueOf(ch));
+			codeStatus = qcFlags.status(ch);
 
 			// =======
 			// CK_0052
 			// =======
-			if (tableEntry != null) {
+			if (codeStatus != SingleCharTable.INVALID) {
 				// =======
 				// CK_0169
 				// =======
-				if (tableEntry.isDeprecated()) {
+				if (codeStatus == SingleCharTable.DEPRECATED) {
 					validationResult.addWarning(
 							"JULD_QC[" + (n + 1) + "]: '" + ch + "' Status: " + SkosConcept.DEPRECATED_CONCEPT);
 				}
@@ -2417,13 +2342,12 @@ public class ArgoProfileFileValidator extends ArgoFileValidator {
 			// CK_0055
 			// =======
 			ch = posQC.charAt(n);
-			tableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-					.get(String.valueOf(ch));
-			if (tableEntry != null) {
+			codeStatus = qcFlags.status(ch);
+			if (codeStatus != SingleCharTable.INVALID) {
 				// =======
 				// CK_0175
 				// =======
-				if (tableEntry.isDeprecated()) {
+				if (codeStatus == SingleCharTable.DEPRECATED) {
 					validationResult.addWarning(
 							"POSITION_QC[" + (n + 1) + "]: '" + ch + "' Status: " + SkosConcept.DEPRECATED_CONCEPT);
 				}
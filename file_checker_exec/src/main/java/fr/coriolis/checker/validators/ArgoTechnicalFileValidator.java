@@ -82,23 +82,23 @@ public class ArgoTechnicalFileValidator extends ArgoFileValidator {
 	 * @param dacName name of the DAC for this file
 	 * @cknulls true = check for 'null' characters in the String values
 	 * @return success indicator. true - validation was performed. false -
-	 *         validation could not be performed (getMessage() will return the
+	 *         validation could not be performed (the file Diagnostic holds the
 	 *         reason).
 	 * @throws IOException If an I/O error occurs
 	 */
 	public boolean validateData(String dacName, boolean ckNulls) throws IOException {
-		boolean basicsChecks = super.basicDataValidation(ckNulls);
+		boolean basicsChecks = produce("basicDataValidation", () -> super.basicDataValidation(ckNulls));
 		if (!basicsChecks) {
 			return false;
 		}
 
 		// Validate tech meta data
-		validateMetaData(arFile.getValidatedDac());
+		check("validateMetaData", () -> validateMetaData(arFile.getValidatedDac()));
 
-		validateDates();
+		check("validateDates", () -> validateDates());
 
 		if (arFile.fileVersion().startsWith("2.4") || arFile.fileVersion().startsWith("3")) {
-			validateTechParams();
+			check("validateTechParams", () -> validateTechParams());
 		}
 
 		return true;
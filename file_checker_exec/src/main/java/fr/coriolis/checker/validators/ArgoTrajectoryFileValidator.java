@@ -11,15 +11,19 @@ import java.util.HashSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import fr.coriolis.checker.config.Options;
 import fr.coriolis.checker.core.ArgoDataFile;
 import fr.coriolis.checker.core.ArgoDataFile.FileType;
 import fr.coriolis.checker.specs.ArgoDate;
 import fr.coriolis.checker.specs.ArgoReferenceTable;
 import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+import fr.coriolis.checker.tables.SingleCharTable;
 import fr.coriolis.checker.tables.SkosConcept;
 import ucar.ma2.Array;
 import ucar.ma2.DataType;
 import ucar.ma2.Index;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFile;
 import ucar.nc2.Variable;
 
 /**
@@ -54,6 +58,13 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 	private final static String goodJuldQC = new String("01258");
 
+	// ..number of values of a N_MEASUREMENT variable read at once by the checks
+	// ..run window by window (see measurementWindow); 0: whole variables
+	private static final int MEASUREMENT_WINDOW = Options.getTrajWindow();
+
+	// ..number of JULD values converted to times at once (see validateMC_and_JULD)
+	private static final int JULD_CHUNK = 4096;
+
 	// .......................................
 	// CONSTRUCTORS
 	// .......................................
@@ -94,12 +105,12 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 	 * @param dacName name of the DAC for this file
 	 * @param ckNulls true = check all strings for NULL values; false = skip
 	 * @return success indicator. true - validation was performed. false -
-	 *         validation could not be performed (getMessage() will return the
+	 *         validation could not be performed (the file Diagnostic holds the
 	 *         reason).
 	 * @throws IOException If an I/O error occurs
 	 */
 	public boolean validateData(String dacName, boolean ckNulls) throws IOException {
-		boolean basicsChecks = super.basicDataValidation(ckNulls);
+		boolean basicsChecks = produce("basicDataValidation", () -> super.basicDataValidation(ckNulls));
 		if (!basicsChecks) {
 			return false;
 		}
@@ -120,17 +131,22 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			log.debug("N_PARAM:       {}", nParam);
 		}
 
-		pass = validateMetaData(arFile.getValidatedDac());
+		pass = produce("validateMetaData", () -> validateMetaData(arFile.getValidatedDac()));
 		if (!pass) {
 			return true;
 		}
 
-		validateDates(nParam, nHistory);
+		// ..sets the dates of the file
+		produce("validateDates", () -> {
+			validateDates(nParam, nHistory);
+			return null;
+		});
 
-		ArrayList<String> paramList = validateTrajectoryParameters(nParam);
+		ArrayList<String> paramList = produce("validateTrajectoryParameters",
+				() -> validateTrajectoryParameters(nParam));
 
 		char[] mode_nCycle = new char[nCycle];
-		char overallDM = validateDataMode(mode_nCycle);
+		char overallDM = produce("validateDataMode", () -> validateDataMode(mode_nCycle));
 
 		// ....validate the CYCLE_NUMBER / CYCLE_NUMBER_INDEX variable groups....
 		// ..these are too important to all the other checks. If fail, checking is
@@ -140,7 +156,8 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 		char[] mode_nMeasure = new char[nMeasure];
 
-		pass = validateCycleNumber(nMeasure, nCycle, overallDM, mode_nCycle, CycNumIndex_cycle2index, mode_nMeasure);
+		pass = produce("validateCycleNumber", () -> validateCycleNumber(nMeasure, nCycle, overallDM, mode_nCycle,
+				CycNumIndex_cycle2index, mode_nMeasure));
 
 		if (!pass) {
 			// ..the mapping from cyc_num to cyc_num_index is too important to continue w/o
@@ -152,23 +169,20 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 		}
 
 		// .....validate the measurement_code and JULD[N_MEASUREMENT] variables....
-		// ..sends back a bunch of info for later checks
 
-		Final_NMeasurement_Variables[] finalNMVars = new Final_NMeasurement_Variables[nMeasure];
-
-		pass = validateMC_and_JULD(nMeasure, mode_nMeasure, finalNMVars);
+		pass = produce("validateMC_and_JULD", () -> validateMC_and_JULD(nMeasure, mode_nMeasure));
 
 		// .....validate the JULD_*[N_CYCLE] variables.......
-
-		validateNCycleJuld(nMeasure, nCycle, CycNumIndex_cycle2index, finalNMVars);
-
 		// ......validate the rest of the stuff.......
+		// ..these checks do not depend on each other (see RuleGroups)
 
-		validatePosition(nMeasure);
-
-		validateParams(nMeasure, mode_nMeasure, paramList);
-
-		validateNCycle(nCycle, mode_nCycle);
+		new RuleGroups(this)
+				.add("validateNCycleJuld",
+						() -> validateNCycleJuld(nMeasure, nCycle, CycNumIndex_cycle2index))
+				.add("validatePosition", () -> validatePosition(nMeasure))
+				.add("validateParams", () -> validateParams(nMeasure, mode_nMeasure, paramList))
+				.add("validateNCycle", () -> validateNCycle(nCycle, mode_nCycle))
+				.run();
 
 		log.debug(".....validate: end.....");
 
@@ -827,25 +841,27 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 	 *
 	 * Variable checks:
 	 *
+	 * <p>
+	 * The N_MEASUREMENT variables are read and checked window by window (see
+	 * measurementWindow): the error trackers carry the counts over.
 	 *
 	 * @param nMeasure      N_MEASUREMENT value
 	 * @param mode_nMeasure DATA_MODE mapped into [N_MEASUREMENT] space
-	 * @param fv            (OUTPUT!) Information for later processing
 	 * @return true = checks passed; false = checks failed
 	 * @throws IOException If an I/O error occurs
 	 */
 
-	public boolean validateMC_and_JULD(int nMeasure, char[] mode_nMeasure,
-			// HashMap<Integer, Integer>CycNumIndex_cycle2index,
-			Final_NMeasurement_Variables[] fv) throws IOException {
+	public boolean validateMC_and_JULD(int nMeasure, char[] mode_nMeasure) throws IOException {
 		log.debug(".....validateMC_and_JULD: start.....");
 		log.debug("nMeasure = {}", nMeasure);
 
 		boolean core = false;
-		ArgoReferenceTable.ArgoReferenceEntry info;
 
 		// NVS tables entry :
 		SkosConcept tableEntry;
+		SingleCharTable qcFlags = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getSingleCharTable();
+		SingleCharTable statusCodes = ArgoNVSReferenceTable.STATUS_TABLE.getSingleCharTable();
+		byte codeStatus;
 
 		if (arFile.fileType() == FileType.TRAJECTORY) {
 			// ..implies this is 1) a v3.2+ or 2) a pre-v3.2 core-file (NOT a bio-file)
@@ -854,236 +870,452 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 		log.debug("core = {}", core);
 
-		// ..............cycle_number...............
-		log.debug("..validate CYCLE_NUMBER");
+		NetcdfFile nc = arFile.getNcReader();
+		Variable varCycle = nc.findVariable("CYCLE_NUMBER");
+		Variable varCode = nc.findVariable("MEASUREMENT_CODE");
+		Variable varJuld = nc.findVariable("JULD");
+		Variable varJuldQC = nc.findVariable("JULD_QC");
+		Variable varJuldStatus = nc.findVariable("JULD_STATUS");
 
-		int[] cycle = arFile.readIntArr("CYCLE_NUMBER");
+		// ..Bio-trajectory files do NOT contain these variables
+
+		Variable varCycleAdj = null;
+		Variable varJuldAdj = null;
+		Variable varJuldAdjQC = null;
+		Variable varJuldAdjStatus = null;
+		Variable varJuldMode = null;
 
-		int[] cycle_adj = null;
 		if (core) {
-			cycle_adj = arFile.readIntArr("CYCLE_NUMBER_ADJUSTED");
-		}
+			varCycleAdj = nc.findVariable("CYCLE_NUMBER_ADJUSTED");
+			varJuldAdj = nc.findVariable("JULD_ADJUSTED");
+			varJuldAdjQC = nc.findVariable("JULD_ADJUSTED_QC");
+			varJuldAdjStatus = nc.findVariable("JULD_ADJUSTED_STATUS");
 
-		int[] finalCycle = new int[nMeasure];
+			// ..get the juld_data_mode
+
+			varJuldMode = nc.findVariable("JULD_DATA_MODE");
+			if (varJuldMode == null || varJuldMode.getSize() == 0) {
+				// ..pre-v3.2 file
+				log.debug("JULD_DATA_MODE missing - pre-v3.2");
+				varJuldMode = null;
 
-		for (int n = 0; n < nMeasure; n++) {
-			// ..set a "final cycle" for this measurement
-			if (core && cycle_adj[n] < fillCycNum) {
-				finalCycle[n] = cycle_adj[n];
 			} else {
-				finalCycle[n] = cycle[n];
+				// ..v3.2+ file
+				log.debug("JULD_DATA_MODE exists - v3.2+");
 			}
 		}
 
-		// ..........MEASUREMENT_CODE............
-		log.debug("..validate MEASUREMENT_CODE");
-
-		int[] m_code = arFile.readIntArr("MEASUREMENT_CODE");
-
+		// .....MEASUREMENT_CODE.....
 		ErrorTracker delCode = new ErrorTracker();
 		ErrorTracker depCode = new ErrorTracker();
 		ErrorTracker invCode = new ErrorTracker();
 
-		for (int n = 0; n < nMeasure; n++) {
+		// .....JULD.....
+		ErrorTracker depQC = new ErrorTracker(); // ..count of deprecated QC codes
+		ErrorTracker depStatus = new ErrorTracker();// ..count of deprecated Status codes
+		ErrorTracker invQC = new ErrorTracker(); // ..count of invalid QC codes
+		ErrorTracker invStatus = new ErrorTracker();// ..count of invalid Status codes
+		ErrorTracker incStatus = new ErrorTracker();// ..count of inconsistent QC/Status codes
+		ErrorTracker notMiss = new ErrorTracker(); // ..count of juld missing & QC not miss
+		ErrorTracker noQC = new ErrorTracker(); // ..count of juld set & QC set to missing
 
-			// ..check values of of MC:
-			// .. general rule:
-			// .. multiples of 50 and 100 are LEGAL
-			// ..
-			// .. with these caveats:
-			// .. < 0 is illegal
-			// .. 0 is LEGAL
-			// .. 50 is illegal
-			// .. > 925 is illegal
-			// ..
-			// .. (some of the "50-codes" are unassigned. I am ignoring that)
-			// ..
-			// .. relative codes: MC is a multiple of 50
-			// .. the relative codes are specified as MC-15 to MC-1
-			// ..
-			// .. specific codes: There is a list (table) of specifically allowed codes
-
-			// ..NOTE: "%" is "remaindering" relative to the lower number
-			// ..
-			// .. MC1 MC2
-			// .. |------->| rem === remainder
-			// .. |<----| rel === valid relative codes
-
-			int rem = m_code[n] % 50;
-			int rel = rem - 50;
+		// .....JULD_ADJUSTED.....
+		ErrorTracker adjNotAorD = new ErrorTracker(); // ..count of juld_adj set but not mode A or D
+		ErrorTracker adjDepQC = new ErrorTracker(); // ..count of deprecated QC codes
+		ErrorTracker adjDepStatus = new ErrorTracker(); // ..count of deprecated Status codes
+		ErrorTracker adjInvQC = new ErrorTracker(); // ..count of invalid QC codes
+		ErrorTracker adjInvStatus = new ErrorTracker(); // ..count of invalid Status codes
+		ErrorTracker adjIncStatus = new ErrorTracker(); // ..count of inconsistent QC/Status codes
+		ErrorTracker adjNotMiss = new ErrorTracker(); // ..count of juld missing & QC not set to missing
+		ErrorTracker adjNoQC = new ErrorTracker(); // ..count of juld set & QC set to missing
+
+		// .....reasonable juld dates.....
+		String update = arFile.readString("DATE_UPDATE");
+		Date dateUpdate = ArgoDate.get(update);
+		long updateSec = dateUpdate.getTime();
 
-			// =======
-			// CK_0226
-			// =======
-			if (m_code[n] == 0) {
-				// ..this is valid
+		if (log.isDebugEnabled()) {
+			log.debug("earliestDate:  " + ArgoDate.format(earliestDate));
+			log.debug("DATE_UPDATE:   " + update);
+		}
 
-			} else if (m_code[n] <= 50 || m_code[n] > 925) {
-				// ..invalid codes
-				invCode.increment(n);
-				log.debug("m_code[{}]: invalid code = {}, rem = {}, rel = {}", n, m_code[n], rem, rel);
+		ErrorTracker juldAfterUpdate = new ErrorTracker();
+		ErrorTracker juldBeforeEarliest = new ErrorTracker();
 
-			} else if (rem == 0) {
-				// ..this is a valid primary/secondary code
+		ErrorTracker juld_adjAfterUpdate = new ErrorTracker();
+		ErrorTracker juld_adjBeforeEarliest = new ErrorTracker();
 
-				// ..later I am going to need to know where these are for checking
-				// ..the N_CYCLE JULD_* variables
+		// ..the JULD values are converted to times chunk by chunk (no Date per value)
+		long earliestSec = earliestDate.getTime();
+		long[] juldSec = new long[Math.min(nMeasure, JULD_CHUNK)];
+		long[] juld_adjSec = (core ? new long[juldSec.length] : null);
 
-			} else if (rel < -15) {
-				// ..this is NOT a valid relative code
+		boolean fail = false;
 
-				// ..is it a valid "specfic code"?
-				// =======
-				// CK_0227
-				// =======
-				tableEntry = ArgoNVSReferenceTable.MEASUREMENT_CODE_ID_TABLE.getConceptMembersByAltLabelMap()
-						.get(String.valueOf(m_code[n]));
-				if (tableEntry != null) {
-					// =======
-					// CK_0228
-					// =======
-					if (tableEntry.isDeprecated()) {
-						depCode.increment(n);
-						log.debug("m_code[{}]: deprecated code = {}, rem = {}, rel = {}", n, m_code[n], rem, rel);
-					}
+		int[] cycle = null;
+		int[] cycle_adj = null;
+		int[] m_code = null;
+		double[] juld = null;
+		char[] juld_qc = null;
+		char[] juld_status = null;
+		double[] juld_adj = null;
+		char[] juld_adj_qc = null;
+		char[] juld_adj_status = null;
+		char[] juld_mode = null;
 
-				} else {
-					invCode.increment(n);
-					log.debug("m_code[{}]: invalid code = {}, rem = {}, rel = {}", n, m_code[n], rem, rel);
+		int window = measurementWindow(nMeasure, varJuld);
+
+		for (int start = 0; start < nMeasure; start += window) {
+			int count = Math.min(window, nMeasure - start);
+
+			try {
+				cycle = arFile.readInts(varCycle, start, count, cycle);
+				m_code = arFile.readInts(varCode, start, count, m_code);
+				juld = arFile.readDoubles(varJuld, start, count, juld);
+				juld_qc = arFile.readChars(varJuldQC, start, count, juld_qc); // ..NULLs included
+				juld_status = arFile.readChars(varJuldStatus, start, count, juld_status); // ..NULLs included
+
+				if (core) {
+					cycle_adj = arFile.readInts(varCycleAdj, start, count, cycle_adj);
+					juld_adj = arFile.readDoubles(varJuldAdj, start, count, juld_adj);
+					juld_adj_qc = arFile.readChars(varJuldAdjQC, start, count, juld_adj_qc);
+					juld_adj_status = arFile.readChars(varJuldAdjStatus, start, count, juld_adj_status);
+
+					if (varJuldMode != null) {
+						juld_mode = arFile.readChars(varJuldMode, start, count, juld_mode);
+					}
 				}
-			}
-		}
 
-		log.debug("invCode.counter = {}", invCode.counter);
-		log.debug("depCode.counter = {}", depCode.counter);
-		log.debug("delCode.counter = {}", delCode.counter);
+			} catch (InvalidRangeException e) {
+				throw new IOException("validateMC_and_JULD: " + e.getMessage());
+			}
+
+			for (int n = 0; n < count; n++) {
+				int m = start + n;
+
+				// ..........MEASUREMENT_CODE............
+
+				// ..check values of of MC:
+				// .. general rule:
+				// .. multiples of 50 and 100 are LEGAL
+				// ..
+				// .. with these caveats:
+				// .. < 0 is illegal
+				// .. 0 is LEGAL
+				// .. 50 is illegal
+				// .. > 925 is illegal
+				// ..
+				// .. (some of the "50-codes" are unassigned. I am ignoring that)
+				// ..
+				// .. relative codes: MC is a multiple of 50
+				// .. the relative codes are specified as MC-15 to MC-1
+				// ..
+				// .. specific codes: There is a list (table) of specifically allowed codes
+
+				// ..NOTE: "%" is "remaindering" relative to the lower number
+				// ..
+				// .. MC1 MC2
+				// .. |------->| rem === remainder
+				// .. |<----| rel === valid relative codes
+
+				int rem = m_code[n] % 50;
+				int rel = rem - 50;
 
-		invCode.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
-				"MEASUREMENT_CODE: Invalid measurement codes at ", "measurements");
-		depCode.addMessage(validationResult.getWarnings(), "MEASUREMENT_CODE: Deprecated measurement codes at ",
-				"measurements");
-		delCode.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
-				"MEASUREMENT_CODE: Obsolete measurement codes at ", "measurements");
+				// =======
+				// CK_0226
+				// =======
+				if (m_code[n] == 0) {
+					// ..this is valid
 
-		// ..........JULD............
-		log.debug("..validate JULD");
+				} else if (m_code[n] <= 50 || m_code[n] > 925) {
+					// ..invalid codes
+					invCode.increment(m);
+					log.debug("m_code[{}]: invalid code = {}, rem = {}, rel = {}", m, m_code[n], rem, rel);
 
-		// ..read juld and associated variables
+				} else if (rem == 0) {
+					// ..this is a valid primary/secondary code
 
-		double[] juld = arFile.readDoubleArr("JULD");
+					// ..later I am going to need to know where these are for checking
+					// ..the N_CYCLE JULD_* variables
 
-		String str = arFile.readString("JULD_QC", true); // ..true -> include any NULLs
-		char[] juld_qc = new char[nMeasure];
-		for (int n = 0; n < nMeasure; n++) {
-			juld_qc[n] = str.charAt(n);
-		}
+				} else if (rel < -15) {
+					// ..this is NOT a valid relative code
 
-		str = arFile.readString("JULD_STATUS", true); // ..true -> include any NULLs
-		char[] juld_status = new char[nMeasure];
-		log.debug("juld_status length = {}", str.length());
-		log.debug("juld_status = '{}'", str);
+					// ..is it a valid "specfic code"?
+					// =======
+					// CK_0227
+					// =======
+					tableEntry = ArgoNVSReferenceTable.MEASUREMENT_CODE_ID_TABLE.getConceptMembersByAltLabelMap()
+							.get(String.valueOf(m_code[n]));
+					if (tableEntry != null) {
+						// =======
+						// CK_0228
+						// =======
+						if (tableEntry.isDeprecated()) {
+							depCode.increment(m);
+							log.debug("m_code[{}]: deprecated code = {}, rem = {}, rel = {}", m, m_code[n], rem,
+									rel);
+						}
 
-		for (int n = 0; n < nMeasure; n++) {
-			juld_status[n] = str.charAt(n);
-		}
+					} else {
+						invCode.increment(m);
+						log.debug("m_code[{}]: invalid code = {}, rem = {}, rel = {}", m, m_code[n], rem, rel);
+					}
+				}
 
-		boolean fail = false;
+				// ..........JULD............
 
-		ErrorTracker depQC = new ErrorTracker(); // ..count of deprecated QC codes
-		ErrorTracker depStatus = new ErrorTracker();// ..count of deprecated Status codes
-		ErrorTracker invQC = new ErrorTracker(); // ..count of invalid QC codes
-		ErrorTracker invStatus = new ErrorTracker();// ..count of invalid Status codes
-		ErrorTracker incStatus = new ErrorTracker();// ..count of inconsistent QC/Status codes
-		ErrorTracker notMiss = new ErrorTracker(); // ..count of juld missing & QC not miss
-		ErrorTracker noQC = new ErrorTracker(); // ..count of juld set & QC set to missing
+				if (juld_qc[n] != ' ') {
+					codeStatus = qcFlags.status(juld_qc[n]);
+					// =======
+					// CK_0229
+					// =======
+					if (codeStatus != SingleCharTable.INVALID) {
+						// =======
+						// CK_0230
+						// =======
+						if (codeStatus == SingleCharTable.DEPRECATED) {
+							depQC.increment(m);
+						}
+					} else {
+						invQC.increment(m);
+					}
+				}
 
-		for (int n = 0; n < nMeasure; n++) {
+				if (juld_status[n] != ' ') {
+					codeStatus = statusCodes.status(juld_status[n]);
+					// =======
+					// CK_0231
+					// =======
+					if (codeStatus != SingleCharTable.INVALID) {
+						// =======
+						// CK_0232
+						// =======
+						if (codeStatus == SingleCharTable.DEPRECATED) {
+							depStatus.increment(m);
+						}
 
-			if (juld_qc[n] != ' ') {
-				tableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-						.get(String.valueOf(juld_qc[n]));
+					} else {
+						invStatus.increment(m);
+					}
+				}
 				// =======
-				// CK_0229
+				// CK_0233
 				// =======
-				if (tableEntry != null) {
+				if ((juld_qc[n] == ' ') ^ (juld_status[n] == ' ')) {
+					incStatus.increment(m);
+					log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'", m,
+							juld[n], juld_status[n], juld_qc[n]);
+
+				} else if ((juld_qc[n] == '9') ^ (juld_status[n] == '9')) {
+					incStatus.increment(m);
+					log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'", m,
+							juld[n], juld_status[n], juld_qc[n]);
+				}
+				// =======
+				// CK_0234
+				// =======
+				if (ArgoFileValidator.is_999_999_FillValue(juld[n])) {
+					// ..data is missing - QC better be too
+					if (!(juld_qc[n] == '9' || juld_qc[n] == ' ')) {
+						notMiss.increment(m);
+					}
+
+				} else {
+					// ..data not missing - check QC value
 					// =======
-					// CK_0230
+					// CK_0235
 					// =======
-					if (tableEntry.isDeprecated()) {
-						depQC.increment(n);
+					if (juld_qc[n] == ' ' || juld_qc[n] == '9') {
+						noQC.increment(m);
 					}
-				} else {
-					invQC.increment(n);
 				}
-			}
 
-			if (juld_status[n] != ' ') {
-				tableEntry = ArgoNVSReferenceTable.STATUS_TABLE.getConceptMembersByAltLabelMap()
-						.get(String.valueOf(juld_status[n]));
-				// =======
-				// CK_0231
-				// =======
-				if (tableEntry != null) {
+				// ..........JULD_ADJUSTED............
+				// ..not in bio-traj files
+
+				if (core) {
+					if (juld_adj_qc[n] != ' ') {
+						codeStatus = qcFlags.status(juld_adj_qc[n]);
+						// =======
+						// CK_0238
+						// =======
+						if (codeStatus != SingleCharTable.INVALID) {
+							// =======
+							// CK_0239
+							// =======
+							if (codeStatus == SingleCharTable.DEPRECATED) {
+								adjDepQC.increment(m);
+							}
+
+						} else {
+							adjInvQC.increment(m);
+						}
+					}
+
+					if (juld_adj_status[n] != ' ') {
+						codeStatus = statusCodes.status(juld_adj_status[n]);
+						// =======
+						// CK_0240
+						// =======
+						if (codeStatus != SingleCharTable.INVALID) {
+							// =======
+							// CK_0241
+							// =======
+							if (codeStatus == SingleCharTable.DEPRECATED) {
+								adjDepStatus.increment(m);
+							}
+
+						} else {
+							adjInvStatus.increment(m);
+						}
+					}
 					// =======
-					// CK_0232
+					// CK_0242
 					// =======
-					if (tableEntry.isDeprecated()) {
-						depStatus.increment(n);
+					if ((juld_adj_qc[n] == ' ') ^ (juld_adj_status[n] == ' ')) {
+						adjIncStatus.increment(m);
+						log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'",
+								m, juld[n], juld_adj_status[n], juld_adj_qc[n]);
+
+					} else if ((juld_adj_qc[n] == '9') ^ (juld_adj_status[n] == '9')) {
+						adjIncStatus.increment(m);
+						log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'",
+								m, juld[n], juld_adj_status[n], juld_adj_qc[n]);
 					}
+					// =======
+					// CK_0243
+					// =======
+					if (ArgoFileValidator.is_999_999_FillValue(juld_adj[n])) {
+						// ..data is missing - QC better be too
+						if (!(juld_adj_qc[n] == '9' || juld_adj_qc[n] == ' ')) {
+							adjNotMiss.increment(m);
+						}
 
-				} else {
-					invStatus.increment(n);
+					} else {
+						// ..juld_adj not missing - check QC value
+						// =======
+						// CK_0244
+						// =======
+						if (juld_adj_qc[n] == ' ' || juld_adj_qc[n] == '9') {
+							adjNoQC.increment(m);
+						}
+
+						// ..juld_adj not missing --- the possibilities are
+						// ..case 1: juld missing, juld_adj not missing:
+						// .. - this represents "estimation" and mode can be anything
+						// ..case 2: juld not missing, juld_adj not missing:
+						// .. - mode = 'A' or 'D'
+
+						if (!ArgoFileValidator.is_999_999_FillValue(juld[n])) {
+							// ..juld not missing, juld_adj not missing -- mode must be 'A' or 'D'
+
+							// ..but ignore the "launch cycle" (-1)
+							// ..(the "final cycle" of this measurement)
+
+							int finalCycle = (cycle_adj[n] < fillCycNum ? cycle_adj[n] : cycle[n]);
+
+							if (finalCycle > 0) {
+								// ..JULD_DATA_MODE (v3.2+) or the data mode of the cycle (pre-v3.2)
+								char mode = (juld_mode != null ? juld_mode[n] : mode_nMeasure[m]);
+								// =======
+								// CK_0245
+								// =======
+								if (mode != 'A' && mode != 'D') {
+									adjNotAorD.increment(m);
+								}
+							}
+						}
+					}
 				}
-			}
-			// =======
-			// CK_0233
-			// =======
-			if ((juld_qc[n] == ' ') ^ (juld_status[n] == ' ')) {
-				incStatus.increment(n);
-				log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'", n,
-						juld[n], juld_status[n], juld_qc[n]);
-
-			} else if ((juld_qc[n] == '9') ^ (juld_status[n] == '9')) {
-				incStatus.increment(n);
-				log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'", n,
-						juld[n], juld_status[n], juld_qc[n]);
-			}
-
-			/*
-			 * if (juld_qc[n] == ' ' || juld_qc[n] == '9') { if (! (juld_status[n] == ' ' ||
-			 * juld_status[n] == '9') ) { incStatus.increment(n);
-			 * log.debug("qc/status inconsistent: "+
-			 * "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'", n, juld[n],
-			 * juld_status[n], juld_qc[n]); } }
-			 */
-			// =======
-			// CK_0234
-			// =======
-			if (ArgoFileValidator.is_999_999_FillValue(juld[n])) {
-				// ..data is missing - QC better be too
-				if (!(juld_qc[n] == '9' || juld_qc[n] == ' ')) {
-					notMiss.increment(n);
+
+				// .............check for reasonable juld dates.............
+
+				if (n % JULD_CHUNK == 0) {
+					int end = Math.min(count, n + JULD_CHUNK);
+					ArgoDate.toMillis(juld, n, end, juldSec);
+					if (core) {
+						ArgoDate.toMillis(juld_adj, n, end, juld_adjSec);
+					}
 				}
 
-			} else {
-				// ..data not missing - check QC value
-				// =======
-				// CK_0235
-				// =======
-				if (juld_qc[n] == ' ' || juld_qc[n] == '9') {
-					noQC.increment(n);
+				// ...JULD...
+
+				int qc_index = goodJuldQC.indexOf(juld_qc[n]);
+
+				if (qc_index >= 0) {
+					// ..QC indicates "good"
+
+					if (!ArgoFileValidator.is_999_999_FillValue(juld[n])) {
+
+						// ..check that JULD is after earliestDate and before DATE_UPDATE
+
+						long sec = juldSec[n % JULD_CHUNK];
+
+						// =======
+						// CK_0236
+						// =======
+						if (sec < earliestSec) {
+							juldBeforeEarliest.increment(m);
+						}
+
+						// =======
+						// CK_0237
+						// =======
+						if ((sec - updateSec) > oneDaySec) {
+							juldAfterUpdate.increment(m);
+						}
+					}
 				}
-			}
-		}
+
+				// ...JULD_ADJUSTED...
+				// ..not in bio-traj files
+
+				if (core) {
+					qc_index = goodJuldQC.indexOf(juld_adj_qc[n]);
+
+					if (qc_index >= 0) {
+						if (!ArgoFileValidator.is_999_999_FillValue(juld_adj[n])) {
+
+							// ..check that JULD_ADJUSTED is after earliestDate and before DATE_UPDATE
+
+							long sec = juld_adjSec[n % JULD_CHUNK];
+							// =======
+							// CK_0246
+							// =======
+							if (sec < earliestSec) {
+								juld_adjBeforeEarliest.increment(m);
+							}
+
+							// =======
+							// CK_0247
+							// =======
+							if ((sec - updateSec) > oneDaySec) {
+								juld_adjAfterUpdate.increment(m);
+							}
+						}
+					}
+				}
+			} // ..end for (n < count)
+		} // ..end for (start < nMeasure)
+
+		// ..........MEASUREMENT_CODE............
+
+		log.debug("invCode.counter = {}", invCode.counter);
+		log.debug("depCode.counter = {}", depCode.counter);
+		log.debug("delCode.counter = {}", delCode.counter);
+
+		invCode.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+				"MEASUREMENT_CODE: Invalid measurement codes at ", "measurements");
+		depCode.addMessage(validationResult.getWarnings(), "MEASUREMENT_CODE: Deprecated measurement codes at ",
+				"measurements");
+		delCode.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+				"MEASUREMENT_CODE: Obsolete measurement codes at ", "measurements");
+
+		// ..........JULD............
 
 		log.debug("invQC, invStatus, incStatus, notMiss, noQC = {}, {}, {}, {}, {}", invQC.counter, invStatus.counter,
 				incStatus.counter, notMiss.counter, noQC.counter);
-		/*
-		 * log.
-		 * debug("invQC, invStatus, inc_Status, inc9Status, notMiss, noQC = {}, {}, {}, {}, {}, {}"
-		 * , invQC.counter, invStatus.counter, inc_Status.counter, inc9Status.counter,
-		 * notMiss.counter, noQC.counter);
-		 */
 
 		if (invQC.counter > 0) {
 			// fail = true;
@@ -1109,13 +1341,6 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			incStatus.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 					"JULD_QC / JULD_STATUS: Use of ' ' or '9' is inconsistent at", "measurements");
 		}
-		/*
-		 * if (inc_Status.counter > 0) { //fail = true;
-		 * inc_Status.addMessage(formatErrors, "JULD_QC = ' '; JULD_STATUS not ' ': At",
-		 * "measurements"); } if (inc9Status.counter > 0) { //fail = true;
-		 * inc_Status.addMessage(formatErrors, "JULD_QC = '9'; JULD_STATUS not '9': At",
-		 * "measurements"); }
-		 */
 		if (notMiss.counter > 0) {
 			// fail = true;
 			notMiss.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
@@ -1130,223 +1355,46 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 		log.debug("fail = {}", fail);
 
 		// ..........JULD_ADJUSTED............
-		log.debug("..validate JULD_ADJUSTED");
-
-		// ..Bio-trajectory files do NOT contain these variables
-
-		double[] juld_adj = null;
-		char[] juld_adj_qc = null;
-		char[] juld_adj_status = null;
 
 		if (core) {
-			// ..read juld_adjusted and associated variables
-
-			juld_adj = arFile.readDoubleArr("JULD_ADJUSTED");
+			log.debug("invQC, invStatus, incStatus = {}, {}, {}", adjInvQC.counter, adjInvStatus.counter,
+					adjIncStatus.counter);
+			log.debug("notMiss, noQC, adjNotAorD = {}, {}, {}", adjNotMiss.counter, adjNoQC.counter,
+					adjNotAorD.counter);
 
-			str = arFile.readString("JULD_ADJUSTED_QC", true); // ..true -> include any NULLs
-			juld_adj_qc = new char[nMeasure];
-			for (int n = 0; n < nMeasure; n++) {
-				juld_adj_qc[n] = str.charAt(n);
+			if (adjInvQC.counter > 0) {
+				// fail = true;
+				adjInvQC.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+						"JULD_ADJUSTED_QC: Invalid QC code at", "measurements");
 			}
-
-			str = arFile.readString("JULD_ADJUSTED_STATUS", true); // ..true -> include any NULLs
-			juld_adj_status = new char[nMeasure];
-			for (int n = 0; n < nMeasure; n++) {
-				juld_adj_status[n] = str.charAt(n);
+			if (adjDepQC.counter > 0) {
+				// fail = true;
+				adjDepQC.addMessage(validationResult.getWarnings(), "JULD_ADJUSTED_QC: Deprecated QC code at",
+						"measurements");
 			}
-
-			// ..get the juld_data_mode
-
-			char mode[];
-
-			str = arFile.readString("JULD_DATA_MODE");
-			if (str == null) {
-				// ..pre-v3.2 file
-				log.debug("JULD_DATA_MODE missing - pre-v3.2");
-				mode = Arrays.copyOf(mode_nMeasure, nMeasure);
-
-			} else {
-				// ..v3.2+ file
-				log.debug("JULD_DATA_MODE exists - v3.2+");
-				mode = str.toCharArray();
-			}
-
-			// ....boolean fail = false; DON'T reset - want it to be cumulative for both
-			ErrorTracker adjNotAorD = new ErrorTracker(); // ..count of juld_adj set but not mode A or D
-			depQC.reset(); // ..count of deprecated QC codes
-			depStatus.reset(); // ..count of deprecated Status codes
-			invQC.reset(); // ..count of invalid QC codes
-			invStatus.reset(); // ..count of invalid Status codes
-			incStatus.reset(); // ..count of inconsistent QC/Status codes
-			// inc_Status.reset(); //..count of inconsistent QC/Status codes
-			// inc9Status.reset(); //..count of inconsistent QC/Status codes
-			notMiss.reset(); // ..count of juld missing & QC not set to missing
-			noQC.reset(); // ..count of juld set & QC set to missing
-
-			for (int n = 0; n < nMeasure; n++) {
-				if (juld_adj_qc[n] != ' ') {
-					tableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-							.get(String.valueOf(juld_adj_qc[n]));
-					// =======
-					// CK_0238
-					// =======
-					if (tableEntry != null) {
-						// =======
-						// CK_0239
-						// =======
-						if (tableEntry.isDeprecated()) {
-							depQC.increment(n);
-						}
-
-					} else {
-						invQC.increment(n);
-					}
-				}
-
-				if (juld_adj_status[n] != ' ') {
-					tableEntry = ArgoNVSReferenceTable.STATUS_TABLE.getConceptMembersByAltLabelMap()
-							.get(String.valueOf(juld_adj_status[n]));
-					// =======
-					// CK_0240
-					// =======
-					if (tableEntry != null) {
-						// =======
-						// CK_0241
-						// =======
-						if (tableEntry.isDeprecated()) {
-							depStatus.increment(n);
-						}
-
-					} else {
-						invStatus.increment(n);
-					}
-				}
-				// =======
-				// CK_0242
-				// =======
-				if ((juld_adj_qc[n] == ' ') ^ (juld_adj_status[n] == ' ')) {
-					incStatus.increment(n);
-					log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'", n,
-							juld[n], juld_adj_status[n], juld_adj_qc[n]);
-
-				} else if ((juld_adj_qc[n] == '9') ^ (juld_adj_status[n] == '9')) {
-					incStatus.increment(n);
-					log.debug("qc/status inconsistent: " + "n = {}: juld, juld_status, juld_qc = {}, '{}', '{}'", n,
-							juld[n], juld_adj_status[n], juld_adj_qc[n]);
-				}
-				/*
-				 * if (juld_adj_qc[n] == ' ') { if (juld_adj_status[n] != ' ') {
-				 * inc_Status.increment(n); log.debug("qc/status inconsistent: "+
-				 * "n = {}: juld_adj, juld_adj_status, juld_adj_qc = {}, '{}', '{}'", n,
-				 * juld_adj[n], juld_adj_status[n], juld_adj_qc[n]); } } if (juld_adj_qc[n] ==
-				 * '9') { if (juld_adj_status[n] != '9') { inc9Status.increment(n);
-				 * log.debug("qc/status inconsistent: "+
-				 * "n = {}: juld_adj, juld_adj_status, juld_adj_qc = {}, '{}', '{}'", n,
-				 * juld_adj[n], juld_adj_status[n], juld_adj_qc[n]); } }
-				 */
-				/*
-				 * if (juld_adj_qc[n] == ' ' || juld_adj_qc[n] == '9') { if (!
-				 * (juld_adj_status[n] == ' ' || juld_adj_status[n] == '9') ) {
-				 * incStatus.increment(n); log.debug("qc/status inconsistent: "+
-				 * "n = {}: juld_adj, juld_adj_status, juld_adj_qc = {}, '{}', '{}'", n,
-				 * juld_adj[n], juld_adj_status[n], juld_adj_qc[n]); } }
-				 */
-				// =======
-				// CK_0243
-				// =======
-				if (ArgoFileValidator.is_999_999_FillValue(juld_adj[n])) {
-					// ..data is missing - QC better be too
-					if (!(juld_adj_qc[n] == '9' || juld_adj_qc[n] == ' ')) {
-						notMiss.increment(n);
-					}
-
-				} else {
-					// ..juld_adj not missing - check QC value
-					// =======
-					// CK_0244
-					// =======
-					if (juld_adj_qc[n] == ' ' || juld_adj_qc[n] == '9') {
-						noQC.increment(n);
-					}
-
-					// ..juld_adj not missing --- the possibilities are
-					// ..case 1: juld missing, juld_adj not missing:
-					// .. - this represents "estimation" and mode can be anything
-					// ..case 2: juld not missing, juld_adj not missing:
-					// .. - mode = 'A' or 'D'
-
-					if (!ArgoFileValidator.is_999_999_FillValue(juld[n])) {
-						// ..juld not missing, juld_adj not missing -- mode must be 'A' or 'D'
-
-						// ..but ignore the "launch cycle" (-1)
-
-						if (finalCycle[n] > 0) {
-							// =======
-							// CK_0245
-							// =======
-							if (mode[n] != 'A' && mode[n] != 'D') {
-								adjNotAorD.increment(n);
-							}
-						}
-					}
-				}
-			}
-
-			log.debug("invQC, invStatus, incStatus = {}, {}, {}", invQC.counter, invStatus.counter, incStatus.counter);
-			// log.debug("invQC, invStatus, inc_Status, inc9Status = {}, {}, {}, {}",
-			// invQC.counter, invStatus.counter, inc_Status.counter, inc9Status.counter);
-			log.debug("notMiss, noQC, adjNotAorD = {}, {}, {}", notMiss.counter, noQC.counter, adjNotAorD.counter);
-
-			if (invQC.counter > 0) {
-				// fail = true;
-				invQC.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
-						"JULD_ADJUSTED_QC: Invalid QC code at", "measurements");
-			}
-			if (depQC.counter > 0) {
+			if (adjInvStatus.counter > 0) {
 				// fail = true;
-				depQC.addMessage(validationResult.getWarnings(), "JULD_ADJUSTED_QC: Deprecated QC code at",
-						"measurements");
-			}
-			if (invStatus.counter > 0) {
-				// fail = true;
-				invStatus.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+				adjInvStatus.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 						"JULD_ADJUSTED_STATUS: Invalid status code at", "measurements");
 			}
-			if (depStatus.counter > 0) {
+			if (adjDepStatus.counter > 0) {
 				// fail = true;
-				depStatus.addMessage(validationResult.getWarnings(), "JULD_ADJUSTED_STATUS: Deprecated status code at",
-						"measurements");
+				adjDepStatus.addMessage(validationResult.getWarnings(),
+						"JULD_ADJUSTED_STATUS: Deprecated status code at", "measurements");
 			}
-
-			if (incStatus.counter > 0) {
+			if (adjIncStatus.counter > 0) {
 				// fail = true;
-				incStatus.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+				adjIncStatus.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 						"JULD_ADJUSTED_QC / JULD_ADJUSTED_STATUS: Use of ' '/'9' is inconsistent at", "measurements");
 			}
-
-			/*
-			 * if (inc_Status.counter > 0) { //fail = true;
-			 * inc_Status.addMessage(formatErrors,
-			 * "JULD_ADJUSTED_QC = ' '; JULD_ADJUSTED_STATUS not ' ': At", "measurements");
-			 * } if (inc9Status.counter > 0) { //fail = true;
-			 * inc9Status.addMessage(formatErrors,
-			 * "JULD_ADJUSTED_QC = '9'; JULD_ADJUSTED_STATUS not '9': At", "measurements");
-			 * }
-			 */
-			/*
-			 * if (incStatus.counter > 0) { //fail = true;
-			 * incStatus.addMessage(formatErrors,
-			 * "JULD_ADJUSTED_QC = ' ' or '9' and JULD_ADJUSTED_STATUS not ' ' or '9': At",
-			 * "measurements"); }
-			 */
-			if (notMiss.counter > 0) {
+			if (adjNotMiss.counter > 0) {
 				// fail = true;
-				notMiss.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+				adjNotMiss.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 						"JULD_ADJUSTED: FillValue where QC not ' ' or '9': At", "measurements");
 			}
-			if (noQC.counter > 0) {
+			if (adjNoQC.counter > 0) {
 				// fail = true;
-				noQC.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+				adjNoQC.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 						"JULD_ADJUSTED: Not FillValue where QC ' ' or '9': At", "measurements");
 			}
 			if (adjNotAorD.counter > 0) {
@@ -1357,98 +1405,11 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 			log.debug("fail = {}", fail);
 
-			/*
-			 * if (fail == true) { validationResult.
-			 * addError("Above JULD/JULD_ADJUSTED errors prohibit further tests");
-			 * log.debug(".....validateMC_and_JULD: end (due to prior juld errors).....");
-			 * return false; }
-			 */
 		} else {
 			log.debug("not core file.  skip");
 		} // end if(core)
 
-		// .............check for reasonable juld dates.............
-		log.debug("..validate reasonable dates");
-
-		String update = arFile.readString("DATE_UPDATE");
-		Date dateUpdate = ArgoDate.get(update);
-		long updateSec = dateUpdate.getTime();
-
-		if (log.isDebugEnabled()) {
-			log.debug("earliestDate:  " + ArgoDate.format(earliestDate));
-			log.debug("DATE_UPDATE:   " + update);
-		}
-
-		ErrorTracker juldAfterUpdate = new ErrorTracker();
-		ErrorTracker juldBeforeEarliest = new ErrorTracker();
-
-		ErrorTracker juld_adjAfterUpdate = new ErrorTracker();
-		ErrorTracker juld_adjBeforeEarliest = new ErrorTracker();
-
-		for (int n = 0; n < nMeasure; n++) {
-
-			// ...JULD...
-
-			int qc_index = goodJuldQC.indexOf(juld_qc[n]);
-
-			if (qc_index >= 0) {
-				// ..QC indicates "good"
-
-				if (!ArgoFileValidator.is_999_999_FillValue(juld[n])) {
-
-					// ..check that JULD is after earliestDate and before DATE_UPDATE
-
-					Date date = ArgoDate.get(juld[n]);
-
-					// String dtg = ArgoDate.format(date);
-					// log.debug("JULD[{}]: {} = {} (qc = {})", n, juld[n], juldDTG, qc);
-					// =======
-					// CK_0236
-					// =======
-					if (date.before(earliestDate)) {
-						juldBeforeEarliest.increment(n);
-					}
-
-					long sec = date.getTime();
-					// =======
-					// CK_0237
-					// =======
-					if ((sec - updateSec) > oneDaySec) {
-						juldAfterUpdate.increment(n);
-					}
-				}
-			}
-
-			// ...JULD_ADJUSTED...
-			// ..not in bio-traj files
-
-			if (core) {
-				qc_index = goodJuldQC.indexOf(juld_adj_qc[n]);
-
-				if (qc_index >= 0) {
-					if (!ArgoFileValidator.is_999_999_FillValue(juld_adj[n])) {
-
-						// ..check that JULD_ADJUSTED is after earliestDate and before DATE_UPDATE
-
-						Date date = ArgoDate.get(juld_adj[n]);
-						// =======
-						// CK_0246
-						// =======
-						if (date.before(earliestDate)) {
-							juld_adjBeforeEarliest.increment(n);
-						}
-
-						long sec = date.getTime();
-						// =======
-						// CK_0247
-						// =======
-						if ((sec - updateSec) > oneDaySec) {
-							juld_adjAfterUpdate.increment(n);
-						}
-					}
-				}
-			}
-		}
+		// .............reasonable juld dates.............
 
 		if (juldBeforeEarliest.counter > 0) {
 			// fail = true;
@@ -1473,35 +1434,6 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 		log.debug("fail = {}", fail);
 
-		// ..we have all the N_MEASUREMENT variables in memory, lets retain what we need
-
-		for (int n = 0; n < nMeasure; n++) {
-			fv[n] = new Final_NMeasurement_Variables();
-			fv[n].measurement_code = m_code[n];
-			fv[n].cycle_number = finalCycle[n];
-
-			// ..juld_adj is not in bio-trajectory
-
-			if (core) {
-				if (ArgoFileValidator.is_999_999_FillValue(juld_adj[n])) {
-					fv[n].juld = juld[n];
-					fv[n].juld_status = juld_status[n];
-					fv[n].juld_qc = juld_qc[n];
-
-				} else {
-					fv[n].juld = juld_adj[n];
-					fv[n].juld_status = juld_adj_status[n];
-					fv[n].juld_qc = juld_adj_qc[n];
-
-				}
-
-			} else { // ..bio-file: not _adj variables
-				fv[n].juld = juld[n];
-				fv[n].juld_status = juld_status[n];
-				fv[n].juld_qc = juld_qc[n];
-			}
-		}
-
 		log.debug(".....validateMC_and_JULD: end.....");
 
 		return (!fail);
@@ -1683,16 +1615,15 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			String g = arFile.readString(varName, true); // ..true -> include any NULLs
 
 			for (int n = 0; n < nCycle; n++) {
-				SkosConcept tableEntry = ArgoNVSReferenceTable.GROUNDED_TABLE.getConceptMembersByAltLabelMap()
-						.get(String.valueOf(g.charAt(n)));
+				byte codeStatus = ArgoNVSReferenceTable.GROUNDED_TABLE.getSingleCharTable().status(g.charAt(n));
 				// =======
 				// CK_0289
 				// =======
-				if (tableEntry != null) {
+				if (codeStatus != SingleCharTable.INVALID) {
 					// =======
 					// CK_0290
 					// =======
-					if (tableEntry.isDeprecated()) {
+					if (codeStatus == SingleCharTable.DEPRECATED) {
 						dep.increment(n);
 					}
 
@@ -1752,10 +1683,12 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 	 * <ul>
 	 * <li>CYCLE_NUMBER and CYCLE_NUMBER_INDEX have been validated as correct
 	 * </ul>
+	 *
+	 * @throws IOException If an I/O error occurs
 	 */
 
 	public void validateNCycleJuld(int nMeasure, int nCycle, // char[] mode,
-			HashMap<Integer, Integer> CycNumIndex_cycle2index, Final_NMeasurement_Variables[] finalNMVar) {
+			HashMap<Integer, Integer> CycNumIndex_cycle2index) throws IOException {
 		log.debug(".....validateNCycleJuld: start.....");
 
 		if (arFile.fileType() != FileType.TRAJECTORY) {
@@ -1765,164 +1698,146 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			return;
 		}
 
-		// ..there are two ways (or more) to approach this:
-		// ..1) build a structure that has all of the associated JULD_*
-		// .. variables for all of the N_CYCLEs. Then loop through
-		// .. the finalNMVar[N_MEASUREMENT] array once, finding
-		// .. and comparing the associated JULD_* variables
-		// ..
-		// .. Memory heavy: has all of the values for both the
-		// .. N_MEASUREMENT juld variables and each of the associated
-		// .. N_CYCLE juld variables in memory at once.
-		// ..
-		// ..2) For each associated JULD_* variables
-		// .. read in the data
-		// .. loop through the N_MEASUREMENT data and find the
-		// .. mc code variable to compare it to
-		// .. ************** Let's try option 2 *******************
+		// ..the JULD_*[N_CYCLE] variables (one per MC) are all in memory at once:
+		// ..they are N_CYCLE long. The "final" N_MEASUREMENT variables
+		// ..(*_ADJUSTED if set) are read window by window (see measurementWindow),
+		// ..once for all the MCs: each MC carries its state from one measurement
+		// ..(and window) to the next
 
-		int startNMeasureLoop = 0;
-		if (finalNMVar[0].cycle_number == -1) {
-			startNMeasureLoop = 1;
-		}
-
-		ValidateNCycleJuld_check juldCheck = new ValidateNCycleJuld_check(nCycle);
+		ArrayList<ValidateNCycleJuld_check> juldChecks = new ArrayList<ValidateNCycleJuld_check>();
 
 		for (Integer MC : ArgoReferenceTable.MEASUREMENT_CODE_toJuldVariable.keySet()) {
-			juldCheck.reset();
-
-			int M_CODE = MC.intValue();
-			String var = ArgoReferenceTable.MEASUREMENT_CODE_toJuldVariable.get(MC).getColumn(2);
+			ValidateNCycleJuld_check juldCheck = new ValidateNCycleJuld_check(nCycle);
+			juldCheck.M_CODE = MC.intValue();
+			juldCheck.var = ArgoReferenceTable.MEASUREMENT_CODE_toJuldVariable.get(MC).getColumn(2);
 
 			// ..detect and deal with special "flagged" MC values
 
-			boolean only_first = false;
-			boolean only_last = false;
-
-			if (M_CODE > 10000) {
-				if (M_CODE % 100 == 01) {
-					only_first = true;
+			if (juldCheck.M_CODE > 10000) {
+				if (juldCheck.M_CODE % 100 == 01) {
+					juldCheck.only_first = true;
 
-				} else if (M_CODE % 100 == 02) {
-					only_last = true;
+				} else if (juldCheck.M_CODE % 100 == 02) {
+					juldCheck.only_last = true;
 				}
 
 				// ..unmangle the coded value
-				M_CODE /= 100;
+				juldCheck.M_CODE /= 100;
 
-				log.debug("flagged MC = {}:  first, last = {} {}", M_CODE, only_first, only_last);
+				log.debug("flagged MC = {}:  first, last = {} {}", juldCheck.M_CODE, juldCheck.only_first,
+						juldCheck.only_last);
 			}
 
 			// ..read the n_cycle data
 
-			log.debug("...reading '{}'", var);
+			log.debug("...reading '{}'", juldCheck.var);
 
-			double[] juldVar = arFile.readDoubleArr(var);
+			juldCheck.juldVar = arFile.readDoubleArr(juldCheck.var);
 
-			String str = arFile.readString(var + "_STATUS", true); // ..true -> include any NULLs
-			char[] juldVar_status = new char[nCycle];
+			String str = arFile.readString(juldCheck.var + "_STATUS", true); // ..true -> include any NULLs
+			juldCheck.juldVar_status = new char[nCycle];
 			for (int n = 0; n < nCycle; n++) {
-				juldVar_status[n] = str.charAt(n);
+				juldCheck.juldVar_status[n] = str.charAt(n);
 			}
 
-			// ......loop through the n_measurement doing comparisons.....
-			// ..initialize variables
+			juldChecks.add(juldCheck);
+		}
 
-			int prev_cycNum = finalNMVar[startNMeasureLoop].cycle_number;
-			boolean do_onlyfirst = true;
-			boolean do_onlylast = false;
-			int last_n = -1, last_index = -1;
-			int mc = -1;
+		// ......loop through the n_measurement doing comparisons.....
 
-			// ..loop
-			// =========================
-			// CK_0284 1/2 & CK_0285 1/2
-			// =========================
-			for (int n = startNMeasureLoop; n < nMeasure; n++) {
-				int cycNum = finalNMVar[n].cycle_number;
+		NetcdfFile nc = arFile.getNcReader();
+		Variable varCycle = nc.findVariable("CYCLE_NUMBER");
+		Variable varCycleAdj = nc.findVariable("CYCLE_NUMBER_ADJUSTED");
+		Variable varCode = nc.findVariable("MEASUREMENT_CODE");
+		Variable varJuld = nc.findVariable("JULD");
+		Variable varJuldStatus = nc.findVariable("JULD_STATUS");
+		Variable varJuldAdj = nc.findVariable("JULD_ADJUSTED");
+		Variable varJuldAdjStatus = nc.findVariable("JULD_ADJUSTED_STATUS");
 
-				if (cycNum != prev_cycNum) {
-					if (do_onlylast) {
-						// ..we have to compare the last JULD iteration
+		int[] cycle = null;
+		int[] cycle_adj = null;
+		int[] m_code = null;
+		double[] juld = null;
+		char[] juld_status = null;
+		double[] juld_adj = null;
+		char[] juld_adj_status = null;
 
-						juldCheck.check(last_n, finalNMVar[last_n].juld, finalNMVar[last_n].juld_status, last_index,
-								juldVar[last_index], juldVar_status[last_index]);
+		// ..the "launch cycle" (-1) in the first measurement is not compared
+		int startNMeasureLoop = 0;
 
-						do_onlylast = false;
+		int window = measurementWindow(nMeasure, varJuld);
 
-						log.debug("(temp) only_last: mc {}: juld[{}] = {} {} : {}[{}] = {} {}", mc, last_n,
-								finalNMVar[last_n].juld, finalNMVar[last_n].juld_status, var, last_index,
-								juldVar[last_index], juldVar_status[last_index]);
-					}
+		for (int start = 0; start < nMeasure; start += window) {
+			int count = Math.min(window, nMeasure - start);
 
-					do_onlyfirst = true;
-					prev_cycNum = cycNum;
-				}
+			try {
+				cycle = arFile.readInts(varCycle, start, count, cycle);
+				cycle_adj = arFile.readInts(varCycleAdj, start, count, cycle_adj);
+				m_code = arFile.readInts(varCode, start, count, m_code);
+				juld = arFile.readDoubles(varJuld, start, count, juld);
+				juld_status = arFile.readChars(varJuldStatus, start, count, juld_status); // ..NULLs included
+				juld_adj = arFile.readDoubles(varJuldAdj, start, count, juld_adj);
+				juld_adj_status = arFile.readChars(varJuldAdjStatus, start, count, juld_adj_status);
 
-				// ..carry on with this iteration
+			} catch (InvalidRangeException e) {
+				throw new IOException("validateNCycleJuld: " + e.getMessage());
+			}
 
-				mc = finalNMVar[n].measurement_code;
-				// =======
-				// CK_0288
-				// =======
-				if (mc == M_CODE) {
-					// ..this is the one we are validating
-					// ..find the index of this cycNum in N_CYCLE arrays
-
-					Integer ndx = CycNumIndex_cycle2index.get(cycNum);
-					if (ndx == null) {
-						// will be.. validationResult.addError("No JULD_*[*] variable for cycle
-						// "+cycNum);
-						validationResult.addWarning("No JULD_*[*] variable for cycle " + cycNum);
-						log.error(
-								"validateNCycleJuld: CycNumIndex_cycle2index[{}] is null. " + "This should not happen",
-								cycNum);
-						continue;
-					}
+			for (int k = 0; k < count; k++) {
+				int n = start + k;
 
-					int index = ndx.intValue();
+				// ..the "final" values of this measurement (*_ADJUSTED if set)
 
-					// ..check the only_first / only_last status
+				int cycNum = (cycle_adj[k] < fillCycNum ? cycle_adj[k] : cycle[k]);
 
-					if (only_last) {
-						// ..we can't do anything until we know we hit the next cycle
-						last_n = n;
-						last_index = index;
-						do_onlylast = true;
-						continue;
-					}
+				if (n == 0 && cycNum == -1) {
+					startNMeasureLoop = 1;
+					continue;
+				}
 
-					if (only_first) {
-						if (!do_onlyfirst) {
-							// ..already did first for this cycle
-							continue;
-						}
-						do_onlyfirst = false;
-					}
+				double finalJuld;
+				char finalJuld_status;
+
+				if (ArgoFileValidator.is_999_999_FillValue(juld_adj[k])) {
+					finalJuld = juld[k];
+					finalJuld_status = juld_status[k];
+
+				} else {
+					finalJuld = juld_adj[k];
+					finalJuld_status = juld_adj_status[k];
+				}
 
-					// ..compare these values
+				int mc = m_code[k];
 
-					juldCheck.check(n, finalNMVar[n].juld, finalNMVar[n].juld_status, index, juldVar[index],
-							juldVar_status[index]);
+				for (ValidateNCycleJuld_check juldCheck : juldChecks) {
+					if (n == startNMeasureLoop) {
+						// ..initialize variables
+						juldCheck.prev_cycNum = cycNum;
+					}
+					juldCheck.next(n, cycNum, mc, finalJuld, finalJuld_status, CycNumIndex_cycle2index);
+				}
 
-					log.debug("(temp) mc {}: juld[{}] = {} {} : {}[{}] = {} {}", mc, n, finalNMVar[n].juld,
-							finalNMVar[n].juld_status, var, index, juldVar[index], juldVar_status[index]);
+			} // ..end of window loop
+		} // ..end of nMeasure loop
 
-				} // ..endif mc == M_CODE
+		for (ValidateNCycleJuld_check juldCheck : juldChecks) {
+			int M_CODE = juldCheck.M_CODE;
+			String var = juldCheck.var;
+			double[] juldVar = juldCheck.juldVar;
+			char[] juldVar_status = juldCheck.juldVar_status;
 
-			} // ..end of nMeasure loop
+			// ..the cycles of this MC with no JULD_*[*] variable
+			for (String warning : juldCheck.noIndex) {
+				// will be.. validationResult.addError(...)
+				validationResult.addWarning(warning);
+			}
 
-			if (do_onlylast) {
+			if (juldCheck.do_onlylast) {
 				// ..there was a "dangling" only_last case in play
 				// ..that is we never got to a new cycle to close it out
 				// ..so do it now
 
-				juldCheck.check(last_n, finalNMVar[last_n].juld, finalNMVar[last_n].juld_status, last_index,
-						juldVar[last_index], juldVar_status[last_index]);
-
-				log.debug("(temp) dangling only_last: mc {}: juld[{}] = {} {} : {}[{}] = {} {}", mc, last_n,
-						finalNMVar[last_n].juld, finalNMVar[last_n].juld_status, var, last_index, juldVar[last_index],
-						juldVar_status[last_index]);
+				juldCheck.checkLast("dangling only_last");
 			}
 
 			// ..check unchecked values
@@ -1961,23 +1876,11 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 				juldCheck.incJuld.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 						"JULD (MC " + M_CODE + ") / " + var + ": Inconsistent at ", "cycles",
 						"(N_MEASUREMENT, N_CYCLE)");
-
-				// validationResult.addError("JULD (MC "+M_CODE+") / "+var+
-				// ": Inconsistent at "+
-				// juldCheck.incJuld+" cycles; index of first case = "+
-				// juldCheck.a_incJuld+", "+juldCheck.b_incJuld+
-				// " (N_MEASUREMENT, N_CYCLE)");
 			}
 			if (juldCheck.incJuld_s.counter > 0) {
 				juldCheck.incJuld_s.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 						"JULD_STATUS (MC " + M_CODE + ") / " + var + "_STATUS: Inconsistent at ", "cycles",
 						"(N_MEASUREMENT, N_CYCLE)");
-
-				// validationResult.addError("JULD_STATUS (MC "+M_CODE+") / "+var+
-				// "_STATUS: Inconsistent at "+
-				// juldCheck.incJuld_s+" cycles; index of first case = "+
-				// juldCheck.a_incJuld_s+", "+juldCheck.b_incJuld_s+
-				// " (N_MEASUREMENT, N_CYCLE)");
 			}
 			if (notJuld > 0) {
 				// * should be* validationResult.addError(var+" (MC "+M_CODE+
@@ -2033,8 +1936,26 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 		// ........check <param> and <param>_QC..........
 
-		float[] prm;
-		char[] prm_qc;
+		float[] prm = null;
+		char[] prm_qc = null;
+
+		// ..buffers reused from one parameter to the next (see
+		// ..ArgoDataFile.readFloats)
+		float[] prmBuffer = null;
+		char[] prmQcBuffer = null;
+		float[] prmAdjBuffer = null;
+		float[] prmAdjErrBuffer = null;
+		char[] prmAdjQcBuffer = null;
+		char[] mode = null;
+
+		// ..the same for all the parameters
+		Variable trajPrmDM = arFile.getNcReader().findVariable("TRAJECTORY_PARAMETER_DATA_MODE");
+		if (trajPrmDM == null || trajPrmDM.getSize() == 0) {
+			trajPrmDM = null;
+			log.debug("TRAJECTORY_PARAMETER_DATA_MODE missing - pre-v3.2");
+		} else {
+			log.debug("TRAJECTORY_PARAMETER_DATA_MODE exists - v3.2+");
+		}
 
 		PARAM_LOOP: for (int nPrm = 0; nPrm < paramList.size(); nPrm++) {
 			String param = paramList.get(nPrm);
@@ -2062,93 +1983,19 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			// ..that is, for the measurement, are any of the values NaN or not-fill
 			// .. or are they all fill
 
-			// ..read the array
-			Array array;
-			try {
-				array = var.read();
-
-			} catch (Exception e) {
-				stderr.println(e.getMessage());
-				e.printStackTrace(stderr);
-				throw new IOException("Unable to read '" + var.getShortName() + "'");
-			}
-
-			int vRank = var.getRank();
-
-			if (vRank == 1) {
-				// ..this is just a standard (nMeasure) array
-				// ..we want to cast whatever type it is to float
-
-				DataType type = var.getDataType();
-
-				if (type == DataType.FLOAT) {
-					prm = (float[]) array.copyTo1DJavaArray();
-					log.debug("...rank 1 float var: use copyTo1DJavaArray");
-					// log.debug("(temp) prm: {}", Arrays.toString(prm));
-
-				} else { // ..other than FLOAT - cast it value-by-value
-					prm = new float[nMeasure];
-
-					Index index = array.getIndex();
-
-					for (int k = 0; k < nMeasure; k++) {
-						index.set(k);
-						prm[k] = array.getFloat(index);
-					}
-
-					log.debug("...rank 1 {} var: nMeas-by-nMeas cast", type);
-					// log.debug("(temp) prm: {}", Arrays.toString(prm));
-				}
-
-			} else {
-				// ..must be an extra dimension array
-
-				prm = collapse_extra(array, nMeasure, var, fValue);
-			}
-
-			// ..get the QC
-
-			String str = arFile.readString(varName + "_QC", true); // ..true -> include any NULLs
-
-			if (str != null) {
-				prm_qc = new char[nMeasure];
-				for (int n = 0; n < nMeasure; n++) {
-					prm_qc[n] = str.charAt(n);
-				}
-
-			} else {
-				// ..not in file --- must be a bio-file PRES
-				prm_qc = null;
-			}
-
-			// ..Set the data mode for this parameter
-
-			String[] trajPrmDM = arFile.readStringArr("TRAJECTORY_PARAMETER_DATA_MODE");
-			if (trajPrmDM == null) {
-				log.debug("TRAJECTORY_PARAMETER_DATA_MODE missing - pre-v3.2");
-			} else {
-				log.debug("TRAJECTORY_PARAMETER_DATA_MODE exists - v3.2+");
-			}
+			// ..the variables are read and checked window by window (see
+			// ..measurementWindow): the error trackers carry the counts over
 
-			char mode[] = new char[nMeasure];
-			for (int n = 0; n < nMeasure; n++) {
-				if (trajPrmDM != null) {
-					// ..v3.2+ file
-					mode[n] = trajPrmDM[n].charAt(nPrm);
-					log.debug("trajPrmDM set. {}[{}]   '{}'", varName, n, mode[n]);
-				} else {
-					// ..pre-v3.2 file
-					mode[n] = mode_nMeasure[n];
-					log.debug("trajPrmDM not set {}[{}]   '{}'", varName, n, mode[n]);
-				}
-			}
+			Variable varQC = arFile.getNcReader().findVariable(varName + "_QC");
+			int window = measurementWindow(nMeasure, var);
 
 			// ..analyze the param variables
 
 			boolean fail = false;
 			ArgoReferenceTable.ArgoReferenceEntry info;
-			// NVS table entry
-			SkosConcept tableEntry;
+			// NVS table: status of the QC flags
+			SingleCharTable qcFlags = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getSingleCharTable();
+			byte codeStatus;
 
 			ErrorTracker depQC = new ErrorTracker();
 			ErrorTracker invQC = new ErrorTracker();
@@ -2157,58 +2004,69 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			ErrorTracker inf = new ErrorTracker();
 			ErrorTracker notMiss = new ErrorTracker();
 
-			for (int n = 0; n < nMeasure; n++) {
-				// =======
-				// CK_0260
-				// =======
-				if (Float.isNaN(prm[n])) {
-					nan.increment(n);
-				}
-				if (Float.isInfinite(prm[n])) {
-					inf.increment(n);
-				}
+			for (int start = 0; start < nMeasure; start += window) {
+				int count = Math.min(window, nMeasure - start);
+
+				// ..the <param> of the window, as floats (NaN or a value or the
+				// ..FillValue for each measurement)
+				prm = prmBuffer = readParam(var, start, count, fValue, prmBuffer);
 
-				if (prm_qc != null) {
-					tableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-							.get(String.valueOf(prm_qc[n]));
+				// ..get the QC (null if not in file --- must be a bio-file PRES)
+
+				prm_qc = prmQcBuffer = readQC(varQC, start, count, prmQcBuffer);
+
+				for (int n = 0; n < count; n++) {
 					// =======
-					// CK_0261
+					// CK_0260
 					// =======
-					if (prm_qc[n] == ' ' || tableEntry != null) {
-						// ..valid QC flag or " "
-						// =======
-						// CK_0262
-						// =======
-						if (tableEntry != null && tableEntry.isDeprecated()) {
-							depQC.increment(n);
-						}
+					if (Float.isNaN(prm[n])) {
+						nan.increment(start + n);
+					}
+					if (Float.isInfinite(prm[n])) {
+						inf.increment(start + n);
+					}
+
+					if (prm_qc != null) {
+						codeStatus = qcFlags.status(prm_qc[n]);
 						// =======
-						// CK_0263
+						// CK_0261
 						// =======
-						if (ArgoFileValidator.is_FillValue(fValue, prm[n])) {
-							// ..data is missing - QC better be too
-							if (prm_qc[n] != '9' && prm_qc[n] != ' ') {
-								notMiss.increment(n);
+						if (prm_qc[n] == ' ' || codeStatus != SingleCharTable.INVALID) {
+							// ..valid QC flag or " "
+							// =======
+							// CK_0262
+							// =======
+							if (codeStatus == SingleCharTable.DEPRECATED) {
+								depQC.increment(start + n);
 							}
-
-						} else {
 							// =======
-							// CK_0264
+							// CK_0263
 							// =======
-							// ..data not missing - check QC value
+							if (ArgoFileValidator.is_FillValue(fValue, prm[n])) {
+								// ..data is missing - QC better be too
+								if (prm_qc[n] != '9' && prm_qc[n] != ' ') {
+									notMiss.increment(start + n);
+								}
 
-							if (prm_qc[n] == ' ' || prm_qc[n] == '9') {
-								missQC.increment(n);
+							} else {
+								// =======
+								// CK_0264
+								// =======
+								// ..data not missing - check QC value
+
+								if (prm_qc[n] == ' ' || prm_qc[n] == '9') {
+									missQC.increment(start + n);
+								}
 							}
-						}
 
-					} else {
+						} else {
 
-						// ..QC was invalid
-						invQC.increment(n);
+							// ..QC was invalid
+							invQC.increment(start + n);
+						}
 					}
-				}
-			} // ..end for(nMeasure)
+				} // ..end for(n)
+			} // ..end for(window)
 
 			log.debug("...counters: invQC, missQC, notMiss, nan = {}, {}, {}, {}", invQC.counter, missQC.counter,
 					notMiss.counter, nan.counter);
@@ -2246,6 +2104,7 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 			// .............param_adjusted...........
 
+			Variable varParam = var;
 			varName = param.trim() + "_ADJUSTED";
 			var = arFile.getNcReader().findVariable(varName);
 
@@ -2280,87 +2139,9 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			// ..that is, for the measurement, are any of the values NaN or not-fill
 			// .. or are they all fill
 
-			// ..read the array
-			try {
-				array = var.read();
-
-			} catch (Exception e) {
-				stderr.println(e.getMessage());
-				e.printStackTrace(stderr);
-				throw new IOException("Unable to read '" + var.getShortName() + "'");
-			}
-
-			vRank = var.getRank();
-			if (vRank == 1) {
-				// ..this is just a standard (nMeasure) array
-
-				DataType type = var.getDataType();
-
-				if (type == DataType.FLOAT) {
-					prm_adj = (float[]) array.copyTo1DJavaArray();
-					log.debug("...rank 1 float var: use copyTo1DJavaArray");
-					// log.debug("(temp) prm: {}", Arrays.toString(prm));
-
-				} else { // ..other than FLOAT - cast it value-by-value
-					prm_adj = new float[nMeasure];
-
-					Index index = array.getIndex();
-
-					for (int k = 0; k < nMeasure; k++) {
-						index.set(k);
-						prm_adj[k] = array.getFloat(index);
-					}
-
-					log.debug("...rank 1 {} var: nMeas-by-nMeas cast", type);
-					// log.debug("(temp) prm: {}", Arrays.toString(prm));
-				}
-
-			} else {
-
-				// ..must be an extra dimension array
-
-				prm_adj = collapse_extra(array, nMeasure, var, fValue);
-			}
-
-			// ..get the QC
-
-			str = arFile.readString(varName + "_QC", true); // ..true -> include any NULLs
-			prm_adj_qc = new char[nMeasure];
-			for (int n = 0; n < nMeasure; n++) {
-				prm_adj_qc[n] = str.charAt(n);
-			}
-
 			// ..get <param>_ERROR --- always the standard dimension [N_MEASRUEMENT]
 
-			try {
-				array = varErr.read();
-
-			} catch (Exception e) {
-				stderr.println(e.getMessage());
-				e.printStackTrace(stderr);
-				throw new IOException("Unable to read '" + varErr.getShortName() + "'");
-			}
-
-			DataType type = varErr.getDataType();
-
-			if (type == DataType.FLOAT) {
-				prm_adj_err = (float[]) array.copyTo1DJavaArray();
-				log.debug("...rank 1 float var ({}_ERROR): use copyTo1DJavaArray", varName);
-				// log.debug("(temp) prm: {}", Arrays.toString(prm));
-
-			} else { // ..other than FLOAT - cast it value-by-value
-				prm_adj_err = new float[nMeasure];
-
-				Index index = array.getIndex();
-
-				for (int k = 0; k < nMeasure; k++) {
-					index.set(k);
-					prm_adj_err[k] = array.getFloat(index);
-				}
-
-				log.debug("...rank 1 {} var ({}_ERROR): nMeas-by-nMeas cast", type, varName);
-				// log.debug("(temp) prm: {}", Arrays.toString(prm));
-			}
+			Variable varAdjQC = arFile.getNcReader().findVariable(varName + "_QC");
 
 			// ..analyze the param_adjusted variables
 
@@ -2385,185 +2166,201 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			ErrorTracker rNotMiss = new ErrorTracker();
 			ErrorTracker rQcNotMiss = new ErrorTracker();
 
-			for (int n = 0; n < nMeasure; n++) {
-				// =======
-				// CK_0265
-				// =======
-				if (Float.isNaN(prm_adj[n])) {
-					nan.increment(n);
-				}
-				// =======
-				// CK_0267
-				// =======
-				if (Float.isNaN(prm_adj_err[n])) {
-					nanErr.increment(n);
-				}
-				// =======
-				// CK_0266
-				// =======
-				if (Float.isInfinite(prm_adj[n])) {
-					inf.increment(n);
-				}
-				// =======
-				// CK_0268
-				// =======
-				if (Float.isInfinite(prm_adj_err[n])) {
-					infErr.increment(n);
+			for (int start = 0; start < nMeasure; start += window) {
+				int count = Math.min(window, nMeasure - start);
+
+				if (count < nMeasure) {
+					// ..<param> and <param>_QC of the window (read whole above otherwise)
+					prm = prmBuffer = readParam(varParam, start, count, fValue, prmBuffer);
+					prm_qc = prmQcBuffer = readQC(varQC, start, count, prmQcBuffer);
 				}
 
-				if (mode[n] == 'R') {
+				prm_adj = prmAdjBuffer = readParam(var, start, count, fValue, prmAdjBuffer);
+				prm_adj_qc = prmAdjQcBuffer = readQC(varAdjQC, start, count, prmAdjQcBuffer);
+				prm_adj_err = prmAdjErrBuffer = readParam(varErr, start, count, fValue, prmAdjErrBuffer);
+
+				// ..set the data mode of this parameter for the window
+				mode = trajectoryParamMode(trajPrmDM, mode_nMeasure, nPrm, varName, start, count, mode);
 
-					// ........... r-mode ............
+				for (int n = 0; n < count; n++) {
 					// =======
-					// CK_0269
+					// CK_0265
 					// =======
-					if (!ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
-						rNotMiss.increment(n);
+					if (Float.isNaN(prm_adj[n])) {
+						nan.increment(start + n);
 					}
 					// =======
-					// CK_0270
+					// CK_0267
 					// =======
-					if (prm_adj_qc[n] != ' ' && prm_adj_qc[n] != '0' && prm_adj_qc[n] != '9') {
-						rQcNotMiss.increment(n);
+					if (Float.isNaN(prm_adj_err[n])) {
+						nanErr.increment(start + n);
 					}
 					// =======
-					// CK_0271
+					// CK_0266
 					// =======
-					if (!ArgoFileValidator.is_FillValue(fValue, prm_adj_err[n])) {
-						rErrNotMiss.increment(n);
+					if (Float.isInfinite(prm_adj[n])) {
+						inf.increment(start + n);
+					}
+					// =======
+					// CK_0268
+					// =======
+					if (Float.isInfinite(prm_adj_err[n])) {
+						infErr.increment(start + n);
 					}
 
-				} else {
-
-					// ............ a-mode or d-mode ...........
-
-					// ..check the QC flag
-
-					if (prm_adj_qc[n] != ' ') {
+					if (mode[n] == 'R') {
 
-						tableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-								.get(String.valueOf(prm_adj_qc[n]));
+						// ........... r-mode ............
 						// =======
-						// CK_0272
+						// CK_0269
 						// =======
-						if (tableEntry != null) {
-							// =======
-							// CK_0273
-							// =======
-							if (tableEntry.isDeprecated()) {
-								depQC.increment(n);
-							}
-
-						} else {
-							invQC.increment(n);
+						if (!ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
+							rNotMiss.increment(start + n);
 						}
-					}
-
-					// =======
-					// CK_0274
-					// =======
-					// ..check special case of adj_qc = ' '
-					if (prm_qc[n] == ' ' || prm_adj_qc[n] == ' ') {
-						// ..one is "not measured", both must be
-						if (prm_qc[n] != ' ' || prm_adj_qc[n] != ' ') {
-							incNotMeas.increment(n);
-
-						} else {
-							// =======
-							// CK_0275
-							// =======
-							if (!ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
-								notNotMeas.increment(n);
-							}
+						// =======
+						// CK_0270
+						// =======
+						if (prm_adj_qc[n] != ' ' && prm_adj_qc[n] != '0' && prm_adj_qc[n] != '9') {
+							rQcNotMiss.increment(start + n);
+						}
+						// =======
+						// CK_0271
+						// =======
+						if (!ArgoFileValidator.is_FillValue(fValue, prm_adj_err[n])) {
+							rErrNotMiss.increment(start + n);
 						}
 
 					} else {
 
-						// ..check if param (not param_adj!) is missing
+						// ............ a-mode or d-mode ...........
 
-						if (ArgoFileValidator.is_FillValue(fValue, prm[n])) {
-							// .....param is missing.....
-							// =======
-							// CK_0276
-							// =======
-							if (!ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
-								// ..param_adjusted is NOT missing - error
-								notMissAdj.increment(n);
+						// ..check the QC flag
 
-							}
+						if (prm_adj_qc[n] != ' ') {
+
+							codeStatus = qcFlags.status(prm_adj_qc[n]);
 							// =======
-							// CK_0278
+							// CK_0272
 							// =======
-							if (!ArgoFileValidator.is_FillValue(fValue, prm_adj_err[n])) {
-								// ..param_adjusted_error is NOT missing - error
-								notMissErr.increment(n);
+							if (codeStatus != SingleCharTable.INVALID) {
+								// =======
+								// CK_0273
+								// =======
+								if (codeStatus == SingleCharTable.DEPRECATED) {
+									depQC.increment(start + n);
+								}
+
+							} else {
+								invQC.increment(start + n);
 							}
-							// =======
-							// CK_0277
-							// =======
-							if (prm_adj_qc[n] != '9') {
-								// ..param_adjusted_qc is NOT missing - error
-								notMissAdjQc.increment(n);
+						}
+
+						// =======
+						// CK_0274
+						// =======
+						// ..check special case of adj_qc = ' '
+						if (prm_qc[n] == ' ' || prm_adj_qc[n] == ' ') {
+							// ..one is "not measured", both must be
+							if (prm_qc[n] != ' ' || prm_adj_qc[n] != ' ') {
+								incNotMeas.increment(start + n);
+
+							} else {
+								// =======
+								// CK_0275
+								// =======
+								if (!ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
+									notNotMeas.increment(start + n);
+								}
 							}
 
 						} else {
-							// .....param is NOT missing......
 
-							if (ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
+							// ..check if param (not param_adj!) is missing
+
+							if (ArgoFileValidator.is_FillValue(fValue, prm[n])) {
+								// .....param is missing.....
 								// =======
-								// CK_0279
+								// CK_0276
 								// =======
-								// ..param_adj is missing - QC must be 4 or 9
-								if (prm_adj_qc[n] != '4' && prm_adj_qc[n] != '9') {
-									missAdj.increment(n);
+								if (!ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
+									// ..param_adjusted is NOT missing - error
+									notMissAdj.increment(start + n);
+
 								}
 								// =======
-								// CK_0280
+								// CK_0278
 								// =======
 								if (!ArgoFileValidator.is_FillValue(fValue, prm_adj_err[n])) {
-									errNotMiss.increment(n);
+									// ..param_adjusted_error is NOT missing - error
+									notMissErr.increment(start + n);
 								}
-
-							} else {
-								// ..param_adj is NOT missing
 								// =======
-								// CK_0281
+								// CK_0277
 								// =======
-								if ((prm_adj_qc[n] == '4' && mode[n] == 'D') || prm_adj_qc[n] == '9') {
-									adjNotMiss.increment(n);
+								if (prm_adj_qc[n] != '9') {
+									// ..param_adjusted_qc is NOT missing - error
+									notMissAdjQc.increment(start + n);
+								}
+
+							} else {
+								// .....param is NOT missing......
+
+								if (ArgoFileValidator.is_FillValue(fValue, prm_adj[n])) {
+									// =======
+									// CK_0279
+									// =======
+									// ..param_adj is missing - QC must be 4 or 9
+									if (prm_adj_qc[n] != '4' && prm_adj_qc[n] != '9') {
+										missAdj.increment(start + n);
+									}
+									// =======
+									// CK_0280
+									// =======
+									if (!ArgoFileValidator.is_FillValue(fValue, prm_adj_err[n])) {
+										errNotMiss.increment(start + n);
+									}
 
 								} else {
-									if (mode[n] == 'D') {
-										// =======
-										// CK_0282
-										// =======
-										if (is_FillValue(fValue, prm_adj_err[n])) {
-											errNotSetDmode.increment(n);
+									// ..param_adj is NOT missing
+									// =======
+									// CK_0281
+									// =======
+									if ((prm_adj_qc[n] == '4' && mode[n] == 'D') || prm_adj_qc[n] == '9') {
+										adjNotMiss.increment(start + n);
+
+									} else {
+										if (mode[n] == 'D') {
+											// =======
+											// CK_0282
+											// =======
+											if (is_FillValue(fValue, prm_adj_err[n])) {
+												errNotSetDmode.increment(start + n);
+											}
+
+											// ===================================================
+											// CHECK_0077 & CK_0080 (not implemented)
+											// ===================================================
+
+											// } else {
+											// //.. mode == 'A'
+
+											// //..core-parameters must NOT have error set
+											// ..variable "core" refers to the file type, not the parameter type
+											// ..allow PARAM_ADJUST_ERROR to be set for all parameters
+											// if (core &&
+											// ! is_FillValue(fValue, prm_adj_err[n])) {
+											// errNotMissAmode.increment(start + n);
+											// //errNotMissAmode.increment(n,
+											// // "a-mode: prm_adj_err["+n+"] = "+prm_adj_err[n]);
+											// }
 										}
-
-										// ===================================================
-										// CHECK_0077 & CK_0080 (not implemented)
-										// ===================================================
-
-										// } else {
-										// //.. mode == 'A'
-
-										// //..core-parameters must NOT have error set
-										// ..variable "core" refers to the file type, not the parameter type
-										// ..allow PARAM_ADJUST_ERROR to be set for all parameters
-										// if (core &&
-										// ! is_FillValue(fValue, prm_adj_err[n])) {
-										// errNotMissAmode.increment(n);
-										// //errNotMissAmode.increment(n,
-										// // "a-mode: prm_adj_err["+n+"] = "+prm_adj_err[n]);
-										// }
 									}
-								}
-							} // ..end if (param_adj is missing)
-						} // ..end if (param is missing)
-					} // ..end if (param_QC or param_adj_QC is blank (not measured)
-				} // ..end if r-mode
-			} // ..end for (nMeasure)
+								} // ..end if (param_adj is missing)
+							} // ..end if (param is missing)
+						} // ..end if (param_QC or param_adj_QC is blank (not measured)
+					} // ..end if r-mode
+				} // ..end for (n)
+			} // ..end for (window)
 
 			if (log.isDebugEnabled()) {
 				log.debug("...counters: adjNotMiss, errNotMiss, errNotMissAmode, errNotSetDmode = {}, {}, {}, {}",
@@ -2638,7 +2435,112 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 		return;
 	} // ..end validateParams
 
-	private float[] collapse_extra(Array array, int nMeasure, Variable var, float fillValue) throws IOException {
+	/**
+	 * The number of measurements read at once by the window-by-window checks
+	 * (validateParams, validatePosition) of a variable: all of them if the
+	 * variable has at most "filechecker.traj.window" values, otherwise as many
+	 * as fit in that number of values (at least one).
+	 */
+	private static int measurementWindow(int nMeasure, Variable var) {
+		long valuesPerMeasure = (var.getRank() > 1 && nMeasure > 0 ? var.getSize() / nMeasure : 1);
+
+		if (MEASUREMENT_WINDOW <= 0 || nMeasure * valuesPerMeasure <= MEASUREMENT_WINDOW) {
+			return nMeasure;
+		}
+		return (int) Math.max(1, MEASUREMENT_WINDOW / Math.max(1, valuesPerMeasure));
+	}
+
+	/**
+	 * Reads the measurements [start, start + count[ of a &lt;param&gt;
+	 * (N_MEASUREMENT[, extra-dimensions]) variable as floats, into a buffer (see
+	 * ArgoDataFile.readFloats). The extra dimensions are collapsed (see
+	 * collapse_extra).
+	 */
+	private float[] readParam(Variable var, int start, int count, float fillValue, float[] buffer)
+			throws IOException {
+		try {
+			if (var.getRank() == 1) {
+				// ..this is just a standard (nMeasure) array
+				// ..we want to cast whatever type it is to float
+				log.debug("...rank 1 {} var: read as float", var.getDataType());
+				return arFile.readFloats(var, start, count, buffer);
+			}
+
+			// ..must be an extra dimension array
+			Array array;
+			if (start == 0 && count == var.getShape(0)) {
+				array = arFile.read(var);
+			} else {
+				int[] origin = new int[var.getRank()];
+				int[] shape = var.getShape();
+				origin[0] = start;
+				shape[0] = count;
+				array = arFile.read(var, origin, shape);
+			}
+			return collapse_extra(array, count, var, fillValue, buffer);
+
+		} catch (Exception e) {
+			stderr.println(e.getMessage());
+			e.printStackTrace(stderr);
+			throw new IOException("Unable to read '" + var.getShortName() + "'");
+		}
+	}
+
+	/**
+	 * Reads the measurements [start, start + count[ of a &lt;param&gt;_QC
+	 * (N_MEASUREMENT) variable, NULLs included, into a buffer (see
+	 * ArgoDataFile.readChars)
+	 *
+	 * @return the QC flags; null if the variable is not in the file (or empty)
+	 */
+	private char[] readQC(Variable varQC, int start, int count, char[] buffer) throws IOException {
+		if (varQC == null || varQC.getSize() == 0) {
+			return null;
+		}
+		try {
+			return arFile.readChars(varQC, start, count, buffer);
+
+		} catch (InvalidRangeException e) {
+			throw new IOException("Unable to read '" + varQC.getShortName() + "': " + e.getMessage());
+		}
+	}
+
+	/**
+	 * The data mode of the measurements [start, start + count[ for a parameter:
+	 * TRAJECTORY_PARAMETER_DATA_MODE[n, nPrm] (v3.2+ file), or the data mode of
+	 * the measurement (pre-v3.2 file: trajPrmDM is null)
+	 *
+	 * @param buffer reused if it has count elements
+	 */
+	private char[] trajectoryParamMode(Variable trajPrmDM, char[] mode_nMeasure, int nPrm, String varName,
+			int start, int count, char[] buffer) throws IOException {
+		char[] mode = (buffer != null && buffer.length == count ? buffer : new char[count]);
+
+		if (trajPrmDM == null) {
+			// ..pre-v3.2 file
+			System.arraycopy(mode_nMeasure, start, mode, 0, count);
+			log.debug("trajPrmDM not set {}[{}, {}[", varName, start, start + count);
+			return mode;
+		}
+
+		// ..v3.2+ file
+		char[] dm;
+		try {
+			dm = arFile.readChars(trajPrmDM, start, count, null);
+		} catch (InvalidRangeException e) {
+			throw new IOException("Unable to read '" + trajPrmDM.getShortName() + "': " + e.getMessage());
+		}
+
+		int nCol = trajPrmDM.getShape(1);
+		for (int n = 0; n < count; n++) {
+			mode[n] = dm[n * nCol + nPrm];
+		}
+		log.debug("trajPrmDM set. {}[{}, {}[", varName, start, start + count);
+		return mode;
+	}
+
+	private float[] collapse_extra(Array array, int nMeasure, Variable var, float fillValue, float[] buffer)
+			throws IOException {
 
 		// ..ASSUMPTION:
 		// ..this is an "extra dimension" <param>
@@ -2666,7 +2568,7 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 		log.debug("...(collapse_extra) new shape      {}", Arrays.toString(array.getShape()));
 
-		float[] prm = new float[nMeasure];
+		float[] prm = (buffer != null && buffer.length == nMeasure ? buffer : new float[nMeasure]);
 		Index index = array.getIndex();
 
 		// ..loop over measurements
@@ -2726,111 +2628,120 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 		log.debug(".....validatePosition: start.....");
 		log.debug("nMeasure = {}", nMeasure);
 
-		double lat[] = arFile.readDoubleArr("LATITUDE");
-		double lon[] = arFile.readDoubleArr("LONGITUDE");
-
-		String str = arFile.readString("POSITION_QC", true); // ..true -> include any NULLs
-		char[] pos_qc = new char[nMeasure];
-		for (int n = 0; n < nMeasure; n++) {
-			pos_qc[n] = str.charAt(n);
-		}
-
-		str = arFile.readString("POSITION_ACCURACY", true); // ..true -> include any NULLs
-		char[] pos_acc = new char[nMeasure];
-		for (int n = 0; n < nMeasure; n++) {
-			pos_acc[n] = str.charAt(n);
-		}
+		Variable varLat = arFile.getNcReader().findVariable("LATITUDE");
+		Variable varLon = arFile.getNcReader().findVariable("LONGITUDE");
+		Variable varQC = arFile.getNcReader().findVariable("POSITION_QC");
+		Variable varAcc = arFile.getNcReader().findVariable("POSITION_ACCURACY");
 
-		// ........QC code check...........
+		double lat[] = null;
+		double lon[] = null;
+		char[] pos_qc = null;
+		char[] pos_acc = null;
 
 		ErrorTracker depCode = new ErrorTracker();
 		ErrorTracker invCode = new ErrorTracker();
-		ArgoReferenceTable.ArgoReferenceEntry info;
-		// NVS table entry
-		SkosConcept tableEntry;
+		ErrorTracker depAccCode = new ErrorTracker();
+		ErrorTracker invAccCode = new ErrorTracker();
+		ErrorTracker notMissQC = new ErrorTracker();
+		ErrorTracker notMissPos = new ErrorTracker();
+		// NVS tables: status of the codes
+		SingleCharTable qcFlags = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getSingleCharTable();
+		SingleCharTable accuracyCodes = ArgoNVSReferenceTable.POSITION_ACCURACY_TABLE.getSingleCharTable();
+		byte codeStatus;
 
-		for (int n = 0; n < nMeasure; n++) {
-			if (pos_qc[n] != ' ') {
-				tableEntry = ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getConceptMembersByAltLabelMap()
-						.get(String.valueOf(pos_qc[n]));
-				// =======
-				// CK_0248
-				// =======
-				if (tableEntry != null) {
-					// =======
-					// CK_0249
-					// =======
-					if (tableEntry.isDeprecated()) {
-						depCode.increment(n);
-					}
+		// ..the variables are read and checked window by window (see
+		// ..measurementWindow): the error trackers carry the counts over
 
-				} else {
-					invCode.increment(n);
-				}
-			}
-		}
+		int window = measurementWindow(nMeasure, varLat);
 
-		// will be.. invCode.addMessage(formatErrors, "POSITION_QC: Invalid QC code at
-		// ", "measurements");
-		invCode.addMessage(validationResult.getWarnings(), "POSITION_QC: Invalid QC code at ", "measurements");
+		for (int start = 0; start < nMeasure; start += window) {
+			int count = Math.min(window, nMeasure - start);
 
-		depCode.addMessage(validationResult.getWarnings(), "POSITION_QC: Deprecated QC code at ", "measurements");
+			try {
+				lat = arFile.readDoubles(varLat, start, count, lat);
+				lon = arFile.readDoubles(varLon, start, count, lon);
+				pos_qc = arFile.readChars(varQC, start, count, pos_qc); // ..NULLs included
+				pos_acc = arFile.readChars(varAcc, start, count, pos_acc); // ..NULLs included
 
-		// ........accuracy code check...........
+			} catch (InvalidRangeException e) {
+				throw new IOException("validatePosition: " + e.getMessage());
+			}
 
-		depCode.reset();
-		invCode.reset();
+			for (int n = 0; n < count; n++) {
+				// ........QC code check...........
 
-		for (int n = 0; n < nMeasure; n++) {
-			if (pos_acc[n] != ' ') {
-				// =======
-				// CK_0250
-				// =======
-				tableEntry = ArgoNVSReferenceTable.POSITION_ACCURACY_TABLE.getConceptMembersByAltLabelMap()
-						.get(String.valueOf(pos_acc[n]));
-				if (tableEntry != null) {
+				if (pos_qc[n] != ' ') {
+					codeStatus = qcFlags.status(pos_qc[n]);
 					// =======
-					// CK_0251
+					// CK_0248
 					// =======
-					if (tableEntry.isDeprecated()) {
-						depCode.increment(n);
-					}
+					if (codeStatus != SingleCharTable.INVALID) {
+						// =======
+						// CK_0249
+						// =======
+						if (codeStatus == SingleCharTable.DEPRECATED) {
+							depCode.increment(start + n);
+						}
 
-				} else {
-					invCode.increment(n);
+					} else {
+						invCode.increment(start + n);
+					}
 				}
-			}
-		}
 
-		invCode.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
-				"POSITION_ACCURACY: Invalid code at ", " measurements");
-		depCode.addMessage(validationResult.getWarnings(), "POSITION_ACCURACY: Deprecated code at ", " measurements");
+				// ........accuracy code check...........
 
-		// ........lat/lon/qc checks..............
+				if (pos_acc[n] != ' ') {
+					// =======
+					// CK_0250
+					// =======
+					codeStatus = accuracyCodes.status(pos_acc[n]);
+					if (codeStatus != SingleCharTable.INVALID) {
+						// =======
+						// CK_0251
+						// =======
+						if (codeStatus == SingleCharTable.DEPRECATED) {
+							depAccCode.increment(start + n);
+						}
 
-		ErrorTracker notMissQC = new ErrorTracker();
-		ErrorTracker notMissPos = new ErrorTracker();
-		for (int n = 0; n < nMeasure; n++) {
-			// =======
-			// CK_0252
-			// =======
-			if (is_99_999_FillValue(lat[n]) || is_99_999_FillValue(lon[n])) {
+					} else {
+						invAccCode.increment(start + n);
+					}
+				}
 
-				// ..lat or lon is FillValue, QC better be missing or FillValue
+				// ........lat/lon/qc checks..............
 
-				if (!(pos_qc[n] == '9' || pos_qc[n] == ' ')) {
-					notMissQC.increment(n);
-				}
 				// =======
-				// CK_0253
+				// CK_0252
 				// =======
-			} else if (pos_qc[n] == '9' || pos_qc[n] == ' ') {
+				if (is_99_999_FillValue(lat[n]) || is_99_999_FillValue(lon[n])) {
+
+					// ..lat or lon is FillValue, QC better be missing or FillValue
 
-				// ..QC is missing or FillValue, lat/lon is NOT FillValue
-				notMissPos.increment(n);
+					if (!(pos_qc[n] == '9' || pos_qc[n] == ' ')) {
+						notMissQC.increment(start + n);
+					}
+					// =======
+					// CK_0253
+					// =======
+				} else if (pos_qc[n] == '9' || pos_qc[n] == ' ') {
+
+					// ..QC is missing or FillValue, lat/lon is NOT FillValue
+					notMissPos.increment(start + n);
+				}
 			}
 		}
 
+		// will be.. invCode.addMessage(formatErrors, "POSITION_QC: Invalid QC code at
+		// ", "measurements");
+		invCode.addMessage(validationResult.getWarnings(), "POSITION_QC: Invalid QC code at ", "measurements");
+
+		depCode.addMessage(validationResult.getWarnings(), "POSITION_QC: Deprecated QC code at ", "measurements");
+
+		invAccCode.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
+				"POSITION_ACCURACY: Invalid code at ", " measurements");
+		depAccCode.addMessage(validationResult.getWarnings(), "POSITION_ACCURACY: Deprecated code at ",
+				" measurements");
+
 		notMissQC.addMessage(validationResult.getWarnings(), // will be.. formatErrors,
 				"LAT/LON missing: QC is not 9 or ' ' at ", "measurements");
 
@@ -3026,14 +2937,6 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 
 	// ..class variables
 
-	private class Final_NMeasurement_Variables {
-		int measurement_code;
-		int cycle_number;
-		double juld;
-		char juld_status;
-		char juld_qc;
-	}
-
 	/**
 	 * Inner class to support error tracking This class has convenience functions to
 	 * maintain lists of indices for errors,
@@ -3103,7 +3006,9 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 		 */
 		protected void addMessage(ArrayList<String> list, String str, String... label) {
 			if (counter > 0) {
-				list.add(message(str, label));
+				String message = message(str, label);
+				log.debug("ErrorTracker message: {}", message.replace("\n\t", " / "));
+				list.add(message);
 			}
 		}
 
@@ -3169,12 +3074,38 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 		}// ..end message()
 	}// ..end class ErrorTracker
 
+	/**
+	 * The comparison of the JULD(N_MEASUREMENT) settings to the JULD_*(N_CYCLE)
+	 * variable of a MEASUREMENT_CODE (see validateNCycleJuld), fed one "final"
+	 * measurement at a time: the state of the loop over the measurements is
+	 * carried from one measurement (and window) to the next.
+	 */
 	private class ValidateNCycleJuld_check {
 		// ..instance variables
 		boolean[] checked;
 		ErrorTracker incJuld;
 		ErrorTracker incJuld_s;
 
+		// ..the MC and its JULD_*(N_CYCLE) variable
+		int M_CODE;
+		String var;
+		boolean only_first = false;
+		boolean only_last = false;
+		double[] juldVar;
+		char[] juldVar_status;
+
+		// ..loop state
+		int prev_cycNum;
+		boolean do_onlyfirst = true;
+		boolean do_onlylast = false;
+		int last_n = -1, last_index = -1;
+		double last_juld;
+		char last_juld_status;
+		int mc = -1;
+
+		// .."No JULD_*[*] variable for cycle" warnings, reported with the MC
+		ArrayList<String> noIndex = new ArrayList<String>();
+
 		// ..constructor
 		public ValidateNCycleJuld_check(int nCycle) {
 			checked = new boolean[nCycle];
@@ -3192,6 +3123,88 @@ public class ArgoTrajectoryFileValidator extends ArgoFileValidator {
 			}
 		}
 
+		/**
+		 * The next measurement n (its final cycle number, MC and JULD / JULD_STATUS)
+		 */
+		// =========================
+		// CK_0284 1/2 & CK_0285 1/2
+		// =========================
+		public void next(int n, int cycNum, int measurementCode, double juld, char juld_status,
+				HashMap<Integer, Integer> CycNumIndex_cycle2index) {
+
+			if (cycNum != prev_cycNum) {
+				if (do_onlylast) {
+					// ..we have to compare the last JULD iteration
+
+					checkLast("only_last");
+
+					do_onlylast = false;
+				}
+
+				do_onlyfirst = true;
+				prev_cycNum = cycNum;
+			}
+
+			// ..carry on with this iteration
+
+			mc = measurementCode;
+			// =======
+			// CK_0288
+			// =======
+			if (mc == M_CODE) {
+				// ..this is the one we are validating
+				// ..find the index of this cycNum in N_CYCLE arrays
+
+				Integer ndx = CycNumIndex_cycle2index.get(cycNum);
+				if (ndx == null) {
+					noIndex.add("No JULD_*[*] variable for cycle " + cycNum);
+					log.error("validateNCycleJuld: CycNumIndex_cycle2index[{}] is null. " + "This should not happen",
+							cycNum);
+					return;
+				}
+
+				int index = ndx.intValue();
+
+				// ..check the only_first / only_last status
+
+				if (only_last) {
+					// ..we can't do anything until we know we hit the next cycle
+					last_n = n;
+					last_index = index;
+					last_juld = juld;
+					last_juld_status = juld_status;
+					do_onlylast = true;
+					return;
+				}
+
+				if (only_first) {
+					if (!do_onlyfirst) {
+						// ..already did first for this cycle
+						return;
+					}
+					do_onlyfirst = false;
+				}
+
+				// ..compare these values
+
+				check(n, juld, juld_status, index, juldVar[index], juldVar_status[index]);
+
+				log.debug("(temp) mc {}: juld[{}] = {} {} : {}[{}] = {} {}", mc, n, juld, juld_status, var, index,
+						juldVar[index], juldVar_status[index]);
+
+			} // ..endif mc == M_CODE
+		}
+
+		/**
+		 * Compares the last measurement of an "only_last" MC in a cycle
+		 */
+		public void checkLast(String label) {
+			check(last_n, last_juld, last_juld_status, last_index, juldVar[last_index], juldVar_status[last_index]);
+
+			log.debug("(temp) {}: mc {}: juld[{}] = {} {} : {}[{}] = {} {}", label, mc, last_n, last_juld,
+					last_juld_status, var, last_index, juldVar[last_index], juldVar_status[last_index]);
+		}
+
 		public void check(int ndx, double juld, char juld_status, int ndxIndex, double juldIndex,
 				char juldIndex_status) {
 
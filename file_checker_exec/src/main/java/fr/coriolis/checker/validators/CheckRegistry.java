@@ -0,0 +1,271 @@
+package fr.coriolis.checker.validators;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The check units of the data validation, declared in the "checks.properties"
+ * resource: a unit is a step of a validator's validateData (e.g.
+ * "ArgoTrajectoryFileValidator.validatePosition") and lists the CK_xxxx checks
+ * it implements.
+ * <p>
+ * The checks are enabled / disabled by unit (-only-checks, -skip-checks):
+ * <ul>
+ * <li>a disabled unit is not run, except the units whose results the following
+ * ones depend on (e.g. validateDates, validateCycleNumber): they run, and their
+ * errors and warnings are dropped
+ * <li>a CK_xxxx check selects all the units that implement it (in part): the
+ * messages of a unit are not told apart by check, so the other checks of the
+ * units are selected too (a warning lists them)
+ * <li>the checks of the "always.*" entries (format verification, file name...)
+ * are not units: they are known, and ignored with a warning
+ * </ul>
+ * For each unit, the number of runs, of skips, of errors and warnings reported
+ * and the time spent are counted for the batch (see format).
+ */
+public final class CheckRegistry {
+
+	private static final Logger log = LogManager.getLogger("CheckRegistry");
+
+	private static final String RESOURCE = "checks.properties";
+
+	private static final Pattern pCheckId = Pattern.compile("(?:CK|CHECK)_(\\d{4})");
+
+	// ..prefix of the entries whose checks always run
+	private static final String ALWAYS = "always.";
+
+	/** A check unit: a validator method and the checks it implements */
+	public static final class Unit {
+		private final String id;
+		private final String method;
+		private final List<String> checks;
+		private volatile boolean enabled = true;
+
+		private final AtomicLong runs = new AtomicLong();
+		private final AtomicLong skipped = new AtomicLong();
+		private final AtomicLong nanos = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong warnings = new AtomicLong();
+
+		Unit(String id, List<String> checks) {
+			this.id = id;
+			this.method = id.substring(id.indexOf('.') + 1);
+			this.checks = Collections.unmodifiableList(checks);
+		}
+
+		/** "&lt;validator&gt;.&lt;method&gt;" */
+		public String getId() {
+			return id;
+		}
+
+		/** The CK_xxxx checks of the unit */
+		public List<String> getChecks() {
+			return checks;
+		}
+
+		/** True if the checks always run (not a unit that can be disabled) */
+		public boolean isAlwaysRun() {
+			return id.startsWith(ALWAYS);
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		/** Count a run of the unit */
+		void ran(long nanos, int nErrors, int nWarnings) {
+			this.runs.incrementAndGet();
+			this.nanos.addAndGet(nanos);
+			this.errors.addAndGet(nErrors);
+			this.warnings.addAndGet(nWarnings);
+		}
+
+		/** Count a skip of the unit (disabled) */
+		void skipped() {
+			this.skipped.incrementAndGet();
+		}
+
+		private boolean matches(String name) {
+			return name.equals(id) || name.equals(method) || checks.contains(name);
+		}
+	}
+
+	// ..the units, in the order of the resource
+	private static final LinkedHashMap<String, Unit> units = load();
+
+	private CheckRegistry() {
+	}
+
+	/**
+	 * The check unit "&lt;validator&gt;.&lt;method&gt;"
+	 *
+	 * @return the unit; null if not declared (always run)
+	 */
+	public static Unit unit(String id) {
+		return units.get(id);
+	}
+
+	/** The check units, in declaration order */
+	public static Collection<Unit> units() {
+		return Collections.unmodifiableCollection(units.values());
+	}
+
+	/**
+	 * Enable the check units to run. A name is a unit id
+	 * ("&lt;validator&gt;.&lt;method&gt;"), a method name (the units of all the
+	 * validators) or a check id ("CK_0248", also "CHECK_0248": the units that
+	 * implement it).
+	 *
+	 * @param only names of the units to run (null or empty: all)
+	 * @param skip names of the units not to run (null: none), even if in
+	 *             <i>only</i>
+	 * @return the warnings about the selection (also logged): checks that always
+	 *         run, other checks selected with a check of a unit
+	 * @throws IllegalArgumentException if a name matches no unit
+	 */
+	public static synchronized List<String> select(List<String> only, List<String> skip)
+			throws IllegalArgumentException {
+		List<String> warnings = new ArrayList<String>();
+		Set<Unit> onlyUnits = matching(only, "-only-checks", warnings);
+		Set<Unit> skipUnits = matching(skip, "-skip-checks", warnings);
+		boolean allUnits = (only == null || only.isEmpty());
+
+		for (Unit unit : units.values()) {
+			if (unit.isAlwaysRun()) {
+				continue;
+			}
+			unit.enabled = (allUnits || onlyUnits.contains(unit)) && !skipUnits.contains(unit);
+			if (!unit.enabled) {
+				log.info("check unit disabled: {}", unit.id);
+			}
+		}
+
+		for (String warning : warnings) {
+			log.warn(warning);
+		}
+		return warnings;
+	}
+
+	/**
+	 * Format the counts of the check units that ran or were skipped during the
+	 * batch
+	 *
+	 * @return the report (several lines)
+	 */
+	public static String format() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%nCHECK UNITS%n"));
+		report.append(String.format("    %-58s %7s %7s %7s %9s %9s %10s%n", "unit", "checks", "runs", "skipped",
+				"errors", "warnings", "total s"));
+
+		for (Unit unit : units.values()) {
+			if (unit.isAlwaysRun() || (unit.runs.get() == 0 && unit.skipped.get() == 0)) {
+				continue;
+			}
+			report.append(String.format("    %-58s %7d %7d %7d %9d %9d %10.2f%n", unit.id, unit.checks.size(),
+					unit.runs.get(), unit.skipped.get(), unit.errors.get(), unit.warnings.get(),
+					unit.nanos.get() / 1.e9));
+		}
+		return report.toString();
+	}
+
+	// ************************** convenience methods ******************************
+
+	private static Set<Unit> matching(List<String> names, String option, List<String> warnings)
+			throws IllegalArgumentException {
+		Set<Unit> matching = new LinkedHashSet<Unit>();
+		if (names == null) {
+			return matching;
+		}
+
+		for (String name : names) {
+			String unitName = checkId(name.trim());
+			boolean found = false;
+			for (Unit unit : units.values()) {
+				if (!unit.matches(unitName)) {
+					continue;
+				}
+				found = true;
+
+				if (unit.isAlwaysRun()) {
+					warnings.add("Warning: '" + option + "': '" + name + "' always runs (" + unit.id
+							+ "): ignored");
+					continue;
+				}
+				matching.add(unit);
+
+				// ..a check of a unit: all the checks of the unit are selected
+				if (unit.checks.contains(unitName) && unit.checks.size() > 1) {
+					List<String> others = new ArrayList<String>(unit.checks);
+					others.remove(unitName);
+					warnings.add("Warning: '" + option + "': '" + name + "' selects the check unit " + unit.id
+							+ ", with checks " + String.join(" ", others));
+				}
+			}
+			if (!found) {
+				log.error("Error: Unknown check in '{}': '{}'", option, name);
+				throw new IllegalArgumentException("Error: Unknown check in '" + option + "': '" + name + "'");
+			}
+		}
+		return matching;
+	}
+
+	// ..CHECK_xxxx (the older spelling in the code) is CK_xxxx
+	private static String checkId(String name) {
+		Matcher m = pCheckId.matcher(name);
+		if (m.matches()) {
+			return "CK_" + m.group(1);
+		}
+		return name;
+	}
+
+	private static LinkedHashMap<String, Unit> load() {
+		LinkedHashMap<String, Unit> units = new LinkedHashMap<String, Unit>();
+
+		// ..read line by line: the order of the units is kept
+		try (InputStream in = CheckRegistry.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+			if (in == null) {
+				throw new IllegalStateException("check units resource '" + RESOURCE + "' not found");
+			}
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				int eq = line.indexOf('=');
+				if (eq < 0) {
+					throw new IllegalStateException("invalid line in '" + RESOURCE + "': '" + line + "'");
+				}
+				String id = line.substring(0, eq).trim();
+				String checks = line.substring(eq + 1).trim();
+				units.put(id, new Unit(id, checks.isEmpty() ? new ArrayList<String>()
+						: new ArrayList<String>(Arrays.asList(checks.split("\\s+")))));
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("check units resource '" + RESOURCE + "' not readable", e);
+		}
+
+		log.debug("{} check units", units.size());
+		return units;
+	}
+
+}
@@ -0,0 +1,196 @@
+package fr.coriolis.checker.validators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import fr.coriolis.checker.config.Options;
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.specs.ArgoAttribute;
+import fr.coriolis.checker.specs.ArgoDimension;
+import fr.coriolis.checker.specs.ArgoFileSpecification;
+import fr.coriolis.checker.specs.ArgoVariable;
+import fr.coriolis.checker.utils.DigestUtils;
+import ucar.nc2.Attribute;
+import ucar.nc2.Dimension;
+import ucar.nc2.Variable;
+
+/**
+ * Memo of the results of the format checks (ArgoFileValidator.validateFormat).
+ * <p>
+ * The format checks only depend on the specification and on the header of the
+ * file (dimensions, variables, attributes), not on the data. The files of a
+ * float, or of a DAC processing chain, mostly have the same header, apart from
+ * the lengths of the N_PROF, N_LEVELS, N_MEASUREMENT... dimensions. So the
+ * errors and warnings of a header are kept, keyed by a fingerprint of
+ * everything the checks look at, and replayed for the next files with the same
+ * fingerprint.
+ * <p>
+ * The fingerprint holds:
+ * <ul>
+ * <li>the names of the dimensions, and the lengths of those that have a fixed
+ * length in the specification
+ * <li>the name, type and dimension names of each variable, in file order
+ * <li>the name of each attribute of a variable; its type and value if it is in
+ * the specification of the variable
+ * <li>the type and value of the global attributes of the specification (the
+ * value is left out if the specification ignores it)
+ * </ul>
+ * The warnings logged by the checks are kept too, and logged again for the
+ * DAC and name of the next files.
+ * <p>
+ * The memo of a specification goes away with the specification. At most
+ * "filechecker.formatcache.size" headers (system property, default 256; 0 to
+ * disable) are kept for each specification: the least recently used are
+ * dropped first.
+ */
+final class FormatCheckCache {
+
+	private static final int SIZE = Options.getFormatCacheSize();
+
+	/** The errors and warnings of the format checks of a header */
+	static final class Entry {
+		final List<String> errors;
+		final List<String> warnings;
+		final List<LoggedWarning> logged;
+
+		Entry(List<String> errors, List<String> warnings, List<LoggedWarning> logged) {
+			this.errors = new ArrayList<String>(errors);
+			this.warnings = new ArrayList<String>(warnings);
+			this.logged = new ArrayList<LoggedWarning>(logged);
+		}
+	}
+
+	/**
+	 * A warning logged by the format checks of a header: replayed in the log
+	 * with the results (see ArgoFileValidator.logFormatWarning)
+	 */
+	static final class LoggedWarning {
+		// .."TEMP WARNING: " or "" before "<dac>: <file>: <message>"; null if
+		// ..the message is logged as is
+		final String label;
+		final String message;
+
+		LoggedWarning(String label, String message) {
+			this.label = label;
+			this.message = message;
+		}
+	}
+
+	// ..by specification (identity: weak keys), then by header fingerprint
+	private static final Map<ArgoFileSpecification, LinkedHashMap<String, Entry>> entries = new WeakHashMap<ArgoFileSpecification, LinkedHashMap<String, Entry>>();
+
+	private FormatCheckCache() {
+	}
+
+	static boolean isEnabled() {
+		return SIZE > 0;
+	}
+
+	/**
+	 * @return the results of the format checks of a header; null if not known
+	 */
+	static synchronized Entry get(ArgoFileSpecification spec, String fingerprint) {
+		LinkedHashMap<String, Entry> specEntries = entries.get(spec);
+		return (specEntries == null ? null : specEntries.get(fingerprint));
+	}
+
+	/**
+	 * Keep the results of the format checks of a header
+	 */
+	static synchronized void put(ArgoFileSpecification spec, String fingerprint, Entry entry) {
+		LinkedHashMap<String, Entry> specEntries = entries.get(spec);
+		if (specEntries == null) {
+			// ..access order: the first entry is the least recently used
+			specEntries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, FormatCheckCache.Entry> eldest) {
+					return size() > SIZE;
+				}
+			};
+			entries.put(spec, specEntries);
+		}
+		specEntries.put(fingerprint, entry);
+	}
+
+	/**
+	 * Forget the results of all the headers
+	 */
+	static synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Fingerprint (digest) of everything the format checks of a file look at
+	 */
+	static String fingerprint(ArgoDataFile arFile) {
+		ArgoFileSpecification spec = arFile.getFileSpec();
+		StringBuilder header = new StringBuilder(16 * 1024);
+
+		header.append("dimensions:\n");
+		for (Dimension dim : arFile.getNcReader().getDimensions()) {
+			ArgoDimension specDim = spec.getDimension(dim.getShortName());
+			header.append(dim.getShortName());
+			if (specDim != null && specDim.getValue() > 0) {
+				header.append(" = ").append(dim.getLength());
+			}
+			header.append('\n');
+		}
+
+		header.append("variables:\n");
+		for (Variable var : arFile.getVarList()) {
+			ArgoVariable specVar = spec.getVariable(var.getShortName());
+			header.append(var.getDataType()).append(' ').append(var.getShortName()).append('(')
+					.append(var.getDimensionsString()).append(")\n");
+
+			for (Attribute attr : var.getAttributes()) {
+				header.append('\t').append(attr.getShortName());
+				if (specVar != null && specVar.getAttribute(attr.getShortName()) != null) {
+					appendValue(header, attr);
+				}
+				header.append('\n');
+			}
+		}
+
+		header.append("global attributes:\n");
+		for (String name : spec.getGlobalAttributeNames()) {
+			Attribute attr = arFile.findGlobalAttribute(name);
+			header.append(':').append(name);
+			if (attr == null) {
+				header.append(" -");
+
+			} else if (attr.isString() && isValueIgnored(spec.getGlobalAttribute(name))) {
+				header.append(" string");
+
+			} else {
+				appendValue(header, attr);
+			}
+			header.append('\n');
+		}
+
+		return DigestUtils.sha256(header.toString());
+	}
+
+	// ..the type and value of an attribute, as read by the checks
+	private static void appendValue(StringBuilder header, Attribute attr) {
+		header.append(' ').append(attr.getDataType()).append(attr.isString() ? " string" : " number").append(" = ");
+		try {
+			String value = (attr.isString() ? attr.getStringValue() : String.valueOf(attr.getNumericValue()));
+			// ..with its length: a value cannot be mistaken for the next lines
+			header.append(value.length()).append(':').append(value);
+		} catch (RuntimeException e) {
+			header.append("!").append(e.getClass().getSimpleName());
+		}
+	}
+
+	private static boolean isValueIgnored(ArgoAttribute specAttr) {
+		String specValue = specAttr.getValue().toString();
+		return specValue.startsWith(ArgoFileSpecification.ATTR_IGNORE)
+				|| specValue.startsWith(ArgoFileSpecification.ATTR_IGNORE_VALUE);
+	}
+
+}
@@ -0,0 +1,85 @@
+package fr.coriolis.checker.validators;
+
+import ucar.ma2.Array;
+
+/**
+ * Scan of the data of a "char" variable for NULL characters
+ * (ArgoFileValidator.validateStringNulls).
+ * <p>
+ * The strings of a variable of any rank are the rows of its last dimension. The
+ * data are scanned in one pass over the backing char[] of the array, row after
+ * row, instead of setting an Index for each character: the first NULL of each
+ * row is reported with its index in each dimension.
+ */
+final class NullCharScanner {
+
+	/** Receives the first NULL character of each row, in index order */
+	interface Handler {
+		/**
+		 * @param index the (0-based) index of the character in each dimension
+		 */
+		void nullChar(int[] index);
+	}
+
+	private NullCharScanner() {
+	}
+
+	/**
+	 * Reports the first NULL character of each row of the data of a variable
+	 *
+	 * @param array   all the data of the variable
+	 * @param shape   shape of the variable (rank 1 or more)
+	 * @param handler receives the NULL characters found
+	 * @return the number of NULL characters reported
+	 */
+	static int scan(Array array, int[] shape, Handler handler) {
+		char[] chars = chars(array);
+		int rank = shape.length;
+		int rowLength = shape[rank - 1];
+
+		if (rowLength == 0) {
+			return 0;
+		}
+
+		int nRows = chars.length / rowLength;
+		int nFound = 0;
+
+		for (int row = 0, start = 0; row < nRows; row++, start += rowLength) {
+			int end = start + rowLength;
+			for (int n = start; n < end; n++) {
+				if (chars[n] == (char) 0) {
+					handler.nullChar(index(shape, row, n - start));
+					nFound++;
+					break;
+				}
+			}
+		}
+
+		return nFound;
+	}
+
+	// ..index in each dimension of character "column" of row "row" (row-major order)
+	private static int[] index(int[] shape, int row, int column) {
+		int[] index = new int[shape.length];
+		index[shape.length - 1] = column;
+		for (int d = shape.length - 2; d >= 0; d--) {
+			index[d] = row % shape[d];
+			row /= shape[d];
+		}
+		return index;
+	}
+
+	// ..the data read are not views: the values are in the storage, in index order
+	private static char[] chars(Array array) {
+		Object storage = array.getStorage();
+		if (storage instanceof char[]) {
+			return (char[]) storage;
+		}
+		char[] values = new char[(int) array.getSize()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = array.getChar(i);
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,280 @@
+package fr.coriolis.checker.validators;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+import fr.coriolis.checker.tables.SingleCharTable;
+import ucar.ma2.Array;
+import ucar.nc2.Variable;
+
+/**
+ * Column-wise checks of the &lt;param&gt; / &lt;param&gt;_QC levels of a
+ * profile file (ArgoProfileFileValidator.checkParamParamQC).
+ * <p>
+ * The checks of a parameter (CK_0064/65, CK_0073/74/75, CK_0185/186) are
+ * counts over its levels. For a (N_PROF, N_LEVELS) parameter whose data fits
+ * in the read cache of the file, they are computed for all the profiles in one
+ * pass over the whole &lt;param&gt; and &lt;param&gt;_QC arrays, instead of one
+ * read and one pass per profile; the counts of each profile are kept, one
+ * array per count, and then reported profile by profile as before.
+ * <p>
+ * The QC flags of a profile are classified (in the QC flag table or not,
+ * deprecated) in one call to the lookup table of the QC flag table (see
+ * SingleCharTable), not by a String and a table lookup per level.
+ */
+final class ParamQcColumns {
+
+	// ..QC flag classes
+	static final byte QC_NOT_IN_TABLE = SingleCharTable.INVALID;
+	static final byte QC_VALID = SingleCharTable.VALID;
+	static final byte QC_DEPRECATED = SingleCharTable.DEPRECATED;
+
+	/** The counts of the &lt;param&gt; / &lt;param&gt;_QC checks, by profile */
+	static final class Counts {
+		final int[] nan; // ..count of NANs
+		final int[] inf; // ..count of Inf values
+		final int[] depQC; // ..count of "deprecated QC"
+		final int[] illQC; // ..count of "illegal QC"
+		final int[] invQC; // ..count of "invalid QC"
+		final int[] notMiss; // ..count of QC not set missing when data is missing
+		final int[] notNotMeas; // ..count of QC "not measured" when data is NOT missing
+		final int[] noQC; // ..count of "no QC"
+		final int[] nData; // ..number of data values (based on QC code)
+		final int[] nGood; // ..number of good values (based on QC code)
+		final int[] nNoQC; // ..number of no-qc values
+
+		Counts(int nProf) {
+			nan = new int[nProf];
+			inf = new int[nProf];
+			depQC = new int[nProf];
+			illQC = new int[nProf];
+			invQC = new int[nProf];
+			notMiss = new int[nProf];
+			notNotMeas = new int[nProf];
+			noQC = new int[nProf];
+			nData = new int[nProf];
+			nGood = new int[nProf];
+			nNoQC = new int[nProf];
+		}
+	}
+
+	private final ArgoDataFile arFile;
+
+	// ..counts of the parameters checked column-wise, by parameter name
+	private final HashMap<String, Counts> columns = new HashMap<String, Counts>();
+
+	// ..the QC flag table (DM_QC_FLAG_TABLE)
+	private final SingleCharTable qcFlags;
+
+	// ..classes of the QC flags of a profile (reused)
+	private byte[] qcClasses = new byte[0];
+
+	ParamQcColumns(ArgoDataFile arFile) {
+		this(arFile, ArgoNVSReferenceTable.DM_QC_FLAG_TABLE.getSingleCharTable());
+	}
+
+	/**
+	 * @param qcFlags the lookup table of the QC flag table
+	 */
+	ParamQcColumns(ArgoDataFile arFile, SingleCharTable qcFlags) {
+		this.arFile = arFile;
+		this.qcFlags = qcFlags;
+	}
+
+	/**
+	 * The counts of all the profiles of a (N_PROF, N_LEVELS) parameter, computed
+	 * on the first call for the parameter.
+	 *
+	 * @return the counts (indexed by profile); null if the parameter cannot be
+	 *         checked column-wise (not rank 2, not the shape of its _QC, or too
+	 *         large for the read cache): it is then checked profile by profile
+	 * @throws IOException on a read error
+	 */
+	Counts counts(Variable var, Variable varQC, float fValue) throws IOException {
+		String varName = var.getShortName();
+		if (columns.containsKey(varName)) {
+			return columns.get(varName);
+		}
+
+		Counts counts = null;
+		if (var.getRank() == 2 && varQC.getRank() == 2 && varQC.getSize() == var.getSize()) {
+			Array prm = arFile.cachedData(var);
+			Array prmQC = (prm == null ? null : arFile.cachedData(varQC));
+
+			if (prmQC != null) {
+				int nProf = var.getShape(0);
+				int nLevel = var.getShape(1);
+				float[] values = floats(prm);
+				char[] flags = chars(prmQC);
+				boolean optional = arFile.getFileSpec().isOptional(varName);
+
+				counts = new Counts(nProf);
+				for (int n = 0; n < nProf; n++) {
+					count(values, flags, n * nLevel, nLevel, fValue, optional, counts, n);
+				}
+			}
+		}
+
+		columns.put(varName, counts);
+		return counts;
+	}
+
+	/**
+	 * The counts of the levels of one profile (read profile by profile)
+	 *
+	 * @return the counts (index 0)
+	 */
+	Counts counts(String varName, float[] prm, char[] prm_qc, float fValue) {
+		Counts counts = new Counts(1);
+		count(prm, prm_qc, 0, prm.length, fValue, arFile.getFileSpec().isOptional(varName), counts, 0);
+		return counts;
+	}
+
+	/**
+	 * The class of a QC flag in the QC flag table (DM_QC_FLAG_TABLE)
+	 *
+	 * @return QC_NOT_IN_TABLE, QC_VALID or QC_DEPRECATED
+	 */
+	byte qcClass(char qc) {
+		return qcFlags.status(qc);
+	}
+
+	// ..the checks of the levels [start, start + nLevel[ of prm / prm_qc, counted
+	// ..in counts[n]
+	private void count(float[] prm, char[] prm_qc, int start, int nLevel, float fValue, boolean optional,
+			Counts counts, int n) {
+		int nan = 0;
+		int inf = 0;
+		int depQC = 0;
+		int illQC = 0;
+		int invQC = 0;
+		int notMiss = 0;
+		int notNotMeas = 0;
+		int noQC = 0;
+		int nData = 0;
+		int nGood = 0;
+		int nNoQC = 0;
+
+		if (qcClasses.length < nLevel) {
+			qcClasses = new byte[nLevel];
+		}
+		qcFlags.classify(prm_qc, start, start + nLevel, qcClasses);
+
+		for (int k = start; k < start + nLevel; k++) {
+			float value = prm[k];
+			char qc = prm_qc[k];
+
+			// =================
+			// CK_0064 & CK_0065
+			// =================
+			if (Float.isNaN(value)) {
+				nan++;
+			}
+			if (Float.isInfinite(value)) {
+				inf++;
+			}
+
+			// =======
+			// CK_0073
+			// =======
+			byte flagClass = qcClasses[k - start];
+
+			if (flagClass != QC_NOT_IN_TABLE) {
+				// ..valid QC flag (NOT " ")
+				// =======
+				// CK_0185
+				// =======
+				if (flagClass == QC_DEPRECATED) {
+					depQC++;
+				}
+				// =======
+				// CK_0074
+				// =======
+				if (ArgoFileValidator.is_FillValue(fValue, value)) {
+					// ..data is missing - QC better be too
+					if (qc != '9' && qc != '0') {
+						notMiss++;
+					}
+
+				} else {
+					// ..data not missing - check QC value
+					// ==========
+					// CHECK_0075
+					// ==========
+					if (qc == '0') {
+						if (!optional) {
+							noQC++;
+						}
+					} else if (qc > '4') {
+						illQC++;
+					}
+				}
+
+				// ..count the good, bad, and ugly (for profile QC)
+				if (qc != '9' && qc != ' ') {
+					nData++;
+				}
+				if (qc == '1' || qc == '2' || qc == '5' || qc == '8') {
+					nGood++;
+				} else if (qc == '0') {
+					nNoQC++;
+				}
+
+			} else { // ..QC not is ref table 2, handle " " special case
+				// =======
+				// CK_0186
+				// =======
+				if (qc == ' ') {
+					// ..qc set to NOT MEASURED, data better be missing
+					if (!ArgoFileValidator.is_FillValue(fValue, value)) {
+						notNotMeas++;
+					}
+				} else {
+					// ..not in QCFlag (not in ref table 2) and not " "
+					// ..invalid QC flag
+					invQC++;
+				}
+			}
+		} // ..end for (k)
+
+		counts.nan[n] = nan;
+		counts.inf[n] = inf;
+		counts.depQC[n] = depQC;
+		counts.illQC[n] = illQC;
+		counts.invQC[n] = invQC;
+		counts.notMiss[n] = notMiss;
+		counts.notNotMeas[n] = notNotMeas;
+		counts.noQC[n] = noQC;
+		counts.nData[n] = nData;
+		counts.nGood[n] = nGood;
+		counts.nNoQC[n] = nNoQC;
+	}
+
+	// ..the data read are not views: the values are in the storage, in index order
+	private static float[] floats(Array array) {
+		Object storage = array.getStorage();
+		if (storage instanceof float[]) {
+			return (float[]) storage;
+		}
+		float[] values = new float[(int) array.getSize()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = array.getFloat(i);
+		}
+		return values;
+	}
+
+	private static char[] chars(Array array) {
+		Object storage = array.getStorage();
+		if (storage instanceof char[]) {
+			return (char[]) storage;
+		}
+		char[] values = new char[(int) array.getSize()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = array.getChar(i);
+		}
+		return values;
+	}
+
+}
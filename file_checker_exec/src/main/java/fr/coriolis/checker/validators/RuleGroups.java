@@ -0,0 +1,193 @@
+package fr.coriolis.checker.validators;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import fr.coriolis.checker.config.Options;
+import fr.coriolis.checker.core.PhaseTimings;
+import fr.coriolis.checker.core.ValidationResult;
+
+/**
+ * Rule groups of a data validation that do not depend on each other (e.g. the
+ * position, parameter and N_CYCLE checks of a trajectory file, once the cycle
+ * numbers are validated). Each group is a check unit of the validator (see
+ * CheckRegistry): it is not run if the unit is disabled.
+ * <p>
+ * By default the groups are run one after the other, as before. With the
+ * "filechecker.rules.threads" system property greater than 1, they are run
+ * concurrently on a pool of that many threads shared by all the files (the
+ * first group runs on the calling thread), so a single large file is checked
+ * on several cores:
+ * <ul>
+ * <li>the groups only share the file, whose reads are serialized (see
+ * ArgoDataFile.read), and the specifications and reference tables, which are
+ * not modified during a validation
+ * <li>the errors and warnings of each group are kept apart, then appended to
+ * the results of the file in the order of the groups: the results are the
+ * same as those of a sequential run
+ * <li>if a group fails, the results of the groups before it and its own are
+ * kept and its exception is thrown, as in a sequential run
+ * </ul>
+ */
+final class RuleGroups {
+
+	/** A rule group: one or more checks of the validator */
+	interface Rule {
+		void run() throws IOException;
+	}
+
+	private static final Logger log = LogManager.getLogger("RuleGroups");
+
+	private static final int THREADS = Options.getRuleThreads();
+
+	// ..created on first use
+	private static ExecutorService pool;
+
+	private final ArgoFileValidator validator;
+	private final int threads;
+	private final List<String> names = new ArrayList<String>();
+	private final List<Rule> rules = new ArrayList<Rule>();
+
+	RuleGroups(ArgoFileValidator validator) {
+		this(validator, THREADS);
+	}
+
+	/**
+	 * @param threads run the groups concurrently if greater than 1 (default:
+	 *                "filechecker.rules.threads"); the pool is created with the
+	 *                first value used
+	 */
+	RuleGroups(ArgoFileValidator validator, int threads) {
+		this.validator = validator;
+		this.threads = threads;
+	}
+
+	/**
+	 * Add a rule group
+	 *
+	 * @param name name of the group: the method it calls, a check unit (see
+	 *             CheckRegistry)
+	 * @param rule the checks of the group
+	 */
+	RuleGroups add(String name, Rule rule) {
+		names.add(name);
+		rules.add(rule);
+		return this;
+	}
+
+	/**
+	 * Run the rule groups (in the order they were added, or concurrently)
+	 *
+	 * @throws IOException the exception of the first group that failed
+	 */
+	void run() throws IOException {
+		if (threads <= 1 || rules.size() < 2) {
+			for (int i = 0; i < rules.size(); i++) {
+				validator.check(names.get(i), rules.get(i));
+			}
+			return;
+		}
+
+		int nGroups = rules.size();
+		ValidationResult[] results = new ValidationResult[nGroups];
+		List<Future<Long>> tasks = new ArrayList<Future<Long>>(nGroups);
+
+		for (int i = 0; i < nGroups; i++) {
+			results[i] = new ValidationResult();
+		}
+		tasks.add(null);
+		for (int i = 1; i < nGroups; i++) {
+			tasks.add(pool(threads).submit(group(i, results[i])));
+		}
+
+		// ..the first group runs here while the others are queued / running
+		long[] nanos = new long[nGroups];
+		Throwable[] failures = new Throwable[nGroups];
+		try {
+			nanos[0] = group(0, results[0]).call();
+		} catch (Throwable e) {
+			failures[0] = e;
+		}
+
+		// ..wait for all of them: none reads the file once this returns
+		boolean interrupted = false;
+		for (int i = 1; i < nGroups; i++) {
+			try {
+				nanos[i] = tasks.get(i).get();
+			} catch (ExecutionException e) {
+				failures[i] = e.getCause();
+			} catch (InterruptedException e) {
+				interrupted = true;
+				failures[i] = e;
+				tasks.get(i).cancel(true);
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		// ..merge in group order, up to the first failure
+		ValidationResult validationResult = validator.validationResult;
+		PhaseTimings timings = validator.arFile.getTimings();
+
+		for (int i = 0; i < nGroups; i++) {
+			validationResult.add(results[i]);
+			if (failures[i] != null) {
+				throw rethrow(names.get(i), failures[i]);
+			}
+			if (nanos[i] >= 0) {
+				timings.add(validator.unitId(names.get(i)), nanos[i]);
+			}
+		}
+	}
+
+	// ..rule group i, with its messages kept in its own results: its time, -1 if
+	// ..its check unit is disabled
+	private Callable<Long> group(final int i, final ValidationResult groupResult) {
+		return () -> {
+			ValidationResult validationResult = validator.validationResult;
+			validationResult.beginGroup(groupResult);
+			try {
+				return validator.runCheck(names.get(i), rules.get(i));
+			} finally {
+				validationResult.endGroup();
+			}
+		};
+	}
+
+	private static IOException rethrow(String name, Throwable e) throws IOException {
+		if (e instanceof IOException) {
+			throw (IOException) e;
+		}
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		log.error("rule group '{}' failed", name, e);
+		return new IOException("rule group '" + name + "' failed: " + e);
+	}
+
+	private static synchronized ExecutorService pool(int threads) {
+		if (pool == null) {
+			pool = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable, "rule-group");
+				thread.setDaemon(true); // ..does not keep the JVM alive
+				return thread;
+			});
+			log.info("rule groups run with {} threads", threads);
+		}
+		return pool;
+	}
+
+}
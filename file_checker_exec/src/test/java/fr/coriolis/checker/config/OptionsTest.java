@@ -10,6 +10,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import fr.coriolis.checker.specs.ArgoReferenceTable;
 
@@ -74,6 +76,197 @@ class OptionsTest {
 
 	}
 
+	@Test
+	public void getInstance_shouldParseThreads_whenThreadsOptionGiven() {
+		// ARRANGE
+		String[] args = { "-threads", "8", "dac", "specDir", "outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+
+		// ASSERT
+		assertThat(Options.getInstance().getNThreads()).isEqualTo(8);
+	}
+
+	@Test
+	public void getInstance_shouldDefaultToOneThread_whenThreadsOptionNotGiven() {
+		// ARRANGE
+		String[] args = { "dac", "specDir", "outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+
+		// ASSERT
+		assertThat(Options.getInstance().getNThreads()).isEqualTo(1);
+	}
+
+	@Test
+	public void getInstance_shouldThrowException_whenInvalidThreadsValue() {
+		// ARRANGE
+		String[] args = { "-threads", "0", "dac", "specDir", "outDir", "inDir" };
+
+		// ACT & ASSERT
+		assertThatThrownBy(() -> Options.init(args)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Invalid '-threads' value");
+	}
+
+	@ParameterizedTest(name = "-D{0}={1} should be rejected")
+	@CsvSource({ "filechecker.rules.threads, 0", "filechecker.traj.window, -1", "filechecker.io, direct",
+			"filechecker.io.memory.mb, 1GB", "filechecker.readcache.mb, -64", "filechecker.formatcache.size, none",
+			"filechecker.configtech.cache, 4k" })
+	public void getInstance_shouldThrowException_whenInvalidJvmOption(String name, String value) {
+		// ARRANGE
+		String[] args = { "dac", "specDir", "outDir", "inDir" };
+		System.setProperty(name, value);
+
+		// ACT & ASSERT
+		try {
+			assertThatThrownBy(() -> Options.init(args)).isInstanceOf(IllegalArgumentException.class)
+					.hasMessageContaining("Invalid '-D" + name + "' value: '" + value + "'");
+		} finally {
+			System.clearProperty(name);
+		}
+	}
+
+	@Test
+	public void getJvmOptions_shouldParseTheValues_whenSet() {
+		// ARRANGE
+		System.setProperty(Options.TRAJ_WINDOW, " 0 ");
+		System.setProperty(Options.READ_PATH, "MMap");
+
+		// ACT & ASSERT
+		try {
+			assertThat(Options.getTrajWindow()).isEqualTo(0);
+			assertThat(Options.getReadPath()).isEqualTo("mmap");
+			assertThat(Options.getRuleThreads()).isEqualTo(1);
+			assertThat(Options.getFormatCacheSize()).isEqualTo(256);
+		} finally {
+			System.clearProperty(Options.TRAJ_WINDOW);
+			System.clearProperty(Options.READ_PATH);
+		}
+	}
+
+	@Test
+	public void getInstance_shouldOnlyRequireSpecDir_whenServerMode() {
+		// ARRANGE
+		String[] args = { "-server", "8080", "-format-only", "specDir" };
+
+		// ACT
+		Options.init(args);
+		Options options = Options.getInstance();
+
+		// ASSERT
+		assertThat(options.isServer()).isTrue();
+		assertThat(options.getServerPort()).isEqualTo(8080);
+		assertThat(options.getSpecDirName()).isEqualTo("specDir");
+		assertThat(options.getDacName()).isNull();
+	}
+
+	@Test
+	public void getInstance_shouldThrowException_whenInvalidServerPort() {
+		// ARRANGE
+		String[] args = { "-server", "http", "specDir" };
+
+		// ACT & ASSERT
+		assertThatThrownBy(() -> Options.init(args)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Invalid '-server' port");
+	}
+
+	@Test
+	public void getInstance_shouldParseSummaryFile_whenSummaryOptionGiven() {
+		// ARRANGE
+		String[] args = { "-summary", "batch.jsonl", "dac", "specDir", "outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+
+		// ASSERT
+		assertThat(Options.getInstance().getSummaryFile()).isEqualTo("batch.jsonl");
+	}
+
+	@Test
+	public void getInstance_shouldParseTimingOptions_whenGiven() {
+		// ARRANGE
+		String[] args = { "-timing", "-timing-per-file", "dac", "specDir", "outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+		Options options = Options.getInstance();
+
+		// ASSERT
+		assertThat(options.isDoTiming()).isTrue();
+		assertThat(options.isDoTimingPerFile()).isTrue();
+	}
+
+	@Test
+	public void getInstance_shouldParseCacheDir_whenCacheOptionGiven() {
+		// ARRANGE
+		String[] args = { "-cache", "cacheDir", "dac", "specDir", "outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+
+		// ASSERT
+		assertThat(Options.getInstance().getCacheDirName()).isEqualTo("cacheDir");
+	}
+
+	@Test
+	public void getInstance_shouldParseNvsMirrorDir_whenNvsMirrorOptionGiven() {
+		// ARRANGE
+		String[] args = { "-online-nvs", "-nvs-mirror", "mirrorDir", "dac", "specDir", "outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+		Options options = Options.getInstance();
+
+		// ASSERT
+		assertThat(options.getNvsMirrorDirName()).isEqualTo("mirrorDir");
+		assertThat(options.isUseOnlineNVS()).isTrue();
+	}
+
+	@Test
+	public void getInstance_shouldParseCheckLists_whenCheckOptionsGiven() {
+		// ARRANGE
+		String[] args = { "-skip-checks", "CK_0248, validateNCycle", "-only-checks",
+				"ArgoTrajectoryFileValidator.validatePosition,,CHECK_0075", "-report-checks", "dac", "specDir",
+				"outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+		Options options = Options.getInstance();
+
+		// ASSERT
+		assertThat(options.getSkipChecks()).containsExactly("CK_0248", "validateNCycle");
+		assertThat(options.getOnlyChecks()).containsExactly("ArgoTrajectoryFileValidator.validatePosition",
+				"CHECK_0075");
+		assertThat(options.isDoReportChecks()).isTrue();
+	}
+
+	@Test
+	public void getInstance_shouldRunAllChecks_whenNoCheckOptionGiven() {
+		// ARRANGE
+		String[] args = { "dac", "specDir", "outDir", "inDir" };
+
+		// ACT
+		Options.init(args);
+		Options options = Options.getInstance();
+
+		// ASSERT
+		assertThat(options.getSkipChecks()).isNull();
+		assertThat(options.getOnlyChecks()).isNull();
+		assertThat(options.isDoReportChecks()).isFalse();
+	}
+
+	@Test
+	public void getInstance_shouldThrowException_whenCheckListIsEmpty() {
+		// ARRANGE
+		String[] args = { "-skip-checks", " , ", "dac", "specDir", "outDir", "inDir" };
+
+		// ACT & ASSERT
+		assertThatThrownBy(() -> Options.init(args)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Invalid '-skip-checks' value");
+	}
+
 	@Test
 	public void getInstance_shouldThrowException_whenInvalidArgument() {
 		// ARRANGE
@@ -0,0 +1,113 @@
+package fr.coriolis.checker.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+
+@DisplayName("Memory-bounded cache of the variables read")
+class ArrayCacheTest {
+
+	// ..room for 3 arrays of 10 doubles
+	private static final long BUDGET = 3 * 10 * 8;
+
+	@Test
+	public void put_shouldEvictTheLeastRecentlyUsed_whenOverBudget() {
+		// ARRANGE
+		ArrayCache cache = new ArrayCache(BUDGET);
+		Array pres = doubles(10);
+		cache.put("PRES", pres);
+		cache.put("TEMP", doubles(10));
+		cache.put("PSAL", doubles(10));
+
+		// ..PRES used again: TEMP is now the least recently used
+		assertThat(cache.get("PRES")).isSameAs(pres);
+
+		// ACT
+		cache.put("DOXY", doubles(10));
+
+		// ASSERT
+		assertThat(cache.get("TEMP")).isNull();
+		assertThat(cache.get("PRES")).isSameAs(pres);
+		assertThat(cache.get("PSAL")).isNotNull();
+		assertThat(cache.get("DOXY")).isNotNull();
+	}
+
+	@Test
+	public void put_shouldEvictAsManyAsNeeded_forALargerArray() {
+		// ARRANGE
+		ArrayCache cache = new ArrayCache(BUDGET);
+		cache.put("PRES", doubles(10));
+		cache.put("TEMP", doubles(10));
+		cache.put("PSAL", doubles(10));
+
+		// ACT
+		cache.put("JULD", doubles(25));
+
+		// ASSERT
+		assertThat(cache.get("PRES")).isNull();
+		assertThat(cache.get("TEMP")).isNull();
+		assertThat(cache.get("PSAL")).isNull();
+		assertThat(cache.get("JULD")).isNotNull();
+	}
+
+	@Test
+	public void put_shouldNotCacheNorEvict_whenTheArrayIsLargerThanTheBudget() {
+		// ARRANGE
+		ArrayCache cache = new ArrayCache(BUDGET);
+		cache.put("PRES", doubles(10));
+		cache.put("TEMP", doubles(10));
+		Array tooLarge = doubles(31);
+
+		// ACT
+		cache.put("TRAJ", tooLarge);
+
+		// ASSERT
+		assertThat(cache.fits(tooLarge.getSizeBytes())).isFalse();
+		assertThat(cache.fits(BUDGET)).isTrue();
+		assertThat(cache.get("TRAJ")).isNull();
+		assertThat(cache.get("PRES")).isNotNull();
+		assertThat(cache.get("TEMP")).isNotNull();
+	}
+
+	@Test
+	public void put_shouldReplaceTheData_whenTheVariableIsCachedAgain() {
+		// ARRANGE
+		ArrayCache cache = new ArrayCache(BUDGET);
+		cache.put("PRES", doubles(10));
+		cache.put("TEMP", doubles(10));
+		Array pres = doubles(20);
+
+		// ACT: the replaced data is no longer counted, nothing is evicted
+		cache.put("PRES", pres);
+
+		// ASSERT
+		assertThat(cache.get("PRES")).isSameAs(pres);
+		assertThat(cache.get("TEMP")).isNotNull();
+	}
+
+	@Test
+	public void clear_shouldEmptyTheCache() {
+		// ARRANGE
+		ArrayCache cache = new ArrayCache(BUDGET);
+		cache.put("PRES", doubles(10));
+		cache.put("TEMP", doubles(10));
+		cache.put("PSAL", doubles(10));
+
+		// ACT
+		cache.clear();
+		cache.put("JULD", doubles(30));
+
+		// ASSERT: the whole budget is free again
+		assertThat(cache.get("PRES")).isNull();
+		assertThat(cache.get("JULD")).isNotNull();
+	}
+
+	private static Array doubles(int n) {
+		return Array.factory(DataType.DOUBLE, new int[] { n });
+	}
+
+}
@@ -0,0 +1,88 @@
+package fr.coriolis.checker.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.ma2.Section;
+import ucar.nc2.Attribute;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+
+@DisplayName("Read the netCDF files from the file, a memory-mapped region or memory")
+class NetcdfReadPathTest {
+
+	@ParameterizedTest(name = "{0} should read the same data with each read path")
+	@ValueSource(strings = { "../demo/inputs/2903996/R2903996_001.nc", "../demo/inputs/2903996/2903996_Rtraj.nc",
+			"../demo/inputs/2903996/2903996_meta.nc", "../demo/inputs/3901945/BD3901945_004.nc",
+			// ..netCDF-4: read as with FILE by MMAP
+			"src/test/netcdf-test-files/TEST_PROFILE_0005/R6903724_001_PROFILE_QC_WRONG.nc" })
+	public void open_shouldReadTheSameData_whateverTheReadPath(String location)
+			throws IOException, InvalidRangeException {
+		NetcdfFile file = NetcdfReadPath.open(location, NetcdfReadPath.Mode.FILE);
+		try {
+			for (NetcdfReadPath.Mode mode : new NetcdfReadPath.Mode[] { NetcdfReadPath.Mode.MMAP,
+					NetcdfReadPath.Mode.MEMORY }) {
+				NetcdfFile other = NetcdfReadPath.open(location, mode);
+				try {
+					assertSameContent(file, other);
+				} finally {
+					other.close();
+				}
+			}
+		} finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void of_shouldAcceptAnyCase() {
+		// ACT & ASSERT
+		assertThat(NetcdfReadPath.Mode.of("mmap")).isEqualTo(NetcdfReadPath.Mode.MMAP);
+		assertThat(NetcdfReadPath.Mode.of(" Memory ")).isEqualTo(NetcdfReadPath.Mode.MEMORY);
+		assertThatThrownBy(() -> NetcdfReadPath.Mode.of("direct")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("'direct'");
+	}
+
+	private static void assertSameContent(NetcdfFile expected, NetcdfFile actual)
+			throws IOException, InvalidRangeException {
+		assertThat(actual.getGlobalAttributes()).hasSameSizeAs(expected.getGlobalAttributes());
+		for (Attribute att : expected.getGlobalAttributes()) {
+			assertThat(actual.findGlobalAttribute(att.getShortName())).isEqualTo(att);
+		}
+
+		assertThat(actual.getVariables()).hasSameSizeAs(expected.getVariables());
+		for (Variable var : expected.getVariables()) {
+			Variable other = actual.findVariable(var.getFullNameEscaped());
+			assertThat(other).as(var.getFullName()).isNotNull();
+			assertThat(other.getShape()).as(var.getFullName()).isEqualTo(var.getShape());
+
+			assertSameData(var.getFullName(), var.read(), other.read());
+
+			// ..a read at an offset in the variable: the last slice of the first dimension
+			if (var.getRank() > 0 && var.getShape(0) > 1) {
+				int[] origin = new int[var.getRank()];
+				int[] shape = var.getShape();
+				origin[0] = shape[0] - 1;
+				shape[0] = 1;
+				Section section = new Section(origin, shape);
+				assertSameData(var.getFullName() + section, var.read(section), other.read(section));
+			}
+		}
+	}
+
+	private static void assertSameData(String name, Array expected, Array actual) {
+		assertThat(actual.getElementType()).as(name).isEqualTo(expected.getElementType());
+		assertThat(actual.getShape()).as(name).isEqualTo(expected.getShape());
+		assertThat(actual.copyTo1DJavaArray()).as(name).isEqualTo(expected.copyTo1DJavaArray());
+	}
+
+}
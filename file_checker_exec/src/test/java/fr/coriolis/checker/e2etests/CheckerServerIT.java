@@ -0,0 +1,117 @@
+package fr.coriolis.checker.e2etests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Check files through the server mode (-server) with a local HTTP client")
+public class CheckerServerIT {
+
+	private static final String TEST_DIR_NAME = "TEST_ALL_0001";
+
+	private static Process server;
+	private static String baseUrl;
+
+	@BeforeAll
+	public static void startServer() throws Exception {
+		TestsUtils.init(CheckerServerIT.class);
+
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		baseUrl = "http://127.0.0.1:" + port;
+
+		ProcessBuilder builder = new ProcessBuilder(Arrays.asList("java", "-jar", TestsUtils.jarPath, "-server",
+				String.valueOf(port), "-format-only", TestsUtils.SPEC_DIR_PATH));
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(
+				ProcessBuilder.Redirect.appendTo(Paths.get(TestsUtils.OUTPUT_DIR_PATH, "server.log").toFile()));
+		server = builder.start();
+
+		// ..wait for the server to be ready
+		for (int i = 0; i < 120; i++) {
+			try {
+				if (request("GET", "/health", null).startsWith("200")) {
+					return;
+				}
+			} catch (IOException e) {
+				// ..not listening yet
+			}
+			Thread.sleep(500);
+		}
+		throw new IllegalStateException("server did not start");
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		if (server != null) {
+			server.destroy();
+		}
+	}
+
+	@Tag(TEST_DIR_NAME)
+	@Test
+	public void server_shouldCheckLocalFile_whenPathGiven() throws IOException {
+		String path = Paths.get(TestsUtils.TEST_FILES_DIR, TEST_DIR_NAME, "6903283_tech.nc").toAbsolutePath()
+				.toString();
+
+		String response = request("POST", "/check?dac=coriolis&path=" + path, null);
+
+		assertThat(response).startsWith("200").contains("<status>FILE-ACCEPTED").contains("<phase>FILE-NAME-CHECK");
+	}
+
+	@Tag(TEST_DIR_NAME)
+	@Test
+	public void server_shouldCheckUploadedFile_whenNameGiven() throws IOException {
+		byte[] body = Files.readAllBytes(Paths.get(TestsUtils.TEST_FILES_DIR, TEST_DIR_NAME, "6903283_badName.nc"));
+
+		String response = request("POST", "/check?dac=coriolis&format=text&name=6903283_badName.nc", body);
+
+		assertThat(response).startsWith("200").contains("STATUS: FILE-REJECTED").contains("PHASE: FILE-NAME-CHECK");
+	}
+
+	@Test
+	public void server_shouldRejectRequest_whenUnknownDac() throws IOException {
+		String response = request("POST", "/check?dac=unknown&path=x.nc", null);
+
+		assertThat(response).startsWith("400").contains("Unknown DAC name");
+	}
+
+	/** @return the status code followed by the response body */
+	private static String request(String method, String path, byte[] body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+		connection.setRequestMethod(method);
+		if (body != null) {
+			connection.setDoOutput(true);
+			try (OutputStream os = connection.getOutputStream()) {
+				os.write(body);
+			}
+		}
+
+		int status = connection.getResponseCode();
+		InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			return status + "\n" + reader.lines().collect(Collectors.joining("\n"));
+		}
+	}
+
+}
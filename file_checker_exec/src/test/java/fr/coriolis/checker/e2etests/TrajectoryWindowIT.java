@@ -0,0 +1,169 @@
+package fr.coriolis.checker.e2etests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import ucar.ma2.Array;
+import ucar.ma2.ArrayChar;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.ArrayInt;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
+
+/**
+ * The trajectory checks of the N_MEASUREMENT variables (MEASUREMENT_CODE and
+ * JULD, JULD_*(N_CYCLE) comparisons, <param> and positions), read window by
+ * window ("filechecker.traj.window"), give the same results as with
+ * whole-variable reads. The demo trajectory file is copied with invalid values on both sides
+ * of window boundaries, so the counts and indices carried over from one window
+ * to the next are in the messages of the error trackers. These messages are
+ * compared as logged (debug): the trajectory validator builds them, but does
+ * not report them in the results file.
+ */
+class TrajectoryWindowIT {
+
+	private static final String TEMPLATE = "../demo/inputs/2903996/2903996_Rtraj.nc";
+	private static final String FILE_NAME = "2903996_Rtraj.nc";
+	private static final Path WORK_DIR = Paths.get(TestsUtils.OUTPUT_DIR_PATH, "traj-window");
+
+	// ..window of 7 measurements: boundaries between 6|7, 13|14, ..., 2331|2332
+	private static final int WINDOW = 7;
+	private static final int[] INVALID_AT = { 0, 6, 7, 13, 14, 700, 2331, 2332, 2336 };
+
+	// ..JULD_STATUS inconsistent with the JULD_*(N_CYCLE) status of the MC at:
+	// ..1 (700), 3 (703, first of cycle 0), 10 (703, last of cycle 0: compared
+	// ..when cycle 1 starts, in the next window), 12 (800), 23 (150)
+	private static final int[] JULD_STATUS_AT = { 1, 3, 10, 12, 23 };
+
+	private static final String TRACKER_MESSAGE = "ErrorTracker message: ";
+
+	// ..the messages of the error trackers on the standard output
+	private static final String LOG_CONFIG = "<Configuration status=\"warn\">\n"
+			+ "  <Appenders><Console name=\"Console\" target=\"SYSTEM_OUT\">"
+			+ "<PatternLayout pattern=\"%msg%n\"/></Console></Appenders>\n"
+			+ "  <Loggers><Logger name=\"ArgoTrajectoryFileValidator\" level=\"debug\" additivity=\"false\">"
+			+ "<AppenderRef ref=\"Console\"/></Logger><Root level=\"off\"/></Loggers>\n" + "</Configuration>\n";
+
+	@BeforeAll
+	public static void init() throws IOException, InvalidRangeException {
+		TestsUtils.init(TrajectoryWindowIT.class);
+
+		Path inputDir = Files.createDirectories(WORK_DIR.resolve("input"));
+		Files.write(WORK_DIR.resolve("log4j2.xml"), LOG_CONFIG.getBytes(StandardCharsets.UTF_8));
+
+		Path inFile = inputDir.resolve(FILE_NAME);
+		Files.copy(Paths.get(TEMPLATE), inFile, StandardCopyOption.REPLACE_EXISTING);
+
+		NetcdfFileWriter writer = NetcdfFileWriter.openExisting(inFile.toString());
+		try {
+			setChars(writer, "PRES_QC", 'X', INVALID_AT);
+			setChars(writer, "POSITION_QC", 'X', INVALID_AT);
+			setChars(writer, "POSITION_ACCURACY", 'Z', INVALID_AT);
+			setFloats(writer, "TEMP", Float.NaN);
+			setChars(writer, "JULD_ADJUSTED_QC", 'X', INVALID_AT);
+			setInts(writer, "MEASUREMENT_CODE", 951);
+			setChars(writer, "JULD_STATUS", 'X', JULD_STATUS_AT);
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	void fileChecker_shouldGiveTheSameResults_whenTrajectoryIsCheckedWindowByWindow()
+			throws IOException, InterruptedException {
+		// ACT
+		String whole = check("whole", null);
+		String windowed = check("window", "-Dfilechecker.traj.window=" + WINDOW);
+
+		// ASSERT
+		List<String> wholeMessages = trackerMessages("whole");
+		assertThat(wholeMessages).contains(
+				"PRES_QC: Invalid QC code at 9 measurements / first 5 indices 1, 7, 8, 14, 15",
+				"TEMP: NaN at 9 measurements / first 5 indices 1, 7, 8, 14, 15",
+				"POSITION_QC: Invalid QC code at  9 measurements / first 5 indices 1, 7, 8, 14, 15",
+				"MEASUREMENT_CODE: Invalid measurement codes at  9 measurements / first 5 indices 1, 7, 8, 14, 15",
+				"JULD_ADJUSTED_QC: Invalid QC code at 9 measurements / first 5 indices 1, 7, 8, 14, 15",
+				"JULD_STATUS: Invalid status code at 5 measurements / first 5 indices 2, 4, 11, 13, 24",
+				"JULD_STATUS (MC 700) / JULD_TRANSMISSION_START_STATUS: Inconsistent at  1 cycles;"
+						+ " index (N_MEASUREMENT, N_CYCLE) = (2,1)",
+				"JULD_STATUS (MC 800) / JULD_TRANSMISSION_END_STATUS: Inconsistent at  1 cycles;"
+						+ " index (N_MEASUREMENT, N_CYCLE) = (13,1)");
+		assertThat(trackerMessages("window")).isEqualTo(wholeMessages);
+		assertThat(windowed).isEqualTo(whole);
+	}
+
+	private static String check(String name, String jvmOption) throws IOException, InterruptedException {
+		Path outputDir = Files.createDirectories(WORK_DIR.resolve(name));
+
+		List<String> command = new ArrayList<>(Arrays.asList("java",
+				"-Dlog4j2.configurationFile=" + WORK_DIR.resolve("log4j2.xml").toAbsolutePath()));
+		if (jvmOption != null) {
+			command.add(jvmOption);
+		}
+		command.addAll(Arrays.asList("-jar", TestsUtils.jarPath, "-no-name-check", "coriolis",
+				TestsUtils.SPEC_DIR_PATH, outputDir.toString(), WORK_DIR.resolve("input").toString(), FILE_NAME));
+
+		Process process = new ProcessBuilder(command).redirectErrorStream(true)
+				.redirectOutput(WORK_DIR.resolve(name + ".log").toFile()).start();
+		assertThat(process.waitFor()).isZero();
+
+		File results = outputDir.resolve(FILE_NAME + ".filecheck").toFile();
+		assertThat(results).exists().isFile();
+		return String.join("\n", Files.readAllLines(results.toPath()));
+	}
+
+	private static List<String> trackerMessages(String name) throws IOException {
+		List<String> messages = new ArrayList<>();
+		for (String line : Files.readAllLines(WORK_DIR.resolve(name + ".log"))) {
+			if (line.startsWith(TRACKER_MESSAGE)) {
+				messages.add(line.substring(TRACKER_MESSAGE.length()));
+			}
+		}
+		return messages;
+	}
+
+	private static void setChars(NetcdfFileWriter writer, String varName, char value, int[] indices)
+			throws IOException, InvalidRangeException {
+		Variable var = writer.findVariable(varName);
+		for (int n : indices) {
+			ArrayChar.D1 data = new ArrayChar.D1(1);
+			data.set(0, value);
+			writer.write(var, new int[] { n }, data);
+		}
+	}
+
+	private static void setInts(NetcdfFileWriter writer, String varName, int value)
+			throws IOException, InvalidRangeException {
+		Variable var = writer.findVariable(varName);
+		for (int n : INVALID_AT) {
+			Array data = new ArrayInt.D1(1);
+			data.setInt(0, value);
+			writer.write(var, new int[] { n }, data);
+		}
+	}
+
+	private static void setFloats(NetcdfFileWriter writer, String varName, float value)
+			throws IOException, InvalidRangeException {
+		Variable var = writer.findVariable(varName);
+		for (int n : INVALID_AT) {
+			Array data = new ArrayFloat.D1(1);
+			data.setFloat(0, value);
+			writer.write(var, new int[] { n }, data);
+		}
+	}
+
+}
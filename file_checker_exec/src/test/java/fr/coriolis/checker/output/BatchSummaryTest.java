@@ -0,0 +1,129 @@
+package fr.coriolis.checker.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("Summary of a batch: one line per checked file")
+class BatchSummaryTest {
+
+	private static final String HEADER = "file,dac,data_type,status,phase,errors,warnings,time_ms";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void add_shouldWriteOneJsonLinePerFile() throws IOException {
+		// ARRANGE
+		Path summaryFile = dir.resolve("summary.jsonl");
+
+		// ACT
+		BatchSummary summary = new BatchSummary(summaryFile.toString());
+		summary.add("R6903283_001.nc", "coriolis", results("Argo profile", "FILE-ACCEPTED", "DATA-VALIDATION", 0, 2),
+				154L);
+		summary.add("R6903283_002.nc", "coriolis", results("Argo profile", "FILE-REJECTED", "FORMAT-VERIFICATION", 3, 0),
+				12L);
+		summary.add("6903283_meta.nc", "coriolis", cached("Argo meta-data", "FILE-ACCEPTED", "DATA-VALIDATION", 0, 0),
+				1L);
+		summary.close();
+
+		// ASSERT
+		List<String> lines = Files.readAllLines(summaryFile, StandardCharsets.UTF_8);
+		assertThat(lines).hasSize(3);
+
+		ObjectMapper mapper = new ObjectMapper();
+		JsonNode first = mapper.readTree(lines.get(0));
+		assertThat(first.get("file").asText()).isEqualTo("R6903283_001.nc");
+		assertThat(first.get("dac").asText()).isEqualTo("coriolis");
+		assertThat(first.get("data_type").asText()).isEqualTo("Argo profile");
+		assertThat(first.get("status").asText()).isEqualTo("FILE-ACCEPTED");
+		assertThat(first.get("phase").asText()).isEqualTo("DATA-VALIDATION");
+		assertThat(first.get("errors").asInt()).isZero();
+		assertThat(first.get("warnings").asInt()).isEqualTo(2);
+		assertThat(first.get("time_ms").asLong()).isEqualTo(154L);
+
+		List<String> statuses = new ArrayList<String>();
+		for (String line : lines) {
+			statuses.add(mapper.readTree(line).get("status").asText());
+		}
+		assertThat(statuses).containsExactly("FILE-ACCEPTED", "FILE-REJECTED", "FILE-ACCEPTED");
+		assertThat(mapper.readTree(lines.get(1)).get("errors").asInt()).isEqualTo(3);
+		assertThat(mapper.readTree(lines.get(2)).get("data_type").asText()).isEqualTo("Argo meta-data");
+	}
+
+	@Test
+	public void add_shouldWriteOneCsvRowPerFile_withAHeaderOnlyInANewFile() throws IOException {
+		// ARRANGE
+		Path summaryFile = dir.resolve("summary.csv");
+
+		// ACT: two runs feed the same summary
+		BatchSummary summary = new BatchSummary(summaryFile.toString());
+		summary.add("R6903283_001.nc", "coriolis", results("Argo profile", "FILE-ACCEPTED", "DATA-VALIDATION", 0, 2),
+				154L);
+		summary.close();
+
+		summary = new BatchSummary(summaryFile.toString());
+		summary.add("R6903283_002.nc", "coriolis", results("Argo profile", "FILE-REJECTED", "FORMAT-VERIFICATION", 3, 0),
+				12L);
+		summary.close();
+
+		// ASSERT
+		assertThat(Files.readAllLines(summaryFile, StandardCharsets.UTF_8)).containsExactly(HEADER,
+				"R6903283_001.nc,coriolis,Argo profile,FILE-ACCEPTED,DATA-VALIDATION,0,2,154",
+				"R6903283_002.nc,coriolis,Argo profile,FILE-REJECTED,FORMAT-VERIFICATION,3,0,12");
+	}
+
+	@Test
+	public void add_shouldQuoteTheCsvFields_withCommasOrQuotes() throws IOException {
+		// ARRANGE
+		Path summaryFile = dir.resolve("summary.csv");
+
+		// ACT
+		BatchSummary summary = new BatchSummary(summaryFile.toString());
+		summary.add("R6903283,001.nc", "coriolis", results("Argo profile", "FILE-ACCEPTED", "DATA-VALIDATION", 0, 0),
+				1L);
+		summary.add("R6903283 \"copy\".nc", "coriolis", results(null, "FILE-REJECTED", "OPEN-FILE", 1, 0), 2L);
+		summary.close();
+
+		// ASSERT
+		assertThat(Files.readAllLines(summaryFile, StandardCharsets.UTF_8)).containsExactly(HEADER,
+				"\"R6903283,001.nc\",coriolis,Argo profile,FILE-ACCEPTED,DATA-VALIDATION,0,0,1",
+				"\"R6903283 \"\"copy\"\".nc\",coriolis,,FILE-REJECTED,OPEN-FILE,1,0,2");
+	}
+
+	private static ResultsFile results(String dataType, String status, String phase, int nErrors, int nWarnings) {
+		ResultsFile results = mock(ResultsFile.class);
+		when(results.getDataType()).thenReturn(dataType);
+		when(results.getStatus()).thenReturn(status);
+		when(results.getPhase()).thenReturn(phase);
+		when(results.getNErrors()).thenReturn(nErrors);
+		when(results.getNWarnings()).thenReturn(nWarnings);
+		return results;
+	}
+
+	private static ResultsCache.Entry cached(String dataType, String status, String phase, int nErrors,
+			int nWarnings) {
+		ResultsCache.Entry entry = mock(ResultsCache.Entry.class);
+		when(entry.getDataType()).thenReturn(dataType);
+		when(entry.getStatus()).thenReturn(status);
+		when(entry.getPhase()).thenReturn(phase);
+		when(entry.getNErrors()).thenReturn(nErrors);
+		when(entry.getNWarnings()).thenReturn(nWarnings);
+		return entry;
+	}
+
+}
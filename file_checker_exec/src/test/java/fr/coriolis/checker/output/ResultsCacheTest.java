@@ -0,0 +1,100 @@
+package fr.coriolis.checker.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Reuse the results of the files already checked")
+class ResultsCacheTest {
+
+	@TempDir
+	Path dir;
+
+	private Path inFile;
+	private Path outFile;
+	private ResultsCache cache;
+
+	@BeforeEach
+	void storeAResult() throws IOException {
+		inFile = Files.write(dir.resolve("R6903283_001.nc"), "netCDF content".getBytes(StandardCharsets.UTF_8));
+		outFile = Files.write(dir.resolve("R6903283_001.filecheck"), "<xml/>".getBytes(StandardCharsets.UTF_8));
+		cache = new ResultsCache(dir.resolve("cache").toString(), "version=test");
+
+		ResultsFile results = mock(ResultsFile.class);
+		when(results.getStatus()).thenReturn("FILE-ACCEPTED");
+		when(results.getPhase()).thenReturn("DATA-VALIDATION");
+		when(results.getDataType()).thenReturn("Argo profile");
+		when(results.getNErrors()).thenReturn(0);
+		when(results.getNWarnings()).thenReturn(2);
+
+		cache.store(cache.key(inFile.toString()), outFile.toString(), results);
+	}
+
+	@Test
+	public void restore_shouldReuseTheResults_whenTheFileIsUnchanged() throws IOException {
+		// ARRANGE
+		Path restored = dir.resolve("restored.filecheck");
+
+		// ACT
+		ResultsCache.Entry entry = cache.restore(cache.key(inFile.toString()), restored.toString());
+
+		// ASSERT
+		assertThat(entry).isNotNull();
+		assertThat(entry.getStatus()).isEqualTo("FILE-ACCEPTED");
+		assertThat(entry.getPhase()).isEqualTo("DATA-VALIDATION");
+		assertThat(entry.getDataType()).isEqualTo("Argo profile");
+		assertThat(entry.getNErrors()).isZero();
+		assertThat(entry.getNWarnings()).isEqualTo(2);
+		assertThat(restored).hasSameTextualContentAs(outFile);
+		assertThat(cache.getNHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void restore_shouldMiss_whenTheContentChanged() throws IOException {
+		// ARRANGE
+		FileTime lastModified = Files.getLastModifiedTime(inFile);
+		Files.write(inFile, "other content".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(inFile, lastModified);
+
+		// ACT & ASSERT
+		assertThat(cache.restore(cache.key(inFile.toString()), dir.resolve("x.filecheck").toString())).isNull();
+		assertThat(cache.getNMisses()).isEqualTo(1);
+	}
+
+	@Test
+	public void restore_shouldMiss_whenTheModificationTimeChanged() throws IOException {
+		// ARRANGE: same content, touched (the file dates are checked against it)
+		FileTime lastModified = Files.getLastModifiedTime(inFile);
+		Files.setLastModifiedTime(inFile, FileTime.fromMillis(lastModified.toMillis() + 60000L));
+
+		// ACT & ASSERT
+		assertThat(cache.restore(cache.key(inFile.toString()), dir.resolve("x.filecheck").toString())).isNull();
+		assertThat(cache.getNMisses()).isEqualTo(1);
+	}
+
+	@Test
+	public void restore_shouldIgnoreAnEntry_whenItsPropertiesAreMissing() throws IOException {
+		// ARRANGE: an entry left incomplete (results copied, summary not written)
+		String key = cache.key(inFile.toString());
+		Path entryDir = dir.resolve("cache").resolve(key.substring(0, 2));
+		assertThat(entryDir.resolve(key + ".filecheck")).exists();
+		Files.delete(entryDir.resolve(key + ".properties"));
+
+		// ACT & ASSERT
+		assertThat(cache.restore(key, dir.resolve("x.filecheck").toString())).isNull();
+		assertThat(dir.resolve("x.filecheck")).doesNotExist();
+		assertThat(cache.getNMisses()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,122 @@
+package fr.coriolis.checker.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringWriter;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Streaming writer of the XML results")
+class XmlResultsWriterTest {
+
+	private static final String NL = System.lineSeparator();
+
+	private StringWriter out;
+	private XmlResultsWriter writer;
+
+	@BeforeEach
+	void init() {
+		out = new StringWriter();
+		writer = new XmlResultsWriter(out);
+	}
+
+	@Test
+	public void write_shouldIndentEachElementAndTheMixedText() throws XMLStreamException {
+		// ACT
+		writer.writeStartDocument();
+		writer.writeStartElement("root");
+		writer.writeCharacters("text");
+		writer.writeStartElement("child");
+		writer.writeAttribute("n", "1");
+		writer.writeCharacters("a");
+		writer.writeEndElement();
+		writer.writeCharacters("tail");
+		writer.writeStartElement("empty");
+		writer.writeEndElement();
+		writer.writeEndDocument();
+
+		// ASSERT
+		assertThat(out.toString()).isEqualTo("<root>" + NL //
+				+ "  text" + NL //
+				+ "  <child n=\"1\">a</child>" + NL //
+				+ "  tail" + NL //
+				+ "  <empty/>" + NL //
+				+ "</root>" + NL);
+	}
+
+	@Test
+	public void writeCharacters_shouldNormalizeTheEndOfLines() throws XMLStreamException {
+		// ACT
+		writeElement("a\rb\r\nc\nd\te");
+
+		// ASSERT: CR, CR-LF and LF are end-of-lines; tabs are kept
+		assertThat(out.toString()).isEqualTo("<e>a" + NL + "b" + NL + "c" + NL + "d\te</e>" + NL);
+	}
+
+	@Test
+	public void writeAttribute_shouldReplaceTheTabsAndEndOfLinesBySpaces() throws XMLStreamException {
+		// ACT
+		writer.writeStartElement("e");
+		writer.writeAttribute("value", "a\tb\nc\r\nd\re \"<&>\"");
+		writer.writeEndDocument();
+
+		// ASSERT
+		assertThat(out.toString()).isEqualTo("<e value=\"a b c d e &quot;&lt;&amp;&gt;&quot;\"/>" + NL);
+	}
+
+	@Test
+	public void writeCharacters_shouldWriteTheC1ControlsAndNonBmpCharactersAsReferences() throws XMLStreamException {
+		// ACT: NEL, DEL, an emoji (surrogate pair)
+		writeElement("a\u0085b\u007Fc\uD83D\uDE00d&<>\"");
+
+		// ASSERT
+		assertThat(out.toString()).isEqualTo("<e>a&#133;b&#127;c&#128512;d&amp;&lt;&gt;\"</e>" + NL);
+	}
+
+	@Test
+	public void writeAttribute_shouldWriteTheNonBmpCharactersAsReferences() throws XMLStreamException {
+		// ACT
+		writer.writeStartElement("e");
+		writer.writeAttribute("value", "a\u0085b\uD83D\uDE00c");
+		writer.writeEndDocument();
+
+		// ASSERT: the C1 controls are kept in the attributes
+		assertThat(out.toString()).isEqualTo("<e value=\"a\u0085b&#128512;c\"/>" + NL);
+	}
+
+	@Test
+	public void write_shouldScrubTheCharactersNotAllowedInXml() throws XMLStreamException {
+		// ACT: a C0 control, a non-character, a lone surrogate
+		writer.writeStartElement("e");
+		writer.writeAttribute("value", "a\u0001b\uFFFEc\uD800d");
+		writer.writeCharacters("a\u0001b\uFFFEc\uDC00d\u0000");
+		writer.writeEndDocument();
+
+		// ASSERT
+		assertThat(out.toString()).isEqualTo("<e value=\"a-b-c-d\">a-b-c-d-</e>" + NL);
+	}
+
+	@Test
+	public void write_shouldFail_whenOutOfTheElements() throws XMLStreamException {
+		// ACT & ASSERT
+		assertThatThrownBy(() -> writer.writeCharacters("text")).isInstanceOf(XMLStreamException.class);
+		assertThatThrownBy(() -> writer.writeEndElement()).isInstanceOf(XMLStreamException.class);
+
+		writer.writeStartElement("e");
+		writer.writeCharacters("text");
+		assertThatThrownBy(() -> writer.writeAttribute("n", "1")).isInstanceOf(XMLStreamException.class);
+	}
+
+	private void writeElement(String text) throws XMLStreamException {
+		writer.writeStartDocument();
+		writer.writeStartElement("e");
+		writer.writeCharacters(text);
+		writer.writeEndDocument();
+	}
+
+}
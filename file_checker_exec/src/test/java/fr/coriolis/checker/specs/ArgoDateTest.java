@@ -0,0 +1,66 @@
+package fr.coriolis.checker.specs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Parse and format the Argo dates")
+class ArgoDateTest {
+
+	@Test
+	public void toMillis_shouldParseValidDates() {
+		assertThat(ArgoDate.toMillis("20240229235959")).isEqualTo(millis(2024, 2, 29, 23, 59, 59));
+		assertThat(ArgoDate.toMillis("19970101000000")).isEqualTo(millis(1997, 1, 1, 0, 0, 0));
+		assertThat(ArgoDate.get("20000229120000").getTime()).isEqualTo(millis(2000, 2, 29, 12, 0, 0));
+	}
+
+	@Test
+	public void toMillis_shouldRejectInvalidDates() {
+		assertThat(ArgoDate.toMillis("21000229000000")).isEqualTo(ArgoDate.INVALID);
+		assertThat(ArgoDate.toMillis("20231301000000")).isEqualTo(ArgoDate.INVALID);
+		assertThat(ArgoDate.toMillis("20230431000000")).isEqualTo(ArgoDate.INVALID);
+		assertThat(ArgoDate.toMillis("20230101240000")).isEqualTo(ArgoDate.INVALID);
+		assertThat(ArgoDate.toMillis("20230101006000")).isEqualTo(ArgoDate.INVALID);
+		assertThat(ArgoDate.toMillis("2023010100000")).isEqualTo(ArgoDate.INVALID);
+		assertThat(ArgoDate.toMillis(" 2023010100000")).isEqualTo(ArgoDate.INVALID);
+		assertThat(ArgoDate.get("2023-1-1000000")).isNull();
+		// ..Gregorian cutover: 1582-10-05 to 1582-10-14 do not exist
+		assertThat(ArgoDate.toMillis("15821010000000")).isEqualTo(ArgoDate.INVALID);
+	}
+
+	@Test
+	public void format_shouldFormatTheJuldValues() {
+		// ..JULD 0 = 1950-01-01 00:00:00
+		assertThat(ArgoDate.format(ArgoDate.toMillis(0.))).isEqualTo("19500101000000");
+		assertThat(ArgoDate.format(ArgoDate.get(27028.5))).isEqualTo("20240101120000");
+		assertThat(ArgoDate.format(millis(9999, 12, 31, 23, 59, 59))).isEqualTo("99991231235959");
+		assertThat(ArgoDate.format(-1L)).isEqualTo("19691231235959");
+
+		// ..bulk conversion
+		long[] millis = new long[2];
+		ArgoDate.toMillis(new double[] { -1., 0., 1.25 }, 1, 3, millis);
+		assertThat(millis).containsExactly(millis(1950, 1, 1, 0, 0, 0), millis(1950, 1, 2, 6, 0, 0));
+	}
+
+	@Test
+	public void checkArgoDatePattern_shouldCheckTheValuesOfTheKnownPatterns() {
+		assertThat(ArgoDate.checkArgoDatePattern("DDMMYYYY", "29022024")).isTrue();
+		assertThat(ArgoDate.checkArgoDatePattern("DDMMYYYY", "29022023")).isFalse();
+		assertThat(ArgoDate.checkArgoDatePattern("HHMM", "2359")).isTrue();
+		assertThat(ArgoDate.checkArgoDatePattern("HHMM", "2400")).isFalse();
+		assertThat(ArgoDate.checkArgoDatePattern("MMSS", "5960")).isFalse();
+		assertThat(ArgoDate.checkArgoDatePattern("DD", "00")).isFalse();
+		assertThat(ArgoDate.checkArgoDatePattern("YYYY", "202a")).isFalse();
+		assertThat(ArgoDate.checkArgoDatePattern("YYYY", "1500")).isTrue();
+		assertThat(ArgoDate.checkArgoDatePattern("hours", "12")).isNull();
+	}
+
+	private static long millis(int year, int month, int day, int hour, int minute, int second) {
+		return LocalDateTime.of(year, month, day, hour, minute, second).toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+
+}
@@ -0,0 +1,62 @@
+package fr.coriolis.checker.specs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import fr.coriolis.checker.specs.ArgoConfigTechParam.ArgoConfigTechParamMatch;
+
+@DisplayName("Memo of the CONFIG / TECH parameter name lookups")
+class ConfigTechMatchCacheTest {
+
+	@Test
+	public void get_shouldLookUpEachNameOnce() {
+		// ARRANGE
+		ConfigTechMatchCache cache = new ConfigTechMatchCache();
+		ArgoConfigTechParamMatch parkPressure = mock(ArgoConfigTechParamMatch.class);
+		List<String> lookedUp = new ArrayList<String>();
+		ConfigTechMatchCache.Lookup lookup = name -> {
+			lookedUp.add(name);
+			return (name.equals("CONFIG_ParkPressure") ? parkPressure : null);
+		};
+
+		// ACT
+		ArgoConfigTechParamMatch first = cache.get("CONFIG_ParkPressure", lookup);
+		ArgoConfigTechParamMatch second = cache.get("CONFIG_ParkPressure", lookup);
+		ArgoConfigTechParamMatch invalid = cache.get("CONFIG_NotAName", lookup);
+		ArgoConfigTechParamMatch invalidAgain = cache.get("CONFIG_NotAName", lookup);
+
+		// ASSERT
+		assertThat(first).isSameAs(parkPressure);
+		assertThat(second).isSameAs(parkPressure);
+		assertThat(invalid).isNull();
+		assertThat(invalidAgain).isNull();
+		assertThat(lookedUp).containsExactly("CONFIG_ParkPressure", "CONFIG_NotAName");
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void clear_shouldLookUpTheNamesAgain() {
+		// ARRANGE
+		ConfigTechMatchCache cache = new ConfigTechMatchCache();
+		List<String> lookedUp = new ArrayList<String>();
+		ConfigTechMatchCache.Lookup lookup = name -> {
+			lookedUp.add(name);
+			return null;
+		};
+		cache.get("TECH_NotAName", lookup);
+
+		// ACT
+		cache.clear();
+		cache.get("TECH_NotAName", lookup);
+
+		// ASSERT
+		assertThat(lookedUp).containsExactly("TECH_NotAName", "TECH_NotAName");
+	}
+
+}
@@ -0,0 +1,66 @@
+package fr.coriolis.checker.specs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Index the CONFIG / TECH parameter name regexes")
+class ConfigTechRegexIndexTest {
+
+	private static final String ZONE = "CONFIG_(?<shortsensorname>[A-Z][a-z]+?|CTD)DepthZone(?<N>\\d+?)StartPres";
+	private static final String ANY_ZONE = "CONFIG_(?<default>\\w+)StartPres";
+	private static final String CYCLE = "CYCLE_TIME_(?<int>\\d+?)";
+
+	@Test
+	public void literalPrefixAndSuffix_shouldOnlyKeepCharactersOfEveryMatch() {
+		assertThat(ConfigTechRegexIndex.literalPrefix(ZONE)).isEqualTo("CONFIG_");
+		assertThat(ConfigTechRegexIndex.literalSuffix(ZONE)).isEqualTo("StartPres");
+		assertThat(ConfigTechRegexIndex.literalPrefix("CONFIG_Ab?(?<N>\\d)")).isEqualTo("CONFIG_A");
+		assertThat(ConfigTechRegexIndex.literalSuffix("(?<N>\\d+)\\d")).isEmpty();
+		assertThat(ConfigTechRegexIndex.literalPrefix("AB|CD(?<N>\\d)")).isEmpty();
+	}
+
+	@Test
+	public void candidates_shouldListTheRegexesOfTheName_lastFirst() {
+		// ARRANGE
+		ConfigTechRegexIndex index = index(ZONE, CYCLE, ANY_ZONE);
+
+		// ACT
+		List<ConfigTechRegexIndex.Entry> candidates = index.candidates("CONFIG_CtdDepthZone2StartPres");
+
+		// ASSERT
+		assertThat(candidates).extracting(entry -> entry.pattern.pattern()).containsExactly(ANY_ZONE, ZONE);
+		assertThat(index.candidates("CYCLE_TIME_3")).extracting(entry -> entry.pattern.pattern())
+				.containsExactly(CYCLE);
+		assertThat(index.candidates("CONFIG_CtdDepthZone2StopPres")).isEmpty();
+	}
+
+	@Test
+	public void entries_shouldListTheKnownTemplatesOfEachRegex() {
+		// ARRANGE
+		ConfigTechRegexIndex index = index(ZONE, CYCLE, ANY_ZONE);
+
+		// ACT & ASSERT
+		assertThat(index.candidates("CONFIG_CtdDepthZone2StartPres").get(1).templates)
+				.containsExactly("shortsensorname", "N");
+		assertThat(index.candidates("CONFIG_CtdDepthZone2StartPres").get(0).templates).isEmpty();
+	}
+
+	private static ConfigTechRegexIndex index(String... regexes) {
+		LinkedHashMap<Pattern, HashMap<String, HashSet<String>>> regexMap = new LinkedHashMap<Pattern, HashMap<String, HashSet<String>>>();
+		for (String regex : regexes) {
+			regexMap.put(Pattern.compile(regex), null);
+		}
+		return new ConfigTechRegexIndex(regexMap, new HashSet<String>(Arrays.asList("shortsensorname", "N", "int")),
+				"test names");
+	}
+
+}
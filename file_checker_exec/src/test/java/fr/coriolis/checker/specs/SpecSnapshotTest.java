@@ -0,0 +1,107 @@
+package fr.coriolis.checker.specs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.core.ArgoDataFile.FileType;
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+
+@DisplayName("Snapshot of the specifications, used only while the specification files are unchanged")
+class SpecSnapshotTest {
+
+	private static final Path SPEC_DIR = Paths.get("src/main/resources/file_checker_spec");
+
+	// ..the files of the profile v3.1 specification
+	private static final String[] SPEC_FILES = { "argo-profile-spec-v3.1.cdl", "argo-profile-spec-v3.1.attr_regexp",
+			"argo-profile-spec-v3.1.opt", "argo-physical_params-spec-v3.1.aux",
+			"argo-R03-deprecated-physical_params-spec", "measurement_code-juld_variables" };
+
+	private static final String SPEC_KEY = ArgoDataFile.specCacheKey(FileType.PROFILE, "3.1");
+
+	@TempDir
+	Path specDir;
+
+	private SpecIO previousSpecIO;
+
+	@BeforeAll
+	static void initTables() {
+		SpecIO.init(true, null);
+		ArgoNVSReferenceTable.initialize();
+	}
+
+	@BeforeEach
+	void writeSnapshot() throws IOException {
+		for (String name : SPEC_FILES) {
+			Files.copy(SPEC_DIR.resolve(name), specDir.resolve(name));
+		}
+
+		previousSpecIO = SpecIO.setInstance(new SpecIO(false, specDir));
+		assertThat(SpecSnapshot.write(specDir, specDir.resolve(SpecSnapshot.SNAPSHOT_FILE_NAME))).isEqualTo(1);
+	}
+
+	@AfterEach
+	void restoreSpecIO() {
+		SpecIO.setInstance(previousSpecIO);
+	}
+
+	@Test
+	public void load_shouldReadTheSpecifications_whenNoFileChanged() throws IOException {
+		// ACT
+		SpecSnapshot snapshot = SpecSnapshot.load();
+
+		// ASSERT
+		assertThat(snapshot).isNotNull();
+		ArgoFileSpecification spec = snapshot.get(SPEC_KEY);
+		ArgoFileSpecification parsed = new ArgoFileSpecification(true, FileType.PROFILE, "3.1");
+
+		assertThat(spec.getSpecName()).isEqualTo(parsed.getSpecName());
+		assertThat(longName(spec, "PLATFORM_NUMBER")).isEqualTo(longName(parsed, "PLATFORM_NUMBER"));
+		assertThat(longName(spec, "TEMP_ADJUSTED_ERROR")).isEqualTo(longName(parsed, "TEMP_ADJUSTED_ERROR"));
+	}
+
+	@ParameterizedTest(name = "{0} edited: the specification should be parsed from the text files")
+	@CsvSource(delimiter = ';', value = {
+			"argo-profile-spec-v3.1.cdl; PLATFORM_NUMBER; Float unique identifier; Float identifier",
+			"argo-physical_params-spec-v3.1.aux; TEMP_ADJUSTED_ERROR; "
+					+ "Contains the error on the adjusted values as determined by the delayed mode QC process; "
+					+ "Error on the adjusted values" })
+	public void load_shouldBeNull_whenASpecificationFileChanged(String fileName, String varName, String oldValue,
+			String newValue) throws IOException {
+		// ARRANGE
+		ArgoFileSpecification before = SpecSnapshot.load().get(SPEC_KEY);
+		assertThat(longName(before, varName)).isEqualTo(oldValue);
+
+		Path file = specDir.resolve(fileName);
+		String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		assertThat(text).contains(oldValue);
+		Files.write(file, text.replace(oldValue, newValue).getBytes(StandardCharsets.UTF_8));
+
+		// ACT
+		SpecSnapshot snapshot = SpecSnapshot.load();
+
+		// ASSERT
+		assertThat(snapshot).isNull();
+		ArgoFileSpecification parsed = new ArgoFileSpecification(true, FileType.PROFILE, "3.1");
+		assertThat(longName(parsed, varName)).isEqualTo(newValue);
+	}
+
+	private static String longName(ArgoFileSpecification spec, String varName) {
+		return spec.getVariable(varName).getAttribute("long_name").getValue().toString();
+	}
+
+}
@@ -0,0 +1,175 @@
+package fr.coriolis.checker.tables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import fr.coriolis.checker.specs.SpecIO;
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable.RELEVANT_TABLES;
+import fr.coriolis.checker.utils.DigestUtils;
+
+/**
+ * The NVS mirror, refreshed from a local HTTP stand-in of the NVS server that
+ * serves the tables of the spec directory (with an ETag).
+ */
+@DisplayName("Mirror the NVS tables of the NVS server and read them from the mirror")
+class NVSMirrorTest {
+
+	private static final Path NVS_DIR = Paths.get("src/main/resources/file_checker_spec/NVS");
+
+	private HttpServer server;
+	private String baseUrl;
+	private final AtomicInteger nDownloads = new AtomicInteger();
+	private final AtomicInteger nNotModified = new AtomicInteger();
+	private final Set<String> failingTables = ConcurrentHashMap.newKeySet();
+
+	@TempDir
+	Path mirrorDir;
+
+	@BeforeAll
+	static void initSpecIO() {
+		SpecIO.init(true, null);
+	}
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/collection/", this::serveTable);
+		server.start();
+		baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/collection/";
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	// ..GET /collection/<code>/current/?...
+	private void serveTable(HttpExchange exchange) throws IOException {
+		String code = exchange.getRequestURI().getPath().split("/")[2];
+		Path table = NVS_DIR.resolve(code + ".jsonld");
+
+		if (failingTables.contains(code) || !Files.isRegularFile(table)) {
+			exchange.sendResponseHeaders(500, -1);
+			exchange.close();
+			return;
+		}
+
+		byte[] content = Files.readAllBytes(table);
+		String etag = "\"" + DigestUtils.sha256(table) + "\"";
+		if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			nNotModified.incrementAndGet();
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		}
+
+		nDownloads.incrementAndGet();
+		exchange.getResponseHeaders().set("ETag", etag);
+		exchange.sendResponseHeaders(200, content.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content);
+		}
+	}
+
+	@Test
+	void refresh_shouldDownloadAllTables_whenMirrorIsEmpty() throws IOException {
+		int nMissing = new NVSMirror(mirrorDir).refresh(baseUrl);
+
+		assertThat(nMissing).isZero();
+		assertThat(nDownloads.get()).isEqualTo(RELEVANT_TABLES.values().length);
+
+		Properties index = readIndex();
+		for (RELEVANT_TABLES t : RELEVANT_TABLES.values()) {
+			String sha256 = index.getProperty(t.getCode() + ".sha256");
+			assertThat(sha256).isEqualTo(DigestUtils.sha256(NVS_DIR.resolve(t.getCode() + ".jsonld")));
+			assertThat(mirrorDir.resolve("objects").resolve(sha256 + ".jsonld")).exists();
+		}
+	}
+
+	@Test
+	void refresh_shouldNotDownloadUnchangedTables_whenMirrorIsUpToDate() throws IOException {
+		new NVSMirror(mirrorDir).refresh(baseUrl);
+		nDownloads.set(0);
+
+		int nMissing = new NVSMirror(mirrorDir).refresh(baseUrl);
+
+		assertThat(nMissing).isZero();
+		assertThat(nDownloads.get()).isZero();
+		assertThat(nNotModified.get()).isEqualTo(RELEVANT_TABLES.values().length);
+	}
+
+	@Test
+	void refresh_shouldKeepPreviousVersion_whenTableCannotBeDownloaded() throws IOException {
+		new NVSMirror(mirrorDir).refresh(baseUrl);
+		String before = readIndex().getProperty("R03.sha256");
+
+		failingTables.add("R03");
+		int nMissing = new NVSMirror(mirrorDir).refresh(baseUrl);
+
+		assertThat(nMissing).isZero();
+		assertThat(readIndex().getProperty("R03.sha256")).isEqualTo(before);
+	}
+
+	@Test
+	void refresh_shouldReportMissingTable_whenTableWasNeverDownloaded() throws IOException {
+		failingTables.add("R03");
+
+		int nMissing = new NVSMirror(mirrorDir).refresh(baseUrl);
+
+		assertThat(nMissing).isEqualTo(1);
+		assertThat(readIndex().getProperty("R03.sha256")).isNull();
+	}
+
+	@Test
+	void initializeFromMirror_shouldLoadTheMirroredTables() throws IOException {
+		NVSMirror mirror = new NVSMirror(mirrorDir);
+		mirror.refresh(baseUrl);
+
+		ArgoNVSReferenceTable.initializeFromMirror(mirror);
+
+		assertThat(ArgoNVSReferenceTable.getDigest()).isEqualTo(digestOfSpecTables());
+		assertThat(ArgoNVSReferenceTable.PARAMETER_TABLE.getConceptMembersByAltLabelMap()).containsKey("TEMP");
+		assertThat(ArgoNVSReferenceTable.PI_NAME_TABLE).isNotNull();
+	}
+
+	private Properties readIndex() throws IOException {
+		Properties index = new Properties();
+		try (InputStream in = Files.newInputStream(mirrorDir.resolve(NVSMirror.INDEX_FILE_NAME))) {
+			index.load(in);
+		}
+		return index;
+	}
+
+	// ..digest of the NVS tables, as computed by ArgoNVSReferenceTable
+	private static String digestOfSpecTables() throws IOException {
+		MessageDigest md = DigestUtils.newDigest();
+		for (RELEVANT_TABLES t : RELEVANT_TABLES.values()) {
+			md.update(Files.readAllBytes(NVS_DIR.resolve(t.getCode() + ".jsonld")));
+		}
+		return DigestUtils.toHex(md.digest());
+	}
+
+}
@@ -0,0 +1,76 @@
+package fr.coriolis.checker.tables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Lookup table of the single-character codes of an NVS table")
+class SingleCharTableTest {
+
+	@Test
+	public void status_shouldBeTheStatusOfTheConceptOfTheCharacter() {
+		// ARRANGE
+		SingleCharTable table = new SingleCharTable(qcFlags());
+
+		// ACT & ASSERT
+		assertThat(table.status('1')).isEqualTo(SingleCharTable.VALID);
+		assertThat(table.status('6')).isEqualTo(SingleCharTable.DEPRECATED);
+		assertThat(table.status(' ')).isEqualTo(SingleCharTable.INVALID);
+		assertThat(table.status('X')).isEqualTo(SingleCharTable.INVALID);
+		assertThat(table.status('é')).isEqualTo(SingleCharTable.VALID);
+		assertThat(table.status((byte) '4')).isEqualTo(SingleCharTable.VALID);
+		assertThat(table.status((byte) 0)).isEqualTo(SingleCharTable.INVALID);
+	}
+
+	@Test
+	public void classify_shouldGiveTheStatusOfEachCode() {
+		// ARRANGE
+		SingleCharTable table = new SingleCharTable(qcFlags());
+		byte[] status = new byte[4];
+
+		// ACT
+		table.classify("x16 9X".toCharArray(), 1, 5, status);
+
+		// ASSERT
+		assertThat(status).containsExactly(SingleCharTable.VALID, SingleCharTable.DEPRECATED,
+				SingleCharTable.INVALID, SingleCharTable.VALID);
+
+		// ACT
+		table.classify(new byte[] { 'X', '0', (byte) 0xE9 }, 0, 3, status);
+
+		// ASSERT
+		assertThat(status).startsWith(SingleCharTable.INVALID, SingleCharTable.VALID, SingleCharTable.VALID);
+	}
+
+	@Test
+	public void getSingleCharTable_shouldBeBuiltOnce() {
+		// ARRANGE
+		SkosCollection collection = new SkosCollection("RD2", "RD2", "Argo QC flags", Collections.emptySet());
+		collection.getConceptMembersByAltLabelMap().putAll(qcFlags());
+
+		// ACT & ASSERT
+		assertThat(collection.getSingleCharTable()).isSameAs(collection.getSingleCharTable());
+		assertThat(collection.getSingleCharTable().status('6')).isEqualTo(SingleCharTable.DEPRECATED);
+	}
+
+	private static Map<String, SkosConcept> qcFlags() {
+		Map<String, SkosConcept> byAltLabel = new HashMap<String, SkosConcept>();
+		for (String flag : new String[] { "0", "1", "2", "3", "4", "5", "8", "9", "é" }) {
+			byAltLabel.put(flag, concept(flag, false));
+		}
+		byAltLabel.put("6", concept("6", true));
+		byAltLabel.put("10", concept("10", false));
+		return byAltLabel;
+	}
+
+	private static SkosConcept concept(String altLabel, boolean deprecated) {
+		return new SkosConcept("RD2::" + altLabel, altLabel, altLabel, altLabel, "", deprecated,
+				Collections.<String>emptyList(), Collections.<String>emptyList(), Collections.<String>emptyList());
+	}
+
+}
@@ -0,0 +1,100 @@
+package fr.coriolis.checker.validators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Select the check units of the data validation")
+class CheckRegistryTest {
+
+	private static final String POSITION = "ArgoTrajectoryFileValidator.validatePosition";
+
+	@AfterEach
+	public void enableAllUnits() {
+		CheckRegistry.select(null, null);
+	}
+
+	@Test
+	public void units_shouldListTheChecksOfEachUnit() {
+		// ACT
+		CheckRegistry.Unit unit = CheckRegistry.unit(POSITION);
+
+		// ASSERT
+		assertThat(unit).isNotNull();
+		assertThat(unit.getChecks()).contains("CK_0248", "CK_0253");
+		assertThat(unit.isEnabled()).isTrue();
+		assertThat(CheckRegistry.unit("ArgoTrajectoryFileValidator.notAUnit")).isNull();
+	}
+
+	@Test
+	public void select_shouldDisableTheUnitsOfACheck_whenSkipped() {
+		// ACT
+		CheckRegistry.select(null, Collections.singletonList("CK_0248"));
+
+		// ASSERT
+		assertThat(CheckRegistry.unit(POSITION).isEnabled()).isFalse();
+		assertThat(CheckRegistry.unit("ArgoTrajectoryFileValidator.validateNCycle").isEnabled()).isTrue();
+	}
+
+	@Test
+	public void select_shouldOnlyEnableTheListedUnits_whenOnlyGiven() {
+		// ACT
+		CheckRegistry.select(Arrays.asList("validateDates", "CHECK_0075"), Collections.singletonList(
+				"ArgoMetadataFileValidator.validateDates"));
+
+		// ASSERT
+		assertThat(CheckRegistry.unit("ArgoProfileFileValidator.validateDates").isEnabled()).isTrue();
+		assertThat(CheckRegistry.unit("ArgoTrajectoryFileValidator.validateDates").isEnabled()).isTrue();
+		assertThat(CheckRegistry.unit("ArgoMetadataFileValidator.validateDates").isEnabled()).isFalse();
+		assertThat(CheckRegistry.unit("ArgoProfileFileValidator.validateParams").isEnabled()).isTrue();
+		assertThat(CheckRegistry.unit(POSITION).isEnabled()).isFalse();
+	}
+
+	@Test
+	public void select_shouldWarnOfTheOtherChecksOfTheUnit_whenACheckIsSkipped() {
+		// ACT
+		List<String> warnings = CheckRegistry.select(null, Collections.singletonList("CK_0248"));
+
+		// ASSERT
+		assertThat(warnings).hasSize(1);
+		assertThat(warnings.get(0)).contains(POSITION).contains("CK_0249 CK_0250 CK_0251 CK_0252 CK_0253")
+				.doesNotContain("CK_0248 CK_0249");
+		assertThat(CheckRegistry.select(null, Collections.singletonList(POSITION))).isEmpty();
+	}
+
+	@Test
+	public void select_shouldIgnoreTheChecksThatAlwaysRun() {
+		// ACT
+		List<String> skipWarnings = CheckRegistry.select(null, Arrays.asList("CK_0095", "CK_0001"));
+
+		// ASSERT
+		assertThat(skipWarnings).hasSize(2).allMatch(warning -> warning.contains("always runs"));
+		assertThat(CheckRegistry.unit(POSITION).isEnabled()).isTrue();
+		assertThat(CheckRegistry.unit("always.formatVerification").isAlwaysRun()).isTrue();
+		assertThat(CheckRegistry.unit(POSITION).isAlwaysRun()).isFalse();
+
+		// ACT: only format checks: no unit of the data validation
+		List<String> onlyWarnings = CheckRegistry.select(Collections.singletonList("CK_0095"), null);
+
+		// ASSERT
+		assertThat(onlyWarnings).hasSize(1);
+		assertThat(CheckRegistry.unit(POSITION).isEnabled()).isFalse();
+		assertThat(CheckRegistry.unit("always.formatVerification").isEnabled()).isTrue();
+	}
+
+	@Test
+	public void select_shouldThrowException_whenUnknownCheck() {
+		// ACT & ASSERT
+		assertThatThrownBy(() -> CheckRegistry.select(null, Collections.singletonList("CK_9999")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unknown check in '-skip-checks'");
+		assertThat(CheckRegistry.unit(POSITION).isEnabled()).isTrue();
+	}
+
+}
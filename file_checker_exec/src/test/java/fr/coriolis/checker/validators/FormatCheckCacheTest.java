@@ -0,0 +1,148 @@
+package fr.coriolis.checker.validators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.core.ValidationResult;
+import fr.coriolis.checker.exceptions.NotAnArgoFileException;
+import fr.coriolis.checker.specs.ArgoDimension;
+import fr.coriolis.checker.specs.SpecIO;
+import fr.coriolis.checker.tables.ArgoNVSReferenceTable;
+import ucar.nc2.Attribute;
+import ucar.nc2.NetcdfFileWriter;
+
+@DisplayName("Replay of the format checks of a header already checked")
+class FormatCheckCacheTest {
+
+	private static final Path TRAJECTORY = Paths.get("../demo/inputs/2903996/2903996_Rtraj.nc");
+	private static final String DAC = "coriolis";
+
+	// ..an extra dimension of the trajectory specification (N_VALUES\d+)
+	private static final String EXTRA_DIM = "N_VALUES12";
+
+	@TempDir
+	Path tempDir;
+
+	private Path fileA;
+	private Path fileB;
+
+	@BeforeAll
+	static void initTables() {
+		SpecIO.init(true, null);
+		ArgoNVSReferenceTable.initialize();
+	}
+
+	@BeforeEach
+	void createFiles() throws IOException {
+		// ..two files with the same header: an extra dimension and a global
+		// ..attribute that differs from the specification (a TEMP WARNING)
+		fileA = tempDir.resolve("a").resolve(TRAJECTORY.getFileName());
+		fileB = tempDir.resolve("b").resolve(TRAJECTORY.getFileName());
+		Files.createDirectories(fileA.getParent());
+		Files.createDirectories(fileB.getParent());
+		Files.copy(TRAJECTORY, fileA);
+
+		NetcdfFileWriter writer = NetcdfFileWriter.openExisting(fileA.toString());
+		try {
+			writer.setRedefineMode(true);
+			writer.addDimension(null, EXTRA_DIM, 12);
+			writer.deleteGroupAttribute(null, "title");
+			writer.addGroupAttribute(null, new Attribute("title", "Argo float trajectory"));
+			writer.setRedefineMode(false);
+		} finally {
+			writer.close();
+		}
+		Files.copy(fileA, fileB);
+
+		FormatCheckCache.clear();
+	}
+
+	@AfterEach
+	void clearCache() {
+		FormatCheckCache.clear();
+	}
+
+	@Test
+	public void validateFormat_shouldReplayTheResultsOfAFreshRun_whenTheHeaderIsKnown()
+			throws IOException, NotAnArgoFileException {
+		// ARRANGE
+		ArgoFileValidator first = validateFormat(fileA);
+
+		// ACT
+		ArgoFileValidator replayed = validateFormat(fileB);
+
+		// ASSERT
+		FormatCheckCache.clear();
+		ArgoFileValidator fresh = validateFormat(fileB);
+
+		assertThat(fresh.getValidationResult().getWarnings())
+				.anyMatch(warn -> warn.startsWith("global attribute: title: Definitions differ"));
+		assertSameResults(replayed, fresh);
+		assertSameResults(first, fresh);
+
+		assertThat(fresh.getSpecDimensions().getDimension(EXTRA_DIM).isExtraDimension()).isTrue();
+		assertThat(dimensions(replayed)).isEqualTo(dimensions(fresh));
+	}
+
+	@Test
+	public void validateFormat_shouldKeepTheWarningsLogged_forTheReplay() throws IOException, NotAnArgoFileException {
+		// ACT
+		ArgoFileValidator validator = validateFormat(fileA);
+
+		// ASSERT
+		ArgoDataFile arFile = ArgoDataFile.open(fileB.toString(), null, true, DAC);
+		try {
+			FormatCheckCache.Entry entry = FormatCheckCache.get(arFile.getFileSpec(),
+					FormatCheckCache.fingerprint(arFile));
+
+			assertThat(entry).isNotNull();
+			assertThat(entry.warnings).isEqualTo(validator.getValidationResult().getWarnings());
+			assertThat(entry.logged).anyMatch(logged -> "TEMP WARNING: ".equals(logged.label)
+					&& logged.message.startsWith("global attribute: title: Definitions differ"));
+		} finally {
+			arFile.close();
+		}
+	}
+
+	private static ArgoFileValidator validateFormat(Path file) throws IOException, NotAnArgoFileException {
+		ArgoDataFile arFile = ArgoDataFile.open(file.toString(), null, true, DAC);
+		try {
+			ArgoFileValidator validator = new ArgoFileValidator(arFile);
+			assertThat(validator.validateFormat(DAC)).isTrue();
+			return validator;
+		} finally {
+			arFile.close();
+		}
+	}
+
+	private static void assertSameResults(ArgoFileValidator actual, ArgoFileValidator expected) {
+		ValidationResult actualResult = actual.getValidationResult();
+		ValidationResult expectedResult = expected.getValidationResult();
+		assertThat(actualResult.getErrors()).isEqualTo(expectedResult.getErrors());
+		assertThat(actualResult.getWarnings()).isEqualTo(expectedResult.getWarnings());
+	}
+
+	// .."name: length (extra)" of each dimension of the view, in order
+	private static List<String> dimensions(ArgoFileValidator validator) {
+		List<String> dims = new ArrayList<String>();
+		for (ArgoDimension dim : validator.getSpecDimensions().getDimensions()) {
+			dims.add(dim.getName() + ": " + dim.getValue() + (dim.isExtraDimension() ? " (extra)" : ""));
+		}
+		return dims;
+	}
+
+}
@@ -0,0 +1,57 @@
+package fr.coriolis.checker.validators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+
+@DisplayName("Scan of the char variables for NULL characters")
+class NullCharScannerTest {
+
+	@Test
+	public void scan_shouldReportTheFirstNullOfEachRow() {
+		// ARRANGE
+		int[] shape = { 2, 2, 3 };
+		Array array = Array.factory(DataType.CHAR, shape, "ab\0\0\0\0abcx\0y".toCharArray());
+		List<int[]> found = new ArrayList<int[]>();
+
+		// ACT
+		int nFound = NullCharScanner.scan(array, shape, found::add);
+
+		// ASSERT
+		assertThat(nFound).isEqualTo(3);
+		assertThat(found).containsExactly(new int[] { 0, 0, 2 }, new int[] { 0, 1, 0 }, new int[] { 1, 1, 1 });
+	}
+
+	@Test
+	public void scan_shouldReportTheFirstNullOfARank1Variable() {
+		// ARRANGE
+		int[] shape = { 5 };
+		Array array = Array.factory(DataType.CHAR, shape, "a\0b\0c".toCharArray());
+		List<int[]> found = new ArrayList<int[]>();
+
+		// ACT
+		NullCharScanner.scan(array, shape, found::add);
+
+		// ASSERT
+		assertThat(found).containsExactly(new int[] { 1 });
+	}
+
+	@Test
+	public void scan_shouldHandleEmptyDimensions() {
+		// ARRANGE
+		int[] shape = { 0, 4 };
+		Array array = Array.factory(DataType.CHAR, shape, new char[0]);
+
+		// ACT & ASSERT
+		assertThat(NullCharScanner.scan(array, shape, index -> {
+		})).isZero();
+	}
+
+}
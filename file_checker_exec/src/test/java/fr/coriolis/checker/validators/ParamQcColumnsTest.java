@@ -0,0 +1,157 @@
+package fr.coriolis.checker.validators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.specs.ArgoFileSpecification;
+import fr.coriolis.checker.tables.SkosCollection;
+import fr.coriolis.checker.tables.SkosConcept;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.nc2.Variable;
+
+@DisplayName("Counts of the <param> / <param>_QC checks of a profile file")
+class ParamQcColumnsTest {
+
+	private static final float FILL_VALUE = 99999.f;
+
+	// ..level by level: the count each level adds
+	private static final float[] PRM = { 12.5f, // '1': data, good
+			FILL_VALUE, // '9': missing, QC missing
+			FILL_VALUE, // '1': QC not missing where data is missing
+			FILL_VALUE, // ' ': not measured
+			13.0f, // ' ': QC "not measured" where data is not missing
+			13.0f, // 'X': invalid QC
+			13.0f, // '6': deprecated QC, illegal QC
+			Float.NaN, // '4': NaN
+			Float.POSITIVE_INFINITY, // '3': Inf
+			14.0f, // '0': no QC
+			FILL_VALUE // '0': missing, not QCed
+	};
+	private static final char[] PRM_QC = "191  X64300".toCharArray();
+
+	private ArgoDataFile arFile;
+	private ArgoFileSpecification spec;
+	private ParamQcColumns columns;
+
+	@BeforeEach
+	void init() {
+		arFile = mock(ArgoDataFile.class);
+		spec = mock(ArgoFileSpecification.class);
+		when(arFile.getFileSpec()).thenReturn(spec);
+
+		columns = new ParamQcColumns(arFile, qcFlags().getSingleCharTable());
+	}
+
+	@Test
+	public void counts_shouldCountEachCheckOfTheLevels() {
+		// ACT
+		ParamQcColumns.Counts counts = columns.counts("TEMP", PRM, PRM_QC, FILL_VALUE);
+
+		// ASSERT
+		assertThat(counts.nan).containsExactly(1);
+		assertThat(counts.inf).containsExactly(1);
+		assertThat(counts.notMiss).containsExactly(1);
+		assertThat(counts.notNotMeas).containsExactly(1);
+		assertThat(counts.invQC).containsExactly(1);
+		assertThat(counts.depQC).containsExactly(1);
+		assertThat(counts.illQC).containsExactly(1);
+		assertThat(counts.noQC).containsExactly(1);
+		assertThat(counts.nData).containsExactly(7);
+		assertThat(counts.nGood).containsExactly(2);
+		assertThat(counts.nNoQC).containsExactly(2);
+	}
+
+	@Test
+	public void counts_shouldNotCountNoQC_whenTheParameterIsOptional() {
+		// ARRANGE
+		when(spec.isOptional("DOXY")).thenReturn(true);
+
+		// ACT
+		ParamQcColumns.Counts counts = columns.counts("DOXY", PRM, PRM_QC, FILL_VALUE);
+
+		// ASSERT
+		assertThat(counts.noQC).containsExactly(0);
+		assertThat(counts.nNoQC).containsExactly(2);
+	}
+
+	@Test
+	public void counts_shouldCountEachProfile_whenReadColumnWise() throws IOException {
+		// ARRANGE: profile 0 as above, profile 1 all good
+		int nLevel = PRM.length;
+		float[] prm = new float[2 * nLevel];
+		char[] prmQC = new char[2 * nLevel];
+		System.arraycopy(PRM, 0, prm, 0, nLevel);
+		System.arraycopy(PRM_QC, 0, prmQC, 0, nLevel);
+		for (int k = nLevel; k < 2 * nLevel; k++) {
+			prm[k] = 10.f + k;
+			prmQC[k] = '1';
+		}
+
+		Variable var = variable("TEMP", 2, nLevel);
+		Variable varQC = variable("TEMP_QC", 2, nLevel);
+		when(arFile.cachedData(var)).thenReturn(Array.factory(DataType.FLOAT, new int[] { 2, nLevel }, prm));
+		when(arFile.cachedData(varQC)).thenReturn(Array.factory(DataType.CHAR, new int[] { 2, nLevel }, prmQC));
+
+		// ACT
+		ParamQcColumns.Counts counts = columns.counts(var, varQC, FILL_VALUE);
+
+		// ASSERT
+		ParamQcColumns.Counts profile0 = columns.counts("TEMP", PRM, PRM_QC, FILL_VALUE);
+
+		assertThat(counts.nan).containsExactly(profile0.nan[0], 0);
+		assertThat(counts.inf).containsExactly(profile0.inf[0], 0);
+		assertThat(counts.notMiss).containsExactly(profile0.notMiss[0], 0);
+		assertThat(counts.notNotMeas).containsExactly(profile0.notNotMeas[0], 0);
+		assertThat(counts.invQC).containsExactly(profile0.invQC[0], 0);
+		assertThat(counts.depQC).containsExactly(profile0.depQC[0], 0);
+		assertThat(counts.illQC).containsExactly(profile0.illQC[0], 0);
+		assertThat(counts.noQC).containsExactly(profile0.noQC[0], 0);
+		assertThat(counts.nData).containsExactly(profile0.nData[0], nLevel);
+		assertThat(counts.nGood).containsExactly(profile0.nGood[0], nLevel);
+		assertThat(counts.nNoQC).containsExactly(profile0.nNoQC[0], 0);
+
+		// ..computed once per parameter
+		assertThat(columns.counts(var, varQC, FILL_VALUE)).isSameAs(counts);
+	}
+
+	@Test
+	public void counts_shouldBeNull_whenNotInTheReadCache() throws IOException {
+		// ARRANGE
+		Variable var = variable("PSAL", 2, 5);
+		Variable varQC = variable("PSAL_QC", 2, 5);
+
+		// ACT & ASSERT: checked profile by profile
+		assertThat(columns.counts(var, varQC, FILL_VALUE)).isNull();
+	}
+
+	// ..QC flag table: '6' is deprecated
+	private static SkosCollection qcFlags() {
+		SkosCollection table = new SkosCollection();
+		for (String flag : new String[] { "0", "1", "2", "3", "4", "5", "6", "8", "9" }) {
+			SkosConcept concept = mock(SkosConcept.class);
+			when(concept.isDeprecated()).thenReturn(flag.equals("6"));
+			table.getConceptMembersByAltLabelMap().put(flag, concept);
+		}
+		return table;
+	}
+
+	private static Variable variable(String name, int nProf, int nLevel) {
+		Variable var = mock(Variable.class);
+		when(var.getShortName()).thenReturn(name);
+		when(var.getRank()).thenReturn(2);
+		when(var.getShape(0)).thenReturn(nProf);
+		when(var.getShape(1)).thenReturn(nLevel);
+		when(var.getSize()).thenReturn((long) nProf * nLevel);
+		return var;
+	}
+
+}
@@ -0,0 +1,111 @@
+package fr.coriolis.checker.validators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import fr.coriolis.checker.core.ArgoDataFile;
+import fr.coriolis.checker.core.PhaseTimings;
+import fr.coriolis.checker.core.ValidationResult;
+
+@DisplayName("Run the independent rule groups of a validation concurrently")
+class RuleGroupsTest {
+
+	private static final int THREADS = 3;
+
+	// ..the threads the groups ran on
+	private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+	@Test
+	public void run_shouldMergeTheMessagesInGroupOrder_whenConcurrent() throws IOException {
+		// ARRANGE
+		ArgoFileValidator sequential = validator();
+		ArgoFileValidator concurrent = validator();
+
+		// ACT
+		groups(sequential, 1, false).run();
+		groups(concurrent, THREADS, false).run();
+
+		// ASSERT
+		ValidationResult expected = sequential.getValidationResult();
+		ValidationResult result = concurrent.getValidationResult();
+
+		assertThat(expected.getErrors()).containsExactly("first: error 1", "first: error 2", "second: error",
+				"third: error");
+		assertThat(result.getErrors()).isEqualTo(expected.getErrors());
+		assertThat(result.getWarnings()).isEqualTo(expected.getWarnings());
+		assertThat(result.getErrorChecks()).isEqualTo(expected.getErrorChecks());
+		assertThat(result.getWarningChecks()).isEqualTo(expected.getWarningChecks());
+		assertThat(result.getErrorChecks()).startsWith("ArgoFileValidator.first");
+		assertThat(threads).hasSizeGreaterThan(1);
+	}
+
+	@Test
+	public void run_shouldKeepTheMessagesUpToTheFailedGroup_whenAGroupThrows() {
+		// ARRANGE
+		ArgoFileValidator sequential = validator();
+		ArgoFileValidator concurrent = validator();
+
+		// ACT & ASSERT
+		assertThatThrownBy(() -> groups(sequential, 1, true).run()).isInstanceOf(IOException.class)
+				.hasMessage("second failed");
+		assertThatThrownBy(() -> groups(concurrent, THREADS, true).run()).isInstanceOf(IOException.class)
+				.hasMessage("second failed");
+
+		ValidationResult expected = sequential.getValidationResult();
+		ValidationResult result = concurrent.getValidationResult();
+
+		assertThat(expected.getErrors()).containsExactly("first: error 1", "first: error 2", "second: error");
+		assertThat(result.getErrors()).isEqualTo(expected.getErrors());
+		assertThat(result.getWarnings()).isEqualTo(expected.getWarnings());
+		assertThat(result.getErrorChecks()).isEqualTo(expected.getErrorChecks());
+	}
+
+	// ..the groups finish in the reverse order: the first one is the slowest
+	private RuleGroups groups(ArgoFileValidator validator, int nThreads, boolean secondFails) {
+		ValidationResult validationResult = validator.getValidationResult();
+
+		return new RuleGroups(validator, nThreads).add("first", () -> {
+			threads.add(Thread.currentThread().getName());
+			validationResult.addError("first: error 1");
+			pause(300);
+			validationResult.addWarning("first: warning");
+			validationResult.addError("first: error 2");
+		}).add("second", () -> {
+			threads.add(Thread.currentThread().getName());
+			pause(150);
+			validationResult.addError("second: error");
+			if (secondFails) {
+				throw new IOException("second failed");
+			}
+			validationResult.addWarning("second: warning");
+		}).add("third", () -> {
+			threads.add(Thread.currentThread().getName());
+			validationResult.addWarning("third: warning");
+			validationResult.addError("third: error");
+		});
+	}
+
+	private static ArgoFileValidator validator() {
+		ArgoDataFile arFile = mock(ArgoDataFile.class);
+		when(arFile.getTimings()).thenReturn(new PhaseTimings());
+		return new ArgoFileValidator(arFile);
+	}
+
+	private static void pause(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}